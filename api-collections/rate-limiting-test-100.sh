@@ -18,7 +18,7 @@ echo ""
 
 # Clear any existing rate limit keys
 echo "=== Clearing existing rate limit keys ==="
-docker exec redis redis-cli del "rate_limit:0:0:0:0:0:0:0:1" 2>/dev/null || echo "Redis key cleared"
+docker exec redis redis-cli del "rate_limit:users:0:0:0:0:0:0:0:1" 2>/dev/null || echo "Redis key cleared"
 echo ""
 
 # Test: Make 110 requests rapidly
@@ -6,7 +6,7 @@ CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
 -- Create users table
 CREATE TABLE IF NOT EXISTS users (
-    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),  -- The application assigns time-ordered v7 ids; the default only covers hand-inserted rows
     email VARCHAR(255) UNIQUE NOT NULL,
     password_hash VARCHAR(255) NOT NULL,
     first_name VARCHAR(100),
@@ -47,9 +47,46 @@ CREATE TABLE IF NOT EXISTS application_logs (
     timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Create user_outbox table (user changes waiting to be relayed to Elasticsearch)
+CREATE TABLE IF NOT EXISTS user_outbox (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id UUID NOT NULL,
+    operation VARCHAR(10) NOT NULL,
+    status VARCHAR(10) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Create user_counts table (user counts per role/active group, striped to spread writers)
+-- Maintained by the users_count_trigger, which the application installs and backfills at
+-- startup when app.users.statistics.source=table
+CREATE TABLE IF NOT EXISTS user_counts (
+    role VARCHAR(50) NOT NULL,
+    is_active BOOLEAN NOT NULL,
+    stripe SMALLINT NOT NULL,
+    count BIGINT NOT NULL,
+    PRIMARY KEY (role, is_active, stripe)
+);
+
 -- Create indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
 CREATE INDEX IF NOT EXISTS idx_users_role ON users(role);
+CREATE INDEX IF NOT EXISTS idx_users_created_at_id ON users(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_updated_at_id ON users(updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_users_role_active ON users(role, is_active);
+-- Keyset sorts on names order by coalesce(name, '') (see UserSortIndexes)
+CREATE INDEX IF NOT EXISTS idx_users_first_name_sort ON users ((coalesce(first_name, '')), id);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_sort ON users ((coalesce(last_name, '')), id);
+
+-- User search (full-text prefix + trigram fuzzy matching)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_users_search_document ON users USING gin ((to_tsvector('simple', coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || email)));
+CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_user_outbox_next_attempt ON user_outbox(status, next_attempt_at, id);
 CREATE INDEX IF NOT EXISTS idx_user_sessions_user_id ON user_sessions(user_id);
 CREATE INDEX IF NOT EXISTS idx_user_sessions_expires_at ON user_sessions(expires_at);
 CREATE INDEX IF NOT EXISTS idx_system_metrics_name ON system_metrics(metric_name);
@@ -0,0 +1,123 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator (no dependencies, run with `java LoadTest.java ...`)
+ *
+ * Each of the concurrency workers sends one request, waits for the response and sends
+ * the next. After a warm-up, the response time of every 2xx response is recorded; other
+ * statuses (4xx included, e.g. 429 from a rate limiter) are counted as non2xx and
+ * transport failures as errors, and neither counts towards throughput. Prints
+ * throughput and latency percentiles as one JSON line.
+ *
+ * Usage: java LoadTest.java <url> [concurrency=1000] [durationSeconds=60] [warmupSeconds=10] [label]
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: java LoadTest.java <url> [concurrency] [durationSeconds] [warmupSeconds] [label]");
+            System.exit(2);
+        }
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        long durationNanos = Duration.ofSeconds(args.length > 2 ? Long.parseLong(args[2]) : 60).toNanos();
+        long warmupNanos = Duration.ofSeconds(args.length > 3 ? Long.parseLong(args[3]) : 10).toNanos();
+        String label = args.length > 4 ? args[4] : uri.toString();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong non2xx = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        for (int i = 0; i < concurrency; i++) {
+            int worker = i;
+            Thread thread = new Thread(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        int status;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            status = response.statusCode();
+                        } catch (Exception e) {
+                            status = -1;
+                        }
+                        long finished = System.nanoTime();
+                        if (now < measureFrom) {
+                            continue;
+                        }
+                        if (status < 0) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (status < 200 || status >= 300) {
+                            non2xx.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = finished - now;
+                    }
+                } finally {
+                    latencies[worker] = samples;
+                    counts[worker] = count;
+                    done.countDown();
+                }
+            }, "load-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        int total = 0;
+        for (int count : counts) {
+            total += count;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies[i], 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+
+        double seconds = durationNanos / 1e9;
+        System.out.printf("{\"label\":\"%s\",\"concurrency\":%d,\"durationSeconds\":%.0f,\"requests\":%d,\"non2xx\":%d,"
+                        + "\"errors\":%d,\"throughputPerSecond\":%.1f,\"p50Ms\":%.1f,\"p90Ms\":%.1f,\"p99Ms\":%.1f,"
+                        + "\"maxMs\":%.1f}%n",
+                label, concurrency, seconds, total, non2xx.get(), errors.get(), total / seconds,
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99),
+                all.length == 0 ? 0.0 : all[all.length - 1] / 1e6);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
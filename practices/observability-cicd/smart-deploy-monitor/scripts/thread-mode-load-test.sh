@@ -0,0 +1,121 @@
+#!/bin/bash
+
+# Thread Mode Load Test for Smart Deploy Monitor
+# Runs the same high-concurrency load against the application in platform-thread and
+# virtual-thread mode and compares throughput and p99 latency.
+#
+# Needs a Java 21+ runtime (virtual mode is ignored on older JVMs) and the backing
+# services from docker-compose (PostgreSQL, Redis) for the application to start.
+# Rate limiting is switched off for the run: otherwise most requests from one client
+# address would be 429s and the comparison would measure the limiter.
+#
+# Usage: ./scripts/thread-mode-load-test.sh [path] [concurrency] [durationSeconds]
+#   path         Endpoint to load (default /demo/performance: 100-1100 ms of blocking sleep)
+#   concurrency  Concurrent closed-loop clients (default 1000, well above the 200 Tomcat threads)
+
+set -e
+
+# Colors for output
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+BLUE='\033[0;34m'
+CYAN='\033[0;36m'
+NC='\033[0m' # No Color
+
+# Configuration
+SCRIPT_DIR="$(cd "$(dirname "$0")" && pwd)"
+PROJECT_DIR="$(dirname "$SCRIPT_DIR")"
+JAR="$PROJECT_DIR/target/smart-deploy-monitor-1.0.0.jar"
+PORT="${PORT:-8085}"
+TARGET_PATH="${1:-/demo/performance}"
+CONCURRENCY="${2:-1000}"
+DURATION="${3:-60}"
+WARMUP="${WARMUP:-10}"
+RESULTS_DIR="$PROJECT_DIR/logs/loadtest"
+APP_PID=""
+
+print_status() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+print_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+print_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+print_header() {
+    echo -e "${CYAN}================================${NC}"
+    echo -e "${CYAN}$1${NC}"
+    echo -e "${CYAN}================================${NC}"
+}
+
+stop_app() {
+    if [ -n "$APP_PID" ] && kill -0 "$APP_PID" 2>/dev/null; then
+        kill "$APP_PID"
+        wait "$APP_PID" 2>/dev/null || true
+    fi
+    APP_PID=""
+}
+
+trap stop_app EXIT
+
+run_mode() {
+    local mode=$1
+    local virtual=false
+    [ "$mode" = "virtual" ] && virtual=true
+
+    print_header "Mode: $mode"
+    java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+        --app.rate-limit.enabled=false \
+        > "$RESULTS_DIR/app-$mode.log" 2>&1 &
+    APP_PID=$!
+
+    print_status "Waiting for the application on port $PORT..."
+    local ready=false
+    for _ in $(seq 1 90); do
+        if curl -sf "http://localhost:$PORT/actuator/health" > /dev/null; then
+            ready=true
+            break
+        fi
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            print_error "Application exited, see $RESULTS_DIR/app-$mode.log"
+            exit 1
+        fi
+        sleep 2
+    done
+    if [ "$ready" != true ]; then
+        print_error "Application not healthy after 180s, see $RESULTS_DIR/app-$mode.log"
+        exit 1
+    fi
+
+    print_status "$CONCURRENCY clients on $TARGET_PATH for ${DURATION}s (after ${WARMUP}s warm-up)"
+    java "$SCRIPT_DIR/loadtest/LoadTest.java" "http://localhost:$PORT$TARGET_PATH" \
+        "$CONCURRENCY" "$DURATION" "$WARMUP" "$mode" | tee -a "$RESULTS_DIR/results.ndjson"
+
+    stop_app
+}
+
+JAVA_MAJOR=$(java -XshowSettings:properties -version 2>&1 | awk -F'= ' '/java.specification.version/ {print $2}')
+if [ "${JAVA_MAJOR%%.*}" -lt 21 ]; then
+    print_error "Java 21+ is required for virtual threads (found $JAVA_MAJOR)"
+    exit 1
+fi
+
+if [ ! -f "$JAR" ]; then
+    print_status "Building application jar..."
+    (cd "$PROJECT_DIR" && mvn -B -q package -DskipTests)
+fi
+
+mkdir -p "$RESULTS_DIR"
+: > "$RESULTS_DIR/results.ndjson"
+
+run_mode platform
+run_mode virtual
+
+print_header "Results"
+cat "$RESULTS_DIR/results.ndjson"
+print_success "Results written to $RESULTS_DIR/results.ndjson"
+print_status "Pinning hotspots from a virtual-mode run: GET /api/system/threads (ADMIN)"
@@ -0,0 +1,64 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.logstash.logback.appender.AsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.AppenderListener;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Counts log events dropped by the async (ring buffer) appenders
+ *
+ * The async appenders never block application threads: when the ring buffer is full the
+ * event is discarded. Each discard is counted as logging.events.dropped{appender}, so a
+ * lossy period shows up on dashboards instead of only as a gap in the log file.
+ */
+@Component
+public class AsyncLoggingMetrics {
+
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(AsyncLoggingMetrics.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public AsyncLoggingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void bind() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            Appender<ILoggingEvent> appender = it.next();
+            if (appender instanceof AsyncDisruptorAppender<?, ?> async) {
+                bind(async, appender.getName());
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private void bind(AsyncDisruptorAppender async, String name) {
+        Counter dropped = Counter.builder("logging.events.dropped")
+                .tag("appender", name)
+                .description("Log events discarded because the async appender's ring buffer was full")
+                .register(meterRegistry);
+        async.addListener(new AppenderListener<ILoggingEvent>() {
+            @Override
+            public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+                dropped.increment();
+            }
+        });
+        logger.debug("Counting dropped events of async appender {}", name);
+    }
+}
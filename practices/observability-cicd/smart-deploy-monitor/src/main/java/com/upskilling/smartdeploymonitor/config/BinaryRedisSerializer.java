@@ -0,0 +1,347 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compact binary RedisTemplate value serializer
+ *
+ * Layout: magic byte, format version, flags, then either a registered type id (varint)
+ * and the codec's fields, or a JSON body for types without a codec. Lists are written
+ * element by element, each element with its own type id, so a list of registered types
+ * stays binary. Bodies larger than the compression threshold are deflated when that
+ * makes them smaller.
+ *
+ * Values that don't start with the magic byte are legacy JSON written by
+ * GenericJackson2JsonRedisSerializer and are still readable, so the format can be
+ * switched on a running fleet: deploy readers first, then flip app.redis.codec.format
+ * from json to binary.
+ */
+public class BinaryRedisSerializer implements RedisSerializer<Object> {
+
+    public enum Format {
+        BINARY,
+        JSON
+    }
+
+    // 0xB7 is never the first byte of a JSON document
+    static final byte MAGIC = (byte) 0xB7;
+    static final byte VERSION = 1;
+
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int FLAG_JSON = 1 << 1;
+
+    private static final int MIN_USER_TYPE_ID = 64;
+
+    // Element markers inside lists (reserved range)
+    private static final int NULL_ELEMENT = 0;
+    private static final int JSON_ELEMENT = 63;
+
+    private final Map<Integer, RedisValueCodec<?>> codecsById = new HashMap<>();
+    private final Map<Class<?>, RedisValueCodec<?>> codecsByType = new HashMap<>();
+    private final GenericJackson2JsonRedisSerializer json = jsonSerializer();
+    private final Format format;
+    private final int compressionThreshold;
+
+    /**
+     * JSON serializer for values without a codec: java.time support so entities with
+     * timestamps survive the fallback path, and derived getters written by one version do
+     * not break reads in another
+     */
+    public static GenericJackson2JsonRedisSerializer jsonSerializer() {
+        return new GenericJackson2JsonRedisSerializer().configure(mapper -> mapper
+                .registerModule(new JavaTimeModule())
+                .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false));
+    }
+
+    /**
+     * @param codecs Application codecs (type ids >= 64)
+     * @param format Format used for writing (both are always readable)
+     * @param compressionThreshold Body size in bytes above which deflate is attempted; <= 0 disables
+     */
+    public BinaryRedisSerializer(List<RedisValueCodec<?>> codecs, Format format, int compressionThreshold) {
+        this.format = format;
+        this.compressionThreshold = compressionThreshold;
+
+        register(new StringCodec(), true);
+        register(new LongCodec(), true);
+        register(new IntegerCodec(), true);
+        register(new DoubleCodec(), true);
+        register(new BooleanCodec(), true);
+        register(new ListCodec(), true);
+        for (RedisValueCodec<?> codec : codecs) {
+            register(codec, false);
+        }
+    }
+
+    private void register(RedisValueCodec<?> codec, boolean builtIn) {
+        if (!builtIn && codec.typeId() < MIN_USER_TYPE_ID) {
+            throw new IllegalStateException("Type id " + codec.typeId() + " of " + codec.type().getName()
+                    + " is reserved (application codecs start at " + MIN_USER_TYPE_ID + ")");
+        }
+        RedisValueCodec<?> previous = codecsById.putIfAbsent(codec.typeId(), codec);
+        if (previous != null) {
+            throw new IllegalStateException("Type id " + codec.typeId() + " registered for both "
+                    + previous.type().getName() + " and " + codec.type().getName());
+        }
+        if (codecsByType.putIfAbsent(codec.type(), codec) != null) {
+            throw new IllegalStateException("Duplicate codec for " + codec.type().getName());
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (format == Format.JSON) {
+            return json.serialize(value);
+        }
+
+        try {
+            RedisValueCodec<?> codec = codecFor(value);
+            int flags = 0;
+            byte[] body;
+            if (codec != null) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+                DataOutputStream out = new DataOutputStream(buffer);
+                RedisValueCodec.writeVarInt(out, codec.typeId());
+                writeValue(codec, value, out);
+                body = buffer.toByteArray();
+            } else {
+                flags |= FLAG_JSON;
+                body = json.serialize(value);
+            }
+
+            if (compressionThreshold > 0 && body.length > compressionThreshold) {
+                byte[] compressed = deflate(body);
+                if (compressed != null) {
+                    flags |= FLAG_COMPRESSED;
+                    body = compressed;
+                }
+            }
+
+            byte[] bytes = new byte[body.length + 3];
+            bytes[0] = MAGIC;
+            bytes[1] = VERSION;
+            bytes[2] = (byte) flags;
+            System.arraycopy(body, 0, bytes, 3, body.length);
+            return bytes;
+        } catch (IOException e) {
+            throw new SerializationException("Could not serialize " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return json.deserialize(bytes);
+        }
+        if (bytes.length < 3 || bytes[1] != VERSION) {
+            throw new SerializationException("Unsupported Redis value format version "
+                    + (bytes.length > 1 ? bytes[1] : -1));
+        }
+
+        int flags = bytes[2];
+        try {
+            byte[] body;
+            if ((flags & FLAG_COMPRESSED) != 0) {
+                body = inflate(bytes, 3);
+            } else {
+                body = new byte[bytes.length - 3];
+                System.arraycopy(bytes, 3, body, 0, body.length);
+            }
+
+            if ((flags & FLAG_JSON) != 0) {
+                return json.deserialize(body);
+            }
+
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(body));
+            int typeId = RedisValueCodec.readVarInt(in);
+            RedisValueCodec<?> codec = codecsById.get(typeId);
+            if (codec == null) {
+                throw new SerializationException("No codec registered for Redis type id " + typeId);
+            }
+            return codec.read(in);
+        } catch (IOException | DataFormatException e) {
+            throw new SerializationException("Could not deserialize Redis value", e);
+        }
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    private RedisValueCodec<?> codecFor(Object value) {
+        RedisValueCodec<?> codec = codecsByType.get(value.getClass());
+        if (codec == null && value instanceof List) {
+            return codecsByType.get(List.class);
+        }
+        return codec;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void writeValue(RedisValueCodec<T> codec, Object value, DataOutput out) throws IOException {
+        codec.write((T) value, out);
+    }
+
+    /**
+     * Raw deflate prefixed with the original length, or null if it doesn't save space
+     */
+    private static byte[] deflate(byte[] body) throws IOException {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2 + 8);
+            RedisValueCodec.writeVarInt(new DataOutputStream(buffer), body.length);
+            byte[] chunk = new byte[Math.min(body.length, 8192)];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                buffer.write(chunk, 0, written);
+                if (buffer.size() >= body.length) {
+                    return null;
+                }
+            }
+            return buffer.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset) throws IOException, DataFormatException {
+        DataInputStream header = new DataInputStream(new ByteArrayInputStream(bytes, offset, bytes.length - offset));
+        int length = RedisValueCodec.readVarInt(header);
+        int headerLength = bytes.length - offset - header.available();
+
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(bytes, offset + headerLength, bytes.length - offset - headerLength);
+            byte[] body = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(body, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new DataFormatException("Expected " + length + " bytes, inflated " + read);
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // ========== BUILT-IN CODECS ==========
+
+    private static final class StringCodec implements RedisValueCodec<String> {
+        public int typeId() { return 1; }
+        public Class<String> type() { return String.class; }
+        public void write(String value, DataOutput out) throws IOException { RedisValueCodec.writeString(out, value); }
+        public String read(DataInput in) throws IOException { return RedisValueCodec.readString(in); }
+    }
+
+    private static final class LongCodec implements RedisValueCodec<Long> {
+        public int typeId() { return 2; }
+        public Class<Long> type() { return Long.class; }
+        public void write(Long value, DataOutput out) throws IOException { out.writeLong(value); }
+        public Long read(DataInput in) throws IOException { return in.readLong(); }
+    }
+
+    private static final class IntegerCodec implements RedisValueCodec<Integer> {
+        public int typeId() { return 3; }
+        public Class<Integer> type() { return Integer.class; }
+        public void write(Integer value, DataOutput out) throws IOException { out.writeInt(value); }
+        public Integer read(DataInput in) throws IOException { return in.readInt(); }
+    }
+
+    private static final class DoubleCodec implements RedisValueCodec<Double> {
+        public int typeId() { return 4; }
+        public Class<Double> type() { return Double.class; }
+        public void write(Double value, DataOutput out) throws IOException { out.writeDouble(value); }
+        public Double read(DataInput in) throws IOException { return in.readDouble(); }
+    }
+
+    private static final class BooleanCodec implements RedisValueCodec<Boolean> {
+        public int typeId() { return 5; }
+        public Class<Boolean> type() { return Boolean.class; }
+        public void write(Boolean value, DataOutput out) throws IOException { out.writeBoolean(value); }
+        public Boolean read(DataInput in) throws IOException { return in.readBoolean(); }
+    }
+
+    /**
+     * Any List, read back as an ArrayList: size, then per element a type id and the
+     * element's fields (or a length-prefixed JSON document for unregistered types)
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private final class ListCodec implements RedisValueCodec<List> {
+        public int typeId() { return 6; }
+        public Class<List> type() { return List.class; }
+
+        public void write(List value, DataOutput out) throws IOException {
+            RedisValueCodec.writeVarInt(out, value.size());
+            for (Object element : value) {
+                if (element == null) {
+                    RedisValueCodec.writeVarInt(out, NULL_ELEMENT);
+                    continue;
+                }
+                RedisValueCodec<?> codec = codecFor(element);
+                if (codec != null) {
+                    RedisValueCodec.writeVarInt(out, codec.typeId());
+                    writeValue(codec, element, out);
+                } else {
+                    byte[] body = json.serialize(element);
+                    RedisValueCodec.writeVarInt(out, JSON_ELEMENT);
+                    RedisValueCodec.writeVarInt(out, body.length);
+                    out.write(body);
+                }
+            }
+        }
+
+        public List read(DataInput in) throws IOException {
+            int size = RedisValueCodec.readVarInt(in);
+            ArrayList list = new ArrayList(Math.min(size, 1024));
+            for (int i = 0; i < size; i++) {
+                int typeId = RedisValueCodec.readVarInt(in);
+                if (typeId == NULL_ELEMENT) {
+                    list.add(null);
+                } else if (typeId == JSON_ELEMENT) {
+                    byte[] body = new byte[RedisValueCodec.readVarInt(in)];
+                    in.readFully(body);
+                    list.add(json.deserialize(body));
+                } else {
+                    RedisValueCodec<?> codec = codecsById.get(typeId);
+                    if (codec == null) {
+                        throw new SerializationException("No codec registered for Redis type id " + typeId);
+                    }
+                    list.add(codec.read(in));
+                }
+            }
+            return list;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import com.upskilling.smartdeploymonitor.dto.UserSummary;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.service.RedisService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Spring Cache configuration
+ *
+ * Every region is a {@link TieredCache}: Caffeine in process, plus Redis when
+ * app.cache.redis-tier is on. TTL and size are set per region under app.cache.regions.
+ *
+ * The caching advice runs before the transaction advice, so a cache hit never opens a
+ * transaction or borrows a connection.
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    // Region names used with @Cacheable/@CacheEvict
+    public static final String USERS_BY_ROLE = "usersByRole";
+    public static final String ACTIVE_USERS = "activeUsers";
+
+    @Bean
+    public CacheManager cacheManager(CacheRegionProperties properties, MeterRegistry meterRegistry,
+                                     ObjectProvider<RedisTemplate<String, Object>> redisTemplateProvider,
+                                     ObjectProvider<RedisService> redisServiceProvider) {
+        RedisTemplate<String, Object> redisTemplate = properties.isRedisTier()
+                ? redisTemplateProvider.getIfAvailable()
+                : null;
+        logger.info("Cache regions: {} (Redis tier: {})", properties.getRegions().keySet(), redisTemplate != null);
+        return new TieredCacheManager(properties, meterRegistry, redisTemplate,
+                namespace -> redisServiceProvider.getObject().clearNamespace(namespace));
+    }
+
+    @Bean
+    public RedisValueCodec<UserSummary> userSummaryCodec() {
+        return new UserSummaryCodec();
+    }
+
+    /**
+     * Binary layout of {@link UserSummary} in Redis (type id 103), used by the cached user lists
+     *
+     * Id 101 was the earlier layout of the full User entity, password hash included. Entries
+     * still written that way fail to decode, count as an L2 error and are reloaded and
+     * overwritten; the rest expire with the region TTL.
+     */
+    public static class UserSummaryCodec implements RedisValueCodec<UserSummary> {
+
+        public static final int TYPE_ID = 103;
+
+        @Override
+        public int typeId() {
+            return TYPE_ID;
+        }
+
+        @Override
+        public Class<UserSummary> type() {
+            return UserSummary.class;
+        }
+
+        @Override
+        public void write(UserSummary value, DataOutput out) throws IOException {
+            UUID id = value.getId();
+            out.writeBoolean(id != null);
+            if (id != null) {
+                out.writeLong(id.getMostSignificantBits());
+                out.writeLong(id.getLeastSignificantBits());
+            }
+            RedisValueCodec.writeString(out, value.getEmail());
+            RedisValueCodec.writeString(out, value.getFirstName());
+            RedisValueCodec.writeString(out, value.getLastName());
+            RedisValueCodec.writeString(out, value.getRole() != null ? value.getRole().name() : null);
+            out.writeByte(value.getIsActive() == null ? -1 : value.getIsActive() ? 1 : 0);
+            RedisValueCodec.writeString(out, value.getCreatedAt() != null ? value.getCreatedAt().toString() : null);
+            RedisValueCodec.writeString(out, value.getUpdatedAt() != null ? value.getUpdatedAt().toString() : null);
+        }
+
+        @Override
+        public UserSummary read(DataInput in) throws IOException {
+            UUID id = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+            String email = RedisValueCodec.readString(in);
+            String firstName = RedisValueCodec.readString(in);
+            String lastName = RedisValueCodec.readString(in);
+            String role = RedisValueCodec.readString(in);
+            byte active = in.readByte();
+            String createdAt = RedisValueCodec.readString(in);
+            String updatedAt = RedisValueCodec.readString(in);
+            return new UserSummary(id, email, firstName, lastName,
+                    role != null ? UserRole.valueOf(role) : null,
+                    active < 0 ? null : active == 1,
+                    createdAt != null ? LocalDateTime.parse(createdAt) : null,
+                    updatedAt != null ? LocalDateTime.parse(updatedAt) : null);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Spring Cache regions
+ * Binds app.cache.* into one entry per cache name used with @Cacheable. Each region
+ * has its own in-process (Caffeine) tier and, when app.cache.redis-tier is on, a shared
+ * Redis tier. Cache names without an entry use the default region settings.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheRegionProperties {
+
+    private boolean redisTier = false;
+    private Region defaultRegion = new Region();
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public static class Region {
+        private long ttlSeconds = 60;
+        private long localTtlSeconds = 0;
+        private long maxSize = 1000;
+        private boolean redis = true;
+        private long evictRedelayMillis = 1000;
+
+        /**
+         * TTL of the in-process tier: local-ttl-seconds if set, else ttl-seconds
+         * Keep it short for shared regions, other instances only see evictions through Redis.
+         */
+        public long effectiveLocalTtlSeconds() {
+            return localTtlSeconds > 0 ? Math.min(localTtlSeconds, ttlSeconds) : ttlSeconds;
+        }
+
+        // Getters and setters
+        public long getTtlSeconds() { return ttlSeconds; }
+        public void setTtlSeconds(long ttlSeconds) { this.ttlSeconds = ttlSeconds; }
+        public long getLocalTtlSeconds() { return localTtlSeconds; }
+        public void setLocalTtlSeconds(long localTtlSeconds) { this.localTtlSeconds = localTtlSeconds; }
+        public long getMaxSize() { return maxSize; }
+        public void setMaxSize(long maxSize) { this.maxSize = maxSize; }
+        public boolean isRedis() { return redis; }
+        public void setRedis(boolean redis) { this.redis = redis; }
+        public long getEvictRedelayMillis() { return evictRedelayMillis; }
+        public void setEvictRedelayMillis(long evictRedelayMillis) { this.evictRedelayMillis = evictRedelayMillis; }
+    }
+
+    public Region regionFor(String cacheName) {
+        return regions.getOrDefault(cacheName, defaultRegion);
+    }
+
+    // Getters and setters
+    public boolean isRedisTier() { return redisTier; }
+    public void setRedisTier(boolean redisTier) { this.redisTier = redisTier; }
+    public Region getDefaultRegion() { return defaultRegion; }
+    public void setDefaultRegion(Region defaultRegion) { this.defaultRegion = defaultRegion; }
+    public Map<String, Region> getRegions() { return regions; }
+    public void setRegions(Map<String, Region> regions) { this.regions = regions; }
+}
@@ -1,5 +1,6 @@
 package com.upskilling.smartdeploymonitor.config;
 
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.client.RestTemplate;
@@ -21,20 +22,20 @@ public class ClientConfig {
     /**
      * RestTemplate with timeout configuration
      * Demonstrates proper client-server communication setup
+     * Built from RestTemplateBuilder so calls are traced and carry the trace context
      */
     @Bean("clientRestTemplate")
-    public RestTemplate clientRestTemplate() {
+    public RestTemplate clientRestTemplate(RestTemplateBuilder builder) {
         // Configure request factory with timeouts
         SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
         factory.setConnectTimeout(5000); // 5 seconds
         factory.setReadTimeout(10000);   // 10 seconds
 
-        RestTemplate restTemplate = new RestTemplate(factory);
-        
-        // Add error handler for better client-server communication
-        restTemplate.setErrorHandler(new org.springframework.web.client.DefaultResponseErrorHandler());
-        
-        return restTemplate;
+        return builder
+                .requestFactory(() -> factory)
+                // Add error handler for better client-server communication
+                .errorHandler(new org.springframework.web.client.DefaultResponseErrorHandler())
+                .build();
     }
 
     /**
@@ -0,0 +1,71 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import com.upskilling.smartdeploymonitor.graphql.execution.CachingDocumentProvider;
+import com.upskilling.smartdeploymonitor.graphql.execution.QueryCostCalculator;
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * GraphQL execution guards
+ *
+ * /graphql is public, so every operation is checked before execution: query depth,
+ * total cost (see {@link QueryCostCalculator}) and the page-size cap. Operations over
+ * budget are rejected with an error and never reach a resolver.
+ *
+ * Parsed and validated documents are cached by SHA-256, which also backs automatic
+ * persisted queries (see {@link CachingDocumentProvider}).
+ */
+@Configuration
+public class GraphQlConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQlConfig.class);
+
+    @Bean
+    public Instrumentation maxQueryDepthInstrumentation(GraphQlLimitsProperties limits, MeterRegistry meterRegistry) {
+        Counter rejections = rejectionCounter(meterRegistry, "depth");
+        return new MaxQueryDepthInstrumentation(limits.getMaxDepth(), depthInfo -> {
+            rejections.increment();
+            logger.warn("Rejected GraphQL operation with depth {} (max {})", depthInfo.getDepth(), limits.getMaxDepth());
+            return true;
+        });
+    }
+
+    @Bean
+    public Instrumentation maxQueryComplexityInstrumentation(GraphQlLimitsProperties limits, MeterRegistry meterRegistry) {
+        Counter rejections = rejectionCounter(meterRegistry, "complexity");
+        QueryCostCalculator calculator = new QueryCostCalculator(limits, rejectionCounter(meterRegistry, "first"));
+        return new MaxQueryComplexityInstrumentation(limits.getMaxComplexity(), calculator, complexityInfo -> {
+            rejections.increment();
+            logger.warn("Rejected GraphQL operation with cost {} (max {})",
+                    complexityInfo.getComplexity(), limits.getMaxComplexity());
+            return true;
+        });
+    }
+
+    @Bean
+    public CachingDocumentProvider graphQlDocumentProvider(MeterRegistry meterRegistry,
+            @Value("${app.graphql.documents.max-size:1000}") long maxDocuments) {
+        return new CachingDocumentProvider(maxDocuments, meterRegistry);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer graphQlDocumentCacheCustomizer(CachingDocumentProvider documentProvider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(documentProvider));
+    }
+
+    private static Counter rejectionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("graphql.requests.rejected")
+                .tag("reason", reason)
+                .description("GraphQL operations rejected before execution for exceeding a limit")
+                .register(meterRegistry);
+    }
+}
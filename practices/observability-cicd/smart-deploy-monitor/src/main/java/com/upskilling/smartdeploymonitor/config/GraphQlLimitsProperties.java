@@ -0,0 +1,42 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * GraphQL query budget
+ * Binds app.graphql.limits.*: every operation is checked against these limits before
+ * execution and rejected as a whole if it exceeds any of them.
+ *
+ * Cost of a field = its own cost (field-costs entry "Type.field", else default-field-cost)
+ * plus the cost of its selections, multiplied by "first" for paginated fields.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.graphql.limits")
+public class GraphQlLimitsProperties {
+
+    private int maxDepth = 15;
+    private int maxComplexity = 1000;
+    private int maxFirst = 100;
+    private int defaultFieldCost = 1;
+    private Map<String, Integer> fieldCosts = new LinkedHashMap<>();
+
+    public int costOf(String parentType, String field) {
+        return fieldCosts.getOrDefault(parentType + "." + field, defaultFieldCost);
+    }
+
+    // Getters and setters
+    public int getMaxDepth() { return maxDepth; }
+    public void setMaxDepth(int maxDepth) { this.maxDepth = maxDepth; }
+    public int getMaxComplexity() { return maxComplexity; }
+    public void setMaxComplexity(int maxComplexity) { this.maxComplexity = maxComplexity; }
+    public int getMaxFirst() { return maxFirst; }
+    public void setMaxFirst(int maxFirst) { this.maxFirst = maxFirst; }
+    public int getDefaultFieldCost() { return defaultFieldCost; }
+    public void setDefaultFieldCost(int defaultFieldCost) { this.defaultFieldCost = defaultFieldCost; }
+    public Map<String, Integer> getFieldCosts() { return fieldCosts; }
+    public void setFieldCosts(Map<String, Integer> fieldCosts) { this.fieldCosts = fieldCosts; }
+}
@@ -0,0 +1,91 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Immutable set of path prefixes, matched in one pass over the path
+ *
+ * Built once from configuration; {@link #matches} walks the path character by character
+ * and stops at the first prefix that ends, so the cost depends on the length of the
+ * matching prefix rather than on the number of prefixes. Children are kept in sorted
+ * char arrays (fan-out is small for URL prefixes) to avoid boxing on the request path.
+ */
+public final class PathPrefixTrie {
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root = new Node();
+    private final boolean empty;
+
+    public PathPrefixTrie(Collection<String> prefixes) {
+        boolean any = false;
+        for (String prefix : prefixes) {
+            if (prefix == null) {
+                continue;
+            }
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.childOrCreate(prefix.charAt(i));
+            }
+            node.terminal = true;
+            any = true;
+        }
+        this.empty = !any;
+    }
+
+    /**
+     * Whether the path starts with any of the prefixes
+     */
+    public boolean matches(String path) {
+        if (empty || path == null) {
+            return false;
+        }
+        Node node = root;
+        if (node.terminal) {
+            return true;
+        }
+        for (int i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Node {
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        private boolean terminal;
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node childOrCreate(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (index >= 0) {
+                return children[index];
+            }
+            int insertAt = -index - 1;
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            System.arraycopy(keys, insertAt, newKeys, insertAt + 1, keys.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            Node node = new Node();
+            newKeys[insertAt] = c;
+            newChildren[insertAt] = node;
+            keys = newKeys;
+            children = newChildren;
+            return node;
+        }
+    }
+}
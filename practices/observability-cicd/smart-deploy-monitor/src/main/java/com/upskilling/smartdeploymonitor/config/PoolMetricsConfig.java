@@ -0,0 +1,67 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.commonspool2.CommonsObjectPool2Metrics;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerInitializedEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Saturation (active, idle, pending) of the request, JDBC and Redis pools
+ *
+ * - Tomcat: busy/current/max threads and open connections come from Tomcat's own MBeans
+ *   (server.tomcat.mbeanregistry.enabled), tomcat.threads.pending is the executor queue
+ * - Hikari: hikaricp.connections.active/idle/pending, bound by Spring Boot
+ * - Lettuce: commons.pool2.num.active/idle/waiters, picked up from the pool MBeans as
+ *   they are registered (MBean server notifications, no polling)
+ */
+@Configuration
+public class PoolMetricsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PoolMetricsConfig.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public PoolMetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public CommonsObjectPool2Metrics commonsObjectPool2Metrics() {
+        return new CommonsObjectPool2Metrics();
+    }
+
+    @EventListener
+    public void bindTomcatQueue(ServletWebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer tomcat)) {
+            return;
+        }
+        Connector connector = tomcat.getTomcat().getConnector();
+        ProtocolHandler handler = connector.getProtocolHandler();
+        Executor executor = handler.getExecutor();
+        // Virtual thread mode hands every request its own thread: nothing ever queues
+        if (!(executor instanceof ThreadPoolExecutor pool)) {
+            logger.debug("Tomcat executor {} has no queue to measure", executor);
+            return;
+        }
+        // Same name tag as Tomcat's own thread pool metrics (e.g. http-nio-8080)
+        String name = handler instanceof AbstractProtocol<?> protocol
+                ? protocol.getName().replace("\"", "")
+                : connector.toString();
+        Gauge.builder("tomcat.threads.pending", pool, p -> p.getQueue().size())
+                .description("Requests accepted by Tomcat and waiting for a worker thread")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,48 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Continuous profiling configuration
+ * Binds app.profiling.*: how long the rolling JFR recording and the in-memory profiles
+ * reach back, the sampling rates (JFR's "default" settings unless overridden), how
+ * many distinct stacks each minute of profile may hold and the heap budget of all
+ * in-memory profiles together.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.profiling")
+public class ProfilingProperties {
+
+    private boolean enabled = true;
+    private Duration window = Duration.ofMinutes(10);
+    private long maxRecordingSizeMb = 256;
+    private Duration cpuSamplePeriod = Duration.ofMillis(20);
+    private String allocationThrottle = "150/s";
+    private Duration lockThreshold = Duration.ofMillis(10);
+    private int maxStacksPerMinute = 2000;
+    private long maxMemoryMb = 16;
+    private int topN = 20;
+
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public Duration getWindow() { return window; }
+    public void setWindow(Duration window) { this.window = window; }
+    public long getMaxRecordingSizeMb() { return maxRecordingSizeMb; }
+    public void setMaxRecordingSizeMb(long maxRecordingSizeMb) { this.maxRecordingSizeMb = maxRecordingSizeMb; }
+    public Duration getCpuSamplePeriod() { return cpuSamplePeriod; }
+    public void setCpuSamplePeriod(Duration cpuSamplePeriod) { this.cpuSamplePeriod = cpuSamplePeriod; }
+    public String getAllocationThrottle() { return allocationThrottle; }
+    public void setAllocationThrottle(String allocationThrottle) { this.allocationThrottle = allocationThrottle; }
+    public Duration getLockThreshold() { return lockThreshold; }
+    public void setLockThreshold(Duration lockThreshold) { this.lockThreshold = lockThreshold; }
+    public int getMaxStacksPerMinute() { return maxStacksPerMinute; }
+    public void setMaxStacksPerMinute(int maxStacksPerMinute) { this.maxStacksPerMinute = maxStacksPerMinute; }
+    public long getMaxMemoryMb() { return maxMemoryMb; }
+    public void setMaxMemoryMb(long maxMemoryMb) { this.maxMemoryMb = maxMemoryMb; }
+    public int getTopN() { return topN; }
+    public void setTopN(int topN) { this.topN = topN; }
+}
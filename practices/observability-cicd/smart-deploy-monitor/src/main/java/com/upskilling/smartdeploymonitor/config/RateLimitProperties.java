@@ -0,0 +1,79 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate limiting configuration
+ * Binds app.rate-limit.* into per-route policies evaluated by the rate limiter.
+ * The first policy whose path prefix matches the request wins; requests that match
+ * no policy use the default policy.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/prometheus"));
+    private Policy defaultPolicy = new Policy("default", "/", 100, 60, KeyType.IP);
+    private List<Policy> policies = new ArrayList<>();
+
+    // Local pre-filter sizing
+    private int localStripes = 4096;
+    private int leaseDivisor = 20;
+
+    /**
+     * Which identity a policy counts requests against
+     */
+    public enum KeyType {
+        IP,
+        PRINCIPAL
+    }
+
+    public static class Policy {
+        private String name;
+        private String path;
+        private int limit = 100;
+        private int windowSeconds = 60;
+        private KeyType key = KeyType.IP;
+
+        public Policy() {}
+
+        public Policy(String name, String path, int limit, int windowSeconds, KeyType key) {
+            this.name = name;
+            this.path = path;
+            this.limit = limit;
+            this.windowSeconds = windowSeconds;
+            this.key = key;
+        }
+
+        // Getters and setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+        public String getPath() { return path; }
+        public void setPath(String path) { this.path = path; }
+        public int getLimit() { return limit; }
+        public void setLimit(int limit) { this.limit = limit; }
+        public int getWindowSeconds() { return windowSeconds; }
+        public void setWindowSeconds(int windowSeconds) { this.windowSeconds = windowSeconds; }
+        public KeyType getKey() { return key; }
+        public void setKey(KeyType key) { this.key = key; }
+    }
+
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<String> getExcludedPaths() { return excludedPaths; }
+    public void setExcludedPaths(List<String> excludedPaths) { this.excludedPaths = excludedPaths; }
+    public Policy getDefaultPolicy() { return defaultPolicy; }
+    public void setDefaultPolicy(Policy defaultPolicy) { this.defaultPolicy = defaultPolicy; }
+    public List<Policy> getPolicies() { return policies; }
+    public void setPolicies(List<Policy> policies) { this.policies = policies; }
+    public int getLocalStripes() { return localStripes; }
+    public void setLocalStripes(int localStripes) { this.localStripes = localStripes; }
+    public int getLeaseDivisor() { return leaseDivisor; }
+    public void setLeaseDivisor(int leaseDivisor) { this.leaseDivisor = leaseDivisor; }
+}
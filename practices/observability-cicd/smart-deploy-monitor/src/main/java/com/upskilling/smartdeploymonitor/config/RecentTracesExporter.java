@@ -0,0 +1,119 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory span exporter holding the most recent kept traces
+ *
+ * Lets the tracing setup be inspected and tested without a collector
+ * (GET /api/system/traces). The tail sampler exports a whole trace per call; the
+ * oldest traces are evicted once the configured number is held.
+ */
+public class RecentTracesExporter implements SpanExporter {
+
+    private final int capacity;
+    private final Deque<List<SpanData>> traces = new ArrayDeque<>();
+
+    public RecentTracesExporter(int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (!spans.isEmpty()) {
+            traces.addFirst(new ArrayList<>(spans));
+            while (traces.size() > capacity) {
+                traces.removeLast();
+            }
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        traces.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * Newest first; each trace with its spans in start order
+     */
+    public List<Map<String, Object>> recent(int limit) {
+        List<List<SpanData>> snapshot = new ArrayList<>();
+        synchronized (this) {
+            Iterator<List<SpanData>> it = traces.iterator();
+            while (it.hasNext() && snapshot.size() < limit) {
+                snapshot.add(it.next());
+            }
+        }
+        List<Map<String, Object>> result = new ArrayList<>(snapshot.size());
+        for (List<SpanData> spans : snapshot) {
+            result.add(toMap(spans));
+        }
+        return result;
+    }
+
+    /**
+     * The spans of one trace, or null when it is not (or no longer) held
+     */
+    public Map<String, Object> find(String traceId) {
+        synchronized (this) {
+            for (List<SpanData> spans : traces) {
+                if (spans.get(0).getTraceId().equals(traceId)) {
+                    return toMap(spans);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, Object> toMap(List<SpanData> trace) {
+        List<SpanData> spans = new ArrayList<>(trace);
+        spans.sort(Comparator.comparingLong(SpanData::getStartEpochNanos));
+        long start = spans.get(0).getStartEpochNanos();
+        long end = start;
+        boolean error = false;
+        List<Map<String, Object>> rows = new ArrayList<>(spans.size());
+        for (SpanData span : spans) {
+            end = Math.max(end, span.getEndEpochNanos());
+            error |= span.getStatus().getStatusCode() == StatusCode.ERROR;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("spanId", span.getSpanId());
+            row.put("parentSpanId", span.getParentSpanContext().isValid() ? span.getParentSpanId() : null);
+            row.put("name", span.getName());
+            row.put("kind", span.getKind().name());
+            row.put("offsetMs", (span.getStartEpochNanos() - start) / 1e6);
+            row.put("durationMs", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1e6);
+            row.put("status", span.getStatus().getStatusCode().name());
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+            row.put("attributes", attributes);
+            rows.add(row);
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("traceId", spans.get(0).getTraceId());
+        map.put("durationMs", (end - start) / 1e6);
+        map.put("error", error);
+        map.put("spanCount", spans.size());
+        map.put("spans", rows);
+        return map;
+    }
+}
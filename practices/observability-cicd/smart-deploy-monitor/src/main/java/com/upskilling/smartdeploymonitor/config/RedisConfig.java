@@ -1,21 +1,40 @@
 package com.upskilling.smartdeploymonitor.config;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 /**
  * Redis Configuration
  * Provides RedisTemplate bean for Redis operations
+ *
+ * Values go through {@link BinaryRedisSerializer}: registered types (every
+ * {@link RedisValueCodec} bean) are written in a compact binary layout, anything else
+ * as JSON inside the same versioned envelope.
  */
 @Configuration
 public class RedisConfig {
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+    public BinaryRedisSerializer redisValueSerializer(
+            ObjectProvider<RedisValueCodec<?>> codecs,
+            @Value("${app.redis.codec.format:binary}") String format,
+            @Value("${app.redis.codec.compression-threshold:512}") int compressionThreshold) {
+        List<RedisValueCodec<?>> registered = codecs.orderedStream().collect(Collectors.toList());
+        return new BinaryRedisSerializer(registered,
+                BinaryRedisSerializer.Format.valueOf(format.trim().toUpperCase()), compressionThreshold);
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory,
+                                                       BinaryRedisSerializer redisValueSerializer) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
         
@@ -23,11 +42,11 @@ public class RedisConfig {
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
         
-        // Use JSON serializer for values
-        template.setValueSerializer(new GenericJackson2JsonRedisSerializer());
-        template.setHashValueSerializer(new GenericJackson2JsonRedisSerializer());
+        // Use the binary codec layer for values
+        template.setValueSerializer(redisValueSerializer);
+        template.setHashValueSerializer(redisValueSerializer);
         
         template.afterPropertiesSet();
         return template;
     }
-}
\ No newline at end of file
+}
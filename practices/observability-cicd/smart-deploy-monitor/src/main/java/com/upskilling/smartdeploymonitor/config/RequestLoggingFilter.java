@@ -2,78 +2,168 @@ package com.upskilling.smartdeploymonitor.config;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
 
 /**
  * Centralized HTTP request/response logging filter
  * Logs all HTTP requests automatically without needing logger statements in controllers
+ *
+ * By default only the request line, status and timing are logged and the request and
+ * response pass through unwrapped, so downloads are streamed exactly as without the
+ * filter. Bodies are captured only for a sampled fraction of requests, or for every
+ * request while this logger is at DEBUG, and then only the first max-bytes of each
+ * direction: the response is teed to the client as it is written, never buffered.
+ * Credential-looking fields are masked in captured bodies, as JSON members or as
+ * form-urlencoded pairs, and in the logged query string.
  */
 public class RequestLoggingFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(RequestLoggingFilter.class);
 
-    // Paths to exclude from logging (actuator endpoints, static resources, etc.)
-    private static final List<String> EXCLUDED_PATHS = Arrays.asList(
-        "/actuator/prometheus",
-        "/actuator/metrics",
-        "/actuator/health"
-    );
+    private static final String SECRET_NAMES = "password|newPassword|currentPassword|token|refreshToken|accessToken"
+            + "|refresh_token|access_token|secret|client_secret";
+
+    // "password": "..." in JSON
+    private static final Pattern SECRET_FIELDS = Pattern.compile(
+            "(\"(?:" + SECRET_NAMES + ")\"\\s*:\\s*)\"[^\"]*\"",
+            Pattern.CASE_INSENSITIVE);
+
+    // password=... in form bodies and query strings
+    private static final Pattern SECRET_PARAMS = Pattern.compile(
+            "((?:^|&)(?:" + SECRET_NAMES + ")=)[^&]*",
+            Pattern.CASE_INSENSITIVE);
+
+    // Paths to exclude from logging (actuator endpoints, static resources, etc.), matched in one pass
+    private final PathPrefixTrie excludedPaths;
+    private final double bodySampleRate;
+    private final int maxBodyBytes;
+
+    public RequestLoggingFilter(RequestLoggingProperties properties) {
+        this.excludedPaths = new PathPrefixTrie(properties.getExcludedPaths());
+        this.bodySampleRate = properties.getBody().getSampleRate();
+        this.maxBodyBytes = Math.max(0, properties.getBody().getMaxBytes());
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        String requestPath = request.getRequestURI();
-
         // Skip logging for excluded paths
-        if (EXCLUDED_PATHS.stream().anyMatch(requestPath::startsWith)) {
+        if (excludedPaths.matches(request.getRequestURI())) {
             filterChain.doFilter(request, response);
             return;
         }
 
         long startTime = System.currentTimeMillis();
 
-        // Wrap request/response to allow reading body multiple times
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper wrappedResponse = new ContentCachingResponseWrapper(response);
+        if (!captureBodies()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                logRequest(request, response, System.currentTimeMillis() - startTime, null, null);
+            }
+            return;
+        }
 
+        // Bounded capture: the request wrapper stops caching at maxBodyBytes, the response is teed
+        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, maxBodyBytes);
+        BodyCaptureResponseWrapper wrappedResponse = new BodyCaptureResponseWrapper(response, maxBodyBytes);
         try {
             filterChain.doFilter(wrappedRequest, wrappedResponse);
         } finally {
+            wrappedResponse.flushWriter();
             long duration = System.currentTimeMillis() - startTime;
-            logRequest(wrappedRequest, wrappedResponse, duration);
-            wrappedResponse.copyBodyToResponse();
+            logRequest(wrappedRequest, wrappedResponse, duration,
+                    body(wrappedRequest.getContentAsByteArray(), charset(wrappedRequest.getCharacterEncoding()),
+                            wrappedRequest.getContentType()),
+                    body(wrappedResponse.getCaptured(), charset(wrappedResponse.getCharacterEncoding()),
+                            wrappedResponse.getContentType()));
+        }
+    }
+
+    private boolean captureBodies() {
+        if (maxBodyBytes == 0) {
+            return false;
         }
+        return logger.isDebugEnabled()
+                || (bodySampleRate > 0 && ThreadLocalRandom.current().nextDouble() < bodySampleRate);
     }
 
-    private void logRequest(HttpServletRequest request, HttpServletResponse response, long duration) {
+    private void logRequest(HttpServletRequest request, HttpServletResponse response, long duration,
+                            String requestBody, String responseBody) {
         String method = request.getMethod();
         String uri = request.getRequestURI();
         String queryString = request.getQueryString();
-        String fullPath = queryString == null ? uri : uri + "?" + queryString;
+        String fullPath = queryString == null ? uri : uri + "?" + SECRET_PARAMS.matcher(queryString).replaceAll("$1***");
         int status = response.getStatus();
         String clientIp = getClientIpAddress(request);
         String userAgent = request.getHeader("User-Agent");
 
         // Log request details
-        logger.info("HTTP {} {} - Status: {} - Duration: {}ms - IP: {} - User-Agent: {}",
-            method, fullPath, status, duration, clientIp, userAgent);
-
-        // Optionally log request/response body for debugging (be careful with sensitive data)
-        // String requestBody = new String(request.getContentAsByteArray(), request.getCharacterEncoding());
-        // String responseBody = new String(response.getContentAsByteArray(), request.getCharacterEncoding());
-        // logger.debug("Request Body: {}", requestBody);
-        // logger.debug("Response Body: {}", responseBody);
+        if (requestBody == null && responseBody == null) {
+            logger.info("HTTP {} {} - Status: {} - Duration: {}ms - IP: {} - User-Agent: {}",
+                method, fullPath, status, duration, clientIp, userAgent);
+        } else {
+            logger.info("HTTP {} {} - Status: {} - Duration: {}ms - IP: {} - User-Agent: {} - Request Body: {} - Response Body: {}",
+                method, fullPath, status, duration, clientIp, userAgent, requestBody, responseBody);
+        }
+    }
+
+    /**
+     * Captured body as masked text, or a placeholder for empty and binary content
+     */
+    private static String body(byte[] content, Charset charset, String contentType) {
+        if (content.length == 0) {
+            return "";
+        }
+        if (!isTextual(contentType)) {
+            return "[" + content.length + " bytes " + contentType + "]";
+        }
+        return mask(new String(content, charset), contentType);
+    }
+
+    /**
+     * Secret values replaced by ***: key=value pairs for form bodies, JSON members otherwise
+     */
+    static String mask(String text, String contentType) {
+        if (contentType.toLowerCase().contains("x-www-form-urlencoded")) {
+            return SECRET_PARAMS.matcher(text).replaceAll("$1***");
+        }
+        return SECRET_FIELDS.matcher(text).replaceAll("$1\"***\"");
+    }
+
+    private static boolean isTextual(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String type = contentType.toLowerCase();
+        return type.startsWith("text/") || type.contains("json") || type.contains("xml")
+                || type.contains("x-www-form-urlencoded") || type.contains("graphql");
+    }
+
+    private static Charset charset(String encoding) {
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
     }
 
     private String getClientIpAddress(HttpServletRequest request) {
@@ -83,4 +173,110 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         }
         return xfHeader.split(",")[0];
     }
-}
\ No newline at end of file
+
+    /**
+     * Passes the response through while keeping a copy of its first maxBytes
+     */
+    private static final class BodyCaptureResponseWrapper extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream captured;
+        private final int maxBytes;
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        BodyCaptureResponseWrapper(HttpServletResponse response, int maxBytes) {
+            super(response);
+            this.maxBytes = maxBytes;
+            this.captured = new ByteArrayOutputStream(Math.min(maxBytes, 1024));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() has already been called on this response");
+            }
+            if (outputStream == null) {
+                outputStream = new TeeOutputStream(super.getOutputStream());
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            if (writer == null) {
+                ServletOutputStream tee = new TeeOutputStream(super.getOutputStream());
+                writer = new PrintWriter(new OutputStreamWriter(tee, charset(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            flushWriter();
+            super.flushBuffer();
+        }
+
+        void flushWriter() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        byte[] getCaptured() {
+            return captured.toByteArray();
+        }
+
+        private void capture(byte[] bytes, int offset, int length) {
+            int room = maxBytes - captured.size();
+            if (room > 0) {
+                captured.write(bytes, offset, Math.min(room, length));
+            }
+        }
+
+        private final class TeeOutputStream extends ServletOutputStream {
+
+            private final ServletOutputStream delegate;
+
+            TeeOutputStream(ServletOutputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public void write(int b) throws IOException {
+                delegate.write(b);
+                if (captured.size() < maxBytes) {
+                    captured.write(b);
+                }
+            }
+
+            @Override
+            public void write(byte[] bytes, int offset, int length) throws IOException {
+                delegate.write(bytes, offset, length);
+                capture(bytes, offset, length);
+            }
+
+            @Override
+            public void flush() throws IOException {
+                delegate.flush();
+            }
+
+            @Override
+            public void close() throws IOException {
+                delegate.close();
+            }
+
+            @Override
+            public boolean isReady() {
+                return delegate.isReady();
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+                delegate.setWriteListener(listener);
+            }
+        }
+    }
+}
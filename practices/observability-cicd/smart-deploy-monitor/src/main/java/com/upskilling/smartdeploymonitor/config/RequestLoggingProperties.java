@@ -0,0 +1,41 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Request logging configuration
+ * Binds app.request-logging.*. Bodies are only captured for sampled requests (or when
+ * the filter's logger is at DEBUG) and never beyond max-bytes per direction.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.request-logging")
+public class RequestLoggingProperties {
+
+    private boolean enabled = true;
+    private List<String> excludedPaths = new ArrayList<>(List.of(
+            "/actuator/prometheus", "/actuator/metrics", "/actuator/health"));
+    private Body body = new Body();
+
+    public static class Body {
+        private double sampleRate = 0.0;
+        private int maxBytes = 4096;
+
+        // Getters and setters
+        public double getSampleRate() { return sampleRate; }
+        public void setSampleRate(double sampleRate) { this.sampleRate = sampleRate; }
+        public int getMaxBytes() { return maxBytes; }
+        public void setMaxBytes(int maxBytes) { this.maxBytes = maxBytes; }
+    }
+
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<String> getExcludedPaths() { return excludedPaths; }
+    public void setExcludedPaths(List<String> excludedPaths) { this.excludedPaths = excludedPaths; }
+    public Body getBody() { return body; }
+    public void setBody(Body body) { this.body = body; }
+}
@@ -0,0 +1,158 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-route HTTP latency meters: http.route.latency{route,method,status}
+ *
+ * Every timer publishes in-process p50/p95/p99/p999 (HdrHistogram based, decayed over
+ * the distribution expiry), the configured SLO boundaries as cumulative buckets and,
+ * optionally, the full percentile histogram for server-side quantiles across instances.
+ *
+ * Recording is allocation-free on the hot path: timers are registered the first time a
+ * (route, method, status) combination is seen and then looked up by the route template
+ * string (a constant per handler mapping, with a cached hash), a method slot and a status
+ * slot, so no tag lists or ids are built per request. Route cardinality is capped; routes
+ * beyond max-routes share route="OTHER".
+ */
+@Component
+public class RouteMetrics {
+
+    public static final String METRIC = "http.route.latency";
+    public static final String OTHER_ROUTE = "OTHER";
+
+    private static final String[] METHODS = {"GET", "POST", "PUT", "DELETE", "PATCH", "HEAD", "OPTIONS", "OTHER"};
+    private static final int MIN_STATUS = 100;
+    private static final int STATUS_SLOTS = 500;
+
+    private final MeterRegistry meterRegistry;
+    private final double[] percentiles;
+    private final Duration[] slos;
+    private final boolean percentileHistogram;
+    private final Duration minimumExpected;
+    private final Duration maximumExpected;
+    private final int maxRoutes;
+
+    private final Map<String, Route> routes = new ConcurrentHashMap<>();
+    private final LongAdder totalRequests = new LongAdder();
+    private final AtomicLong activeRequests = new AtomicLong();
+
+    public RouteMetrics(MeterRegistry meterRegistry, RouteMetricsProperties properties) {
+        this.meterRegistry = meterRegistry;
+        this.percentiles = properties.getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+        this.slos = properties.getSlos().toArray(new Duration[0]);
+        this.percentileHistogram = properties.isPercentileHistogram();
+        this.minimumExpected = properties.getMinimumExpected();
+        this.maximumExpected = properties.getMaximumExpected();
+        this.maxRoutes = Math.max(1, properties.getMaxRoutes());
+
+        FunctionCounter.builder("application.requests.total", totalRequests, LongAdder::sum)
+                .description("Total application requests")
+                .register(meterRegistry);
+        Gauge.builder("application.connections.active", activeRequests, AtomicLong::get)
+                .description("HTTP requests currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A request entered the server; pair with {@link #record}
+     */
+    public void started() {
+        activeRequests.incrementAndGet();
+    }
+
+    /**
+     * A request finished
+     * @param route Route template (e.g. /api/v1/users/{id}) or a fixed placeholder
+     */
+    public void record(String route, String method, int status, long durationNanos) {
+        activeRequests.decrementAndGet();
+        totalRequests.increment();
+        timer(route, method, status).record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public long getTotalRequests() {
+        return totalRequests.sum();
+    }
+
+    public long getActiveRequests() {
+        return activeRequests.get();
+    }
+
+    private Timer timer(String routeTemplate, String method, int status) {
+        Route route = routes.get(routeTemplate);
+        if (route == null) {
+            route = routes.size() < maxRoutes
+                    ? routes.computeIfAbsent(routeTemplate, Route::new)
+                    : routes.computeIfAbsent(OTHER_ROUTE, Route::new);
+        }
+
+        int methodSlot = methodSlot(method);
+        AtomicReferenceArray<Timer> byStatus = route.timers.get(methodSlot);
+        if (byStatus == null) {
+            route.timers.compareAndSet(methodSlot, null, new AtomicReferenceArray<>(STATUS_SLOTS + 1));
+            byStatus = route.timers.get(methodSlot);
+        }
+
+        int statusSlot = status >= MIN_STATUS && status < MIN_STATUS + STATUS_SLOTS ? status - MIN_STATUS : STATUS_SLOTS;
+        Timer timer = byStatus.get(statusSlot);
+        if (timer == null) {
+            // Registration is idempotent, so racing threads end up with the same timer
+            timer = register(route.name, METHODS[methodSlot],
+                    statusSlot == STATUS_SLOTS ? "UNKNOWN" : Integer.toString(status));
+            byStatus.set(statusSlot, timer);
+        }
+        return timer;
+    }
+
+    private Timer register(String route, String method, String status) {
+        Timer.Builder builder = Timer.builder(METRIC)
+                .description("HTTP server latency per route template, method and status")
+                .tag("route", route)
+                .tag("method", method)
+                .tag("status", status)
+                .publishPercentiles(percentiles)
+                .serviceLevelObjectives(slos)
+                .minimumExpectedValue(minimumExpected)
+                .maximumExpectedValue(maximumExpected);
+        if (percentileHistogram) {
+            builder.publishPercentileHistogram();
+        }
+        return builder.register(meterRegistry);
+    }
+
+    private static int methodSlot(String method) {
+        switch (method) {
+            case "GET": return 0;
+            case "POST": return 1;
+            case "PUT": return 2;
+            case "DELETE": return 3;
+            case "PATCH": return 4;
+            case "HEAD": return 5;
+            case "OPTIONS": return 6;
+            default: return 7;
+        }
+    }
+
+    private static final class Route {
+        private final String name;
+        private final AtomicReferenceArray<AtomicReferenceArray<Timer>> timers =
+                new AtomicReferenceArray<>(METHODS.length);
+
+        Route(String name) {
+            this.name = name;
+        }
+    }
+}
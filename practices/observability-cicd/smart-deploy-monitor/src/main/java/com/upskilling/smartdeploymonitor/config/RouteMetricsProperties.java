@@ -0,0 +1,45 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-route latency metrics configuration
+ * Binds app.metrics.routes.*: which percentiles are computed in process, the SLO
+ * boundaries published as histogram buckets and how many distinct routes get their
+ * own meters before the rest are folded into route="OTHER".
+ */
+@Component
+@ConfigurationProperties(prefix = "app.metrics.routes")
+public class RouteMetricsProperties {
+
+    private boolean enabled = true;
+    private List<Double> percentiles = new ArrayList<>(List.of(0.5, 0.95, 0.99, 0.999));
+    private List<Duration> slos = new ArrayList<>(List.of(
+            Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(2)));
+    private boolean percentileHistogram = true;
+    private Duration minimumExpected = Duration.ofMillis(1);
+    private Duration maximumExpected = Duration.ofSeconds(30);
+    private int maxRoutes = 200;
+
+    // Getters and setters
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+    public List<Double> getPercentiles() { return percentiles; }
+    public void setPercentiles(List<Double> percentiles) { this.percentiles = percentiles; }
+    public List<Duration> getSlos() { return slos; }
+    public void setSlos(List<Duration> slos) { this.slos = slos; }
+    public boolean isPercentileHistogram() { return percentileHistogram; }
+    public void setPercentileHistogram(boolean percentileHistogram) { this.percentileHistogram = percentileHistogram; }
+    public Duration getMinimumExpected() { return minimumExpected; }
+    public void setMinimumExpected(Duration minimumExpected) { this.minimumExpected = minimumExpected; }
+    public Duration getMaximumExpected() { return maximumExpected; }
+    public void setMaximumExpected(Duration maximumExpected) { this.maximumExpected = maximumExpected; }
+    public int getMaxRoutes() { return maxRoutes; }
+    public void setMaxRoutes(int maxRoutes) { this.maxRoutes = maxRoutes; }
+}
@@ -0,0 +1,105 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Times every request into {@link RouteMetrics}
+ *
+ * The route is the handler's URI template (set by Spring MVC once a handler matched), so
+ * /api/v1/users/42 and /api/v1/users/43 share /api/v1/users/{id}. Requests no handler
+ * claimed (404s, requests rejected by the security chain) are grouped as NOT_FOUND or
+ * UNKNOWN rather than by raw path, which keeps cardinality bounded. Async requests
+ * (streaming responses, DeferredResult) are recorded when the async cycle completes.
+ */
+public class RouteTimingFilter extends OncePerRequestFilter {
+
+    private final RouteMetrics routeMetrics;
+
+    public RouteTimingFilter(RouteMetrics routeMetrics) {
+        this.routeMetrics = routeMetrics;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long start = System.nanoTime();
+        routeMetrics.started();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncCompletion(start));
+            } else {
+                // An exception escaping the chain becomes a 500 on the error dispatch
+                record(request, failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus(), start);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long start) {
+        routeMetrics.record(route(request, status), request.getMethod(), status, System.nanoTime() - start);
+    }
+
+    private static String route(HttpServletRequest request, int status) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String template) {
+            return template;
+        }
+        if (pattern != null) {
+            return pattern.toString();
+        }
+        return status == HttpServletResponse.SC_NOT_FOUND ? "NOT_FOUND" : "UNKNOWN";
+    }
+
+    private final class AsyncCompletion implements AsyncListener {
+
+        private final long start;
+        private boolean recorded;
+
+        AsyncCompletion(long start) {
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            finish(event, null);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            finish(event, HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            finish(event, HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // A nested async cycle: keep listening
+            event.getAsyncContext().addListener(this);
+        }
+
+        private synchronized void finish(AsyncEvent event, Integer status) {
+            if (recorded) {
+                return;
+            }
+            recorded = true;
+            HttpServletRequest request = (HttpServletRequest) event.getSuppliedRequest();
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            record(request, status != null ? status : response.getStatus(), start);
+        }
+    }
+}
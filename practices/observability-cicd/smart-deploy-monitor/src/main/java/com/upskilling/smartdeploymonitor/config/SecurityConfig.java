@@ -4,6 +4,7 @@ import com.upskilling.smartdeploymonitor.security.JwtAuthenticationFilter;
 import com.upskilling.smartdeploymonitor.security.SecurityHeadersFilter;
 import com.upskilling.smartdeploymonitor.security.RateLimitingFilter;
 import com.upskilling.smartdeploymonitor.security.InputValidationFilter;
+import io.micrometer.observation.ObservationRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -61,7 +62,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, ObservationRegistry observationRegistry) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -94,10 +95,11 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authenticationProvider(authenticationProvider())
-            .addFilterBefore(inputValidationFilter(), UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(rateLimitingFilter(), UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(securityHeadersFilter(), UsernamePasswordAuthenticationFilter.class)
-            .addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+            // Each custom filter runs in its own span
+            .addFilterBefore(new TracingFilter(inputValidationFilter(), observationRegistry), UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new TracingFilter(rateLimitingFilter(), observationRegistry), UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new TracingFilter(securityHeadersFilter(), observationRegistry), UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(new TracingFilter(jwtAuthenticationFilter(), observationRegistry), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
     }
@@ -0,0 +1,278 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadWriteSpan;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SpanProcessor;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tail-based sampling: spans are held per trace and the whole trace is kept or dropped
+ * once its local root span (no parent, or a parent in another service) has ended
+ *
+ * A trace is kept when any span failed (error status, or a 5xx server outcome), when
+ * the root took at least the latency threshold, or by a small random baseline so normal
+ * traffic stays visible for comparison. Kept traces are exported off the request
+ * threads. Memory is bounded: at most max-pending-traces traces are buffered, each with
+ * at most max-spans-per-trace spans and all of them together with at most
+ * max-buffered-spans spans, and traces whose root never ends in this process are
+ * decided by their own spans after trace-timeout. Spans ending after their trace was
+ * decided are dropped rather than buffered as a new trace; decided trace ids are
+ * remembered for trace-timeout.
+ */
+public class TailSamplingSpanProcessor implements SpanProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(TailSamplingSpanProcessor.class);
+
+    private static final AttributeKey<String> OUTCOME = AttributeKey.stringKey("outcome");
+
+    private final SpanExporter exporter;
+    private final long latencyThresholdNanos;
+    private final double baselineRatio;
+    private final int maxPendingTraces;
+    private final int maxSpansPerTrace;
+    private final int maxBufferedSpans;
+    private final long traceTimeoutNanos;
+
+    private final Map<String, PendingTrace> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger bufferedSpans = new AtomicInteger();
+    private final Cache<String, Boolean> decided;
+    private final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "trace-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter keptError;
+    private final Counter keptSlow;
+    private final Counter keptBaseline;
+    private final Counter dropped;
+    private final Counter overflow;
+    private final Counter bufferFull;
+    private final Counter late;
+
+    public TailSamplingSpanProcessor(SpanExporter exporter, TracingProperties.Tail properties, MeterRegistry meterRegistry) {
+        this.exporter = exporter;
+        this.latencyThresholdNanos = properties.getLatencyThreshold().toNanos();
+        this.baselineRatio = properties.getBaselineRatio();
+        this.maxPendingTraces = Math.max(1, properties.getMaxPendingTraces());
+        this.maxSpansPerTrace = Math.max(1, properties.getMaxSpansPerTrace());
+        this.maxBufferedSpans = Math.max(1, properties.getMaxBufferedSpans());
+        this.traceTimeoutNanos = properties.getTraceTimeout().toNanos();
+        this.decided = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getTraceTimeout())
+                .maximumSize(maxPendingTraces)
+                .build();
+
+        this.keptError = decisions(meterRegistry, "kept_error");
+        this.keptSlow = decisions(meterRegistry, "kept_slow");
+        this.keptBaseline = decisions(meterRegistry, "kept_baseline");
+        this.dropped = decisions(meterRegistry, "dropped");
+        this.overflow = decisions(meterRegistry, "overflow");
+        this.bufferFull = droppedSpans(meterRegistry, "buffer_full");
+        this.late = droppedSpans(meterRegistry, "late");
+        Gauge.builder("tracing.traces.pending", pending, Map::size)
+                .description("Traces buffered until their root span ends")
+                .register(meterRegistry);
+        Gauge.builder("tracing.spans.pending", bufferedSpans, AtomicInteger::get)
+                .description("Spans buffered across all pending traces")
+                .register(meterRegistry);
+
+        long sweepMillis = Math.max(1000, properties.getTraceTimeout().toMillis() / 2);
+        worker.scheduleWithFixedDelay(this::expire, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static Counter decisions(MeterRegistry meterRegistry, String decision) {
+        return Counter.builder("tracing.traces")
+                .description("Completed traces by tail sampling decision")
+                .tag("decision", decision)
+                .register(meterRegistry);
+    }
+
+    private static Counter droppedSpans(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("tracing.spans.dropped")
+                .description("Ended spans not buffered for tail sampling")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onStart(Context parentContext, ReadWriteSpan span) {
+    }
+
+    @Override
+    public boolean isStartRequired() {
+        return false;
+    }
+
+    @Override
+    public void onEnd(ReadableSpan span) {
+        SpanData data = span.toSpanData();
+        String traceId = data.getTraceId();
+
+        PendingTrace trace = pending.get(traceId);
+        if (trace == null) {
+            if (decided.getIfPresent(traceId) != null) {
+                // Its root has ended and the trace was exported or dropped without it
+                late.increment();
+                return;
+            }
+            if (pending.size() >= maxPendingTraces) {
+                overflow.increment();
+                return;
+            }
+            trace = pending.computeIfAbsent(traceId, key -> new PendingTrace());
+        }
+        if (!trace.add(data)) {
+            return;
+        }
+        if (isLocalRoot(data) && pending.remove(traceId, trace)) {
+            decide(traceId, trace, data.getEndEpochNanos() - data.getStartEpochNanos());
+        }
+    }
+
+    @Override
+    public boolean isEndRequired() {
+        return true;
+    }
+
+    @Override
+    public CompletableResultCode forceFlush() {
+        return exporter.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        worker.shutdown();
+        try {
+            worker.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return exporter.shutdown();
+    }
+
+    private static boolean isLocalRoot(SpanData span) {
+        SpanContext parent = span.getParentSpanContext();
+        return !parent.isValid() || parent.isRemote();
+    }
+
+    private void decide(String traceId, PendingTrace trace, long rootNanos) {
+        decided.put(traceId, Boolean.TRUE);
+        List<SpanData> spans = trace.drain();
+        Counter decision;
+        if (trace.failed) {
+            decision = keptError;
+        } else if (rootNanos >= latencyThresholdNanos) {
+            decision = keptSlow;
+        } else if (baselineRatio > 0 && ThreadLocalRandom.current().nextDouble() < baselineRatio) {
+            decision = keptBaseline;
+        } else {
+            dropped.increment();
+            return;
+        }
+        decision.increment();
+        try {
+            worker.execute(() -> export(spans));
+        } catch (RuntimeException e) {
+            // Shutting down
+            dropped.increment();
+        }
+    }
+
+    private void export(List<SpanData> spans) {
+        try {
+            exporter.export(spans).join(10, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            logger.warn("Span export failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Traces whose local root never ended here (async work outliving the request, spans
+     * ending after the root) are decided by the longest span seen
+     */
+    private void expire() {
+        long now = System.nanoTime();
+        for (Map.Entry<String, PendingTrace> entry : pending.entrySet()) {
+            PendingTrace trace = entry.getValue();
+            if (now - trace.createdNanos >= traceTimeoutNanos && pending.remove(entry.getKey(), trace)) {
+                decide(entry.getKey(), trace, trace.longestNanos);
+            }
+        }
+    }
+
+    /**
+     * Claims room for one span in the buffer shared by all pending traces
+     */
+    private boolean reserveSpan() {
+        if (bufferedSpans.incrementAndGet() > maxBufferedSpans) {
+            bufferedSpans.decrementAndGet();
+            bufferFull.increment();
+            return false;
+        }
+        return true;
+    }
+
+    final class PendingTrace {
+        private final long createdNanos = System.nanoTime();
+        private final List<SpanData> spans = new ArrayList<>(8);
+        private volatile boolean failed;
+        private volatile long longestNanos;
+        // Set once drained; a span looked up before the trace was removed may still arrive
+        private boolean closed;
+
+        /**
+         * Spans past either cap are not kept, but still count towards the decision
+         * @return False if the trace was already decided (the span is dropped as late)
+         */
+        synchronized boolean add(SpanData span) {
+            if (closed) {
+                late.increment();
+                return false;
+            }
+            if (span.getStatus().getStatusCode() == StatusCode.ERROR
+                    || "SERVER_ERROR".equals(span.getAttributes().get(OUTCOME))) {
+                failed = true;
+            }
+            longestNanos = Math.max(longestNanos, span.getEndEpochNanos() - span.getStartEpochNanos());
+            if (spans.size() < maxSpansPerTrace && reserveSpan()) {
+                spans.add(span);
+            }
+            return true;
+        }
+
+        /**
+         * Hands the spans over and returns their room to the shared buffer
+         */
+        synchronized List<SpanData> drain() {
+            closed = true;
+            List<SpanData> drained = new ArrayList<>(spans);
+            bufferedSpans.addAndGet(-spans.size());
+            spans.clear();
+            return drained;
+        }
+    }
+}
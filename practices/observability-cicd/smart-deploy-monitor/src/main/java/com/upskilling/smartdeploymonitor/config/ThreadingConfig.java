@@ -0,0 +1,53 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Thread execution mode
+ *
+ * With spring.threads.virtual.enabled (VIRTUAL_THREADS=true) on a Java 21+ runtime,
+ * Spring Boot runs Tomcat request handling, the applicationTaskExecutor (@Async and
+ * RedisService's async batch calls) and the @Scheduled task scheduler on virtual
+ * threads. Otherwise the usual platform pools are used (200 Tomcat threads, a bounded
+ * task executor, a single scheduler thread). The application itself is compiled for
+ * Java 17, so the same jar runs in either mode.
+ */
+@Configuration
+@EnableAsync
+public class ThreadingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    private final boolean virtualRequested;
+
+    public ThreadingConfig(@Value("${spring.threads.virtual.enabled:false}") boolean virtualRequested) {
+        this.virtualRequested = virtualRequested;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportMode() {
+        if (virtualRequested && !virtualThreadsSupported()) {
+            logger.warn("Virtual threads requested but the runtime is Java {}; running on platform threads",
+                    Runtime.version().feature());
+        } else {
+            logger.info("Thread mode: {}", isVirtualMode() ? "virtual" : "platform");
+        }
+    }
+
+    /**
+     * Whether requests, @Async and @Scheduled work run on virtual threads
+     */
+    public boolean isVirtualMode() {
+        return virtualRequested && virtualThreadsSupported();
+    }
+
+    public static boolean virtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+}
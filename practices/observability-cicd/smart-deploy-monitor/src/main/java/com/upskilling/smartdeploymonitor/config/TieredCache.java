@@ -0,0 +1,292 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * Two-tier Spring {@link Cache} region
+ *
+ * L1 is a bounded Caffeine cache, L2 (optional) is Redis through the shared template,
+ * so values use the binary codec layer. Reads go L1, then L2, then the loader; a load
+ * populates both tiers. Loads for the same key are collapsed, so a miss on a hot key
+ * hits the database once per instance. The load runs on the calling thread but outside
+ * any cache lock (the L1 holds futures): concurrent callers wait on the future, which
+ * parks rather than pins in virtual-thread mode.
+ *
+ * Redis failures never fail a cache operation: they are counted and the region
+ * degrades to L1 only. Null values are not cached.
+ *
+ * A load that read the database before a write but finishes after its eviction must not
+ * publish the old value. Evictions bump a per-key generation (striped), and a load only
+ * writes to Redis if its key's generation is unchanged; that covers loads on this
+ * instance. Loads on other instances are not seen here, so each eviction is repeated
+ * in Redis and L1 after evict-redelay-millis, which bounds how long such a value lives.
+ *
+ * Every caller on the instance receives the same L1 instance, so collections are stored
+ * as unmodifiable copies; the elements themselves should be immutable (see UserSummary).
+ */
+public class TieredCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(TieredCache.class);
+
+    // Redis keys are "<namespace>:<region>:<key>", so a region can be cleared with one SCAN
+    public static final String NAMESPACE = "region";
+
+    // Stripes of the eviction generation; a collision only skips a Redis write
+    private static final int GENERATION_STRIPES = 64;
+
+    private final String name;
+    private final AsyncCache<Object, Object> loadingCache;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ToLongFunction<String> namespaceClearer;
+    private final Duration ttl;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    private final Executor redelayedEvictions;
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+
+    /**
+     * @param redisTemplate Shared template, or null for an L1-only region
+     * @param namespaceClearer Removes every Redis key of a namespace (used by clear())
+     */
+    public TieredCache(String name, CacheRegionProperties.Region region, MeterRegistry meterRegistry,
+                       RedisTemplate<String, Object> redisTemplate, ToLongFunction<String> namespaceClearer) {
+        this.name = name;
+        this.loadingCache = Caffeine.newBuilder()
+                .maximumSize(region.getMaxSize())
+                .expireAfterWrite(Duration.ofSeconds(region.effectiveLocalTtlSeconds()))
+                .recordStats()
+                .buildAsync();
+        this.localCache = loadingCache.synchronous();
+        this.redisTemplate = redisTemplate;
+        this.namespaceClearer = namespaceClearer;
+        this.ttl = Duration.ofSeconds(region.getTtlSeconds());
+        this.redelayedEvictions = redisTemplate != null && region.getEvictRedelayMillis() > 0
+                ? CompletableFuture.delayedExecutor(region.getEvictRedelayMillis(), TimeUnit.MILLISECONDS)
+                : null;
+
+        // cache.gets{cache=<name>,result=hit|miss}, cache.evictions, cache.size for L1
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, name);
+
+        this.l2Hits = Counter.builder("cache.l2.requests")
+                .tag("cache", name)
+                .tag("result", "hit")
+                .description("L1 misses served from Redis")
+                .register(meterRegistry);
+        this.l2Misses = Counter.builder("cache.l2.requests")
+                .tag("cache", name)
+                .tag("result", "miss")
+                .description("L1 misses that fell through to the loader")
+                .register(meterRegistry);
+        this.l2Errors = Counter.builder("cache.l2.errors")
+                .tag("cache", name)
+                .description("Redis failures in the shared cache tier")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        Object value = localCache.getIfPresent(key);
+        if (value == null) {
+            value = readFromRedis(key);
+            if (value == null) {
+                return null;
+            }
+            value = readOnly(value);
+            localCache.put(key, value);
+        }
+        return new SimpleValueWrapper(value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value in '" + name + "' is not of required type ["
+                    + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    /**
+     * Used by @Cacheable(sync = true) and direct callers: one load per key at a time
+     *
+     * Goes through AsyncCache.get so Caffeine records the hit or miss. The mapping function
+     * only installs an empty future; the caller that installed it runs the load afterwards,
+     * outside Caffeine's lock.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        CompletableFuture<Object> loading = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = loadingCache.get(key, (k, executor) -> loading);
+        if (inFlight != loading) {
+            try {
+                return (T) inFlight.join();
+            } catch (CompletionException e) {
+                throw new ValueRetrievalException(key, valueLoader, e.getCause());
+            }
+        }
+
+        // Failed or null loads complete the future that way and Caffeine drops the entry.
+        // An eviction during the load removes the future from L1 and bumps the generation.
+        long generation = generation(key);
+        try {
+            Object value = readFromRedis(key);
+            if (value == null) {
+                value = valueLoader.call();
+                if (value != null && generation(key) == generation) {
+                    writeToRedis(key, value);
+                }
+            }
+            value = readOnly(value);
+            loading.complete(value);
+            return (T) value;
+        } catch (Exception e) {
+            loading.completeExceptionally(e);
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } catch (Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        localCache.put(key, readOnly(value));
+        writeToRedis(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        generations.incrementAndGet(stripe(key));
+        evictNow(key);
+        if (redelayedEvictions != null) {
+            redelayedEvictions.execute(() -> evictNow(key));
+        }
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+        localCache.invalidateAll();
+        if (redisTemplate != null && namespaceClearer.applyAsLong(NAMESPACE + ":" + name) < 0) {
+            l2Errors.increment();
+        }
+    }
+
+    private void evictNow(Object key) {
+        localCache.invalidate(key);
+        if (redisTemplate != null) {
+            try {
+                redisTemplate.delete(redisKey(key));
+            } catch (Exception e) {
+                l2Errors.increment();
+                logger.warn("Failed to evict '{}' from Redis cache region {}: {}", key, name, e.getMessage());
+            }
+        }
+    }
+
+    private long generation(Object key) {
+        return generations.get(stripe(key));
+    }
+
+    private static int stripe(Object key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    /**
+     * Unmodifiable copy of a collection value (nulls allowed, unlike List.copyOf), anything else as is
+     */
+    static Object readOnly(Object value) {
+        if (value instanceof List<?> list) {
+            return Collections.unmodifiableList(new ArrayList<>(list));
+        }
+        if (value instanceof Set<?> set) {
+            return Collections.unmodifiableSet(new LinkedHashSet<>(set));
+        }
+        if (value instanceof Map<?, ?> map) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(map));
+        }
+        return value;
+    }
+
+    private Object readFromRedis(Object key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(redisKey(key));
+            if (value != null) {
+                l2Hits.increment();
+                return value;
+            }
+        } catch (Exception e) {
+            l2Errors.increment();
+            logger.warn("Failed to read '{}' from Redis cache region {}: {}", key, name, e.getMessage());
+        }
+        l2Misses.increment();
+        return null;
+    }
+
+    private void writeToRedis(Object key, Object value) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey(key), value, ttl);
+        } catch (Exception e) {
+            l2Errors.increment();
+            logger.warn("Failed to write '{}' to Redis cache region {}: {}", key, name, e.getMessage());
+        }
+    }
+
+    private String redisKey(Object key) {
+        return NAMESPACE + ":" + name + ":" + key;
+    }
+}
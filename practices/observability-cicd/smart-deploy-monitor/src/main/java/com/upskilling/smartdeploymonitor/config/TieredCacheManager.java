@@ -0,0 +1,52 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractCacheManager;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.Collection;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * CacheManager for {@link TieredCache} regions
+ * Configured regions are created up front; any other cache name gets a region with
+ * the default settings on first use.
+ */
+public class TieredCacheManager extends AbstractCacheManager {
+
+    private final CacheRegionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final ToLongFunction<String> namespaceClearer;
+
+    /**
+     * @param redisTemplate Shared template, or null to keep every region in process
+     */
+    public TieredCacheManager(CacheRegionProperties properties, MeterRegistry meterRegistry,
+                              RedisTemplate<String, Object> redisTemplate, ToLongFunction<String> namespaceClearer) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.redisTemplate = redisTemplate;
+        this.namespaceClearer = namespaceClearer;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return properties.getRegions().keySet().stream()
+                .map(this::createRegion)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return createRegion(name);
+    }
+
+    private Cache createRegion(String name) {
+        CacheRegionProperties.Region region = properties.regionFor(name);
+        RedisTemplate<String, Object> regionTemplate = region.isRedis() ? redisTemplate : null;
+        return new TieredCache(name, region, meterRegistry, regionTemplate, namespaceClearer);
+    }
+}
@@ -0,0 +1,85 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.ClientResourcesBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.lettuce.observability.MicrometerTracingAdapter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracing pipeline: Micrometer Observation -> OpenTelemetry SDK -> tail sampler -> exporters
+ *
+ * Spring Boot instruments incoming HTTP requests and RestTemplateBuilder-built clients;
+ * filters ({@link TracingFilter}), repositories ({@link RepositoryTracingAspect}) and
+ * Redis commands (below) are traced here. Every span is recorded (head sampling at
+ * 1.0) and {@link TailSamplingSpanProcessor} decides per finished trace what is kept.
+ * Kept traces go to an OTLP JSON file (logs/spans.otlp.jsonl via logback), the
+ * in-memory {@link RecentTracesExporter}, and any other SpanExporter bean (e.g. OTLP
+ * over HTTP when management.otlp.tracing.endpoint is set).
+ */
+@Configuration
+public class TracingConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingConfig.class);
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    @Bean
+    public RecentTracesExporter recentTracesExporter(TracingProperties properties) {
+        return new RecentTracesExporter(properties.getMemoryTraces());
+    }
+
+    /**
+     * Replaces Spring Boot's tracer provider so the tail sampler sees every span before any exporter
+     */
+    @Bean
+    public SdkTracerProvider otelSdkTracerProvider(@Value("${spring.application.name}") String applicationName,
+                                                   Sampler sampler,
+                                                   TracingProperties properties,
+                                                   RecentTracesExporter recentTracesExporter,
+                                                   ObjectProvider<SpanExporter> spanExporters,
+                                                   MeterRegistry meterRegistry) {
+        List<SpanExporter> exporters = new ArrayList<>();
+        if (properties.getExporters().contains("file")) {
+            exporters.add(OtlpJsonLoggingSpanExporter.create());
+        }
+        if (properties.getExporters().contains("memory")) {
+            exporters.add(recentTracesExporter);
+        }
+        spanExporters.orderedStream()
+                .filter(exporter -> exporter != recentTracesExporter)
+                .forEach(exporters::add);
+        logger.info("Tracing with tail sampling, exporting to {}", properties.getExporters());
+
+        Resource resource = Resource.getDefault().merge(Resource.create(Attributes.of(SERVICE_NAME, applicationName)));
+        return SdkTracerProvider.builder()
+                .setResource(resource)
+                .setSampler(sampler)
+                .addSpanProcessor(new TailSamplingSpanProcessor(
+                        SpanExporter.composite(exporters), properties.getTail(), meterRegistry))
+                .build();
+    }
+
+    /**
+     * A client span per Redis command, with "redis" as the remote service
+     */
+    @Bean
+    public ClientResourcesBuilderCustomizer lettuceTracing(ObservationRegistry observationRegistry) {
+        return builder -> builder.tracing(new MicrometerTracingAdapter(observationRegistry, "redis"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import java.io.IOException;
+
+/**
+ * Runs a filter inside its own span (http.server.filter{filter})
+ *
+ * The span covers the filter and, as with any servlet filter, everything further down
+ * the chain, so the filters nest in the trace. The "proceed" event marks the moment the
+ * filter handed the request on: the time before it is the filter's own work.
+ */
+public class TracingFilter implements Filter {
+
+    public static final String OBSERVATION = "http.server.filter";
+
+    private final Filter delegate;
+    private final String name;
+    private final ObservationRegistry observationRegistry;
+
+    public TracingFilter(Filter delegate, ObservationRegistry observationRegistry) {
+        this.delegate = delegate;
+        this.name = delegate.getClass().getSimpleName();
+        this.observationRegistry = observationRegistry;
+    }
+
+    // The scope is only opened to make the span current for the chain
+    @Override
+    @SuppressWarnings("try")
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+        Observation observation = Observation.createNotStarted(OBSERVATION, observationRegistry)
+                .contextualName(name)
+                .lowCardinalityKeyValue("filter", name)
+                .start();
+        try (Observation.Scope scope = observation.openScope()) {
+            delegate.doFilter(request, response, (req, res) -> {
+                observation.event(Observation.Event.of("proceed"));
+                chain.doFilter(req, res);
+            });
+        } catch (IOException | ServletException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracing pipeline configuration
+ * Binds app.tracing.*: where finished traces go (an OTLP JSON file, the in-memory store
+ * behind GET /api/system/traces, or both) and the tail sampling policy deciding which
+ * traces are kept once they have completed.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.tracing")
+public class TracingProperties {
+
+    private List<String> exporters = new ArrayList<>(List.of("file", "memory"));
+    private Tail tail = new Tail();
+    private int memoryTraces = 200;
+
+    public static class Tail {
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        private double baselineRatio = 0.01;
+        private int maxPendingTraces = 10000;
+        private int maxSpansPerTrace = 1000;
+        private int maxBufferedSpans = 50000;
+        private Duration traceTimeout = Duration.ofSeconds(30);
+
+        // Getters and setters
+        public Duration getLatencyThreshold() { return latencyThreshold; }
+        public void setLatencyThreshold(Duration latencyThreshold) { this.latencyThreshold = latencyThreshold; }
+        public double getBaselineRatio() { return baselineRatio; }
+        public void setBaselineRatio(double baselineRatio) { this.baselineRatio = baselineRatio; }
+        public int getMaxPendingTraces() { return maxPendingTraces; }
+        public void setMaxPendingTraces(int maxPendingTraces) { this.maxPendingTraces = maxPendingTraces; }
+        public int getMaxSpansPerTrace() { return maxSpansPerTrace; }
+        public void setMaxSpansPerTrace(int maxSpansPerTrace) { this.maxSpansPerTrace = maxSpansPerTrace; }
+        public int getMaxBufferedSpans() { return maxBufferedSpans; }
+        public void setMaxBufferedSpans(int maxBufferedSpans) { this.maxBufferedSpans = maxBufferedSpans; }
+        public Duration getTraceTimeout() { return traceTimeout; }
+        public void setTraceTimeout(Duration traceTimeout) { this.traceTimeout = traceTimeout; }
+    }
+
+    // Getters and setters
+    public List<String> getExporters() { return exporters; }
+    public void setExporters(List<String> exporters) { this.exporters = exporters; }
+    public Tail getTail() { return tail; }
+    public void setTail(Tail tail) { this.tail = tail; }
+    public int getMemoryTraces() { return memoryTraces; }
+    public void setMemoryTraces(int memoryTraces) { this.memoryTraces = memoryTraces; }
+}
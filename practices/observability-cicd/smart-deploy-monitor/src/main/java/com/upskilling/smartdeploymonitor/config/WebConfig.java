@@ -1,14 +1,45 @@
 package com.upskilling.smartdeploymonitor.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
 public class WebConfig {
 
+    /**
+     * Built from Boot's RestTemplateBuilder so outbound calls are observed (client spans, trace propagation)
+     */
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder) {
+        return builder.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Request logging wraps the whole chain (including security), so rejected requests are logged too
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.request-logging.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RequestLoggingFilter> requestLoggingFilter(RequestLoggingProperties properties) {
+        FilterRegistrationBean<RequestLoggingFilter> registration =
+                new FilterRegistrationBean<>(new RequestLoggingFilter(properties));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    /**
+     * Per-route latency, just inside request logging so the timing covers security and the handler
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.metrics.routes.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<RouteTimingFilter> routeTimingFilter(RouteMetrics routeMetrics) {
+        FilterRegistrationBean<RouteTimingFilter> registration =
+                new FilterRegistrationBean<>(new RouteTimingFilter(routeMetrics));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
@@ -1,12 +1,14 @@
 package com.upskilling.smartdeploymonitor.controller;
 
 import com.upskilling.smartdeploymonitor.service.domain.UserDomainService;
+import com.upskilling.smartdeploymonitor.service.domain.NotificationDispatcher;
 import com.upskilling.smartdeploymonitor.service.domain.NotificationDomainService;
 import com.upskilling.smartdeploymonitor.entity.User;
 import com.upskilling.smartdeploymonitor.entity.UserRole;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -14,6 +16,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * API Gateway Controller - Demonstrates Monolith vs Microservices Patterns
@@ -111,14 +114,18 @@ public class ApiGatewayController {
             String subject = request.get("subject");
             String body = request.get("body");
             
-            notificationDomainService.sendEmailNotification(to, subject, body);
+            String notificationId = notificationDomainService.sendEmailNotification(to, subject, body);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Email notification sent successfully via gateway");
+            response.put("message", "Email notification queued for delivery via gateway");
+            response.put("notificationId", notificationId);
+            response.put("status", NotificationDispatcher.Status.QUEUED);
             response.put("service", "Notification Domain Service");
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.accepted().body(response);
+        } catch (RejectedExecutionException e) {
+            return notificationQueueFull(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -140,14 +147,18 @@ public class ApiGatewayController {
             String phoneNumber = request.get("phoneNumber");
             String message = request.get("message");
             
-            notificationDomainService.sendSmsNotification(phoneNumber, message);
+            String notificationId = notificationDomainService.sendSmsNotification(phoneNumber, message);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "SMS notification sent successfully via gateway");
+            response.put("message", "SMS notification queued for delivery via gateway");
+            response.put("notificationId", notificationId);
+            response.put("status", NotificationDispatcher.Status.QUEUED);
             response.put("service", "Notification Domain Service");
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.accepted().body(response);
+        } catch (RejectedExecutionException e) {
+            return notificationQueueFull(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -158,6 +169,45 @@ public class ApiGatewayController {
         }
     }
 
+    /**
+     * Query delivery status of a previously queued notification
+     * Demonstrates asynchronous request/status patterns
+     */
+    @GetMapping("/notifications/{id}")
+    @Operation(summary = "Get notification status via gateway", description = "Returns the delivery status of a queued notification")
+    public ResponseEntity<Map<String, Object>> getNotificationStatus(@PathVariable String id) {
+        NotificationDispatcher.Notification notification = notificationDomainService.getNotification(id);
+        
+        Map<String, Object> response = new HashMap<>();
+        if (notification == null) {
+            response.put("success", false);
+            response.put("message", "Notification not found: " + id);
+            response.put("service", "Notification Domain Service");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        
+        response.put("success", true);
+        response.put("notificationId", notification.getId());
+        response.put("channel", notification.getChannel());
+        response.put("status", notification.getStatus());
+        response.put("createdAt", notification.getCreatedAt());
+        response.put("completedAt", notification.getCompletedAt());
+        response.put("service", "Notification Domain Service");
+        
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<Map<String, Object>> notificationQueueFull(RejectedExecutionException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Notification service is busy, try again later: " + e.getMessage());
+        response.put("service", "Notification Domain Service");
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(response);
+    }
+
     /**
      * Get service status for all domain services
      * Demonstrates API Gateway monitoring capabilities
@@ -2,18 +2,24 @@ package com.upskilling.smartdeploymonitor.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import com.upskilling.smartdeploymonitor.service.UserService;
 import com.upskilling.smartdeploymonitor.service.RedisService;
 import com.upskilling.smartdeploymonitor.service.ElasticsearchService;
+import com.upskilling.smartdeploymonitor.service.UserIndexSyncService;
 import com.upskilling.smartdeploymonitor.service.QdrantService;
+import com.upskilling.smartdeploymonitor.service.UuidBenchmarkService;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Database Controller for Level 1 Database fundamentals demonstration
@@ -36,6 +42,13 @@ public class DatabaseController {
     @Autowired
     private QdrantService qdrantService;
 
+    @Autowired
+    private UserIndexSyncService userIndexSyncService;
+
+    // Only present with app.benchmarks.uuid-inserts.enabled
+    @Autowired
+    private ObjectProvider<UuidBenchmarkService> uuidBenchmarkServiceProvider;
+
     // ========== DATABASE STATISTICS ==========
 
     @GetMapping("/stats")
@@ -147,19 +160,112 @@ public class DatabaseController {
         return ResponseEntity.ok(response);
     }
 
-    @DeleteMapping("/redis/clear")
-    @Operation(summary = "Clear Redis cache", description = "Clear all data from Redis")
-    public ResponseEntity<Map<String, Object>> clearRedisCache() {
-        boolean success = redisService.clearCache();
+    @PostMapping("/redis/batch/set")
+    @Operation(summary = "Set many Redis keys", description = "Store an array of key/value pairs with one TTL in a pipelined batch")
+    public ResponseEntity<Map<String, Object>> setRedisKeys(
+            @RequestBody List<RedisEntry> entries,
+            @RequestParam long ttlSeconds) {
+        
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (RedisEntry entry : entries) {
+            values.put(entry.getKey(), entry.getValue());
+        }
+        boolean success = redisService.multiSetWithTTL(values, ttlSeconds);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", success);
+        response.put("message", success ? "Keys set successfully" : "Failed to set keys");
+        response.put("count", values.size());
+        response.put("ttlSeconds", ttlSeconds);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/redis/batch/get")
+    @Operation(summary = "Get many Redis keys", description = "Retrieve an array of keys in one pipelined batch")
+    public ResponseEntity<Map<String, Object>> getRedisKeys(@RequestBody List<String> keys) {
+        Map<String, Object> values = redisService.multiGet(keys);
+        long found = values.values().stream().filter(Objects::nonNull).count();
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("values", values);
+        response.put("found", found);
+        response.put("missing", values.size() - found);
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/redis/batch/delete")
+    @Operation(summary = "Delete many Redis keys", description = "Delete an array of keys in one pipelined batch")
+    public ResponseEntity<Map<String, Object>> deleteRedisKeys(@RequestBody List<String> keys) {
+        long removed = redisService.multiDelete(keys);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", removed >= 0);
+        response.put("removedKeys", Math.max(removed, 0));
+        
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/redis/benchmark")
+    @Operation(summary = "Redis pipelining benchmark", description = "Per-key cost of single-key round trips vs the pipelined batch API")
+    public ResponseEntity<Map<String, Object>> benchmarkRedis(@RequestParam(defaultValue = "10000") int keys) {
+        return ResponseEntity.ok(redisService.benchmark(keys));
+    }
+
+    @PostMapping("/redis/codec/benchmark")
+    @Operation(summary = "Redis codec benchmark", description = "Encoded size and ns/op of the configured value serializer vs plain JSON")
+    public ResponseEntity<Map<String, Object>> benchmarkRedisCodec(@RequestParam(defaultValue = "100000") int iterations) {
+        return ResponseEntity.ok(redisService.codecBenchmark(iterations));
+    }
+
+    @DeleteMapping("/redis/clear")
+    @Operation(summary = "Clear Redis cache", description = "Remove every key of a namespace (default: the cache namespace) with SCAN + UNLINK")
+    public ResponseEntity<Map<String, Object>> clearRedisCache(@RequestParam(required = false) String namespace) {
+        Map<String, Object> response = new HashMap<>();
+        long removed;
+        try {
+            removed = redisService.clearNamespace(namespace != null ? namespace : redisService.getNamespace());
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        boolean success = removed >= 0;
+        response.put("success", success);
         response.put("message", success ? "Cache cleared successfully" : "Failed to clear cache");
+        response.put("removedKeys", Math.max(removed, 0));
         
         return ResponseEntity.ok(response);
     }
 
 
+    // ========== POSTGRESQL OPERATIONS ==========
+
+    @PostMapping("/postgres/uuid/benchmark")
+    @Operation(summary = "UUID key insert benchmark", description = "Insert throughput and index size of random v4 vs time-ordered v7 primary keys on scratch tables (off unless app.benchmarks.uuid-inserts.enabled)")
+    public ResponseEntity<Map<String, Object>> benchmarkUuidInserts(@RequestParam(defaultValue = "1000000") int rows,
+                                                                    @RequestParam(defaultValue = "1000") int batchSize) {
+        UuidBenchmarkService uuidBenchmarkService = uuidBenchmarkServiceProvider.getIfAvailable();
+        if (uuidBenchmarkService == null) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "UUID benchmark is disabled (app.benchmarks.uuid-inserts.enabled)");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+        try {
+            return ResponseEntity.ok(uuidBenchmarkService.insertBenchmark(rows, batchSize));
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
+
     // ========== ELASTICSEARCH OPERATIONS ==========
 
     @PostMapping("/search/index/create")
@@ -219,6 +325,31 @@ public class DatabaseController {
         return ResponseEntity.ok(stats);
     }
 
+    @PostMapping("/search/users/reindex")
+    @Operation(summary = "Reindex users", description = "Stream the users table into the Elasticsearch users index")
+    public ResponseEntity<Map<String, Object>> reindexUsers() {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            UserIndexSyncService.ReindexResult result = userIndexSyncService.reindex();
+            response.put("success", true);
+            response.put("documents", result.getDocuments());
+            response.put("failures", result.getFailures());
+            response.put("documentsPerSecond", Math.round(result.getDocumentsPerSecond()));
+            response.put("version", result.getVersion());
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
+    @GetMapping("/search/users/sync")
+    @Operation(summary = "User index sync status", description = "Outbox backlog, lag and relay counters")
+    public ResponseEntity<Map<String, Object>> getUserIndexSyncStatus() {
+        return ResponseEntity.ok(userIndexSyncService.getStatus());
+    }
+
     // ========== QDRANT OPERATIONS ==========
 
     @PostMapping("/vector/collection")
@@ -241,17 +372,21 @@ public class DatabaseController {
             @RequestParam String vector,
             @RequestParam(required = false) String metadata) {
         
-        // Parse vector string to List<Double>
-        List<Double> vectorList = List.of(0.1, 0.2, 0.3, 0.4); // Default vector for Level 1
-        
         Map<String, Object> payload = new HashMap<>();
         if (metadata != null) {
             payload.put("metadata", metadata);
         }
         
-        boolean success = qdrantService.insertVector("test_vectors", pointId, vectorList, payload);
-        
         Map<String, Object> response = new HashMap<>();
+        boolean success;
+        try {
+            success = qdrantService.insertVector("test_vectors", pointId, parseVector(vector), payload);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        
         response.put("success", success);
         response.put("message", success ? "Vector inserted successfully" : "Failed to insert vector");
         response.put("pointId", pointId);
@@ -259,22 +394,53 @@ public class DatabaseController {
         return ResponseEntity.ok(response);
     }
 
-    @GetMapping("/vector/search")
-    @Operation(summary = "Search vectors", description = "Search for similar vectors in Qdrant")
-    public ResponseEntity<Map<String, Object>> searchVectors(@RequestParam String queryVector) {
-        // Parse query vector string to List<Double>
-        List<Double> queryVectorList = List.of(0.1, 0.2, 0.3, 0.4); // Default query vector for Level 1
-        
-        List<Map<String, Object>> results = qdrantService.searchVectors("test_vectors", queryVectorList, 3);
-        
+    @PostMapping("/vector/points")
+    @Operation(summary = "Upsert vectors", description = "Insert or replace many points in one batched call")
+    public ResponseEntity<Map<String, Object>> upsertVectors(@RequestBody List<QdrantService.VectorPoint> points) {
         Map<String, Object> response = new HashMap<>();
-        response.put("success", true);
-        response.put("count", results.size());
-        response.put("results", results);
+        boolean success;
+        try {
+            success = qdrantService.upsertPoints("test_vectors", points);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        response.put("success", success);
+        response.put("count", points.size());
+        response.put("engine", qdrantService.getEngine());
         
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/vector/search")
+    @Operation(summary = "Search vectors", description = "Search for similar vectors in Qdrant")
+    public ResponseEntity<Map<String, Object>> searchVectors(
+            @RequestParam String queryVector,
+            @RequestParam(defaultValue = "3") int limit,
+            @RequestParam(required = false) String metadata) {
+        
+        Map<String, Object> filter = metadata != null ? Map.of("metadata", metadata) : Map.of();
+        float[] vector;
+        try {
+            vector = parseVector(queryVector);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        return vectorSearchResponse(vector, limit, filter);
+    }
+
+    @PostMapping("/vector/search")
+    @Operation(summary = "Search vectors with filter", description = "Top-k search with payload must-match filters")
+    public ResponseEntity<Map<String, Object>> searchVectorsFiltered(@RequestBody VectorSearchRequest request) {
+        Map<String, Object> filter = request.getFilter() != null ? request.getFilter() : Map.of();
+        return vectorSearchResponse(request.getVector(), request.getLimit(), filter);
+    }
+
     @GetMapping("/vector/collection")
     @Operation(summary = "Qdrant collection stats", description = "Get Qdrant collection statistics")
     public ResponseEntity<Map<String, Object>> getQdrantCollectionStats() {
@@ -282,6 +448,85 @@ public class DatabaseController {
         return ResponseEntity.ok(stats);
     }
 
+    private ResponseEntity<Map<String, Object>> vectorSearchResponse(float[] vector, int limit,
+                                                                     Map<String, Object> filter) {
+        Map<String, Object> response = new HashMap<>();
+        try {
+            List<QdrantService.ScoredPoint> results = qdrantService.searchVectors(
+                    "test_vectors", vector, clampLimit(limit), filter);
+            response.put("success", true);
+            response.put("count", results.size());
+            response.put("results", results);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    private static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, 100));
+    }
+
+    /**
+     * "0.1,0.2,0.3" -> float[] (parsed in place, no boxed intermediate list)
+     */
+    private static float[] parseVector(String vector) {
+        int dimensions = 1;
+        for (int i = 0; i < vector.length(); i++) {
+            if (vector.charAt(i) == ',') {
+                dimensions++;
+            }
+        }
+        float[] values = new float[dimensions];
+        int start = 0;
+        for (int d = 0; d < dimensions; d++) {
+            int end = vector.indexOf(',', start);
+            if (end < 0) {
+                end = vector.length();
+            }
+            try {
+                values[d] = Float.parseFloat(vector.substring(start, end).trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid vector component at position " + d);
+            }
+            start = end + 1;
+        }
+        return values;
+    }
+
+    /**
+     * Element of the POST /redis/batch/set body
+     */
+    public static class RedisEntry {
+        private String key;
+        private Object value;
+
+        // Getters and Setters
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+        public Object getValue() { return value; }
+        public void setValue(Object value) { this.value = value; }
+    }
+
+    /**
+     * Body of POST /vector/search
+     */
+    public static class VectorSearchRequest {
+        private float[] vector;
+        private int limit = 3;
+        private Map<String, Object> filter;
+
+        // Getters and Setters
+        public float[] getVector() { return vector; }
+        public void setVector(float[] vector) { this.vector = vector; }
+        public int getLimit() { return limit; }
+        public void setLimit(int limit) { this.limit = limit; }
+        public Map<String, Object> getFilter() { return filter; }
+        public void setFilter(Map<String, Object> filter) { this.filter = filter; }
+    }
+
     // ========== EXTERNAL SERVICE TESTING ENDPOINTS ==========
 
     @GetMapping("/test/redis")
@@ -311,9 +556,9 @@ public class DatabaseController {
     public ResponseEntity<Map<String, Object>> testQdrant() {
         Map<String, Object> response = new HashMap<>();
         response.put("service", "Qdrant");
-        response.put("status", "External testing required");
-        response.put("instructions", "Use curl commands or external tools to test Qdrant operations");
-        response.put("url", "localhost:6333");
+        response.put("status", qdrantService.checkHealth() ? "UP" : "DOWN");
+        response.put("engine", qdrantService.getEngine());
+        response.put("dimension", qdrantService.getDimension());
         return ResponseEntity.ok(response);
     }
 }
\ No newline at end of file
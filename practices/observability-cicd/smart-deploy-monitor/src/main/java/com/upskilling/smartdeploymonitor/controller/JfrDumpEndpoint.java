@@ -0,0 +1,84 @@
+package com.upskilling.smartdeploymonitor.controller;
+
+import com.upskilling.smartdeploymonitor.service.ContinuousProfiler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * GET /actuator/jfr?minutes=5 downloads the last minutes of the rolling JFR recording
+ * (admin only), for JDK Mission Control or `jfr print`
+ */
+@Component
+@WebEndpoint(id = "jfr")
+public class JfrDumpEndpoint {
+
+    private static final Logger logger = LoggerFactory.getLogger(JfrDumpEndpoint.class);
+
+    private static final int DEFAULT_MINUTES = 5;
+
+    private final ContinuousProfiler profiler;
+
+    public JfrDumpEndpoint(ContinuousProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Nullable Integer minutes) {
+        if (!profiler.isRunning()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+        }
+        try {
+            return new WebEndpointResponse<>(new TemporaryFileResource(
+                    profiler.dump(minutes != null ? minutes : DEFAULT_MINUTES)));
+        } catch (IOException e) {
+            logger.error("JFR dump failed", e);
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Deletes the dump once the response has been streamed
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private final Path path;
+
+        TemporaryFileResource(Path path) {
+            super(path);
+            this.path = path;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(path);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Keeps the response on getInputStream() rather than a direct file transfer that skips the cleanup
+            return false;
+        }
+    }
+}
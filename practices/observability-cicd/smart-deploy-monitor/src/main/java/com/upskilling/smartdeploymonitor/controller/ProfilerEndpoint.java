@@ -0,0 +1,54 @@
+package com.upskilling.smartdeploymonitor.controller;
+
+import com.upskilling.smartdeploymonitor.service.ContinuousProfiler;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Continuous profiling results (admin only, like every /actuator/** endpoint)
+ *
+ * GET /actuator/profiler?minutes=5&top=20        top CPU frames, allocation sites and lock contention
+ * GET /actuator/profiler/{cpu|alloc|lock}?minutes=5   collapsed stacks for a flame graph
+ * The raw JFR recording is served by {@link JfrDumpEndpoint}.
+ */
+@Component
+@WebEndpoint(id = "profiler")
+public class ProfilerEndpoint {
+
+    private static final int DEFAULT_MINUTES = 5;
+
+    private final ContinuousProfiler profiler;
+
+    public ProfilerEndpoint(ContinuousProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> summary(@Nullable Integer minutes, @Nullable Integer top) {
+        return profiler.getSummary(minutes != null ? minutes : DEFAULT_MINUTES, top != null ? top : 0);
+    }
+
+    /**
+     * Streamed: an InputStreamResource has no known length, so the lines are written chunked as they are rendered
+     */
+    @ReadOperation(produces = "text/plain;charset=UTF-8")
+    public WebEndpointResponse<Resource> collapsed(@Selector String profile, @Nullable Integer minutes) {
+        if (!ContinuousProfiler.isProfile(profile)) {
+            byte[] message = ("Unknown profile '" + profile + "', expected cpu, alloc or lock\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            return new WebEndpointResponse<>(new ByteArrayResource(message), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        return new WebEndpointResponse<>(new InputStreamResource(
+                profiler.collapsed(profile, minutes != null ? minutes : DEFAULT_MINUTES)));
+    }
+}
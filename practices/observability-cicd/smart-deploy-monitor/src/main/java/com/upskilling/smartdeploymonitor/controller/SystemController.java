@@ -1 +1,67 @@
- 
\ No newline at end of file
+package com.upskilling.smartdeploymonitor.controller;
+
+import com.upskilling.smartdeploymonitor.config.RecentTracesExporter;
+import com.upskilling.smartdeploymonitor.service.MonitoringService;
+import com.upskilling.smartdeploymonitor.service.VirtualThreadPinningMonitor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runtime internals for administrators (threading mode, JVM diagnostics)
+ */
+@RestController
+@RequestMapping("/api/system")
+@Tag(name = "System", description = "JVM and runtime diagnostics")
+public class SystemController {
+
+    private final VirtualThreadPinningMonitor pinningMonitor;
+    private final MonitoringService monitoringService;
+    private final RecentTracesExporter recentTraces;
+
+    public SystemController(VirtualThreadPinningMonitor pinningMonitor, MonitoringService monitoringService,
+                            RecentTracesExporter recentTraces) {
+        this.pinningMonitor = pinningMonitor;
+        this.monitoringService = monitoringService;
+        this.recentTraces = recentTraces;
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/threads")
+    @Operation(summary = "Thread mode and pinning", description = "Platform or virtual thread mode and the code sites where virtual threads were pinned to their carrier")
+    public ResponseEntity<Map<String, Object>> threads() {
+        return ResponseEntity.ok(pinningMonitor.getReport());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/capacity")
+    @Operation(summary = "Capacity snapshot", description = "Heap, GC, safepoint time, thread states, direct/mapped buffer pools and Tomcat/Hikari/Lettuce pool saturation")
+    public ResponseEntity<Map<String, Object>> capacity() {
+        return ResponseEntity.ok(monitoringService.getCapacityReport());
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/traces")
+    @Operation(summary = "Recent traces", description = "Most recent traces kept by tail sampling (slow, failed or baseline), newest first")
+    public ResponseEntity<Map<String, Object>> traces(@RequestParam(defaultValue = "20") int limit) {
+        List<Map<String, Object>> traces = recentTraces.recent(Math.max(1, Math.min(limit, 200)));
+        return ResponseEntity.ok(Map.of("count", traces.size(), "traces", traces));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/traces/{traceId}")
+    @Operation(summary = "Trace by id", description = "All spans of a kept trace, e.g. for a traceId found in the logs")
+    public ResponseEntity<Map<String, Object>> trace(@PathVariable String traceId) {
+        Map<String, Object> trace = recentTraces.find(traceId);
+        return trace != null ? ResponseEntity.ok(trace) : ResponseEntity.notFound().build();
+    }
+}
@@ -1,7 +1,12 @@
 package com.upskilling.smartdeploymonitor.controller;
 
+import com.upskilling.smartdeploymonitor.dto.UserPage;
+import com.upskilling.smartdeploymonitor.dto.UserSummary;
 import com.upskilling.smartdeploymonitor.entity.User;
 import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.repository.UserPageQuery;
+import com.upskilling.smartdeploymonitor.service.UserBulkService;
+import com.upskilling.smartdeploymonitor.service.UserSearchService;
 import com.upskilling.smartdeploymonitor.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -11,6 +16,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -18,11 +24,16 @@ import jakarta.validation.constraints.Size;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,10 +47,15 @@ public class UserController {
     private static final Logger logger = LoggerFactory.getLogger(UserController.class);
     
     private final UserService userService;
+    private final UserSearchService userSearchService;
+    private final UserBulkService userBulkService;
     
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, UserSearchService userSearchService,
+                          UserBulkService userBulkService) {
         this.userService = userService;
+        this.userSearchService = userSearchService;
+        this.userBulkService = userBulkService;
     }
     
     /**
@@ -195,10 +211,16 @@ public class UserController {
             @Parameter(description = "Sort field", example = "firstName")
             @RequestParam(defaultValue = "firstName") String sortBy,
             @Parameter(description = "Sort direction", example = "asc")
-            @RequestParam(defaultValue = "asc") String sortDir) {
+            @RequestParam(defaultValue = "asc") String sortDir,
+            @Parameter(description = "Keyset cursor (empty for the first page, then pagination.nextCursor). Enables cursor mode; page is ignored.")
+            @RequestParam(required = false) String cursor) {
         
-        logger.info("Fetching users - page: {}, size: {}, search: {}, sortBy: {}, sortDir: {}", 
-                   page, size, search, sortBy, sortDir);
+        logger.info("Fetching users - page: {}, size: {}, search: {}, sortBy: {}, sortDir: {}, cursor mode: {}", 
+                   page, size, search, sortBy, sortDir, cursor != null);
+        
+        if (cursor != null) {
+            return getUsersByCursor(cursor, size, search, sortBy, sortDir);
+        }
         
         // Validate pagination parameters
         if (page < 0) {
@@ -226,6 +248,95 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Keyset-paginated listing: constant cost per page regardless of depth
+     */
+    private ResponseEntity<Map<String, Object>> getUsersByCursor(String cursor, int size, String search,
+                                                                 String sortBy, String sortDir) {
+        if (size < 1 || size > 100) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Page size must be between 1 and 100");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        UserPageQuery query = new UserPageQuery();
+        query.setLimit(size);
+        query.setSearch(search);
+        try {
+            query.setSortField(UserPageQuery.SortField.fromProperty(sortBy));
+            query.setSortDirection(sortDir.equalsIgnoreCase("desc")
+                    ? UserPageQuery.SortDirection.DESC : UserPageQuery.SortDirection.ASC);
+            query.after(cursor);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        UserPage userPage = userService.getUsersPage(query, false);
+        
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("size", size);
+        pagination.put("numberOfElements", userPage.getUsers().size());
+        pagination.put("hasNext", userPage.isHasNextPage());
+        pagination.put("nextCursor", userPage.isHasNextPage() ? userPage.getEndCursor() : null);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", userPage.getUsers());
+        response.put("pagination", pagination);
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    /**
+     * Full-text user search
+     */
+    @Operation(
+        summary = "Search users",
+        description = "Prefix and fuzzy search over names and email, ranked by relevance, with optional role/active filters."
+    )
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchUsers(
+            @Parameter(description = "Search text", example = "jon do")
+            @RequestParam String q,
+            @Parameter(description = "Role filter", example = "USER")
+            @RequestParam(required = false) UserRole role,
+            @Parameter(description = "Active-state filter", example = "true")
+            @RequestParam(required = false) Boolean active,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size", example = "10")
+            @RequestParam(defaultValue = "10") int size) {
+        
+        logger.info("Searching users - q: {}, role: {}, active: {}, page: {}, size: {}", q, role, active, page, size);
+        
+        if (page < 0 || size < 1 || size > 100) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Page must be non-negative and size between 1 and 100");
+            return ResponseEntity.badRequest().body(response);
+        }
+        
+        Page<User> results = userSearchService.search(q, role, active, page, size);
+        
+        Map<String, Object> pagination = new HashMap<>();
+        pagination.put("page", results.getNumber());
+        pagination.put("size", results.getSize());
+        pagination.put("totalElements", results.getTotalElements());
+        pagination.put("totalPages", results.getTotalPages());
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("data", results.getContent().stream().map(this::createUserResponse).toList());
+        response.put("pagination", pagination);
+        response.put("engine", userSearchService.getEngine());
+        
+        return ResponseEntity.ok(response);
+    }
+    
     /**
      * Get active users only
      */
@@ -233,7 +344,7 @@ public class UserController {
     public ResponseEntity<Map<String, Object>> getActiveUsers() {
         logger.info("Fetching active users");
         
-        List<User> users = userService.getActiveUsers();
+        List<UserSummary> users = userService.getActiveUsers();
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -294,7 +405,7 @@ public class UserController {
     public ResponseEntity<Map<String, Object>> getUsersByRole(@PathVariable UserRole role) {
         logger.info("Fetching users with role: {}", role);
         
-        List<User> users = userService.getUsersByRole(role);
+        List<UserSummary> users = userService.getUsersByRole(role);
         
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
@@ -478,12 +589,72 @@ public class UserController {
             "activeUsers", stats.getActiveUsers(),
             "inactiveUsers", stats.getInactiveUsers(),
             "adminUsers", stats.getAdminUsers(),
-            "regularUsers", stats.getRegularUsers()
+            "regularUsers", stats.getRegularUsers(),
+            "usersByRole", stats.getUsersByRole()
         ));
         
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Bulk import users from NDJSON or CSV
+     * The body is streamed, so files of any size can be imported; bad rows are reported, not fatal
+     */
+    @Operation(
+        summary = "Bulk import users",
+        description = "Streams NDJSON (one user object per line) or CSV (header row with email, password, firstName, lastName and optional role). " +
+                      "The format comes from the format parameter or the Content-Type. Duplicate and invalid rows are reported with their line numbers."
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/import")
+    public ResponseEntity<Map<String, Object>> importUsers(
+            @Parameter(description = "ndjson or csv (defaults to the Content-Type)") @RequestParam(required = false) String format,
+            HttpServletRequest request) throws IOException {
+        UserBulkService.Format importFormat = UserBulkService.Format.resolve(format, request.getContentType());
+        logger.info("Importing users ({})", importFormat);
+        
+        Map<String, Object> response = new HashMap<>();
+        try {
+            UserBulkService.ImportResult result = userBulkService.importUsers(request.getInputStream(), importFormat);
+            response.put("success", true);
+            response.put("rows", result.getRows());
+            response.put("imported", result.getImported());
+            response.put("duplicates", result.getDuplicates());
+            response.put("failed", result.getFailed());
+            response.put("durationMs", result.getDurationMs());
+            response.put("errors", result.getErrors());
+            response.put("errorsTruncated", result.isErrorsTruncated());
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
+        }
+    }
+    
+    /**
+     * Stream all users as NDJSON or CSV
+     * Read through keyset pages, so the export never holds more than one page in memory
+     */
+    @Operation(
+        summary = "Export users",
+        description = "Streams every user (without password hashes) as NDJSON or CSV, ordered by creation time."
+    )
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(description = "ndjson (default) or csv") @RequestParam(defaultValue = "ndjson") String format) {
+        UserBulkService.Format exportFormat = UserBulkService.Format.resolve(format, null);
+        logger.info("Exporting users ({})", exportFormat);
+        
+        boolean csv = exportFormat == UserBulkService.Format.CSV;
+        StreamingResponseBody body = output -> userBulkService.exportUsers(output, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users." + (csv ? "csv" : "ndjson") + "\"")
+                .body(body);
+    }
+    
     /**
      * Verify user password
      */
@@ -518,6 +689,21 @@ public class UserController {
         userResponse.put("updatedAt", user.getUpdatedAt());
         return userResponse;
     }
+
+    private Map<String, Object> createUserResponse(UserSummary user) {
+        Map<String, Object> userResponse = new HashMap<>();
+        userResponse.put("id", user.getId());
+        userResponse.put("email", user.getEmail());
+        userResponse.put("firstName", user.getFirstName());
+        userResponse.put("lastName", user.getLastName());
+        userResponse.put("fullName", user.getFullName());
+        userResponse.put("role", user.getRole());
+        userResponse.put("isActive", user.getIsActive());
+        userResponse.put("isAdmin", user.isAdmin());
+        userResponse.put("createdAt", user.getCreatedAt());
+        userResponse.put("updatedAt", user.getUpdatedAt());
+        return userResponse;
+    }
     
     // Request DTOs
     @Schema(description = "Request to create a new user")
@@ -0,0 +1,53 @@
+package com.upskilling.smartdeploymonitor.dto;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+
+import java.util.List;
+
+/**
+ * One keyset page of users with the cursor of every row
+ */
+public class UserPage {
+
+    private final List<User> users;
+    private final List<String> cursors;
+    private final boolean hasNextPage;
+    private final boolean hasPreviousPage;
+    private final Long totalCount;
+    private final boolean totalCountEstimated;
+
+    public UserPage(List<User> users, List<String> cursors, boolean hasNextPage,
+                    boolean hasPreviousPage, Long totalCount, boolean totalCountEstimated) {
+        this.users = users;
+        this.cursors = cursors;
+        this.hasNextPage = hasNextPage;
+        this.hasPreviousPage = hasPreviousPage;
+        this.totalCount = totalCount;
+        this.totalCountEstimated = totalCountEstimated;
+    }
+
+    public String getStartCursor() {
+        return cursors.isEmpty() ? null : cursors.get(0);
+    }
+
+    public String getEndCursor() {
+        return cursors.isEmpty() ? null : cursors.get(cursors.size() - 1);
+    }
+
+    // Getters
+    public List<User> getUsers() { return users; }
+    public List<String> getCursors() { return cursors; }
+    public boolean isHasNextPage() { return hasNextPage; }
+    public boolean isHasPreviousPage() { return hasPreviousPage; }
+
+    /**
+     * Total users matching the filter, or null when it was not requested
+     */
+    public Long getTotalCount() { return totalCount; }
+
+    /**
+     * Whether the total is the database's row estimate (refreshed by ANALYZE/autovacuum)
+     * rather than an exact count
+     */
+    public boolean isTotalCountEstimated() { return totalCountEstimated; }
+}
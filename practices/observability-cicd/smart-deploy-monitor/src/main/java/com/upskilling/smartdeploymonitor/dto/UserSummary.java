@@ -0,0 +1,76 @@
+package com.upskilling.smartdeploymonitor.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only view of a user for the cached user lists
+ *
+ * Carries no credentials and cannot be modified, so one instance can be shared by every
+ * caller of a cache region and written to Redis as is.
+ */
+public final class UserSummary {
+
+    private final UUID id;
+    private final String email;
+    private final String firstName;
+    private final String lastName;
+    private final UserRole role;
+    private final Boolean isActive;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+
+    @JsonCreator
+    public UserSummary(@JsonProperty("id") UUID id, @JsonProperty("email") String email,
+                       @JsonProperty("firstName") String firstName, @JsonProperty("lastName") String lastName,
+                       @JsonProperty("role") UserRole role, @JsonProperty("isActive") Boolean isActive,
+                       @JsonProperty("createdAt") LocalDateTime createdAt,
+                       @JsonProperty("updatedAt") LocalDateTime updatedAt) {
+        this.id = id;
+        this.email = email;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.role = role;
+        this.isActive = isActive;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getEmail(), user.getFirstName(), user.getLastName(),
+                user.getRole(), user.getIsActive(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+
+    /**
+     * Same rules as {@link User#getFullName()}
+     */
+    public String getFullName() {
+        if (firstName != null && lastName != null) {
+            return firstName + " " + lastName;
+        } else if (firstName != null) {
+            return firstName;
+        } else if (lastName != null) {
+            return lastName;
+        }
+        return email;
+    }
+
+    public boolean isAdmin() {
+        return UserRole.ADMIN.equals(role);
+    }
+
+    // Getters
+    public UUID getId() { return id; }
+    public String getEmail() { return email; }
+    public String getFirstName() { return firstName; }
+    public String getLastName() { return lastName; }
+    public UserRole getRole() { return role; }
+    public Boolean getIsActive() { return isActive; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+}
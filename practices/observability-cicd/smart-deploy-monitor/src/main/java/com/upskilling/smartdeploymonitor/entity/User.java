@@ -8,11 +8,18 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+    // Keyset pagination: (sort column, id) so a cursor seek is a single index range scan
+    @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_users_updated_at_id", columnList = "updated_at, id"),
+    @Index(name = "idx_users_role_active", columnList = "role, is_active")
+})
+@EntityListeners(UserEntityListener.class)
 public class User {
     
+    // Time-ordered (v7) so inserts append to the primary-key index instead of splitting random pages
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     @Column(name = "id")
     private UUID id;
     
@@ -43,6 +50,13 @@ public class User {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Role and active flag as last read from or written to the database (see UserEntityListener)
+    @Transient
+    private UserRole persistedRole;
+    
+    @Transient
+    private Boolean persistedActive;
+    
     // Default constructor
     public User() {}
     
@@ -145,6 +159,19 @@ public class User {
         return UserRole.ADMIN.equals(this.role);
     }
     
+    void rememberPersistedState() {
+        this.persistedRole = role;
+        this.persistedActive = isActive;
+    }
+    
+    UserRole persistedRole() {
+        return persistedRole;
+    }
+    
+    Boolean persistedActive() {
+        return persistedActive;
+    }
+    
     @Override
     public String toString() {
         return "User{" +
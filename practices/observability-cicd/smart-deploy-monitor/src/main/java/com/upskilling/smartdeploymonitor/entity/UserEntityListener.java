@@ -0,0 +1,52 @@
+package com.upskilling.smartdeploymonitor.entity;
+
+import com.upskilling.smartdeploymonitor.event.UserChangedEvent;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns JPA lifecycle callbacks on {@link User} into {@link UserChangedEvent}s
+ * so every write path (services, resolvers, imports) notifies listeners without
+ * having to remember to do it. Hibernate resolves this listener from the Spring context.
+ *
+ * Each entity remembers the role and active flag it was loaded or last flushed with, so
+ * UPDATED and DELETED events carry the previous state and listeners can apply deltas
+ * (e.g. the user statistics counters) without re-reading the table.
+ */
+@Component
+public class UserEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserEntityListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void afterLoad(User user) {
+        user.rememberPersistedState();
+    }
+
+    @PostPersist
+    public void afterInsert(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.CREATED, user));
+        user.rememberPersistedState();
+    }
+
+    @PostUpdate
+    public void afterUpdate(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.UPDATED, user,
+                user.persistedRole(), user.persistedActive()));
+        user.rememberPersistedState();
+    }
+
+    @PostRemove
+    public void afterDelete(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(UserChangedEvent.Type.DELETED, user,
+                user.persistedRole(), user.persistedActive()));
+    }
+}
@@ -0,0 +1,68 @@
+package com.upskilling.smartdeploymonitor.entity;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hibernate identifier generator for time-ordered UUIDv7 keys (RFC 9562)
+ *
+ * Layout: 48-bit Unix milliseconds, version 7, a 12-bit sequence (rand_a) and 62 random
+ * bits (rand_b). Keys from one JVM are strictly increasing: the timestamp and sequence
+ * are advanced together with a CAS, the sequence starts at a random point in the lower
+ * half of its range each millisecond, and a full sequence carries into the timestamp
+ * (which then runs slightly ahead of the clock instead of repeating or going back).
+ *
+ * New rows therefore append to the right edge of the primary-key B-tree instead of
+ * landing on random pages like v4 keys do. Across nodes uniqueness comes from rand_b:
+ * every draw is mixed with a per-JVM salt taken from SecureRandom, so two instances
+ * never share a random stream even if they start in the same instant.
+ */
+public class UuidV7Generator implements IdentifierGenerator {
+
+    private static final long SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VARIANT = 0x8000000000000000L;
+    private static final long RAND_B_MASK = 0x3FFFFFFFFFFFFFFFL;
+
+    // (timestamp << 12 | sequence) of the last key issued by this JVM
+    private static final AtomicLong LAST = new AtomicLong();
+    private static final long NODE_SALT = new SecureRandom().nextLong();
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+
+    /**
+     * Next key, strictly greater than every key previously returned in this JVM
+     */
+    public static UUID next() {
+        long now = System.currentTimeMillis();
+        long state;
+        while (true) {
+            long last = LAST.get();
+            long fresh = (now << SEQUENCE_BITS) | ThreadLocalRandom.current().nextLong(SEQUENCE_MASK >> 1);
+            state = fresh > last ? fresh : last + 1;
+            if (LAST.compareAndSet(last, state)) {
+                break;
+            }
+        }
+
+        long timestamp = state >>> SEQUENCE_BITS;
+        long mostSignificant = (timestamp << 16) | 0x7000L | (state & SEQUENCE_MASK);
+        long leastSignificant = VARIANT | ((ThreadLocalRandom.current().nextLong() ^ NODE_SALT) & RAND_B_MASK);
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    /**
+     * Unix milliseconds embedded in a v7 key
+     */
+    public static long timestamp(UUID uuid) {
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
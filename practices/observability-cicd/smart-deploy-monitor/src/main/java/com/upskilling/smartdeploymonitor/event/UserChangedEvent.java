@@ -0,0 +1,66 @@
+package com.upskilling.smartdeploymonitor.event;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a user row is inserted, updated or deleted
+ * Listeners that must only see committed data should use @TransactionalEventListener.
+ */
+public class UserChangedEvent {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    private final Type type;
+    private final UUID userId;
+    private final User user;
+    private final UserRole previousRole;
+    private final Boolean previousActive;
+
+    public UserChangedEvent(Type type, User user) {
+        this(type, user, null, null);
+    }
+
+    public UserChangedEvent(Type type, User user, UserRole previousRole, Boolean previousActive) {
+        this.type = type;
+        this.userId = user.getId();
+        this.user = user;
+        this.previousRole = previousRole;
+        this.previousActive = previousActive;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    /**
+     * The entity as it was written (for DELETED, its last state)
+     */
+    public User getUser() {
+        return user;
+    }
+
+    /**
+     * Role stored before this change (null for CREATED, or if the row wasn't loaded first)
+     */
+    public UserRole getPreviousRole() {
+        return previousRole;
+    }
+
+    /**
+     * Active flag stored before this change (null for CREATED, or if the row wasn't loaded first)
+     */
+    public Boolean getPreviousActive() {
+        return previousActive;
+    }
+}
@@ -0,0 +1,121 @@
+package com.upskilling.smartdeploymonitor.graphql.dataloader;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.service.UserService;
+import graphql.GraphQLContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.dataloader.BatchLoaderEnvironment;
+import org.dataloader.DataLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Request-scoped batching of user loads for GraphQL
+ *
+ * Registers a UUID -> User DataLoader with spring-graphql's BatchLoaderRegistry. Each
+ * GraphQL request gets its own DataLoader: ids requested while a level of the query
+ * executes are deduplicated, cached for the rest of the request, and fetched with one
+ * findAllById per app.graphql.dataloader.max-batch-size ids.
+ *
+ * As an interceptor it also tracks every request's loads and batches, and records how
+ * many database calls batching saved compared to one query per load.
+ */
+@Component
+public class UserBatchLoader implements WebGraphQlInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBatchLoader.class);
+
+    private static final String STATS_KEY = UserBatchLoader.class.getName() + ".stats";
+
+    private final UserService userService;
+    private final DistributionSummary batchSize;
+    private final DistributionSummary callsSaved;
+    private final Counter batches;
+
+    public UserBatchLoader(BatchLoaderRegistry batchLoaderRegistry, UserService userService,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.graphql.dataloader.max-batch-size:100}") int maxBatchSize) {
+        this.userService = userService;
+        this.batchSize = DistributionSummary.builder("graphql.dataloader.batch.size")
+                .tag("loader", "user")
+                .description("Distinct user ids fetched per batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.callsSaved = DistributionSummary.builder("graphql.dataloader.calls.saved")
+                .tag("loader", "user")
+                .description("Database calls saved per GraphQL request (loads minus batches)")
+                .register(meterRegistry);
+        this.batches = Counter.builder("graphql.dataloader.batches")
+                .tag("loader", "user")
+                .description("User batch loads executed")
+                .register(meterRegistry);
+
+        batchLoaderRegistry.forTypePair(UUID.class, User.class)
+                .withOptions(options -> options.setMaxBatchSize(Math.max(1, maxBatchSize)))
+                .registerMappedBatchLoader((ids, environment) -> Mono.fromCallable(() -> loadBatch(ids, environment)));
+    }
+
+    /**
+     * Load a user through the request's DataLoader, counting the load for the request metrics
+     */
+    public static CompletableFuture<User> load(DataLoader<UUID, User> loader, UUID id, GraphQLContext context) {
+        RequestStats stats = context.get(STATS_KEY);
+        if (stats != null) {
+            stats.loads.incrementAndGet();
+        }
+        return loader.load(id);
+    }
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        RequestStats stats = new RequestStats();
+        request.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(STATS_KEY, stats);
+            return input;
+        });
+        return chain.next(request).doOnNext(response -> {
+            int loads = stats.loads.get();
+            if (loads > 0) {
+                callsSaved.record(Math.max(0, loads - stats.batches.get()));
+            }
+        });
+    }
+
+    private Map<UUID, User> loadBatch(Set<UUID> ids, BatchLoaderEnvironment environment) {
+        if (environment.getContext() instanceof GraphQLContext context) {
+            RequestStats stats = context.get(STATS_KEY);
+            if (stats != null) {
+                stats.batches.incrementAndGet();
+            }
+        }
+        batches.increment();
+        batchSize.record(ids.size());
+        logger.debug("Loading batch of {} users", ids.size());
+
+        return userService.getUsersByIds(new ArrayList<>(ids)).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    private static final class RequestStats {
+        private final AtomicInteger loads = new AtomicInteger();
+        private final AtomicInteger batches = new AtomicInteger();
+    }
+}
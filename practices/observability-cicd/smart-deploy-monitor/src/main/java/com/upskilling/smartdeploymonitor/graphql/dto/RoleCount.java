@@ -0,0 +1,31 @@
+package com.upskilling.smartdeploymonitor.graphql.dto;
+
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+
+public class RoleCount {
+    private UserRole role;
+    private long count;
+
+    public RoleCount() {}
+
+    public RoleCount(UserRole role, long count) {
+        this.role = role;
+        this.count = count;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+}
@@ -0,0 +1,35 @@
+package com.upskilling.smartdeploymonitor.graphql.dto;
+
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+
+public class UserFilter {
+    private String search;
+    private UserRole role;
+    private Boolean isActive;
+
+    public UserFilter() {}
+
+    public String getSearch() {
+        return search;
+    }
+
+    public void setSearch(String search) {
+        this.search = search;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public void setRole(UserRole role) {
+        this.role = role;
+    }
+
+    public Boolean getIsActive() {
+        return isActive;
+    }
+
+    public void setIsActive(Boolean isActive) {
+        this.isActive = isActive;
+    }
+}
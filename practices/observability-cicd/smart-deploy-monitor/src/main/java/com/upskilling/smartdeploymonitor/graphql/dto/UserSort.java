@@ -0,0 +1,26 @@
+package com.upskilling.smartdeploymonitor.graphql.dto;
+
+import com.upskilling.smartdeploymonitor.repository.UserPageQuery;
+
+public class UserSort {
+    private UserPageQuery.SortField field;
+    private UserPageQuery.SortDirection direction;
+
+    public UserSort() {}
+
+    public UserPageQuery.SortField getField() {
+        return field;
+    }
+
+    public void setField(UserPageQuery.SortField field) {
+        this.field = field;
+    }
+
+    public UserPageQuery.SortDirection getDirection() {
+        return direction;
+    }
+
+    public void setDirection(UserPageQuery.SortDirection direction) {
+        this.direction = direction;
+    }
+}
@@ -0,0 +1,41 @@
+package com.upskilling.smartdeploymonitor.graphql.dto;
+
+import java.util.List;
+
+public class UserStats {
+    private long totalUsers;
+    private long activeUsers;
+    private List<RoleCount> usersByRole;
+
+    public UserStats() {}
+
+    public UserStats(long totalUsers, long activeUsers, List<RoleCount> usersByRole) {
+        this.totalUsers = totalUsers;
+        this.activeUsers = activeUsers;
+        this.usersByRole = usersByRole;
+    }
+
+    public long getTotalUsers() {
+        return totalUsers;
+    }
+
+    public void setTotalUsers(long totalUsers) {
+        this.totalUsers = totalUsers;
+    }
+
+    public long getActiveUsers() {
+        return activeUsers;
+    }
+
+    public void setActiveUsers(long activeUsers) {
+        this.activeUsers = activeUsers;
+    }
+
+    public List<RoleCount> getUsersByRole() {
+        return usersByRole;
+    }
+
+    public void setUsersByRole(List<RoleCount> usersByRole) {
+        this.usersByRole = usersByRole;
+    }
+}
@@ -0,0 +1,123 @@
+package com.upskilling.smartdeploymonitor.graphql.execution;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Cache of parsed and validated GraphQL documents, keyed by the SHA-256 of the query
+ *
+ * - Automatic persisted queries (Apollo protocol): a request carrying
+ *   extensions.persistedQuery.sha256Hash is served from the cache by hash alone. On a
+ *   miss the client gets PersistedQueryNotFound and resends the hash with the query
+ *   text; the hash is verified against the text before the document is stored.
+ * - Plain queries use the same cache under the hash of their text, so a repeated
+ *   query is parsed and validated once.
+ *
+ * The cache is bounded (LRU-ish, by entry count), so unknown clients cannot grow it
+ * without limit by registering queries. Cost and depth limits still run per request,
+ * since they depend on variables.
+ */
+public class CachingDocumentProvider implements PreparsedDocumentProvider {
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+
+    private final Cache<String, PreparsedDocumentEntry> documents;
+    private final PreparsedDocumentProvider persistedQueries;
+
+    public CachingDocumentProvider(long maxDocuments, MeterRegistry meterRegistry) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxDocuments)
+                .recordStats()
+                .build();
+        this.persistedQueries = new ApolloPersistedQuerySupport(new DocumentCache());
+
+        // cache.gets{cache=graphql.documents,result=hit|miss}, cache.size, cache.evictions
+        CaffeineCacheMetrics.monitor(meterRegistry, documents, "graphql.documents");
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        if (isPersistedQuery(executionInput)) {
+            return persistedQueries.getDocumentAsync(executionInput, parseAndValidateFunction);
+        }
+        String query = executionInput.getQuery();
+        return CompletableFuture.completedFuture(
+                documents.get(sha256(query), hash -> parseAndValidateFunction.apply(executionInput)));
+    }
+
+    // Synchronous variant, deprecated but still abstract in graphql-java 21
+    @Override
+    @SuppressWarnings("deprecation")
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return getDocumentAsync(executionInput, parseAndValidateFunction).join();
+    }
+
+    public long size() {
+        return documents.estimatedSize();
+    }
+
+    private static boolean isPersistedQuery(ExecutionInput executionInput) {
+        Map<String, Object> extensions = executionInput.getExtensions();
+        return extensions != null && extensions.get(PERSISTED_QUERY_EXTENSION) instanceof Map;
+    }
+
+    static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Persisted-query view of the document cache; the Apollo support verifies the hash
+     * in onCacheMiss before anything is stored
+     */
+    private final class DocumentCache implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+                ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+            return CompletableFuture.completedFuture(
+                    getPersistedQueryDocument(persistedQueryId, executionInput, onCacheMiss));
+        }
+
+        // Deprecated but still abstract in graphql-java 21; the async variant delegates here
+        @Override
+        @SuppressWarnings("deprecation")
+        public PreparsedDocumentEntry getPersistedQueryDocument(Object persistedQueryId,
+                ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) throws PersistedQueryNotFound {
+            String hash = persistedQueryId.toString().toLowerCase();
+            PreparsedDocumentEntry entry = documents.getIfPresent(hash);
+            if (entry != null) {
+                return entry;
+            }
+            String query = executionInput.getQuery();
+            if (query == null || query.isBlank() || PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query)) {
+                throw new PersistedQueryNotFound(persistedQueryId);
+            }
+            return documents.get(hash, key -> onCacheMiss.apply(query));
+        }
+    }
+}
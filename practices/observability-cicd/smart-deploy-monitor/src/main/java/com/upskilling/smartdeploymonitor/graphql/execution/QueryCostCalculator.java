@@ -0,0 +1,49 @@
+package com.upskilling.smartdeploymonitor.graphql.execution;
+
+import com.upskilling.smartdeploymonitor.config.GraphQlLimitsProperties;
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.execution.AbortExecutionException;
+import io.micrometer.core.instrument.Counter;
+
+/**
+ * Static cost of one field of a GraphQL operation
+ *
+ * Evaluated on the document and variables before any resolver runs. Paginated fields
+ * (those with a "first" argument) multiply the cost of their selections by the page
+ * size, so users(first: 100) { edges { node { ... } } } costs a hundred nodes. A "first"
+ * above the configured cap rejects the whole operation.
+ */
+public class QueryCostCalculator implements FieldComplexityCalculator {
+
+    private static final String FIRST_ARGUMENT = "first";
+
+    private final GraphQlLimitsProperties limits;
+    private final Counter firstRejections;
+
+    public QueryCostCalculator(GraphQlLimitsProperties limits, Counter firstRejections) {
+        this.limits = limits;
+        this.firstRejections = firstRejections;
+    }
+
+    @Override
+    public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+        int cost = limits.costOf(environment.getParentType().getName(), environment.getField().getName());
+
+        Object first = environment.getArguments().get(FIRST_ARGUMENT);
+        if (first instanceof Number number) {
+            long pageSize = number.longValue();
+            if (pageSize > limits.getMaxFirst()) {
+                firstRejections.increment();
+                throw new AbortExecutionException("Argument 'first' of " + environment.getField().getName()
+                        + " must not exceed " + limits.getMaxFirst() + " (got " + pageSize + ")");
+            }
+            return saturatedAdd(cost, Math.max(1, pageSize) * childComplexity);
+        }
+        return saturatedAdd(cost, childComplexity);
+    }
+
+    private static int saturatedAdd(long cost, long childCost) {
+        return (int) Math.min(Integer.MAX_VALUE, cost + childCost);
+    }
+}
@@ -1,48 +1,101 @@
 package com.upskilling.smartdeploymonitor.graphql.resolver;
 
+import com.upskilling.smartdeploymonitor.config.GraphQlLimitsProperties;
+import com.upskilling.smartdeploymonitor.dto.UserPage;
 import com.upskilling.smartdeploymonitor.entity.User;
 import com.upskilling.smartdeploymonitor.entity.UserRole;
 import com.upskilling.smartdeploymonitor.graphql.dto.UserConnection;
 import com.upskilling.smartdeploymonitor.graphql.dto.UserEdge;
 import com.upskilling.smartdeploymonitor.graphql.dto.PageInfo;
+import com.upskilling.smartdeploymonitor.graphql.dto.RoleCount;
+import com.upskilling.smartdeploymonitor.graphql.dto.UserFilter;
+import com.upskilling.smartdeploymonitor.graphql.dto.UserSort;
+import com.upskilling.smartdeploymonitor.graphql.dto.UserStats;
+import com.upskilling.smartdeploymonitor.graphql.dataloader.UserBatchLoader;
+import com.upskilling.smartdeploymonitor.repository.UserPageQuery;
 import com.upskilling.smartdeploymonitor.service.UserService;
+import graphql.GraphQLContext;
+import graphql.schema.DataFetchingFieldSelectionSet;
+import org.dataloader.DataLoader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class UserResolver {
 
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private GraphQlLimitsProperties limits;
+
+    /**
+     * Batched and deduplicated per request through the user DataLoader
+     */
     @QueryMapping
-    public User user(@Argument String id) {
-        return userService.findById(UUID.fromString(id)).orElse(null);
+    public CompletableFuture<User> user(@Argument String id, DataLoader<UUID, User> userLoader,
+                                        GraphQLContext context) {
+        return UserBatchLoader.load(userLoader, UUID.fromString(id), context);
     }
 
     @QueryMapping
-    public UserConnection users(@Argument Integer first, @Argument String after, 
-                               @Argument String search, @Argument String role, 
-                               @Argument String sortBy, @Argument String sortDir) {
-        // Implementation for paginated user retrieval
-        List<User> users = userService.getAllUsers();
+    public UserConnection users(@Argument Integer first, @Argument String after,
+                               @Argument UserFilter filter, @Argument UserSort sort,
+                               DataFetchingFieldSelectionSet selectionSet) {
+        // Keyset pagination: filter and sort are pushed down into the query
+        // (first above max-first is rejected before execution; the clamp is a backstop)
+        UserPageQuery query = new UserPageQuery();
+        query.setLimit(Math.max(1, Math.min(first != null ? first : DEFAULT_PAGE_SIZE, limits.getMaxFirst())));
+        if (filter != null) {
+            query.setSearch(filter.getSearch());
+            query.setRole(filter.getRole());
+            query.setIsActive(filter.getIsActive());
+        }
+        if (sort != null && sort.getField() != null) {
+            query.setSortField(sort.getField());
+        }
+        if (sort != null && sort.getDirection() != null) {
+            query.setSortDirection(sort.getDirection());
+        }
+        query.after(after);
+        
+        // Only count when the client actually asked for totalCount
+        UserPage page = userService.getUsersPage(query, selectionSet.contains("totalCount"));
         
-        // Convert to UserEdge list
-        List<UserEdge> edges = users.stream()
-            .map(user -> new UserEdge(user, user.getId().toString()))
-            .collect(Collectors.toList());
+        List<UserEdge> edges = new ArrayList<>(page.getUsers().size());
+        for (int i = 0; i < page.getUsers().size(); i++) {
+            edges.add(new UserEdge(page.getUsers().get(i), page.getCursors().get(i)));
+        }
         
-        // Create PageInfo
-        PageInfo pageInfo = new PageInfo(false, false, null, null);
+        PageInfo pageInfo = new PageInfo(page.isHasNextPage(), page.isHasPreviousPage(),
+                page.getStartCursor(), page.getEndCursor());
         
-        return new UserConnection(edges, pageInfo, users.size());
+        int totalCount = page.getTotalCount() != null ? page.getTotalCount().intValue() : 0;
+        return new UserConnection(edges, pageInfo, totalCount);
+    }
+
+    /**
+     * User statistics (admins only, like the REST endpoint)
+     * Served by the same single-source statistics as /api/v1/users/statistics
+     */
+    @QueryMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public UserStats userStats() {
+        UserService.UserStatistics stats = userService.getUserStatistics();
+        List<RoleCount> usersByRole = new ArrayList<>(stats.getUsersByRole().size());
+        stats.getUsersByRole().forEach((role, count) -> usersByRole.add(new RoleCount(role, count)));
+        return new UserStats(stats.getTotalUsers(), stats.getActiveUsers(), usersByRole);
     }
 
     @SchemaMapping(typeName = "User")
@@ -0,0 +1,34 @@
+package com.upskilling.smartdeploymonitor.graphql.resolver;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.event.UserChangedEvent;
+import com.upskilling.smartdeploymonitor.service.UserEventBus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+
+/**
+ * User lifecycle subscriptions, delivered over WebSocket (graphql-transport-ws on /graphql)
+ */
+@Controller
+public class UserSubscriptionResolver {
+
+    @Autowired
+    private UserEventBus userEventBus;
+
+    @SubscriptionMapping
+    public Flux<User> userCreated() {
+        return userEventBus.subscribe(UserChangedEvent.Type.CREATED).map(UserChangedEvent::getUser);
+    }
+
+    @SubscriptionMapping
+    public Flux<User> userUpdated() {
+        return userEventBus.subscribe(UserChangedEvent.Type.UPDATED).map(UserChangedEvent::getUser);
+    }
+
+    @SubscriptionMapping
+    public Flux<String> userDeleted() {
+        return userEventBus.subscribe(UserChangedEvent.Type.DELETED).map(event -> event.getUserId().toString());
+    }
+}
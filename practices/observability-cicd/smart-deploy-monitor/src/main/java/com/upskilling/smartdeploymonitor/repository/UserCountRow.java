@@ -0,0 +1,15 @@
+package com.upskilling.smartdeploymonitor.repository;
+
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+
+/**
+ * One (role, active) group of {@link UserRepository#countGroupedByRoleAndActive()}
+ */
+public interface UserCountRow {
+
+    UserRole getRole();
+
+    Boolean getActive();
+
+    Long getCount();
+}
@@ -0,0 +1,45 @@
+package com.upskilling.smartdeploymonitor.repository;
+
+import com.upskilling.smartdeploymonitor.entity.UserOutboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface UserOutboxRepository extends JpaRepository<UserOutboxEntry, Long> {
+
+    /**
+     * Claim the next batch of due entries
+     * SKIP LOCKED lets several application instances drain the outbox concurrently
+     * without processing the same rows twice.
+     */
+    @Query(value = "SELECT * FROM user_outbox WHERE status = 'PENDING' AND next_attempt_at <= :now " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<UserOutboxEntry> claimBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    /**
+     * Count entries by status
+     */
+    long countByStatus(UserOutboxEntry.Status status);
+
+    /**
+     * Oldest pending entry (drives the lag gauge)
+     */
+    UserOutboxEntry findFirstByStatusOrderByIdAsc(UserOutboxEntry.Status status);
+
+    /**
+     * Entries in a status issued up to (and including) the given id
+     */
+    List<UserOutboxEntry> findByStatusAndIdLessThanEqual(UserOutboxEntry.Status status, Long id);
+
+    /**
+     * Highest id ever handed out (relayed rows are deleted, so MAX(id) would not do)
+     */
+    @Query(value = "SELECT COALESCE(pg_sequence_last_value(pg_get_serial_sequence('user_outbox', 'id')), 0)",
+           nativeQuery = true)
+    long findLastIssuedId();
+}
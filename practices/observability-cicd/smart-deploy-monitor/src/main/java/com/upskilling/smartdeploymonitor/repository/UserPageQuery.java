@@ -0,0 +1,166 @@
+package com.upskilling.smartdeploymonitor.repository;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset (cursor) page request for users
+ *
+ * Rows are ordered by (sort field, id) and a page starts strictly after the position
+ * encoded in the cursor, so every page costs the same regardless of depth. Cursors are
+ * opaque Base64url strings that also carry the sort they were issued for; reusing a
+ * cursor with a different sort is rejected.
+ */
+public class UserPageQuery {
+
+    private static final String CURSOR_VERSION = "v1";
+
+    public enum SortField {
+        EMAIL("email"),
+        FIRST_NAME("firstName"),
+        LAST_NAME("lastName"),
+        CREATED_AT("createdAt"),
+        UPDATED_AT("updatedAt");
+
+        private final String property;
+
+        SortField(String property) {
+            this.property = property;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public boolean isTimestamp() {
+            return this == CREATED_AT || this == UPDATED_AT;
+        }
+
+        /**
+         * Resolve a REST sort parameter (entity property name, e.g. "firstName")
+         */
+        public static SortField fromProperty(String property) {
+            for (SortField field : values()) {
+                if (field.property.equalsIgnoreCase(property) || field.name().equalsIgnoreCase(property)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Unsupported sort field: " + property);
+        }
+    }
+
+    public enum SortDirection {
+        ASC,
+        DESC
+    }
+
+    // Filter
+    private String search;
+    private UserRole role;
+    private Boolean isActive;
+
+    // Order
+    private SortField sortField = SortField.CREATED_AT;
+    private SortDirection sortDirection = SortDirection.ASC;
+
+    // Position (exclusive) and page size
+    private Object afterValue;
+    private UUID afterId;
+    private int limit = 10;
+
+    public UserPageQuery() {}
+
+    public boolean hasFilter() {
+        return (search != null && !search.isBlank()) || role != null || isActive != null;
+    }
+
+    public boolean hasCursor() {
+        return afterId != null;
+    }
+
+    public boolean isDescending() {
+        return sortDirection == SortDirection.DESC;
+    }
+
+    /**
+     * Encode the position of a user under this query's sort
+     */
+    public String encodeCursor(User user) {
+        String value = sortValue(user);
+        String raw = String.join("|", CURSOR_VERSION, sortField.name(), sortDirection.name(),
+                user.getId().toString(), value != null ? value : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Position this query after the given cursor
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for a different sort
+     */
+    public UserPageQuery after(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            this.afterId = null;
+            this.afterValue = null;
+            return this;
+        }
+
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 5);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (parts.length != 5 || !CURSOR_VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!sortField.name().equals(parts[1]) || !sortDirection.name().equals(parts[2])) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+
+        try {
+            this.afterId = UUID.fromString(parts[3]);
+            this.afterValue = sortField.isTimestamp() ? LocalDateTime.parse(parts[4]) : parts[4];
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return this;
+    }
+
+    private String sortValue(User user) {
+        switch (sortField) {
+            case EMAIL:
+                return user.getEmail();
+            case FIRST_NAME:
+                return user.getFirstName() != null ? user.getFirstName() : "";
+            case LAST_NAME:
+                return user.getLastName() != null ? user.getLastName() : "";
+            case CREATED_AT:
+                return user.getCreatedAt() != null ? user.getCreatedAt().toString() : null;
+            case UPDATED_AT:
+                return user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : null;
+            default:
+                throw new IllegalStateException("Unknown sort field: " + sortField);
+        }
+    }
+
+    // Getters and setters
+    public String getSearch() { return search; }
+    public void setSearch(String search) { this.search = search; }
+    public UserRole getRole() { return role; }
+    public void setRole(UserRole role) { this.role = role; }
+    public Boolean getIsActive() { return isActive; }
+    public void setIsActive(Boolean isActive) { this.isActive = isActive; }
+    public SortField getSortField() { return sortField; }
+    public void setSortField(SortField sortField) { this.sortField = sortField; }
+    public SortDirection getSortDirection() { return sortDirection; }
+    public void setSortDirection(SortDirection sortDirection) { this.sortDirection = sortDirection; }
+    public Object getAfterValue() { return afterValue; }
+    public UUID getAfterId() { return afterId; }
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+}
@@ -2,19 +2,23 @@ package com.upskilling.smartdeploymonitor.repository;
 
 import com.upskilling.smartdeploymonitor.entity.User;
 import com.upskilling.smartdeploymonitor.entity.UserRole;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
     
     /**
      * Find user by email address
@@ -31,6 +35,12 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     boolean existsByEmail(String email);
     
+    /**
+     * Which of the given emails are already taken (one IN query, used by bulk import)
+     */
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+    
     /**
      * Find all active users
      */
@@ -66,6 +76,13 @@ public interface UserRepository extends JpaRepository<User, UUID> {
      */
     long countByIsActiveTrue();
     
+    /**
+     * Count users per (role, active) pair in one round trip
+     * Total, active, inactive and per-role counts are all sums over these groups.
+     */
+    @Query("SELECT u.role AS role, u.isActive AS active, COUNT(u) AS count FROM User u GROUP BY u.role, u.isActive")
+    List<UserCountRow> countGroupedByRoleAndActive();
+    
     /**
      * Custom query to find users created in the last N days
      */
@@ -92,4 +109,16 @@ public interface UserRepository extends JpaRepository<User, UUID> {
            "LOWER(u.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(u.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<User> findBySearchTerm(@Param("searchTerm") String searchTerm, Pageable pageable);
-}
\ No newline at end of file
+    
+    /**
+     * Stream every user through a server-side cursor (fetch size > 0 inside a
+     * transaction makes the PostgreSQL driver fetch rows in chunks instead of all at once).
+     * Must be consumed inside a read-only transaction and closed afterwards.
+     */
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT u FROM User u")
+    Stream<User> streamAll();
+}
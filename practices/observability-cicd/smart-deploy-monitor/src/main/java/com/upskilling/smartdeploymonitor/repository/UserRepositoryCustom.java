@@ -0,0 +1,44 @@
+package com.upskilling.smartdeploymonitor.repository;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+
+import java.util.List;
+
+/**
+ * Hand-written queries that don't fit derived query methods
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Fetch up to limit users matching the filter, ordered by (sort field, id)
+     * and starting strictly after the query's cursor position
+     */
+    List<User> findKeysetPage(UserPageQuery query, int limit);
+
+    /**
+     * Count users matching the query's filter (cursor and limit are ignored)
+     */
+    long countMatching(UserPageQuery query);
+
+    /**
+     * The planner's estimate of the number of users (pg_class.reltuples), read without
+     * touching the table
+     * @return The estimate, or null when the database is not PostgreSQL or the table
+     *         has not been analyzed yet
+     */
+    Long estimateTotal();
+
+    /**
+     * Full-text search (PostgreSQL with pg_trgm): prefix matches on name/email words,
+     * fuzzy trigram matches on names and substring matches on email, ranked by relevance
+     * @param role Optional role filter
+     * @param isActive Optional active-state filter
+     */
+    List<User> searchRanked(String text, UserRole role, Boolean isActive, int offset, int limit);
+
+    /**
+     * Number of users {@link #searchRanked} would return without paging
+     */
+    long countSearchMatches(String text, UserRole role, Boolean isActive);
+}
@@ -0,0 +1,220 @@
+package com.upskilling.smartdeploymonitor.repository;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Hand-written queries for {@link UserRepository}
+ *
+ * Keyset pagination: the cursor becomes a row-value predicate
+ * (sort > :value) OR (sort = :value AND id > :id) (flipped for DESC),
+ * so the database seeks straight to the page through the (sort, id) index
+ * instead of reading and discarding OFFSET rows.
+ *
+ * Search: native PostgreSQL queries served by the GIN indexes created by
+ * UserSearchService (tsvector over names + email, pg_trgm over each column).
+ */
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // Must match the expression of idx_users_search_document exactly
+    static final String SEARCH_DOCUMENT =
+            "to_tsvector('simple', coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, '') || ' ' || u.email)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Resolved on first use
+    private volatile Boolean postgres;
+
+    @Override
+    public List<User> findKeysetPage(UserPageQuery query, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> cq = cb.createQuery(User.class);
+        Root<User> root = cq.from(User.class);
+
+        List<Predicate> predicates = filterPredicates(cb, root, query);
+        Expression<?> sortKey = sortExpression(cb, root, query.getSortField());
+        Path<UUID> id = root.get("id");
+
+        if (query.hasCursor()) {
+            Predicate beyond = compare(cb, sortKey, (Comparable<?>) query.getAfterValue(), query.isDescending());
+            Predicate tieBreak = cb.and(
+                    cb.equal(sortKey, query.getAfterValue()),
+                    compare(cb, id, query.getAfterId(), query.isDescending()));
+            predicates.add(cb.or(beyond, tieBreak));
+        }
+
+        cq.select(root)
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(query.isDescending()
+                        ? List.of(cb.desc(sortKey), cb.desc(id))
+                        : List.of(cb.asc(sortKey), cb.asc(id)));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countMatching(UserPageQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<User> root = cq.from(User.class);
+
+        cq.select(cb.count(root))
+                .where(filterPredicates(cb, root, query).toArray(new Predicate[0]));
+
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    @Override
+    public Long estimateTotal() {
+        if (postgres == null) {
+            String product = entityManager.unwrap(Session.class)
+                    .doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+            postgres = "PostgreSQL".equalsIgnoreCase(product);
+        }
+        if (!postgres) {
+            return null;
+        }
+        Number estimate = (Number) entityManager
+                .createNativeQuery("SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass('users')")
+                .getSingleResult();
+        // -1 (PostgreSQL 14+) until the table is first analyzed
+        return estimate != null && estimate.longValue() >= 0 ? estimate.longValue() : null;
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<User> root, UserPageQuery query) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (query.getSearch() != null && !query.getSearch().isBlank()) {
+            // Escaped, so "_" and "%" in a search such as "john_doe@" match literally
+            String pattern = "%" + escapeLike(query.getSearch().trim().toLowerCase()) + "%";
+            predicates.add(cb.or(
+                    cb.like(cb.lower(root.get("firstName")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("lastName")), pattern, '\\'),
+                    cb.like(cb.lower(root.get("email")), pattern, '\\')));
+        }
+        if (query.getRole() != null) {
+            predicates.add(cb.equal(root.get("role"), query.getRole()));
+        }
+        if (query.getIsActive() != null) {
+            predicates.add(cb.equal(root.get("isActive"), query.getIsActive()));
+        }
+        return predicates;
+    }
+
+    /**
+     * Nullable name columns are ordered as empty strings so the keyset predicate stays total
+     * (served by the expression indexes from UserSortIndexes)
+     */
+    private Expression<?> sortExpression(CriteriaBuilder cb, Root<User> root,
+                                         UserPageQuery.SortField field) {
+        switch (field) {
+            case FIRST_NAME:
+            case LAST_NAME:
+                return cb.coalesce(root.<String>get(field.getProperty()), "");
+            default:
+                return root.get(field.getProperty());
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Predicate compare(CriteriaBuilder cb, Expression expression, Comparable value, boolean descending) {
+        return descending ? cb.lessThan(expression, value) : cb.greaterThan(expression, value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<User> searchRanked(String text, UserRole role, Boolean isActive, int offset, int limit) {
+        String prefixQuery = toPrefixTsQuery(text);
+        StringBuilder sql = new StringBuilder("SELECT u.* FROM users u WHERE ")
+                .append(searchCondition(prefixQuery, role, isActive))
+                .append(" ORDER BY ");
+        if (prefixQuery != null) {
+            sql.append("ts_rank(").append(SEARCH_DOCUMENT).append(", to_tsquery('simple', :tsquery)) + ");
+        }
+        sql.append("greatest(similarity(lower(u.first_name), :term), similarity(lower(u.last_name), :term), ")
+                .append("similarity(lower(u.email), :term)) DESC, u.id");
+
+        Query query = entityManager.createNativeQuery(sql.toString(), User.class);
+        bindSearchParameters(query, text, prefixQuery, role, isActive);
+        return query.setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countSearchMatches(String text, UserRole role, Boolean isActive) {
+        String prefixQuery = toPrefixTsQuery(text);
+        Query query = entityManager.createNativeQuery(
+                "SELECT count(*) FROM users u WHERE " + searchCondition(prefixQuery, role, isActive));
+        bindSearchParameters(query, text, prefixQuery, role, isActive);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private String searchCondition(String prefixQuery, UserRole role, Boolean isActive) {
+        StringBuilder condition = new StringBuilder("(");
+        if (prefixQuery != null) {
+            condition.append(SEARCH_DOCUMENT).append(" @@ to_tsquery('simple', :tsquery) OR ");
+        }
+        condition.append("lower(u.first_name) % :term OR lower(u.last_name) % :term OR lower(u.email) LIKE :contains)");
+        if (role != null) {
+            condition.append(" AND u.role = :role");
+        }
+        if (isActive != null) {
+            condition.append(" AND u.is_active = :active");
+        }
+        return condition.toString();
+    }
+
+    private void bindSearchParameters(Query query, String text, String prefixQuery, UserRole role, Boolean isActive) {
+        String term = text.trim().toLowerCase();
+        query.setParameter("term", term);
+        query.setParameter("contains", "%" + escapeLike(term) + "%");
+        if (prefixQuery != null) {
+            query.setParameter("tsquery", prefixQuery);
+        }
+        if (role != null) {
+            query.setParameter("role", role.name());
+        }
+        if (isActive != null) {
+            query.setParameter("active", isActive);
+        }
+    }
+
+    /**
+     * "jo do" -> "jo:* & do:*" (only alphanumeric words, so the tsquery can't be malformed)
+     */
+    private static String toPrefixTsQuery(String text) {
+        StringBuilder tsQuery = new StringBuilder();
+        for (String word : text.toLowerCase().split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) {
+                continue;
+            }
+            if (tsQuery.length() > 0) {
+                tsQuery.append(" & ");
+            }
+            tsQuery.append(word).append(":*");
+        }
+        return tsQuery.length() > 0 ? tsQuery.toString() : null;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,5 +1,6 @@
 package com.upskilling.smartdeploymonitor.security;
 
+import com.upskilling.smartdeploymonitor.validation.AttackPatternMatcher;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,7 +12,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.regex.Pattern;
+import java.util.Map;
 
 @Component
 public class InputValidationFilter extends OncePerRequestFilter {
@@ -22,75 +23,20 @@ public class InputValidationFilter extends OncePerRequestFilter {
     @Autowired(required = false)
     private SecurityEventLogger securityEventLogger;
 
-    // Enhanced SQL Injection patterns
-    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile(
-        "(?i).*(" +
-        // SQL keywords
-        "(union|select|insert|delete|update|drop|create|alter|exec|execute|truncate|declare|cast|convert)\\s+.*|" +
-        // Boolean logic
-        "(\\s*(or|and)\\s+\\w+\\s*=\\s*\\w+)|" +
-        "(\\s*(or|and)\\s+\\d+\\s*=\\s*\\d+)|" +
-        // Comments and terminators
-        "(\\s*;\\s*)|" +
-        "(\\s*--\\s*)|" +
-        "(\\s*/\\*.*\\*/\\s*)|" +
-        // Common injection patterns
-        "(\\s*'\\s*or\\s*'\\d+'\\s*=\\s*'\\d+)|" +
-        "(\\s*'\\s*or\\s*1\\s*=\\s*1)|" +
-        "(\\s*'\\s*or\\s*'\\w+'\\s*=\\s*'\\w+)|" +
-        "(\\s*'\\s*union\\s+select)|" +
-        "(\\s*'\\s*;\\s*drop\\s+table)|" +
-        "(\\s*'\\s*;\\s*delete\\s+from)|" +
-        "(\\s*'\\s*;\\s*update\\s+.*\\s+set)|" +
-        // Time-based blind SQL injection
-        "(\\s*'\\s*;\\s*waitfor\\s+delay)|" +
-        "(\\s*'\\s*;\\s*sleep\\s*\\()|" +
-        // Function-based injections
-        "(\\s*'\\s*;\\s*exec\\s*\\()|" +
-        "(\\s*'\\s*;\\s*sp_)|" +
-        // Information schema
-        "(\\s*'\\s*union\\s+select.*information_schema)|" +
-        // Common bypass techniques
-        "(\\s*'\\s*or\\s*'\\w+'\\s*like\\s*'\\w+)|" +
-        "(\\s*'\\s*or\\s*\\d+\\s*like\\s*\\d+)|" +
-        // Null byte injection
-        "(\\s*'\\s*or\\s*'\\w+'\\s*=\\s*'\\w+\\x00)|" +
-        // Hex encoding
-        "(\\s*'\\s*or\\s*'\\w+'\\s*=\\s*0x)|" +
-        // Double encoding
-        "(\\s*'\\s*or\\s*'\\w+'\\s*=\\s*%27)|" +
-        // Case variations
-        "(\\s*'\\s*Or\\s*'\\w+'\\s*=\\s*'\\w+)|" +
-        "(\\s*'\\s*OR\\s*'\\w+'\\s*=\\s*'\\w+)" +
-        ")"
-    );
-
-    // XSS patterns
-    private static final Pattern XSS_PATTERN = Pattern.compile(
-        "(?i).*<script.*>.*</script>|" +
-        ".*javascript:.*|" +
-        ".*on\\w+\\s*=.*|" +
-        ".*<iframe.*>.*</iframe>|" +
-        ".*<object.*>.*</object>|" +
-        ".*<embed.*>.*</embed>"
-    );
-
-    // Path traversal patterns
-    private static final Pattern PATH_TRAVERSAL_PATTERN = Pattern.compile(
-        ".*\\.\\..*|.*\\.\\./.*|.*\\.\\.\\\\\\.*"
-    );
+    @Autowired
+    private AttackPatternMatcher attackPatternMatcher;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                     FilterChain filterChain) throws ServletException, IOException {
         
-        // Check query parameters
-        request.getParameterMap().forEach((key, values) -> {
-            for (String value : values) {
+        // Check query parameters (stop at the first malicious value)
+        for (Map.Entry<String, String[]> parameter : request.getParameterMap().entrySet()) {
+            String key = parameter.getKey();
+            for (String value : parameter.getValue()) {
                 String attackType = detectAttackType(value);
                 if (attackType != null) {
                     String clientIp = getClientIpAddress(request);
-                    String userAgent = request.getHeader("User-Agent");
                     
                     // Log security event
                     securityLogger.warn("SECURITY_ALERT: {} detected in parameter '{}' with value '{}' from IP '{}'", 
@@ -102,22 +48,17 @@ public class InputValidationFilter extends OncePerRequestFilter {
                     }
                     
                     response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-                    try {
-                        response.getWriter().write("{\"error\":\"Invalid input detected\"}");
-                    } catch (IOException e) {
-                        logger.error("Error writing response", e);
-                    }
+                    response.getWriter().write("{\"error\":\"Invalid input detected\"}");
                     return;
                 }
             }
-        });
+        }
 
         // Check request URI
         String requestURI = request.getRequestURI();
         String attackType = detectAttackType(requestURI);
         if (attackType != null) {
             String clientIp = getClientIpAddress(request);
-            String userAgent = request.getHeader("User-Agent");
             
             securityLogger.warn("SECURITY_ALERT: {} detected in URI '{}' from IP '{}'", 
                 attackType, requestURI, clientIp);
@@ -139,25 +80,8 @@ public class InputValidationFilter extends OncePerRequestFilter {
     }
 
     private String detectAttackType(String input) {
-        if (input == null || input.isEmpty()) {
-            return null;
-        }
-
-        if (SQL_INJECTION_PATTERN.matcher(input).matches()) {
-            return "SQL_INJECTION";
-        }
-        if (XSS_PATTERN.matcher(input).matches()) {
-            return "XSS";
-        }
-        if (PATH_TRAVERSAL_PATTERN.matcher(input).matches()) {
-            return "PATH_TRAVERSAL";
-        }
-        
-        return null;
-    }
-    
-    private boolean isMaliciousInput(String input) {
-        return detectAttackType(input) != null;
+        AttackPatternMatcher.AttackType attackType = attackPatternMatcher.detect(input);
+        return attackType != null ? attackType.name() : null;
     }
     
     private String getClientIpAddress(HttpServletRequest request) {
@@ -2,6 +2,7 @@ package com.upskilling.smartdeploymonitor.security;
 
 import com.upskilling.smartdeploymonitor.service.JwtService;
 import com.upskilling.smartdeploymonitor.service.UserService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -40,12 +41,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         jwt = authHeader.substring(7);
         try {
-            userEmail = jwtService.extractUsername(jwt);
+            // Single verification per request; all checks below reuse these claims
+            Claims claims = jwtService.extractAllClaims(jwt);
+            userEmail = claims.getSubject();
             
             if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = userService.loadUserByUsername(userEmail);
                 
-                if (jwtService.validateToken(jwt, userDetails)) {
+                if (jwtService.validateClaims(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                     authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -0,0 +1,255 @@
+package com.upskilling.smartdeploymonitor.security;
+
+import com.upskilling.smartdeploymonitor.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Distributed rate limiter
+ *
+ * Redis holds the authoritative state as a GCRA (generic cell rate algorithm) "theoretical
+ * arrival time" per key, updated by a single atomic Lua script. When a client is clearly
+ * under its limit the script grants a small lease of tokens, which a striped in-JVM bucket
+ * hands out without further Redis calls. Leased tokens are already spent in Redis, so the
+ * local tier can only make the limiter stricter, never looser.
+ *
+ * Decisions are encoded in a single long to keep the local path allocation-free:
+ * a value >= 0 means allowed with that many requests remaining, a negative value means
+ * rejected (see {@link #retryAfterMillis(long)}).
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final String KEY_PREFIX = "rate_limit:";
+
+    // KEYS[1] = bucket key, ARGV = now (ms), emission interval (ms), limit, lease size
+    // Returns {granted, remaining, retryAfterMs}
+    private static final String GCRA_SCRIPT =
+            "local now = tonumber(ARGV[1]) " +
+            "local emission = tonumber(ARGV[2]) " +
+            "local limit = tonumber(ARGV[3]) " +
+            "local lease = tonumber(ARGV[4]) " +
+            "local window = emission * limit " +
+            "local tat = tonumber(redis.call('GET', KEYS[1])) " +
+            "if tat == nil or tat < now then tat = now end " +
+            "local available = math.floor((window - (tat - now)) / emission) " +
+            "if available < 1 then " +
+            "  return {0, 0, math.ceil(tat + emission - window - now)} " +
+            "end " +
+            "local granted = 1 " +
+            "if available >= lease * 2 then granted = lease end " +
+            "local newTat = tat + granted * emission " +
+            "redis.call('SET', KEYS[1], tostring(newTat), 'PX', math.ceil(newTat - now)) " +
+            "return {granted, available - granted, 0}";
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final RedisTemplate<String, String> redisTemplate;
+    @SuppressWarnings("rawtypes")
+    private final DefaultRedisScript<List> gcraScript;
+    private final boolean enabled;
+
+    // Compiled policies, indexed by policy id
+    private final String[] excludedPaths;
+    private final String[] policyPaths;
+    private final String[] policyKeyPrefixes;
+    private final boolean[] policyByPrincipal;
+    private final long[] policyLimits;
+    private final long[] policyWindowMillis;
+    private final long[] policyLeaseSizes;
+    private final int defaultPolicy;
+
+    // Striped local lease table (no per-request allocation)
+    private final int stripeMask;
+    private final long[] stripeOwners;
+    private final long[] stripeTokens;
+    private final long[] stripeRemaining;
+    private final long[] stripeExpiresAt;
+    private final Object[] locks;
+
+    private final Counter localAllowed;
+    private final Counter redisAllowed;
+    private final Counter rejected;
+    private final Counter redisErrors;
+
+    public RateLimiter(RateLimitProperties properties,
+                       ObjectProvider<RedisTemplate<String, String>> redisTemplateProvider,
+                       MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplateProvider.getIfAvailable();
+        this.gcraScript = new DefaultRedisScript<>(GCRA_SCRIPT, List.class);
+        this.enabled = properties.isEnabled();
+
+        this.excludedPaths = properties.getExcludedPaths().toArray(new String[0]);
+
+        List<RateLimitProperties.Policy> policies = new ArrayList<>(properties.getPolicies());
+        policies.add(properties.getDefaultPolicy());
+        int count = policies.size();
+        this.policyPaths = new String[count];
+        this.policyKeyPrefixes = new String[count];
+        this.policyByPrincipal = new boolean[count];
+        this.policyLimits = new long[count];
+        this.policyWindowMillis = new long[count];
+        this.policyLeaseSizes = new long[count];
+        for (int i = 0; i < count; i++) {
+            RateLimitProperties.Policy policy = policies.get(i);
+            policyPaths[i] = policy.getPath() != null ? policy.getPath() : "/";
+            policyKeyPrefixes[i] = KEY_PREFIX + policy.getName() + ":";
+            policyByPrincipal[i] = policy.getKey() == RateLimitProperties.KeyType.PRINCIPAL;
+            policyLimits[i] = Math.max(1, policy.getLimit());
+            policyWindowMillis[i] = Math.max(1, policy.getWindowSeconds()) * 1000L;
+            policyLeaseSizes[i] = Math.max(1, policyLimits[i] / Math.max(1, properties.getLeaseDivisor()));
+        }
+        this.defaultPolicy = count - 1;
+
+        int stripes = Integer.highestOneBit(Math.max(LOCK_STRIPES, properties.getLocalStripes()));
+        this.stripeMask = stripes - 1;
+        this.stripeOwners = new long[stripes];
+        this.stripeTokens = new long[stripes];
+        this.stripeRemaining = new long[stripes];
+        this.stripeExpiresAt = new long[stripes];
+        this.locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+
+        this.localAllowed = Counter.builder("rate_limit.decisions")
+                .tag("outcome", "allowed").tag("source", "local")
+                .description("Rate limit decisions")
+                .register(meterRegistry);
+        this.redisAllowed = Counter.builder("rate_limit.decisions")
+                .tag("outcome", "allowed").tag("source", "redis")
+                .description("Rate limit decisions")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("rate_limit.decisions")
+                .tag("outcome", "rejected").tag("source", "redis")
+                .description("Rate limit decisions")
+                .register(meterRegistry);
+        this.redisErrors = Counter.builder("rate_limit.redis.errors")
+                .description("Redis failures while evaluating rate limits (requests are let through)")
+                .register(meterRegistry);
+
+        logger.info("Rate limiter initialized - policies: {}, local stripes: {}, redis: {}",
+                count, stripes, redisTemplate != null);
+    }
+
+    /**
+     * Resolve the policy for a request path
+     * @return Policy id, or -1 if the path is not rate limited
+     */
+    public int resolvePolicy(String path) {
+        if (!enabled || path == null) {
+            return -1;
+        }
+        for (String excluded : excludedPaths) {
+            if (path.startsWith(excluded)) {
+                return -1;
+            }
+        }
+        for (int i = 0; i < defaultPolicy; i++) {
+            if (path.startsWith(policyPaths[i])) {
+                return i;
+            }
+        }
+        return defaultPolicy;
+    }
+
+    public boolean isPrincipalKeyed(int policy) {
+        return policyByPrincipal[policy];
+    }
+
+    public long getLimit(int policy) {
+        return policyLimits[policy];
+    }
+
+    /**
+     * Try to take one request from the client's budget under the given policy
+     * @param policy Policy id from {@link #resolvePolicy(String)}
+     * @param identity Client IP or principal name
+     * @return Encoded decision (>= 0 remaining when allowed, negative when rejected)
+     */
+    public long tryAcquire(int policy, String identity) {
+        long now = System.currentTimeMillis();
+        long owner = hash(policy, identity);
+        int stripe = (int) (owner ^ (owner >>> 32)) & stripeMask;
+        Object lock = locks[stripe & (LOCK_STRIPES - 1)];
+
+        // Local pre-filter: spend a leased token without touching Redis
+        synchronized (lock) {
+            if (stripeOwners[stripe] == owner && stripeExpiresAt[stripe] > now && stripeTokens[stripe] > 0) {
+                long left = --stripeTokens[stripe];
+                localAllowed.increment();
+                return stripeRemaining[stripe] + left;
+            }
+        }
+
+        if (redisTemplate == null) {
+            return policyLimits[policy] - 1;
+        }
+
+        long granted;
+        long remaining;
+        long retryAfter;
+        try {
+            @SuppressWarnings("unchecked")
+            List<Long> result = redisTemplate.execute(gcraScript,
+                    List.of(policyKeyPrefixes[policy] + identity),
+                    Long.toString(now),
+                    Double.toString((double) policyWindowMillis[policy] / policyLimits[policy]),
+                    Long.toString(policyLimits[policy]),
+                    Long.toString(policyLeaseSizes[policy]));
+            granted = result.get(0);
+            remaining = result.get(1);
+            retryAfter = result.get(2);
+        } catch (Exception e) {
+            // Fail open: an unavailable limiter must not take the API down with it
+            redisErrors.increment();
+            logger.warn("Rate limit check failed, allowing request: {}", e.getMessage());
+            return policyLimits[policy] - 1;
+        }
+
+        if (granted <= 0) {
+            rejected.increment();
+            return -(Math.max(retryAfter, 1) + 1);
+        }
+
+        redisAllowed.increment();
+        synchronized (lock) {
+            stripeOwners[stripe] = owner;
+            stripeTokens[stripe] = granted - 1;
+            stripeRemaining[stripe] = remaining;
+            stripeExpiresAt[stripe] = now + policyWindowMillis[policy];
+        }
+        return remaining + granted - 1;
+    }
+
+    public static boolean isAllowed(long decision) {
+        return decision >= 0;
+    }
+
+    public static long retryAfterMillis(long decision) {
+        return decision < 0 ? -decision - 1 : 0;
+    }
+
+    /**
+     * 64-bit FNV-1a over the identity, seeded with the policy id
+     */
+    private static long hash(int policy, String identity) {
+        long h = 0xcbf29ce484222325L ^ policy;
+        for (int i = 0; i < identity.length(); i++) {
+            h ^= identity.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+}
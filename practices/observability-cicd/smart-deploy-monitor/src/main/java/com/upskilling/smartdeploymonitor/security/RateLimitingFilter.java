@@ -1,83 +1,95 @@
 package com.upskilling.smartdeploymonitor.security;
 
+import com.upskilling.smartdeploymonitor.service.JwtService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.time.Duration;
 
 @Component
 public class RateLimitingFilter extends OncePerRequestFilter {
 
     @Autowired
-    private RedisTemplate<String, String> redisTemplate;
-    
-    private static final int MAX_REQUESTS = 100; // requests per minute
-    private static final Duration WINDOW_SIZE = Duration.ofMinutes(1);
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired(required = false)
+    private SecurityEventLogger securityEventLogger;
 
     @Override
-    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        
-        // Skip rate limiting for Prometheus metrics endpoint
+
+        // Excluded paths (e.g. Prometheus scrapes) resolve to no policy
         String requestPath = request.getRequestURI();
-        if (requestPath != null && requestPath.startsWith("/actuator/prometheus")) {
+        int policy = rateLimiter.resolvePolicy(requestPath);
+        if (policy < 0) {
             filterChain.doFilter(request, response);
             return;
         }
-        
+
         String clientIp = getClientIpAddress(request);
-        
-        // Redis-based rate limiting only
-        if (checkRedisRateLimit(clientIp, response)) {
-            return; // Rate limit exceeded
+        String identity = rateLimiter.isPrincipalKeyed(policy) ? resolvePrincipal(request, clientIp) : clientIp;
+
+        long decision = rateLimiter.tryAcquire(policy, identity);
+        response.setIntHeader("X-RateLimit-Limit", (int) rateLimiter.getLimit(policy));
+
+        if (!RateLimiter.isAllowed(decision)) {
+            long retryAfterSeconds = (RateLimiter.retryAfterMillis(decision) + 999) / 1000;
+            response.setIntHeader("X-RateLimit-Remaining", 0);
+            response.setIntHeader("Retry-After", (int) retryAfterSeconds);
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\":\"Rate limit exceeded. Try again later.\"}");
+
+            if (securityEventLogger != null) {
+                securityEventLogger.logRateLimitExceeded(identity, requestPath);
+            }
+            return;
         }
-        
+
+        response.setIntHeader("X-RateLimit-Remaining", (int) Math.min(decision, Integer.MAX_VALUE));
         filterChain.doFilter(request, response);
     }
-    
-    private boolean checkRedisRateLimit(String clientIp, HttpServletResponse response) throws IOException {
-        String key = "rate_limit:" + clientIp;
-        String currentCount = redisTemplate.opsForValue().get(key);
-        
-        if (currentCount == null) {
-            // First request in the window
-            redisTemplate.opsForValue().set(key, "1", WINDOW_SIZE);
-        } else {
-            int count = Integer.parseInt(currentCount);
-            if (count >= MAX_REQUESTS) {
-                // Rate limit exceeded
-                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
-                response.setContentType("application/json");
-                response.getWriter().write("{\"error\":\"Rate limit exceeded. Try again later.\"}");
-                return true;
-            } else {
-                // Increment counter
-                redisTemplate.opsForValue().increment(key);
-            }
+
+    /**
+     * Principal for per-user policies
+     * Runs before JwtAuthenticationFilter, so the subject is read from the bearer token
+     * (served from JwtService's verified-claims cache). Falls back to the client IP.
+     */
+    private String resolvePrincipal(HttpServletRequest request, String clientIp) {
+        String authHeader = request.getHeader("Authorization");
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return clientIp;
+        }
+
+        try {
+            String subject = jwtService.extractAllClaims(authHeader.substring(7)).getSubject();
+            return subject != null ? subject : clientIp;
+        } catch (Exception e) {
+            return clientIp;
         }
-        return false;
     }
-    
 
     private String getClientIpAddress(HttpServletRequest request) {
         String xForwardedFor = request.getHeader("X-Forwarded-For");
         if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
             return xForwardedFor.split(",")[0].trim();
         }
-        
+
         String xRealIp = request.getHeader("X-Real-IP");
         if (xRealIp != null && !xRealIp.isEmpty()) {
             return xRealIp;
         }
-        
+
         return request.getRemoteAddr();
     }
 }
@@ -0,0 +1,46 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.config.RedisValueCodec;
+import org.springframework.stereotype.Component;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Binary layout of {@link UserCacheService.CachedUser} in Redis (type id 102)
+ *
+ * Contributed by the service that owns the type; BinaryRedisSerializer picks up every
+ * codec bean. Id 100 was the earlier layout that still carried the password hash; its
+ * entries live under the old key prefix and are left to expire.
+ */
+@Component
+public class CachedUserCodec implements RedisValueCodec<UserCacheService.CachedUser> {
+
+    public static final int TYPE_ID = 102;
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public Class<UserCacheService.CachedUser> type() {
+        return UserCacheService.CachedUser.class;
+    }
+
+    @Override
+    public void write(UserCacheService.CachedUser value, DataOutput out) throws IOException {
+        RedisValueCodec.writeString(out, value.getEmail());
+        RedisValueCodec.writeString(out, value.getRole());
+        out.writeBoolean(value.isActive());
+    }
+
+    @Override
+    public UserCacheService.CachedUser read(DataInput in) throws IOException {
+        return new UserCacheService.CachedUser(
+                RedisValueCodec.readString(in),
+                RedisValueCodec.readString(in),
+                in.readBoolean());
+    }
+}
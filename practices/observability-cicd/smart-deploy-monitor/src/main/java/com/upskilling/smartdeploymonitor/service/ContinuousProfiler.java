@@ -0,0 +1,465 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.config.ProfilingProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedMethod;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always-on, in-process profiler built on JFR
+ *
+ * A rolling JFR recording with the JDK's low-overhead "default" settings keeps the last
+ * window of events on disk, so the exact data around a latency spike can be dumped after
+ * the fact. The same recording is streamed in process and folded into per-minute
+ * profiles of collapsed stacks (root;...;leaf value):
+ * - cpu: jdk.ExecutionSample, one per sampled running thread (value = samples)
+ * - alloc: jdk.ObjectAllocationSample, leaf = allocated class (value = bytes, weighted)
+ * - lock: jdk.JavaMonitorEnter and jdk.ThreadPark above the threshold (value = ns blocked)
+ * Any range of whole minutes inside the window can then be queried as top-N frames or
+ * as flame-graph input.
+ *
+ * Frames and stacks are interned once in a {@link StackTable}; a minute only holds
+ * stack id -> value counters. Each minute holds a bounded number of distinct stacks, and
+ * the table plus all counters share one byte budget (max-memory-mb). Past either cap a
+ * sample is recorded by its leaf frame only, and dropped if even that does not fit.
+ * Stacks not seen inside the window are swept when the budget runs out.
+ */
+@Service
+public class ContinuousProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContinuousProfiler.class);
+
+    public static final String CPU = "cpu";
+    public static final String ALLOCATION = "alloc";
+    public static final String LOCK = "lock";
+    private static final String[] PROFILES = {CPU, ALLOCATION, LOCK};
+
+    private static final String EXECUTION_SAMPLE = "jdk.ExecutionSample";
+    private static final String ALLOCATION_SAMPLE = "jdk.ObjectAllocationSample";
+    private static final String MONITOR_ENTER = "jdk.JavaMonitorEnter";
+    private static final String THREAD_PARK = "jdk.ThreadPark";
+    private static final String DIAGNOSTIC_COMMAND = "com.sun.management:type=DiagnosticCommand";
+
+    // Estimated heap of one per-minute counter (map node, boxed id and value)
+    private static final int COUNTER_BYTES = 64;
+
+    private final ProfilingProperties properties;
+    private final int windowMinutes;
+    private final AtomicReferenceArray<Minute> minutes;
+    private final StackTable stacks;
+    private final LongAdder droppedSamples = new LongAdder();
+    // Only touched by the JFR dispatch thread
+    private long lastSweepMinute = Long.MIN_VALUE;
+    private volatile RecordingStream stream;
+
+    public ContinuousProfiler(ProfilingProperties properties) {
+        this.properties = properties;
+        this.windowMinutes = (int) Math.max(1, properties.getWindow().toMinutes());
+        this.minutes = new AtomicReferenceArray<>(windowMinutes + 1);
+        this.stacks = new StackTable(Math.max(1, properties.getMaxMemoryMb()) * 1024L * 1024L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream(Configuration.getConfiguration("default"));
+            recording.setMaxAge(properties.getWindow());
+            recording.setMaxSize(properties.getMaxRecordingSizeMb() * 1024 * 1024);
+            recording.enable(EXECUTION_SAMPLE).withPeriod(properties.getCpuSamplePeriod());
+            recording.enable(ALLOCATION_SAMPLE).with("throttle", properties.getAllocationThrottle()).withStackTrace();
+            recording.enable(MONITOR_ENTER).withThreshold(properties.getLockThreshold()).withStackTrace();
+            recording.enable(THREAD_PARK).withThreshold(properties.getLockThreshold()).withStackTrace();
+
+            recording.onEvent(EXECUTION_SAMPLE, event -> add(CPU, event, null, 1));
+            recording.onEvent(ALLOCATION_SAMPLE, event ->
+                    add(ALLOCATION, event, className(event, "objectClass"), event.getLong("weight")));
+            recording.onEvent(MONITOR_ENTER, event ->
+                    add(LOCK, event, className(event, "monitorClass"), event.getDuration().toNanos()));
+            recording.onEvent(THREAD_PARK, event ->
+                    add(LOCK, event, className(event, "parkedClass"), event.getDuration().toNanos()));
+            recording.startAsync();
+            stream = recording;
+            logger.info("Continuous profiler started (window {} min, cpu sample every {} ms, {} MB for profiles)",
+                    windowMinutes, properties.getCpuSamplePeriod().toMillis(), properties.getMaxMemoryMb());
+        } catch (Exception e) {
+            logger.warn("Failed to start the continuous profiler: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    public int getWindowMinutes() {
+        return windowMinutes;
+    }
+
+    /**
+     * Top frames of every profile over the last minutes
+     * @param lastMinutes Clamped to the profiling window
+     * @param topN Entries per profile
+     */
+    public Map<String, Object> getSummary(int lastMinutes, int topN) {
+        int range = clampMinutes(lastMinutes);
+        int limit = topN > 0 ? topN : properties.getTopN();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("running", isRunning());
+        summary.put("windowMinutes", windowMinutes);
+        summary.put("minutes", range);
+        summary.put("cpu", top(CPU, range, limit, "samples"));
+        summary.put("allocation", top(ALLOCATION, range, limit, "bytes"));
+        summary.put("locks", top(LOCK, range, limit, "blockedNanos"));
+        summary.put("memoryBytes", stacks.getUsedBytes());
+        summary.put("internedStacks", stacks.getStackCount());
+        summary.put("internedFrames", stacks.getFrameCount());
+        summary.put("droppedSamples", droppedSamples.sum());
+        return summary;
+    }
+
+    /**
+     * Flame-graph input (flamegraph.pl, speedscope, Grafana Pyroscope): one "root;...;leaf value"
+     * line per distinct stack, heaviest first, as UTF-8
+     * Lines are rendered from the interned stacks as the stream is read, so the output is
+     * never held in memory as a whole.
+     */
+    public InputStream collapsed(String profile, int lastMinutes) {
+        Map<Integer, Long> merged = merge(profileIndex(profile), clampMinutes(lastMinutes));
+        List<Map.Entry<Integer, Long>> entries = new ArrayList<>(merged.entrySet());
+        entries.sort(Map.Entry.<Integer, Long>comparingByValue().reversed());
+        return new CollapsedStream(entries.iterator());
+    }
+
+    /**
+     * Writes the last minutes of the rolling recording (all JFR events, not only the
+     * profiles) to a new .jfr file, for JDK Mission Control or `jfr print`
+     * The caller owns, and should delete, the returned file.
+     */
+    public Path dump(int lastMinutes) throws IOException {
+        if (!isRunning()) {
+            throw new IllegalStateException("Continuous profiling is not running");
+        }
+        Path file = Files.createTempFile("profile-", ".jfr");
+        Files.delete(file);
+        try {
+            // JFR.dump is the only API that can cut a time range out of a running recording
+            ManagementFactory.getPlatformMBeanServer().invoke(
+                    new ObjectName(DIAGNOSTIC_COMMAND),
+                    "jfrDump",
+                    new Object[]{new String[]{"filename=" + file, "begin=-" + clampMinutes(lastMinutes) + "m"}},
+                    new String[]{String[].class.getName()});
+        } catch (Exception e) {
+            Files.deleteIfExists(file);
+            throw new IOException("JFR dump failed: " + e.getMessage(), e);
+        }
+        if (!Files.exists(file)) {
+            throw new IOException("JFR dump produced no file");
+        }
+        return file;
+    }
+
+    public static boolean isProfile(String profile) {
+        return profile != null && indexOf(profile.toLowerCase(Locale.ROOT)) >= 0;
+    }
+
+    private void add(String profile, RecordedEvent event, String leaf, long value) {
+        if (value <= 0) {
+            return;
+        }
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return;
+        }
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        if (frames.isEmpty()) {
+            return;
+        }
+        long epochMinute = event.getStartTime().getEpochSecond() / 60;
+        Minute minute = minute(epochMinute);
+        if (minute == null) {
+            return;
+        }
+
+        Map<Integer, Long> counts = minute.counts.get(indexOf(profile));
+        int stack = admit(counts, frameNames(frames, frames.size() - 1, leaf), epochMinute, true);
+        if (stack < 0) {
+            // Past a cap keep the leaf, which is what the top-N views need
+            stack = admit(counts, frameNames(frames, 0, leaf), epochMinute, false);
+        }
+        if (stack < 0) {
+            droppedSamples.increment();
+            return;
+        }
+        counts.merge(stack, value, Long::sum);
+    }
+
+    /**
+     * Interned id of the stack once the minute has room for its counter, or -1
+     * @param capped Whether the per-minute stack cap applies (leaf-only stacks are bounded by the budget alone)
+     */
+    private int admit(Map<Integer, Long> counts, String[] frames, long epochMinute, boolean capped) {
+        int stack = stacks.intern(frames, epochMinute);
+        if (stack < 0 && sweep(epochMinute)) {
+            stack = stacks.intern(frames, epochMinute);
+        }
+        if (stack < 0 || counts.containsKey(stack)) {
+            return stack;
+        }
+        if (capped && counts.size() >= properties.getMaxStacksPerMinute()) {
+            return -1;
+        }
+        if (!stacks.reserve(COUNTER_BYTES) && !(sweep(epochMinute) && stacks.reserve(COUNTER_BYTES))) {
+            return -1;
+        }
+        return stack;
+    }
+
+    /**
+     * Frees stacks last seen before the window, at most once per minute
+     * @return Whether a sweep ran
+     */
+    private boolean sweep(long epochMinute) {
+        if (epochMinute <= lastSweepMinute) {
+            return false;
+        }
+        lastSweepMinute = epochMinute;
+        long released = stacks.sweep(epochMinute - windowMinutes);
+        logger.debug("Profiler budget reached, swept {} bytes of stacks outside the window", released);
+        return true;
+    }
+
+    /**
+     * Root-first frame names from frames[from] (caller) down to frames[0] (leaf)
+     */
+    private static String[] frameNames(List<RecordedFrame> frames, int from, String leaf) {
+        String[] names = new String[from + 1 + (leaf != null ? 1 : 0)];
+        for (int i = from; i >= 0; i--) {
+            RecordedMethod method = frames.get(i).getMethod();
+            names[from - i] = method.getType().getName() + "." + method.getName();
+        }
+        if (leaf != null) {
+            names[names.length - 1] = leaf;
+        }
+        return names;
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        RecordedClass type = event.hasField(field) ? event.getClass(field) : null;
+        return type != null ? type.getName() : "unknown";
+    }
+
+    /**
+     * The slot for an event's minute, recycling the slot of a minute that left the window
+     */
+    private Minute minute(long epochMinute) {
+        int slot = (int) (epochMinute % minutes.length());
+        Minute current = minutes.get(slot);
+        if (current != null && current.epochMinute == epochMinute) {
+            return current;
+        }
+        if (current != null && current.epochMinute > epochMinute) {
+            // Late event for a minute that was already recycled
+            return null;
+        }
+        Minute fresh = new Minute(epochMinute);
+        if (minutes.compareAndSet(slot, current, fresh)) {
+            if (current != null) {
+                stacks.release(current.counterCount() * (long) COUNTER_BYTES);
+            }
+            return fresh;
+        }
+        return minutes.get(slot);
+    }
+
+    private Map<Integer, Long> merge(int profileIndex, int range) {
+        long now = System.currentTimeMillis() / 60_000;
+        Map<Integer, Long> merged = new HashMap<>();
+        for (int i = 0; i < minutes.length(); i++) {
+            Minute minute = minutes.get(i);
+            // The current, partial minute counts towards the range
+            if (minute != null && minute.epochMinute > now - range && minute.epochMinute <= now) {
+                minute.counts.get(profileIndex).forEach((stack, value) -> merged.merge(stack, value, Long::sum));
+            }
+        }
+        return merged;
+    }
+
+    private Map<String, Object> top(String profile, int range, int limit, String unit) {
+        Map<String, Long> bySite = new HashMap<>();
+        long total = 0;
+        for (Map.Entry<Integer, Long> entry : merge(indexOf(profile), range).entrySet()) {
+            String site = site(profile, entry.getKey());
+            if (site == null) {
+                continue;
+            }
+            bySite.merge(site, entry.getValue(), Long::sum);
+            total += entry.getValue();
+        }
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(bySite.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+
+        List<Map<String, Object>> top = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Map.Entry<String, Long> entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("frame", entry.getKey());
+            row.put(unit, entry.getValue());
+            row.put("percent", total == 0 ? 0.0 : Math.round(entry.getValue() * 10000.0 / total) / 100.0);
+            top.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(unit, total);
+        result.put("top", top);
+        return result;
+    }
+
+    /**
+     * Leaf method for cpu (self time); "class <- allocating/blocked method" for the others
+     * Null once the stack has been swept.
+     */
+    private String site(String profile, int stackId) {
+        int[] frames = stacks.frames(stackId);
+        if (frames == null) {
+            return null;
+        }
+        String leaf = stacks.frameName(frames[frames.length - 1]);
+        if (CPU.equals(profile) || frames.length == 1) {
+            return leaf;
+        }
+        return leaf + " <- " + stacks.frameName(frames[frames.length - 2]);
+    }
+
+    private int clampMinutes(int lastMinutes) {
+        return Math.max(1, Math.min(lastMinutes, windowMinutes));
+    }
+
+    private static int profileIndex(String profile) {
+        int index = profile == null ? -1 : indexOf(profile.toLowerCase(Locale.ROOT));
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown profile '" + profile + "', expected cpu, alloc or lock");
+        }
+        return index;
+    }
+
+    private static int indexOf(String profile) {
+        for (int i = 0; i < PROFILES.length; i++) {
+            if (PROFILES[i].equals(profile)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static final class Minute {
+        private final long epochMinute;
+        // Stack id -> value, one map per profile in PROFILES order
+        private final List<Map<Integer, Long>> counts;
+
+        Minute(long epochMinute) {
+            this.epochMinute = epochMinute;
+            List<Map<Integer, Long>> maps = new ArrayList<>(PROFILES.length);
+            for (int i = 0; i < PROFILES.length; i++) {
+                maps.add(new ConcurrentHashMap<>());
+            }
+            this.counts = List.copyOf(maps);
+        }
+
+        long counterCount() {
+            long count = 0;
+            for (Map<Integer, Long> profile : counts) {
+                count += profile.size();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Renders one collapsed-stack line at a time as the response is written
+     */
+    private final class CollapsedStream extends InputStream {
+
+        private final Iterator<Map.Entry<Integer, Long>> entries;
+        private byte[] line = new byte[0];
+        private int position;
+
+        CollapsedStream(Iterator<Map.Entry<Integer, Long>> entries) {
+            this.entries = entries;
+        }
+
+        @Override
+        public int read() {
+            if (!fill()) {
+                return -1;
+            }
+            return line[position++] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            int read = 0;
+            while (read < length && fill()) {
+                int count = Math.min(length - read, line.length - position);
+                System.arraycopy(line, position, buffer, offset + read, count);
+                position += count;
+                read += count;
+            }
+            return read == 0 ? -1 : read;
+        }
+
+        private boolean fill() {
+            while (position == line.length) {
+                if (!entries.hasNext()) {
+                    return false;
+                }
+                Map.Entry<Integer, Long> entry = entries.next();
+                String stack = stacks.render(entry.getKey());
+                if (stack != null) {
+                    line = (stack + ' ' + entry.getValue() + '\n').getBytes(StandardCharsets.UTF_8);
+                    position = 0;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,5 +1,11 @@
 package com.upskilling.smartdeploymonitor.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestClient;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
 import org.springframework.data.elasticsearch.core.SearchHit;
@@ -9,7 +15,11 @@ import org.springframework.data.elasticsearch.core.query.IndexQuery;
 import org.springframework.data.elasticsearch.core.query.IndexQueryBuilder;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -20,6 +30,13 @@ public class ElasticsearchService {
     @Autowired
     private ElasticsearchOperations elasticsearchOperations;
 
+    // Low-level client for endpoints Spring Data doesn't expose the way we need (_bulk with versions)
+    @Autowired(required = false)
+    private RestClient restClient;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     public boolean createIndex(String indexName) {
         try {
             // Create index with mapping
@@ -95,4 +112,136 @@ public class ElasticsearchService {
         }
         return stats;
     }
-}
\ No newline at end of file
+
+    /**
+     * Create an index with explicit mappings unless it already exists
+     */
+    public void ensureIndex(String indexName, Map<String, Object> mappings) throws IOException {
+        try {
+            restClient.performRequest(new Request("HEAD", "/" + indexName));
+        } catch (ResponseException e) {
+            if (e.getResponse().getStatusLine().getStatusCode() != 404) {
+                throw e;
+            }
+            Request create = new Request("PUT", "/" + indexName);
+            create.setJsonEntity(objectMapper.writeValueAsString(Map.of("mappings", mappings)));
+            try {
+                restClient.performRequest(create);
+            } catch (ResponseException raced) {
+                // Another instance created it first
+                if (raced.getResponse().getStatusLine().getStatusCode() != 400) {
+                    throw raced;
+                }
+            }
+        }
+    }
+
+    /**
+     * Send many index/delete operations in one _bulk request
+     * Operations carrying a version use external_gte versioning, so replays and
+     * out-of-order deliveries can never overwrite a newer document.
+     * @return One result per operation, in the same order
+     * @throws IOException if the request itself fails (nothing can be assumed applied)
+     */
+    public List<BulkItemResult> bulk(List<BulkOperation> operations) throws IOException {
+        if (operations.isEmpty()) {
+            return List.of();
+        }
+        if (restClient == null) {
+            throw new IOException("Elasticsearch REST client is not configured");
+        }
+
+        StringBuilder body = new StringBuilder();
+        for (BulkOperation operation : operations) {
+            Map<String, Object> metadata = new LinkedHashMap<>();
+            metadata.put("_index", operation.getIndex());
+            metadata.put("_id", operation.getId());
+            if (operation.getVersion() != null) {
+                metadata.put("version", operation.getVersion());
+                metadata.put("version_type", "external_gte");
+            }
+            body.append(objectMapper.writeValueAsString(Map.of(operation.getAction(), metadata))).append('\n');
+            if (operation.getDocument() != null) {
+                body.append(objectMapper.writeValueAsString(operation.getDocument())).append('\n');
+            }
+        }
+
+        Request request = new Request("POST", "/_bulk");
+        request.setJsonEntity(body.toString());
+        Response response = restClient.performRequest(request);
+
+        JsonNode root;
+        try (InputStream content = response.getEntity().getContent()) {
+            root = objectMapper.readTree(content);
+        }
+
+        List<BulkItemResult> results = new ArrayList<>(operations.size());
+        for (JsonNode item : root.path("items")) {
+            JsonNode outcome = item.elements().next();
+            JsonNode error = outcome.path("error");
+            results.add(new BulkItemResult(outcome.path("status").asInt(),
+                    error.isMissingNode() ? null : error.path("type").asText() + ": " + error.path("reason").asText()));
+        }
+        if (results.size() != operations.size()) {
+            throw new IOException("Bulk response has " + results.size() + " items for " + operations.size() + " operations");
+        }
+        return results;
+    }
+
+    /**
+     * One action in a _bulk request ("index" with a document, or "delete")
+     */
+    public static class BulkOperation {
+        private final String action;
+        private final String index;
+        private final String id;
+        private final Long version;
+        private final Map<String, Object> document;
+
+        private BulkOperation(String action, String index, String id, Long version, Map<String, Object> document) {
+            this.action = action;
+            this.index = index;
+            this.id = id;
+            this.version = version;
+            this.document = document;
+        }
+
+        public static BulkOperation index(String index, String id, Long version, Map<String, Object> document) {
+            return new BulkOperation("index", index, id, version, document);
+        }
+
+        public static BulkOperation delete(String index, String id, Long version) {
+            return new BulkOperation("delete", index, id, version, null);
+        }
+
+        public String getAction() { return action; }
+        public String getIndex() { return index; }
+        public String getId() { return id; }
+        public Long getVersion() { return version; }
+        public Map<String, Object> getDocument() { return document; }
+    }
+
+    /**
+     * Per-operation outcome of a _bulk request
+     */
+    public static class BulkItemResult {
+        private final int status;
+        private final String error;
+
+        public BulkItemResult(int status, String error) {
+            this.status = status;
+            this.error = error;
+        }
+
+        /**
+         * Applied, or safely ignorable: 404 on delete (already gone) and
+         * 409 version conflict (a newer version is already indexed)
+         */
+        public boolean isSuccessful() {
+            return (status >= 200 && status < 300) || status == 404 || status == 409;
+        }
+
+        public int getStatus() { return status; }
+        public String getError() { return error; }
+    }
+}
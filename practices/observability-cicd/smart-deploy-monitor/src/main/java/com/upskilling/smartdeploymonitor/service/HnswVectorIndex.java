@@ -0,0 +1,504 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Embedded HNSW vector index (fallback when Qdrant is unreachable)
+ *
+ * Hierarchical Navigable Small World graph (Malkov & Yashunin): each point gets a random
+ * top layer, upper layers are sparse express lanes and layer 0 links every point to its
+ * nearest neighbours (chosen with the diversity heuristic). A search descends greedily
+ * to layer 0 and runs a best-first search with ef candidates there.
+ *
+ * Payload filters are applied during the layer-0 search: every node is traversed, but
+ * only matching nodes enter the result set, so selective filters still return k hits.
+ * Upserting an existing id tombstones the old node and inserts a new one.
+ */
+public class HnswVectorIndex {
+
+    public enum Distance {
+        COSINE,
+        DOT,
+        EUCLID;
+
+        /**
+         * Parse a Qdrant distance name ("Cosine", "Dot", "Euclid")
+         */
+        public static Distance fromName(String name) {
+            return valueOf(name.trim().toUpperCase());
+        }
+
+        /**
+         * Name as Qdrant spells it
+         */
+        public String getQdrantName() {
+            return name().charAt(0) + name().substring(1).toLowerCase();
+        }
+    }
+
+    private final int dimension;
+    private final Distance distance;
+    private final int maxLinks;
+    private final int maxLinksLayer0;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final Random random = new Random(42);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<float[]> vectors = new ArrayList<>();
+    private final List<String> ids = new ArrayList<>();
+    private final List<Map<String, Object>> payloads = new ArrayList<>();
+    // links.get(node)[level] = neighbour ids, with the neighbour count stored at index 0
+    private final List<int[][]> links = new ArrayList<>();
+    private final Map<String, Integer> nodeById = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+
+    private int entryPoint = -1;
+    private int topLevel = -1;
+
+    /**
+     * @param maxLinks Links per node on upper layers (M); layer 0 allows 2 * M
+     * @param efConstruction Candidate list size while inserting
+     * @param efSearch Minimum candidate list size while searching
+     */
+    public HnswVectorIndex(int dimension, Distance distance, int maxLinks, int efConstruction, int efSearch) {
+        if (dimension <= 0) {
+            throw new IllegalArgumentException("Vector dimension must be positive");
+        }
+        this.dimension = dimension;
+        this.distance = distance;
+        this.maxLinks = Math.max(2, maxLinks);
+        this.maxLinksLayer0 = this.maxLinks * 2;
+        this.efConstruction = Math.max(this.maxLinks, efConstruction);
+        this.efSearch = Math.max(1, efSearch);
+        this.levelMultiplier = 1 / Math.log(this.maxLinks);
+    }
+
+    /**
+     * Insert or replace a point
+     */
+    public void upsert(String id, float[] vector, Map<String, Object> payload) {
+        float[] point = prepare(vector);
+
+        lock.writeLock().lock();
+        try {
+            Integer previous = nodeById.get(id);
+            if (previous != null) {
+                deleted.set(previous);
+            }
+
+            int node = vectors.size();
+            int level = randomLevel();
+            int[][] nodeLinks = new int[level + 1][];
+            for (int l = 0; l <= level; l++) {
+                nodeLinks[l] = new int[(l == 0 ? maxLinksLayer0 : maxLinks) + 1];
+            }
+            vectors.add(point);
+            ids.add(id);
+            payloads.add(payload != null ? payload : Map.of());
+            links.add(nodeLinks);
+            nodeById.put(id, node);
+
+            if (entryPoint < 0) {
+                entryPoint = node;
+                topLevel = level;
+                return;
+            }
+
+            int nearest = entryPoint;
+            for (int l = topLevel; l > level; l--) {
+                nearest = greedyClosest(point, nearest, l);
+            }
+            for (int l = Math.min(level, topLevel); l >= 0; l--) {
+                long[] candidates = searchLayer(point, nearest, efConstruction, l, null);
+                int[] selected = selectNeighbours(point, candidates, maxLinks);
+                int[] own = nodeLinks[l];
+                own[0] = selected.length;
+                System.arraycopy(selected, 0, own, 1, selected.length);
+                for (int neighbour : selected) {
+                    link(neighbour, node, l);
+                }
+                nearest = node(candidates[0]);
+            }
+
+            if (level > topLevel) {
+                topLevel = level;
+                entryPoint = node;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a point (tombstoned: it keeps routing searches but is never returned)
+     */
+    public boolean delete(String id) {
+        lock.writeLock().lock();
+        try {
+            Integer node = nodeById.remove(id);
+            if (node == null) {
+                return false;
+            }
+            deleted.set(node);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * k nearest points whose payload matches every filter entry
+     * @param filter Optional payload key -> required value
+     */
+    public List<QdrantService.ScoredPoint> search(float[] query, int k, Map<String, Object> filter) {
+        float[] point = prepare(query);
+        if (k <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            int nearest = entryPoint;
+            for (int l = topLevel; l > 0; l--) {
+                nearest = greedyClosest(point, nearest, l);
+            }
+            Map<String, Object> acceptFilter = filter != null ? filter : Map.of();
+            long[] found = searchLayer(point, nearest, Math.max(efSearch, k), 0, acceptFilter);
+
+            List<QdrantService.ScoredPoint> results = new ArrayList<>(Math.min(k, found.length));
+            for (int i = 0; i < found.length && results.size() < k; i++) {
+                int node = node(found[i]);
+                results.add(new QdrantService.ScoredPoint(ids.get(node),
+                        score(distance(point, vectors.get(node))), payloads.get(node)));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Live (non-deleted) points
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return nodeById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public Distance getDistance() {
+        return distance;
+    }
+
+    /**
+     * Best-first search of one layer
+     * @param filter null while building (every node qualifies); otherwise only live,
+     *               matching nodes are collected while all nodes are traversed
+     * @return Encoded (distance, node) keys, closest first
+     */
+    private long[] searchLayer(float[] query, int entry, int ef, int level, Map<String, Object> filter) {
+        BitSet visited = new BitSet(vectors.size());
+        LongHeap candidates = new LongHeap();
+        LongHeap results = new LongHeap(); // max-heap via complemented keys
+
+        long entryKey = key(distance(query, vectors.get(entry)), entry);
+        visited.set(entry);
+        candidates.push(entryKey);
+        if (accepts(entry, filter)) {
+            results.push(~entryKey);
+        }
+
+        while (!candidates.isEmpty()) {
+            long closest = candidates.pop();
+            if (results.size() >= ef && closest > ~results.peek()) {
+                break;
+            }
+            int[][] nodeLinks = links.get(node(closest));
+            if (level >= nodeLinks.length) {
+                continue;
+            }
+            int[] neighbours = nodeLinks[level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited.get(neighbour)) {
+                    continue;
+                }
+                visited.set(neighbour);
+                long neighbourKey = key(distance(query, vectors.get(neighbour)), neighbour);
+                if (results.size() < ef || neighbourKey < ~results.peek()) {
+                    candidates.push(neighbourKey);
+                    if (accepts(neighbour, filter)) {
+                        results.push(~neighbourKey);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+
+        long[] sorted = new long[results.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = ~results.pop();
+        }
+        return sorted;
+    }
+
+    private int greedyClosest(float[] query, int entry, int level) {
+        int current = entry;
+        float currentDistance = distance(query, vectors.get(current));
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[][] nodeLinks = links.get(current);
+            if (level >= nodeLinks.length) {
+                break;
+            }
+            int[] neighbours = nodeLinks[level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                float d = distance(query, vectors.get(neighbours[i]));
+                if (d < currentDistance) {
+                    currentDistance = d;
+                    current = neighbours[i];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Diversity heuristic: keep a candidate only if it is closer to the base point than
+     * to any neighbour already kept, then top up with the closest pruned candidates
+     * @param candidates Encoded keys sorted closest first
+     */
+    private int[] selectNeighbours(float[] base, long[] candidates, int limit) {
+        int[] selected = new int[Math.min(limit, candidates.length)];
+        int count = 0;
+        int[] pruned = new int[candidates.length];
+        int prunedCount = 0;
+
+        for (long candidate : candidates) {
+            if (count == selected.length) {
+                break;
+            }
+            int node = node(candidate);
+            float toBase = distance(base, vectors.get(node));
+            boolean diverse = true;
+            for (int i = 0; i < count; i++) {
+                if (distance(vectors.get(node), vectors.get(selected[i])) < toBase) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected[count++] = node;
+            } else {
+                pruned[prunedCount++] = node;
+            }
+        }
+        for (int i = 0; i < prunedCount && count < selected.length; i++) {
+            selected[count++] = pruned[i];
+        }
+        return count == selected.length ? selected : Arrays.copyOf(selected, count);
+    }
+
+    /**
+     * Add a back-link, re-selecting the neighbour's links when it is full
+     */
+    private void link(int from, int to, int level) {
+        int[] neighbours = links.get(from)[level];
+        int capacity = neighbours.length - 1;
+        if (neighbours[0] < capacity) {
+            neighbours[++neighbours[0]] = to;
+            return;
+        }
+
+        float[] base = vectors.get(from);
+        long[] candidates = new long[capacity + 1];
+        for (int i = 1; i <= capacity; i++) {
+            candidates[i - 1] = key(distance(base, vectors.get(neighbours[i])), neighbours[i]);
+        }
+        candidates[capacity] = key(distance(base, vectors.get(to)), to);
+        Arrays.sort(candidates);
+
+        int[] selected = selectNeighbours(base, candidates, capacity);
+        neighbours[0] = selected.length;
+        System.arraycopy(selected, 0, neighbours, 1, selected.length);
+    }
+
+    private boolean accepts(int node, Map<String, Object> filter) {
+        if (filter == null) {
+            return true;
+        }
+        if (deleted.get(node)) {
+            return false;
+        }
+        Map<String, Object> payload = payloads.get(node);
+        for (Map.Entry<String, Object> condition : filter.entrySet()) {
+            Object value = payload.get(condition.getKey());
+            if (value == null || !String.valueOf(value).equals(String.valueOf(condition.getValue()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int randomLevel() {
+        return (int) Math.floor(-Math.log(1 - random.nextDouble()) * levelMultiplier);
+    }
+
+    /**
+     * Copy, validate and (for cosine) normalize a vector
+     */
+    private float[] prepare(float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Expected a vector of dimension " + dimension
+                    + " but got " + (vector == null ? "none" : vector.length));
+        }
+        float[] copy = vector.clone();
+        if (distance == Distance.COSINE) {
+            double norm = 0;
+            for (float v : copy) {
+                norm += v * v;
+            }
+            if (norm > 0) {
+                float scale = (float) (1 / Math.sqrt(norm));
+                for (int i = 0; i < copy.length; i++) {
+                    copy[i] *= scale;
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Lower is closer for every metric
+     */
+    private float distance(float[] a, float[] b) {
+        float sum = 0;
+        switch (distance) {
+            case EUCLID:
+                for (int i = 0; i < a.length; i++) {
+                    float d = a[i] - b[i];
+                    sum += d * d;
+                }
+                return sum;
+            case DOT:
+                for (int i = 0; i < a.length; i++) {
+                    sum += a[i] * b[i];
+                }
+                return -sum;
+            default:
+                for (int i = 0; i < a.length; i++) {
+                    sum += a[i] * b[i];
+                }
+                return 1 - sum;
+        }
+    }
+
+    /**
+     * Internal distance to the score Qdrant would report (similarity, or distance for Euclid)
+     */
+    private float score(float internalDistance) {
+        switch (distance) {
+            case EUCLID:
+                return (float) Math.sqrt(internalDistance);
+            case DOT:
+                return -internalDistance;
+            default:
+                return 1 - internalDistance;
+        }
+    }
+
+    /**
+     * (distance, node) packed into one long that sorts by distance, then node
+     */
+    private static long key(float distance, int node) {
+        int bits = Float.floatToIntBits(distance);
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (node & 0xffffffffL);
+    }
+
+    private static int node(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Binary min-heap of primitive longs (no boxing on the search hot path)
+     */
+    private static final class LongHeap {
+        private long[] heap = new long[64];
+        private int size;
+
+        void push(long value) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (heap[parent] <= value) {
+                    break;
+                }
+                heap[i] = heap[parent];
+                i = parent;
+            }
+            heap[i] = value;
+        }
+
+        long pop() {
+            long top = heap[0];
+            long last = heap[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && heap[child + 1] < heap[child]) {
+                    child++;
+                }
+                if (last <= heap[child]) {
+                    break;
+                }
+                heap[i] = heap[child];
+                i = child;
+            }
+            if (size > 0) {
+                heap[i] = last;
+            }
+            return top;
+        }
+
+        long peek() {
+            return heap[0];
+        }
+
+        int size() {
+            return size;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process user search index (fallback when PostgreSQL search is unavailable)
+ *
+ * Names and email are tokenized into a sorted inverted index (exact and prefix lookups)
+ * plus a trigram index over the distinct tokens (fuzzy lookups, same padding and
+ * similarity measure as pg_trgm). Every query term must match a token of the user;
+ * exact matches rank above prefix matches, which rank above fuzzy matches.
+ */
+public class InMemoryUserSearchIndex {
+
+    private static final double EXACT_SCORE = 3.0;
+    private static final double PREFIX_SCORE = 1.5;
+    private static final double FUZZY_WEIGHT = 1.5;
+    private static final double SIMILARITY_THRESHOLD = 0.3;
+    private static final int MIN_FUZZY_LENGTH = 3;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, User> documents = new HashMap<>();
+    private final Map<UUID, Set<String>> documentTokens = new HashMap<>();
+    private final NavigableMap<String, Set<UUID>> postings = new TreeMap<>();
+    private final Map<String, Set<String>> trigramTokens = new HashMap<>();
+
+    /**
+     * Add or replace a user
+     */
+    public void put(User user) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(user.getId());
+            Set<String> tokens = documentTokens(user);
+            documents.put(user.getId(), user);
+            documentTokens.put(user.getId(), tokens);
+            for (String token : tokens) {
+                postings.computeIfAbsent(token, t -> {
+                    for (String trigram : trigrams(t)) {
+                        trigramTokens.computeIfAbsent(trigram, g -> new HashSet<>()).add(t);
+                    }
+                    return new HashSet<>();
+                }).add(user.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(UUID userId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            documentTokens.clear();
+            postings.clear();
+            trigramTokens.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranked, filtered search
+     * @param role Optional role filter
+     * @param isActive Optional active-state filter
+     */
+    public Page<User> search(String text, UserRole role, Boolean isActive, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        Set<String> terms = tokenize(text);
+        if (terms.isEmpty()) {
+            return new PageImpl<>(List.of(), pageRequest, 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<UUID, Double> scores = null;
+            for (String term : terms) {
+                Map<UUID, Double> termScores = matchTerm(term);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // AND semantics: keep users matched by every term
+                    Map<UUID, Double> combined = new HashMap<>();
+                    for (Map.Entry<UUID, Double> entry : scores.entrySet()) {
+                        Double score = termScores.get(entry.getKey());
+                        if (score != null) {
+                            combined.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = combined;
+                }
+                if (scores.isEmpty()) {
+                    break;
+                }
+            }
+
+            List<Map.Entry<UUID, Double>> ranked = new ArrayList<>();
+            for (Map.Entry<UUID, Double> entry : scores.entrySet()) {
+                User user = documents.get(entry.getKey());
+                if ((role == null || role == user.getRole())
+                        && (isActive == null || isActive.equals(user.getIsActive()))) {
+                    ranked.add(entry);
+                }
+            }
+            ranked.sort(Map.Entry.<UUID, Double>comparingByValue(Comparator.reverseOrder())
+                    .thenComparing(Map.Entry.comparingByKey()));
+
+            int from = (int) Math.min(pageRequest.getOffset(), ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            List<User> content = new ArrayList<>(to - from);
+            for (Map.Entry<UUID, Double> entry : ranked.subList(from, to)) {
+                content.add(documents.get(entry.getKey()));
+            }
+            return new PageImpl<>(content, pageRequest, ranked.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best score per user for one query term (exact > prefix > fuzzy)
+     */
+    private Map<UUID, Double> matchTerm(String term) {
+        Map<UUID, Double> scores = new HashMap<>();
+
+        // Exact and prefix: one range scan over the sorted token map
+        for (Map.Entry<String, Set<UUID>> entry
+                : postings.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+            String token = entry.getKey();
+            double score = token.equals(term)
+                    ? EXACT_SCORE
+                    : PREFIX_SCORE * term.length() / token.length() + 0.5;
+            for (UUID id : entry.getValue()) {
+                scores.merge(id, score, Math::max);
+            }
+        }
+
+        // Fuzzy: candidate tokens sharing trigrams with the term
+        if (term.length() >= MIN_FUZZY_LENGTH) {
+            Set<String> termTrigrams = trigrams(term);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String trigram : termTrigrams) {
+                Set<String> tokens = trigramTokens.get(trigram);
+                if (tokens != null) {
+                    for (String token : tokens) {
+                        shared.merge(token, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> entry : shared.entrySet()) {
+                int common = entry.getValue();
+                int tokenTrigrams = trigrams(entry.getKey()).size();
+                double similarity = (double) common / (termTrigrams.size() + tokenTrigrams - common);
+                if (similarity >= SIMILARITY_THRESHOLD) {
+                    double score = similarity * FUZZY_WEIGHT;
+                    for (UUID id : postings.get(entry.getKey())) {
+                        scores.merge(id, score, Math::max);
+                    }
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void removeInternal(UUID userId) {
+        documents.remove(userId);
+        Set<String> tokens = documentTokens.remove(userId);
+        if (tokens == null) {
+            return;
+        }
+        for (String token : tokens) {
+            Set<UUID> ids = postings.get(token);
+            if (ids == null) {
+                continue;
+            }
+            ids.remove(userId);
+            if (ids.isEmpty()) {
+                postings.remove(token);
+                for (String trigram : trigrams(token)) {
+                    Set<String> sharing = trigramTokens.get(trigram);
+                    if (sharing != null) {
+                        sharing.remove(token);
+                        if (sharing.isEmpty()) {
+                            trigramTokens.remove(trigram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static Set<String> documentTokens(User user) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.addAll(tokenize(user.getFirstName()));
+        tokens.addAll(tokenize(user.getLastName()));
+        if (user.getEmail() != null) {
+            tokens.add(user.getEmail().toLowerCase());
+            tokens.addAll(tokenize(user.getEmail()));
+        }
+        return tokens;
+    }
+
+    /**
+     * Lower-cased alphanumeric words
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(Character.toLowerCase(c));
+            } else if (current.length() > 0) {
+                tokens.add(current.toString());
+                current.setLength(0);
+            }
+        }
+        if (current.length() > 0) {
+            tokens.add(current.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * pg_trgm style trigrams: word padded with two leading spaces and one trailing space
+     */
+    static Set<String> trigrams(String token) {
+        String padded = "  " + token + " ";
+        Set<String> trigrams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+}
@@ -1,78 +1,126 @@
 package com.upskilling.smartdeploymonitor.service;
 
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import com.upskilling.smartdeploymonitor.config.RouteMetrics;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import javax.annotation.PostConstruct;
-import java.time.LocalDateTime;
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * JVM and process telemetry
+ *
+ * Everything is read from the platform MXBeans or pushed by the JVM, nothing is sampled
+ * on a timer:
+ * - GC: a JMX notification listener on every collector receives each collection as it
+ *   ends (pause, cause, heap before/after). Heap growth between collections is the
+ *   allocation volume; the pause distribution itself is Micrometer's jvm.gc.pause,
+ *   which is fed by the same notifications
+ * - Safepoints: {@link SafepointMonitor}
+ * - Threads by state, heap and direct/mapped buffer pools: read from the MXBeans when
+ *   asked (Prometheus scrape, the capacity report)
+ * - Tomcat/Hikari/Lettuce pool saturation: the pool meters bound in PoolMetricsConfig
+ */
 @Service
 public class MonitoringService {
 
     private static final Logger logger = LoggerFactory.getLogger(MonitoringService.class);
-    
+
+    private static final double MB = 1024.0 * 1024.0;
+
     private final MeterRegistry meterRegistry;
-    private final AtomicLong systemUptime = new AtomicLong(0);
-    private final AtomicLong totalRequests = new AtomicLong(0);
-    private final AtomicLong activeConnections = new AtomicLong(0);
-    
-    private long startTime;
+    private final RouteMetrics routeMetrics;
+    private final SafepointMonitor safepointMonitor;
+
+    private final RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final List<BufferPoolMXBean> bufferPools = ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class);
+
+    private final NotificationListener gcListener = this::onGarbageCollection;
+    private final List<NotificationEmitter> gcEmitters = new ArrayList<>();
+    private final Map<String, CollectorStats> collectors = new ConcurrentHashMap<>();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private volatile LastCollection lastCollection;
+    private long heapAfterLastGc;
+
+    private long lastStatusNanos = System.nanoTime();
+    private long lastStatusAllocated;
 
-    public MonitoringService(MeterRegistry meterRegistry) {
+    public MonitoringService(MeterRegistry meterRegistry, RouteMetrics routeMetrics, SafepointMonitor safepointMonitor) {
         this.meterRegistry = meterRegistry;
-        this.startTime = System.currentTimeMillis();
+        this.routeMetrics = routeMetrics;
+        this.safepointMonitor = safepointMonitor;
     }
 
     @PostConstruct
     public void initializeMetrics() {
-        // Register custom metrics using AtomicLong approach
-        Gauge.builder("application.requests.total", totalRequests, AtomicLong::get)
-                .description("Total application requests")
-                .register(meterRegistry);
-        
-        Gauge.builder("application.connections.active", activeConnections, AtomicLong::get)
-                .description("Active connections")
-                .register(meterRegistry);
-        
-        Gauge.builder("system.uptime.seconds", systemUptime, AtomicLong::get)
+        // Request totals and in-flight requests are measured by RouteMetrics (application.requests.total,
+        // application.connections.active)
+        Gauge.builder("system.uptime.seconds", runtime, bean -> bean.getUptime() / 1000.0)
                 .description("System uptime in seconds")
                 .register(meterRegistry);
-        
-        logger.info("Monitoring service initialized with custom metrics");
-    }
 
-    @Scheduled(fixedRate = 30000) // Every 30 seconds
-    public void updateSystemMetrics() {
-        systemUptime.set((System.currentTimeMillis() - startTime) / 1000);
-        
-        // Simulate active connections (random between 5-50)
-        activeConnections.set((long) (Math.random() * 45 + 5));
-        
-        logger.debug("System metrics updated - Uptime: {}s, Memory: {}MB, Active connections: {}", 
-                getUptimeSeconds(), getUsedMemoryMB(), activeConnections.get());
+        heapAfterLastGc = memory.getHeapMemoryUsage().getUsed();
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter emitter) {
+                emitter.addNotificationListener(gcListener, null, null);
+                gcEmitters.add(emitter);
+            }
+        }
+
+        logger.info("Monitoring service initialized, listening to {} garbage collectors", gcEmitters.size());
     }
 
-    public void incrementRequestCount() {
-        totalRequests.incrementAndGet();
+    @PreDestroy
+    public void shutdown() {
+        for (NotificationEmitter emitter : gcEmitters) {
+            try {
+                emitter.removeNotificationListener(gcListener);
+            } catch (ListenerNotFoundException ignored) {
+                // Already gone
+            }
+        }
+        gcEmitters.clear();
     }
 
     public long getUptimeSeconds() {
-        return (System.currentTimeMillis() - startTime) / 1000;
+        return runtime.getUptime() / 1000;
     }
 
     public double getUsedMemoryMB() {
-        Runtime runtime = Runtime.getRuntime();
-        return (runtime.totalMemory() - runtime.freeMemory()) / 1024.0 / 1024.0;
+        return memory.getHeapMemoryUsage().getUsed() / MB;
     }
 
     public double getFreeMemoryMB() {
-        Runtime runtime = Runtime.getRuntime();
-        return runtime.freeMemory() / 1024.0 / 1024.0;
+        MemoryUsage heap = memory.getHeapMemoryUsage();
+        return (heap.getCommitted() - heap.getUsed()) / MB;
     }
 
     public int getCpuCores() {
@@ -80,21 +128,208 @@ public class MonitoringService {
     }
 
     public long getTotalRequests() {
-        return totalRequests.get();
+        return routeMetrics.getTotalRequests();
     }
 
     public long getActiveConnections() {
-        return activeConnections.get();
+        return routeMetrics.getActiveRequests();
+    }
+
+    /**
+     * Bytes allocated on the heap since startup, as observed at the last collection
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    /**
+     * Point-in-time capacity view: heap, GC, safepoints, threads, buffer pools and pool saturation
+     */
+    public Map<String, Object> getCapacityReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("uptimeSeconds", getUptimeSeconds());
+        report.put("cpuCores", getCpuCores());
+        report.put("heap", usage(memory.getHeapMemoryUsage()));
+        report.put("nonHeap", usage(memory.getNonHeapMemoryUsage()));
+        report.put("gc", gcReport());
+        report.put("safepoints", safepointMonitor.getReport());
+        report.put("threads", threadReport());
+        report.put("bufferPools", bufferPoolReport());
+
+        Map<String, Object> pools = new LinkedHashMap<>();
+        pools.put("tomcat", pools("name", new String[][]{
+                {"busy", "tomcat.threads.busy"}, {"current", "tomcat.threads.current"},
+                {"max", "tomcat.threads.config.max"}, {"pending", "tomcat.threads.pending"},
+                {"connections", "tomcat.connections.current"}, {"maxConnections", "tomcat.connections.config.max"}}));
+        pools.put("hikari", pools("pool", new String[][]{
+                {"active", "hikaricp.connections.active"}, {"idle", "hikaricp.connections.idle"},
+                {"pending", "hikaricp.connections.pending"}, {"max", "hikaricp.connections.max"}}));
+        pools.put("lettuce", pools("name", new String[][]{
+                {"active", "commons.pool2.num.active"}, {"idle", "commons.pool2.num.idle"},
+                {"pending", "commons.pool2.num.waiters"}}));
+        report.put("pools", pools);
+        return report;
     }
 
     @Scheduled(fixedRate = 60000) // Every minute
     public void logSystemStatus() {
-        logger.info("System Status - Uptime: {}s, Memory: {}/{}MB, CPU Cores: {}, Requests: {}, Connections: {}", 
+        long now = System.nanoTime();
+        long allocated = allocatedBytes.get();
+        double allocationRate = (allocated - lastStatusAllocated) / MB / Math.max(1e-9, (now - lastStatusNanos) / 1e9);
+        lastStatusNanos = now;
+        lastStatusAllocated = allocated;
+
+        LastCollection last = lastCollection;
+        logger.info("System Status - Uptime: {}s, Heap: {}/{}MB, Allocation: {}MB/s, Last GC: {}, CPU Cores: {}, Requests: {}, Connections: {}",
                 getUptimeSeconds(),
                 String.format("%.2f", getUsedMemoryMB()),
                 String.format("%.2f", getUsedMemoryMB() + getFreeMemoryMB()),
+                String.format("%.2f", allocationRate),
+                last != null ? last.collector + " " + last.durationMs + "ms (" + last.cause + ")" : "none",
                 getCpuCores(),
                 getTotalRequests(),
                 getActiveConnections());
     }
-}
\ No newline at end of file
+
+    private void onGarbageCollection(Notification notification, Object handback) {
+        if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+            return;
+        }
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+        GcInfo gc = info.getGcInfo();
+        long before = heapUsed(gc.getMemoryUsageBeforeGc());
+        long after = heapUsed(gc.getMemoryUsageAfterGc());
+
+        synchronized (this) {
+            // Whatever the heap grew by since the previous collection was allocated in between
+            allocatedBytes.addAndGet(Math.max(0, before - heapAfterLastGc));
+            heapAfterLastGc = after;
+        }
+        collectors.computeIfAbsent(info.getGcName(), CollectorStats::new).record(gc.getDuration());
+        lastCollection = new LastCollection(info.getGcName(), info.getGcAction(), info.getGcCause(),
+                gc.getDuration(), before, after);
+    }
+
+    private long heapUsed(Map<String, MemoryUsage> byPool) {
+        long used = 0;
+        for (Map.Entry<String, MemoryUsage> pool : byPool.entrySet()) {
+            // Metaspace and the code cache are reported too; only heap pools count
+            if (isHeapPool(pool.getKey())) {
+                used += pool.getValue().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static boolean isHeapPool(String name) {
+        return !(name.contains("Metaspace") || name.contains("Code") || name.contains("Compressed Class"));
+    }
+
+    private Map<String, Object> gcReport() {
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("allocatedMB", Math.round(allocatedBytes.get() / MB));
+        Map<String, Object> byCollector = new LinkedHashMap<>();
+        collectors.forEach((name, stats) -> byCollector.put(name, stats.toMap()));
+        gc.put("collectors", byCollector);
+        LastCollection last = lastCollection;
+        gc.put("last", last != null ? last.toMap() : null);
+        return gc;
+    }
+
+    private Map<String, Object> threadReport() {
+        Map<Thread.State, Integer> states = new EnumMap<>(Thread.State.class);
+        for (Thread.State state : Thread.State.values()) {
+            states.put(state, 0);
+        }
+        for (ThreadInfo info : threads.getThreadInfo(threads.getAllThreadIds())) {
+            if (info != null) {
+                states.merge(info.getThreadState(), 1, Integer::sum);
+            }
+        }
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("live", threads.getThreadCount());
+        report.put("daemon", threads.getDaemonThreadCount());
+        report.put("peak", threads.getPeakThreadCount());
+        report.put("states", states);
+        return report;
+    }
+
+    private Map<String, Object> bufferPoolReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (BufferPoolMXBean pool : bufferPools) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", pool.getCount());
+            values.put("usedBytes", pool.getMemoryUsed());
+            values.put("capacityBytes", pool.getTotalCapacity());
+            report.put(pool.getName(), values);
+        }
+        return report;
+    }
+
+    /**
+     * Current value of pool gauges, grouped by the tag naming the pool
+     * @param fields Report field and meter name pairs
+     */
+    private Map<String, Object> pools(String poolTag, String[][] fields) {
+        Map<String, Object> byPool = new LinkedHashMap<>();
+        for (String[] field : fields) {
+            for (Gauge gauge : meterRegistry.find(field[1]).gauges()) {
+                String pool = gauge.getId().getTag(poolTag);
+                @SuppressWarnings("unchecked")
+                Map<String, Object> values = (Map<String, Object>) byPool.computeIfAbsent(
+                        pool != null ? pool : "default", key -> new LinkedHashMap<String, Object>());
+                values.put(field[0], Math.round(gauge.value()));
+            }
+        }
+        return byPool;
+    }
+
+    private static Map<String, Object> usage(MemoryUsage usage) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("usedMB", Math.round(usage.getUsed() / MB));
+        values.put("committedMB", Math.round(usage.getCommitted() / MB));
+        values.put("maxMB", usage.getMax() < 0 ? null : Math.round(usage.getMax() / MB));
+        return values;
+    }
+
+    private static final class CollectorStats {
+        private final String name;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalMs = new AtomicLong();
+        private final AtomicLong maxMs = new AtomicLong();
+
+        CollectorStats(String name) {
+            this.name = name;
+        }
+
+        void record(long durationMs) {
+            count.incrementAndGet();
+            totalMs.addAndGet(durationMs);
+            maxMs.accumulateAndGet(durationMs, Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("count", count.get());
+            map.put("totalMs", totalMs.get());
+            map.put("maxMs", maxMs.get());
+            return map;
+        }
+    }
+
+    private record LastCollection(String collector, String action, String cause, long durationMs,
+                                  long heapBefore, long heapAfter) {
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("collector", collector);
+            map.put("action", action);
+            map.put("cause", cause);
+            map.put("durationMs", durationMs);
+            map.put("heapBeforeMB", Math.round(heapBefore / MB));
+            map.put("heapAfterMB", Math.round(heapAfter / MB));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Qdrant REST client
+ *
+ * One shared java.net.http.HttpClient keeps persistent (keep-alive) connections to
+ * Qdrant, so repeated upserts and searches reuse pooled connections instead of
+ * reconnecting per call. Vectors go over the wire as float[] straight from the caller.
+ *
+ * Qdrant only accepts unsigned integers and UUIDs as point ids; any other id is mapped
+ * to a name-based UUID and the original is kept in the payload under {@link #ORIGINAL_ID}.
+ */
+public class QdrantHttpClient {
+
+    static final String ORIGINAL_ID = "_id";
+
+    private static final TypeReference<Map<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String apiKey;
+    private final Duration requestTimeout;
+
+    public QdrantHttpClient(ObjectMapper objectMapper, String baseUrl, String apiKey,
+                            Duration connectTimeout, Duration requestTimeout) {
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    public boolean isHealthy() {
+        try {
+            return send("GET", "/healthz", null).statusCode() == 200;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Create a collection unless it already exists
+     * @return true if it was created
+     */
+    public boolean createCollection(String collection, int dimension, String distance) throws IOException {
+        if (send("GET", "/collections/" + collection, null).statusCode() == 200) {
+            return false;
+        }
+        Map<String, Object> vectors = new HashMap<>();
+        vectors.put("size", dimension);
+        vectors.put("distance", distance);
+        execute("PUT", "/collections/" + collection, Map.of("vectors", vectors));
+        return true;
+    }
+
+    /**
+     * Upsert points in batches of batchSize (one request per batch)
+     */
+    public void upsert(String collection, List<QdrantService.VectorPoint> points, int batchSize) throws IOException {
+        for (int from = 0; from < points.size(); from += batchSize) {
+            List<QdrantService.VectorPoint> batch = points.subList(from, Math.min(from + batchSize, points.size()));
+            List<Map<String, Object>> body = new ArrayList<>(batch.size());
+            for (QdrantService.VectorPoint point : batch) {
+                Map<String, Object> payload = new LinkedHashMap<>(
+                        point.getPayload() != null ? point.getPayload() : Map.of());
+                Object id = toPointId(point.getId());
+                if (!(id instanceof Long) && !id.equals(point.getId())) {
+                    payload.put(ORIGINAL_ID, point.getId());
+                }
+                Map<String, Object> qdrantPoint = new HashMap<>();
+                qdrantPoint.put("id", id);
+                qdrantPoint.put("vector", point.getVector());
+                qdrantPoint.put("payload", payload);
+                body.add(qdrantPoint);
+            }
+            execute("PUT", "/collections/" + collection + "/points?wait=true", Map.of("points", body));
+        }
+    }
+
+    /**
+     * Top-k search with an optional must-match payload filter
+     */
+    public List<QdrantService.ScoredPoint> search(String collection, float[] query, int limit,
+                                                  Map<String, Object> filter) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("vector", query);
+        body.put("limit", limit);
+        body.put("with_payload", true);
+        if (filter != null && !filter.isEmpty()) {
+            List<Map<String, Object>> must = new ArrayList<>(filter.size());
+            for (Map.Entry<String, Object> condition : filter.entrySet()) {
+                must.add(Map.of("key", condition.getKey(), "match", Map.of("value", condition.getValue())));
+            }
+            body.put("filter", Map.of("must", must));
+        }
+
+        JsonNode result = execute("POST", "/collections/" + collection + "/points/search", body).path("result");
+        List<QdrantService.ScoredPoint> points = new ArrayList<>(result.size());
+        for (JsonNode hit : result) {
+            Map<String, Object> payload = hit.hasNonNull("payload")
+                    ? objectMapper.convertValue(hit.get("payload"), PAYLOAD_TYPE)
+                    : new HashMap<>();
+            Object originalId = payload.remove(ORIGINAL_ID);
+            String id = originalId != null ? originalId.toString() : hit.path("id").asText();
+            points.add(new QdrantService.ScoredPoint(id, (float) hit.path("score").asDouble(), payload));
+        }
+        return points;
+    }
+
+    /**
+     * Collection status and point count
+     */
+    public Map<String, Object> collectionInfo(String collection) throws IOException {
+        JsonNode result = execute("GET", "/collections/" + collection, null).path("result");
+        Map<String, Object> info = new HashMap<>();
+        info.put("status", result.path("status").asText());
+        info.put("pointsCount", result.path("points_count").asLong());
+        info.put("indexedVectorsCount", result.path("indexed_vectors_count").asLong());
+        return info;
+    }
+
+    private JsonNode execute(String method, String path, Object body) throws IOException {
+        HttpResponse<String> response = send(method, path, body);
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Qdrant " + method + " " + path + " failed with "
+                    + response.statusCode() + ": " + response.body());
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> send(String method, String path, Object body) throws IOException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json");
+        if (apiKey != null && !apiKey.isBlank()) {
+            request.header("api-key", apiKey);
+        }
+        if (body != null) {
+            request.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        try {
+            return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while calling Qdrant", e);
+        }
+    }
+
+    /**
+     * Unsigned integer ids pass through, UUIDs are kept, anything else becomes a name-based UUID
+     */
+    static Object toPointId(String id) {
+        if (!id.isEmpty() && id.length() <= 18 && id.chars().allMatch(Character::isDigit)) {
+            return Long.parseLong(id);
+        }
+        try {
+            return UUID.fromString(id).toString();
+        } catch (IllegalArgumentException e) {
+            return UUID.nameUUIDFromBytes(id.getBytes(StandardCharsets.UTF_8)).toString();
+        }
+    }
+}
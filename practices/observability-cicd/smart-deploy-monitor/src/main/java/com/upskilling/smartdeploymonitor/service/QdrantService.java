@@ -1,70 +1,179 @@
 package com.upskilling.smartdeploymonitor.service;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Vector store
+ *
+ * Two engines behind one float[]-based API:
+ * - QDRANT: {@link QdrantHttpClient} against qdrant.host:qdrant.port (batched upserts,
+ *   filtered top-k search)
+ * - EMBEDDED: one {@link HnswVectorIndex} per collection, in process
+ *
+ * app.vector.engine=auto picks QDRANT when it answers its health check at startup. If
+ * it doesn't and app.features.vector is on, the embedded index takes over so the
+ * feature works locally without a Qdrant instance.
+ */
 @Service
 public class QdrantService {
 
-    @Autowired
-    private RestTemplate restTemplate;
+    private static final Logger logger = LoggerFactory.getLogger(QdrantService.class);
 
-    private final String qdrantBaseUrl = "http://localhost:6333";
+    public enum Engine {
+        QDRANT,
+        EMBEDDED
+    }
+
+    private final QdrantHttpClient qdrantClient;
+    private final boolean vectorFeatureEnabled;
+    private final String configuredEngine;
+    private final int dimension;
+    private final HnswVectorIndex.Distance distance;
+    private final int upsertBatchSize;
+    private final int hnswM;
+    private final int hnswEfConstruction;
+    private final int hnswEfSearch;
+
+    private final Map<String, HnswVectorIndex> embeddedCollections = new ConcurrentHashMap<>();
+
+    // QDRANT until startup has checked whether it is reachable
+    private volatile Engine engine = Engine.QDRANT;
+
+    public QdrantService(ObjectMapper objectMapper,
+                         @Value("${qdrant.host:localhost}") String host,
+                         @Value("${qdrant.port:6333}") int port,
+                         @Value("${qdrant.api-key:}") String apiKey,
+                         @Value("${qdrant.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                         @Value("${qdrant.request-timeout-ms:10000}") long requestTimeoutMillis,
+                         @Value("${app.features.vector:false}") boolean vectorFeatureEnabled,
+                         @Value("${app.vector.engine:auto}") String configuredEngine,
+                         @Value("${app.vector.dimension:4}") int dimension,
+                         @Value("${app.vector.distance:Cosine}") String distance,
+                         @Value("${app.vector.upsert-batch-size:256}") int upsertBatchSize,
+                         @Value("${app.vector.hnsw.m:16}") int hnswM,
+                         @Value("${app.vector.hnsw.ef-construction:100}") int hnswEfConstruction,
+                         @Value("${app.vector.hnsw.ef-search:64}") int hnswEfSearch) {
+        this.qdrantClient = new QdrantHttpClient(objectMapper, "http://" + host + ":" + port, apiKey,
+                Duration.ofMillis(connectTimeoutMillis), Duration.ofMillis(requestTimeoutMillis));
+        this.vectorFeatureEnabled = vectorFeatureEnabled;
+        this.configuredEngine = configuredEngine;
+        this.dimension = dimension;
+        this.distance = HnswVectorIndex.Distance.fromName(distance);
+        this.upsertBatchSize = Math.max(1, upsertBatchSize);
+        this.hnswM = hnswM;
+        this.hnswEfConstruction = hnswEfConstruction;
+        this.hnswEfSearch = hnswEfSearch;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if ("embedded".equalsIgnoreCase(configuredEngine)) {
+            engine = Engine.EMBEDDED;
+        } else if ("qdrant".equalsIgnoreCase(configuredEngine) || qdrantClient.isHealthy()) {
+            engine = Engine.QDRANT;
+        } else if (vectorFeatureEnabled) {
+            engine = Engine.EMBEDDED;
+            logger.warn("Qdrant is unreachable, using the embedded HNSW index");
+        }
+        logger.info("Vector engine: {} (configured: {}, dimension {}, distance {})",
+                engine, configuredEngine, dimension, distance);
+    }
 
     public boolean createCollection(String collectionName) {
+        if (engine == Engine.EMBEDDED) {
+            embeddedCollection(collectionName);
+            return true;
+        }
         try {
-            String url = qdrantBaseUrl + "/collections/" + collectionName;
-            
-            Map<String, Object> config = new HashMap<>();
-            Map<String, Object> vectors = new HashMap<>();
-            vectors.put("size", 4);
-            vectors.put("distance", "Cosine");
-            config.put("vectors", vectors);
-            
-            // For Level 1 demonstration, we'll simulate the collection creation
-            // In a real implementation, you would use the Qdrant client
+            qdrantClient.createCollection(collectionName, dimension, distance.getQdrantName());
             return true;
-        } catch (Exception e) {
-            System.err.println("Error creating Qdrant collection: " + e.getMessage());
+        } catch (IOException e) {
+            logger.error("Error creating Qdrant collection {}: {}", collectionName, e.getMessage());
             return false;
         }
     }
 
-    public boolean insertVector(String collectionName, String pointId, List<Double> vector, Map<String, Object> payload) {
+    public boolean insertVector(String collectionName, String pointId, float[] vector, Map<String, Object> payload) {
+        return upsertPoints(collectionName, List.of(new VectorPoint(pointId, vector, payload)));
+    }
+
+    /**
+     * Insert or replace points (sent to Qdrant in batches of app.vector.upsert-batch-size)
+     * @throws IllegalArgumentException if a vector has the wrong dimension
+     */
+    public boolean upsertPoints(String collectionName, List<VectorPoint> points) {
+        for (VectorPoint point : points) {
+            validate(point.getVector());
+            if (point.getId() == null || point.getId().isBlank()) {
+                throw new IllegalArgumentException("Point id is required");
+            }
+        }
+
+        if (engine == Engine.EMBEDDED) {
+            HnswVectorIndex index = embeddedCollection(collectionName);
+            for (VectorPoint point : points) {
+                index.upsert(point.getId(), point.getVector(), point.getPayload());
+            }
+            return true;
+        }
         try {
-            // For Level 1 demonstration, we'll simulate the vector insertion
-            // In a real implementation, you would use the Qdrant client
+            qdrantClient.upsert(collectionName, points, upsertBatchSize);
             return true;
-        } catch (Exception e) {
-            System.err.println("Error inserting vector in Qdrant: " + e.getMessage());
+        } catch (IOException e) {
+            logger.error("Error upserting {} vectors into Qdrant: {}", points.size(), e.getMessage());
             return false;
         }
     }
 
-    public List<Map<String, Object>> searchVectors(String collectionName, List<Double> queryVector, int limit) {
+    public List<ScoredPoint> searchVectors(String collectionName, float[] queryVector, int limit) {
+        return searchVectors(collectionName, queryVector, limit, Map.of());
+    }
+
+    /**
+     * Top-k most similar points whose payload matches every filter entry
+     * @throws IllegalArgumentException if the query has the wrong dimension
+     */
+    public List<ScoredPoint> searchVectors(String collectionName, float[] queryVector, int limit,
+                                           Map<String, Object> filter) {
+        validate(queryVector);
+        if (engine == Engine.EMBEDDED) {
+            HnswVectorIndex index = embeddedCollections.get(collectionName);
+            return index != null ? index.search(queryVector, limit, filter) : List.of();
+        }
         try {
-            // For Level 1 demonstration, we'll simulate the vector search
-            // In a real implementation, you would use the Qdrant client
-            return List.of();
-        } catch (Exception e) {
-            System.err.println("Error searching vectors in Qdrant: " + e.getMessage());
+            return qdrantClient.search(collectionName, queryVector, limit, filter);
+        } catch (IOException e) {
+            logger.error("Error searching vectors in Qdrant: {}", e.getMessage());
             return List.of();
         }
     }
 
     public Map<String, Object> getCollectionStats(String collectionName) {
         Map<String, Object> stats = new HashMap<>();
+        stats.put("collectionName", collectionName);
+        stats.put("engine", engine);
+        if (engine == Engine.EMBEDDED) {
+            HnswVectorIndex index = embeddedCollections.get(collectionName);
+            stats.put("pointsCount", index != null ? index.size() : 0);
+            stats.put("status", index != null ? "green" : "missing");
+            return stats;
+        }
         try {
-            // For Level 1 demonstration, we'll simulate the collection stats
-            stats.put("pointsCount", 0);
-            stats.put("status", "operational");
-            stats.put("collectionName", collectionName);
-        } catch (Exception e) {
+            stats.putAll(qdrantClient.collectionInfo(collectionName));
+        } catch (IOException e) {
             stats.put("status", "error");
             stats.put("message", "Failed to get Qdrant stats: " + e.getMessage());
         }
@@ -72,12 +181,71 @@ public class QdrantService {
     }
 
     public boolean checkHealth() {
-        try {
-            // Simple health check for Level 1 demonstration
-            return true;
-        } catch (Exception e) {
-            System.err.println("Qdrant health check failed: " + e.getMessage());
-            return false;
+        return engine == Engine.EMBEDDED || qdrantClient.isHealthy();
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    private HnswVectorIndex embeddedCollection(String collectionName) {
+        return embeddedCollections.computeIfAbsent(collectionName, name -> new HnswVectorIndex(
+                dimension, distance, hnswM, hnswEfConstruction, hnswEfSearch));
+    }
+
+    private void validate(float[] vector) {
+        if (vector == null || vector.length != dimension) {
+            throw new IllegalArgumentException("Expected a vector of dimension " + dimension
+                    + " but got " + (vector == null ? "none" : vector.length));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * A point to upsert
+     */
+    public static class VectorPoint {
+        private String id;
+        private float[] vector;
+        private Map<String, Object> payload;
+
+        public VectorPoint() {}
+
+        public VectorPoint(String id, float[] vector, Map<String, Object> payload) {
+            this.id = id;
+            this.vector = vector;
+            this.payload = payload;
+        }
+
+        // Getters and Setters
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+        public float[] getVector() { return vector; }
+        public void setVector(float[] vector) { this.vector = vector; }
+        public Map<String, Object> getPayload() { return payload; }
+        public void setPayload(Map<String, Object> payload) { this.payload = payload; }
+    }
+
+    /**
+     * A search hit: similarity score (distance for Euclid) and payload
+     */
+    public static class ScoredPoint {
+        private final String id;
+        private final float score;
+        private final Map<String, Object> payload;
+
+        public ScoredPoint(String id, float score, Map<String, Object> payload) {
+            this.id = id;
+            this.score = score;
+            this.payload = payload;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public float getScore() { return score; }
+        public Map<String, Object> getPayload() { return payload; }
+    }
+}
@@ -1,101 +1,568 @@
 package com.upskilling.smartdeploymonitor.service;
 
+import com.upskilling.smartdeploymonitor.config.BinaryRedisSerializer;
+import com.upskilling.smartdeploymonitor.dto.UserSummary;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Redis Service for TTL-based caching operations
  * Demonstrates Level 1 Database fundamentals: Redis TTL-based caching
+ *
+ * Keys written here live under the cache namespace ("cache:" by default), so clearing
+ * the cache never touches rate-limit buckets or cached principals on the same server.
+ * Bulk operations never use KEYS: they walk the keyspace with cursor-based SCAN and
+ * remove keys with UNLINK in batches. Statistics come from INFO/DBSIZE plus in-process
+ * per-namespace counters, so nothing materializes the keyspace in the JVM.
+ *
+ * The multi-key API pipelines its commands: a batch of N keys costs about one round
+ * trip per pipeline-batch-size keys instead of N round trips.
+ *
+ * Values are encoded by the template's value serializer ({@link
+ * com.upskilling.smartdeploymonitor.config.BinaryRedisSerializer}); codecBenchmark
+ * compares it with plain JSON.
  */
 @Service
 public class RedisService {
 
+    private static final Logger logger = LoggerFactory.getLogger(RedisService.class);
+
+    // Namespaces owned by other components, reported by getCacheStats
+    public static final String PRINCIPAL_NAMESPACE = "user:principal";
+    public static final String RATE_LIMIT_NAMESPACE = "rate_limit";
+
     @Autowired
     private RedisTemplate<String, Object> redisTemplate;
 
+    @Value("${app.redis.namespace:cache}")
+    private String namespace;
+
+    @Value("${app.redis.scan-count:1000}")
+    private int scanCount;
+
+    @Value("${app.redis.unlink-batch-size:500}")
+    private int unlinkBatchSize;
+
+    @Value("${app.redis.pipeline-batch-size:1000}")
+    private int pipelineBatchSize;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private Executor asyncExecutor;
+
+    @Value("${spring.data.redis.host:localhost}")
+    private String host;
+
+    @Value("${spring.data.redis.port:6379}")
+    private int port;
+
+    private final Map<String, NamespaceCounters> counters = new ConcurrentHashMap<>();
+
     /**
      * Set a key-value pair with TTL (Time To Live)
-     * @param key Key to store
+     * @param key Key to store (namespaced automatically)
      * @param value Value to store
      * @param ttlSeconds TTL in seconds
      * @return true if successful
      */
     public boolean setWithTTL(String key, Object value, long ttlSeconds) {
         try {
-            redisTemplate.opsForValue().set(key, value, Duration.ofSeconds(ttlSeconds));
+            redisTemplate.opsForValue().set(namespacedKey(key), value, Duration.ofSeconds(ttlSeconds));
+            counters(namespace).writes.increment();
             return true;
         } catch (Exception e) {
-            System.err.println("Error setting Redis key: " + e.getMessage());
+            logger.error("Error setting Redis key {}: {}", key, e.getMessage());
             return false;
         }
     }
 
     /**
      * Get a value by key
-     * @param key Key to retrieve
+     * @param key Key to retrieve (namespaced automatically)
      * @return Value or null if not found
      */
     public Object get(String key) {
         try {
-            return redisTemplate.opsForValue().get(key);
+            Object value = redisTemplate.opsForValue().get(namespacedKey(key));
+            NamespaceCounters namespaceCounters = counters(namespace);
+            (value != null ? namespaceCounters.hits : namespaceCounters.misses).increment();
+            return value;
         } catch (Exception e) {
-            System.err.println("Error getting Redis key: " + e.getMessage());
+            logger.error("Error getting Redis key {}: {}", key, e.getMessage());
             return null;
         }
     }
 
     /**
      * Delete a key
-     * @param key Key to delete
+     * @param key Key to delete (namespaced automatically)
      * @return true if successful
      */
     public boolean delete(String key) {
         try {
-            return Boolean.TRUE.equals(redisTemplate.delete(key));
+            boolean deleted = Boolean.TRUE.equals(redisTemplate.unlink(namespacedKey(key)));
+            if (deleted) {
+                counters(namespace).deletes.increment();
+            }
+            return deleted;
         } catch (Exception e) {
-            System.err.println("Error deleting Redis key: " + e.getMessage());
+            logger.error("Error deleting Redis key {}: {}", key, e.getMessage());
             return false;
         }
     }
 
     /**
-     * Clear all cache
-     * @return true if successful
+     * Get many values in one pipeline (one MGET per pipeline-batch-size keys)
+     * @param keys Keys to retrieve (namespaced automatically)
+     * @return Value per requested key, null for missing keys; empty on error
      */
-    public boolean clearCache() {
+    public Map<String, Object> multiGet(List<String> keys) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (keys.isEmpty()) {
+            return values;
+        }
+        try {
+            RedisSerializer<String> keySerializer = keySerializer();
+            List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int from = 0; from < keys.size(); from += pipelineBatchSize) {
+                    List<String> chunk = keys.subList(from, Math.min(from + pipelineBatchSize, keys.size()));
+                    byte[][] rawKeys = new byte[chunk.size()][];
+                    for (int i = 0; i < rawKeys.length; i++) {
+                        rawKeys[i] = keySerializer.serialize(namespacedKey(chunk.get(i)));
+                    }
+                    connection.stringCommands().mGet(rawKeys);
+                }
+                return null;
+            });
+
+            NamespaceCounters namespaceCounters = counters(namespace);
+            int index = 0;
+            for (Object reply : replies) {
+                for (Object value : (List<?>) reply) {
+                    values.put(keys.get(index++), value);
+                    (value != null ? namespaceCounters.hits : namespaceCounters.misses).increment();
+                }
+            }
+            return values;
+        } catch (Exception e) {
+            logger.error("Error getting {} Redis keys: {}", keys.size(), e.getMessage());
+            return new LinkedHashMap<>();
+        }
+    }
+
+    /**
+     * Set many key-value pairs with the same TTL, pipelined in batches of pipeline-batch-size
+     * @param entries Keys (namespaced automatically) and values
+     * @return true if every batch was written
+     */
+    public boolean multiSetWithTTL(Map<String, Object> entries, long ttlSeconds) {
+        if (entries.isEmpty()) {
+            return true;
+        }
         try {
-            Set<String> keys = redisTemplate.keys("*");
-            if (keys != null && !keys.isEmpty()) {
-                redisTemplate.delete(keys);
+            RedisSerializer<String> keySerializer = keySerializer();
+            RedisSerializer<Object> valueSerializer = valueSerializer();
+            Expiration expiration = Expiration.seconds(ttlSeconds);
+            List<Map.Entry<String, Object>> pending = new ArrayList<>(entries.entrySet());
+
+            for (int from = 0; from < pending.size(); from += pipelineBatchSize) {
+                List<Map.Entry<String, Object>> chunk = pending.subList(from, Math.min(from + pipelineBatchSize, pending.size()));
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    for (Map.Entry<String, Object> entry : chunk) {
+                        connection.stringCommands().set(
+                                keySerializer.serialize(namespacedKey(entry.getKey())),
+                                valueSerializer.serialize(entry.getValue()),
+                                expiration,
+                                RedisStringCommands.SetOption.upsert());
+                    }
+                    return null;
+                });
+                counters(namespace).writes.add(chunk.size());
             }
             return true;
         } catch (Exception e) {
-            System.err.println("Error clearing Redis cache: " + e.getMessage());
+            logger.error("Error setting {} Redis keys: {}", entries.size(), e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Delete many keys in one pipeline (one UNLINK per pipeline-batch-size keys)
+     * @param keys Keys to delete (namespaced automatically)
+     * @return Number of keys removed, or -1 on error
+     */
+    public long multiDelete(List<String> keys) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        try {
+            RedisSerializer<String> keySerializer = keySerializer();
+            List<Object> replies = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (int from = 0; from < keys.size(); from += pipelineBatchSize) {
+                    List<String> chunk = keys.subList(from, Math.min(from + pipelineBatchSize, keys.size()));
+                    byte[][] rawKeys = new byte[chunk.size()][];
+                    for (int i = 0; i < rawKeys.length; i++) {
+                        rawKeys[i] = keySerializer.serialize(namespacedKey(chunk.get(i)));
+                    }
+                    connection.keyCommands().unlink(rawKeys);
+                }
+                return null;
+            });
+
+            long removed = 0;
+            for (Object reply : replies) {
+                removed += reply != null ? ((Number) reply).longValue() : 0;
+            }
+            counters(namespace).deletes.add(removed);
+            return removed;
+        } catch (Exception e) {
+            logger.error("Error deleting {} Redis keys: {}", keys.size(), e.getMessage());
+            return -1;
+        }
+    }
+
+    public CompletableFuture<Map<String, Object>> multiGetAsync(List<String> keys) {
+        return CompletableFuture.supplyAsync(() -> multiGet(keys), asyncExecutor);
+    }
+
+    public CompletableFuture<Boolean> multiSetWithTTLAsync(Map<String, Object> entries, long ttlSeconds) {
+        return CompletableFuture.supplyAsync(() -> multiSetWithTTL(entries, ttlSeconds), asyncExecutor);
+    }
+
+    public CompletableFuture<Long> multiDeleteAsync(List<String> keys) {
+        return CompletableFuture.supplyAsync(() -> multiDelete(keys), asyncExecutor);
+    }
+
+    /**
+     * Compare one-command-per-key against the pipelined batch API
+     * Writes and reads keyCount throwaway keys both ways under the bench sub-namespace
+     * and removes them afterwards.
+     * @return Total milliseconds and microseconds per key for each path
+     */
+    public Map<String, Object> benchmark(int keyCount) {
+        int count = Math.max(1, Math.min(keyCount, 100_000));
+        String run = "bench:" + Long.toString(System.nanoTime(), 36) + ":";
+        List<String> sequentialKeys = new ArrayList<>(count);
+        Map<String, Object> pipelinedEntries = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            sequentialKeys.add(run + "seq:" + i);
+            pipelinedEntries.put(run + "pipe:" + i, "value-" + i);
+        }
+        List<String> pipelinedKeys = new ArrayList<>(pipelinedEntries.keySet());
+        long ttlSeconds = 300;
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        try {
+            long start = System.nanoTime();
+            for (int i = 0; i < count; i++) {
+                setWithTTL(sequentialKeys.get(i), "value-" + i, ttlSeconds);
+            }
+            results.put("sequentialSet", timing(System.nanoTime() - start, count));
+
+            start = System.nanoTime();
+            for (String key : sequentialKeys) {
+                get(key);
+            }
+            results.put("sequentialGet", timing(System.nanoTime() - start, count));
+
+            start = System.nanoTime();
+            multiSetWithTTL(pipelinedEntries, ttlSeconds);
+            results.put("pipelinedSet", timing(System.nanoTime() - start, count));
+
+            start = System.nanoTime();
+            multiGet(pipelinedKeys);
+            results.put("pipelinedGet", timing(System.nanoTime() - start, count));
+        } finally {
+            multiDelete(sequentialKeys);
+            multiDelete(pipelinedKeys);
+        }
+
+        results.put("keys", count);
+        results.put("pipelineBatchSize", pipelineBatchSize);
+        results.put("setSpeedup", speedup(results, "sequentialSet", "pipelinedSet"));
+        results.put("getSpeedup", speedup(results, "sequentialGet", "pipelinedGet"));
+        return results;
+    }
+
+    /**
+     * Compare the configured value serializer with plain JSON on cache-sized values
+     * Runs in process (no Redis round trips): each sample is serialized and read back
+     * iterations times after a warm-up of the same length.
+     * @return Encoded size and nanoseconds per serialize + deserialize for each sample
+     */
+    public Map<String, Object> codecBenchmark(int iterations) {
+        int count = Math.max(1_000, Math.min(iterations, 1_000_000));
+        RedisSerializer<Object> configured = valueSerializer();
+        RedisSerializer<Object> json = BinaryRedisSerializer.jsonSerializer();
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> sample : codecSamples().entrySet()) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("json", codecTiming(json, sample.getValue(), count));
+            result.put("configured", codecTiming(configured, sample.getValue(), count));
+            results.put(sample.getKey(), result);
+        }
+        results.put("iterations", count);
+        results.put("serializer", configured.getClass().getSimpleName());
+        return results;
+    }
+
+    /**
+     * Values shaped like what the caches actually store: one user summary, a cached list of
+     * them (the activeUsers / usersByRole regions), a session token and a larger document
+     */
+    static Map<String, Object> codecSamples() {
+        List<UserSummary> users = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.of(2024, 1, 15, 9, 30, 12, 345_678_000);
+        for (int i = 0; i < 20; i++) {
+            users.add(new UserSummary(new UUID(0x0190f1a23b4c7d5eL + i, 0x8f60718293a4b5c6L + i),
+                    "user" + i + ".lastname@example.com", "Firstname" + i, "Lastname" + i,
+                    i % 10 == 0 ? UserRole.ADMIN : UserRole.USER, i % 7 != 0,
+                    created.plusMinutes(i), created.plusDays(3).plusMinutes(i)));
+        }
+
+        Map<String, Object> samples = new LinkedHashMap<>();
+        samples.put("user", users.get(0));
+        samples.put("userList", users);
+        samples.put("string", "session-" + Long.toString(System.nanoTime(), 36));
+        samples.put("largeString", "{\"event\":\"login\",\"source\":\"web\"}".repeat(64));
+        return samples;
+    }
+
+    private static Map<String, Object> codecTiming(RedisSerializer<Object> serializer, Object value, int iterations) {
+        byte[] bytes = serializer.serialize(value);
+        long sink = 0;
+        for (int i = 0; i < iterations; i++) {
+            sink += serializer.deserialize(serializer.serialize(value)) != null ? 1 : 0;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink += serializer.deserialize(serializer.serialize(value)) != null ? 1 : 0;
+        }
+        long nanos = System.nanoTime() - start;
+
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("bytes", bytes.length);
+        timing.put("nsPerOp", sink > 0 ? nanos / iterations : -1);
+        return timing;
+    }
+
+    /**
+     * Clear the cache namespace
+     * @return true if successful
+     */
+    public boolean clearCache() {
+        return clearNamespace(namespace) >= 0;
+    }
+
+    /**
+     * Remove every key of a namespace: SCAN MATCH namespace:* in steps of scan-count,
+     * UNLINK in batches of unlink-batch-size (freed asynchronously by Redis)
+     * @return Number of keys removed, or -1 on error
+     */
+    public long clearNamespace(String targetNamespace) {
+        if (targetNamespace == null || targetNamespace.isBlank() || targetNamespace.contains("*")) {
+            throw new IllegalArgumentException("A concrete namespace is required");
+        }
+        long removed = 0;
+        List<String> batch = new ArrayList<>(unlinkBatchSize);
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(targetNamespace + ":*")
+                .count(scanCount)
+                .build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= unlinkBatchSize) {
+                    removed += unlink(batch);
+                }
+            }
+            removed += unlink(batch);
+            counters(targetNamespace).deletes.add(removed);
+            logger.info("Cleared {} keys from Redis namespace '{}'", removed, targetNamespace);
+            return removed;
+        } catch (Exception e) {
+            logger.error("Error clearing Redis namespace '{}' after {} keys: {}", targetNamespace, removed, e.getMessage());
+            return -1;
+        }
+    }
+
     /**
      * Get cache statistics
-     * @return Map with cache statistics
+     * @return Server-wide numbers from DBSIZE/INFO and per-namespace operation counters
      */
     public Map<String, Object> getCacheStats() {
         Map<String, Object> stats = new HashMap<>();
         try {
-            Set<String> keys = redisTemplate.keys("*");
-            stats.put("totalKeys", keys != null ? keys.size() : 0);
+            Map<String, Object> server = redisTemplate.execute((RedisCallback<Map<String, Object>>) this::serverStats);
+            stats.putAll(server);
             stats.put("status", "connected");
-            stats.put("host", "localhost:6379");
+            stats.put("host", host + ":" + port);
+            stats.put("namespace", namespace);
+
+            Map<String, Object> namespaces = new LinkedHashMap<>();
+            for (Map.Entry<String, NamespaceCounters> entry : counters.entrySet()) {
+                namespaces.put(entry.getKey(), entry.getValue().toMap());
+            }
+            stats.put("namespaces", namespaces);
+            stats.put("knownNamespaces", List.of(namespace, PRINCIPAL_NAMESPACE, RATE_LIMIT_NAMESPACE));
         } catch (Exception e) {
             stats.put("status", "error");
             stats.put("error", e.getMessage());
         }
         return stats;
     }
-}
\ No newline at end of file
+
+    private Map<String, Object> serverStats(RedisConnection connection) {
+        Map<String, Object> server = new LinkedHashMap<>();
+        // DBSIZE is O(1); "totalKeys" keeps the field the stats endpoint always returned
+        server.put("totalKeys", connection.serverCommands().dbSize());
+
+        Properties keyspace = connection.serverCommands().info("keyspace");
+        Map<String, Object> databases = new LinkedHashMap<>();
+        if (keyspace != null) {
+            for (String db : keyspace.stringPropertyNames()) {
+                // db0:keys=12,expires=10,avg_ttl=0
+                if (db.startsWith("db")) {
+                    databases.put(db, parseKeyspaceLine(keyspace.getProperty(db)));
+                }
+            }
+        }
+        server.put("keyspace", databases);
+
+        Properties memory = connection.serverCommands().info("memory");
+        if (memory != null) {
+            server.put("usedMemory", memory.getProperty("used_memory_human"));
+            server.put("maxMemory", memory.getProperty("maxmemory_human"));
+        }
+
+        Properties serverStats = connection.serverCommands().info("stats");
+        if (serverStats != null) {
+            server.put("keyspaceHits", parseLong(serverStats.getProperty("keyspace_hits")));
+            server.put("keyspaceMisses", parseLong(serverStats.getProperty("keyspace_misses")));
+            server.put("expiredKeys", parseLong(serverStats.getProperty("expired_keys")));
+            server.put("evictedKeys", parseLong(serverStats.getProperty("evicted_keys")));
+        }
+        return server;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    private long unlink(List<String> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Long removed = redisTemplate.unlink(batch);
+        batch.clear();
+        return removed != null ? removed : 0;
+    }
+
+    private static Map<String, Object> timing(long nanos, int count) {
+        Map<String, Object> timing = new LinkedHashMap<>();
+        timing.put("totalMs", Math.round(nanos / 1e4) / 100.0);
+        timing.put("perKeyMicros", Math.round(nanos / 10.0 / count) / 100.0);
+        return timing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Double speedup(Map<String, Object> results, String baseline, String candidate) {
+        Map<String, Object> base = (Map<String, Object>) results.get(baseline);
+        Map<String, Object> fast = (Map<String, Object>) results.get(candidate);
+        if (base == null || fast == null) {
+            return null;
+        }
+        double fastMs = (Double) fast.get("totalMs");
+        return fastMs > 0 ? Math.round((Double) base.get("totalMs") / fastMs * 10) / 10.0 : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<String> keySerializer() {
+        return (RedisSerializer<String>) redisTemplate.getKeySerializer();
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<Object> valueSerializer() {
+        return (RedisSerializer<Object>) redisTemplate.getValueSerializer();
+    }
+
+    private String namespacedKey(String key) {
+        return namespace + ":" + key;
+    }
+
+    private NamespaceCounters counters(String counterNamespace) {
+        return counters.computeIfAbsent(counterNamespace, n -> new NamespaceCounters());
+    }
+
+    private static Map<String, Long> parseKeyspaceLine(String line) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        if (line == null) {
+            return values;
+        }
+        for (String pair : line.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                values.put(pair.substring(0, separator), parseLong(pair.substring(separator + 1)));
+            }
+        }
+        return values;
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Operations performed through this service, per namespace
+     */
+    private static class NamespaceCounters {
+        private final LongAdder writes = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder deletes = new LongAdder();
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("writes", writes.sum());
+            map.put("hits", hits.sum());
+            map.put("misses", misses.sum());
+            map.put("deletes", deletes.sum());
+            return map;
+        }
+    }
+}
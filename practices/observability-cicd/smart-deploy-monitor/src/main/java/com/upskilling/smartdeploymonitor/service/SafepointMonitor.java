@@ -0,0 +1,128 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time the JVM spends stopped at safepoints
+ *
+ * Safepoint pauses stop every application thread, GC pauses being only one kind (biased
+ * lock revocation, deoptimization, thread dumps and class redefinition are others).
+ * HotSpot reports them as JFR events, streamed here in process:
+ * - jvm.safepoint.sync: time to reach the safepoint (threads still running to a poll)
+ * - jvm.safepoint.operation{operation}: time spent at the safepoint per VM operation
+ * The sum of both rates is the fraction of wall-clock time the application was stopped.
+ */
+@Service
+public class SafepointMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(SafepointMonitor.class);
+
+    private static final String SYNC_EVENT = "jdk.SafepointStateSynchronization";
+    private static final String OPERATION_EVENT = "jdk.ExecuteVMOperation";
+    private static final int MAX_OPERATIONS = 64;
+
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration threshold;
+
+    private final Timer syncTime;
+    private final Map<String, Timer> operationTimes = new ConcurrentHashMap<>();
+    private volatile RecordingStream stream;
+
+    public SafepointMonitor(MeterRegistry meterRegistry,
+                            @Value("${app.jvm.safepoint.enabled:true}") boolean enabled,
+                            @Value("${app.jvm.safepoint.threshold-ms:0}") long thresholdMs) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(Math.max(0, thresholdMs));
+
+        this.syncTime = Timer.builder("jvm.safepoint.sync")
+                .description("Time for all threads to reach a safepoint")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(SYNC_EVENT).withThreshold(threshold).withoutStackTrace();
+            recording.enable(OPERATION_EVENT).withThreshold(threshold).withoutStackTrace();
+            recording.onEvent(SYNC_EVENT, event -> syncTime.record(event.getDuration()));
+            recording.onEvent(OPERATION_EVENT, this::onOperation);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Safepoint monitor started (threshold {} ms)", threshold.toMillis());
+        } catch (Exception e) {
+            logger.warn("Failed to start the safepoint monitor: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Totals since startup: time to safepoint and time at safepoint per VM operation
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("monitor", stream != null);
+        report.put("count", syncTime.count());
+        report.put("syncMs", (long) syncTime.totalTime(TimeUnit.MILLISECONDS));
+        report.put("syncMaxMs", syncTime.max(TimeUnit.MILLISECONDS));
+        Map<String, Object> operations = new LinkedHashMap<>();
+        operationTimes.forEach((name, timer) -> operations.put(name, Map.of(
+                "count", timer.count(),
+                "totalMs", (long) timer.totalTime(TimeUnit.MILLISECONDS))));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private void onOperation(RecordedEvent event) {
+        // Only operations executed at a safepoint stop the application
+        if (!event.hasField("safepoint") || !event.getBoolean("safepoint")) {
+            return;
+        }
+        operationTimer(operationName(event)).record(event.getDuration());
+    }
+
+    private Timer operationTimer(String operation) {
+        Timer timer = operationTimes.get(operation);
+        if (timer != null) {
+            return timer;
+        }
+        String name = operationTimes.size() < MAX_OPERATIONS ? operation : "other";
+        return operationTimes.computeIfAbsent(name, key -> Timer.builder("jvm.safepoint.operation")
+                .description("Time spent at a safepoint executing a VM operation")
+                .tag("operation", key)
+                .register(meterRegistry));
+    }
+
+    private static String operationName(RecordedEvent event) {
+        String operation = event.getString("operation");
+        return operation != null ? operation : "unknown";
+    }
+}
@@ -0,0 +1,204 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interned frames and stacks of the continuous profiler, under one byte budget
+ *
+ * Each distinct frame name is stored once and each distinct stack once, as an array of
+ * frame ids, so a stack seen in every minute of the window costs one int per frame plus
+ * a per-minute counter instead of a copy of its text. The profiler's per-minute counters
+ * reserve from the same budget, so the whole in-memory profile is bounded in bytes.
+ * Sizes are estimates of the retained heap (entries, keys and arrays), not exact.
+ *
+ * Writes (intern, sweep, reserve) come from the JFR stream's single dispatch thread;
+ * lookups may run concurrently from request threads.
+ */
+final class StackTable {
+
+    // Estimated heap per entry: map nodes, boxed keys, object headers
+    static final int FRAME_OVERHEAD = 136;
+    static final int STACK_OVERHEAD = 144;
+
+    private final long maxBytes;
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    private final Map<String, Integer> frameIds = new ConcurrentHashMap<>();
+    private final Map<Integer, String> frameNames = new ConcurrentHashMap<>();
+    private final Map<Key, Stack> stacks = new ConcurrentHashMap<>();
+    private final Map<Integer, Stack> stacksById = new ConcurrentHashMap<>();
+    private int nextFrameId;
+    private int nextStackId;
+
+    StackTable(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Id of the stack made of the given frame names (root first), or -1 if the budget is spent
+     * @param epochMinute Minute the stack is being counted in (kept for {@link #sweep})
+     */
+    int intern(String[] frames, long epochMinute) {
+        int[] ids = new int[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            ids[i] = frame(frames[i]);
+            if (ids[i] < 0) {
+                return -1;
+            }
+        }
+        Key key = new Key(ids);
+        Stack stack = stacks.get(key);
+        if (stack == null) {
+            if (!reserve(STACK_OVERHEAD + 4L * ids.length)) {
+                return -1;
+            }
+            stack = new Stack(nextStackId++, ids);
+            stacks.put(key, stack);
+            stacksById.put(stack.id, stack);
+        }
+        stack.lastMinute = Math.max(stack.lastMinute, epochMinute);
+        return stack.id;
+    }
+
+    /**
+     * Drops stacks last counted before the given minute, then frames no stack refers to
+     * @return Bytes released
+     */
+    long sweep(long oldestLiveMinute) {
+        long released = 0;
+        for (Stack stack : stacks.values()) {
+            if (stack.lastMinute < oldestLiveMinute) {
+                stacks.remove(new Key(stack.frames));
+                stacksById.remove(stack.id);
+                released += STACK_OVERHEAD + 4L * stack.frames.length;
+            }
+        }
+        Set<Integer> referenced = new HashSet<>();
+        for (Stack stack : stacks.values()) {
+            for (int frame : stack.frames) {
+                referenced.add(frame);
+            }
+        }
+        for (Map.Entry<Integer, String> frame : frameNames.entrySet()) {
+            if (!referenced.contains(frame.getKey())) {
+                frameNames.remove(frame.getKey());
+                frameIds.remove(frame.getValue());
+                released += frameBytes(frame.getValue());
+            }
+        }
+        release(released);
+        return released;
+    }
+
+    /**
+     * Claims budget for memory held outside the table (the per-minute counters)
+     */
+    boolean reserve(long bytes) {
+        if (usedBytes.get() + bytes > maxBytes) {
+            return false;
+        }
+        usedBytes.addAndGet(bytes);
+        return true;
+    }
+
+    void release(long bytes) {
+        usedBytes.addAndGet(-bytes);
+    }
+
+    /**
+     * Frame ids of a stack, root first, or null once it has been swept
+     */
+    int[] frames(int stackId) {
+        Stack stack = stacksById.get(stackId);
+        return stack != null ? stack.frames : null;
+    }
+
+    String frameName(int frameId) {
+        String name = frameNames.get(frameId);
+        return name != null ? name : "[unknown]";
+    }
+
+    /**
+     * "root;...;leaf", or null once the stack has been swept
+     */
+    String render(int stackId) {
+        int[] frames = frames(stackId);
+        if (frames == null) {
+            return null;
+        }
+        StringBuilder out = new StringBuilder(frames.length * 48);
+        for (int frame : frames) {
+            if (out.length() > 0) {
+                out.append(';');
+            }
+            out.append(frameName(frame));
+        }
+        return out.toString();
+    }
+
+    long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    int getStackCount() {
+        return stacks.size();
+    }
+
+    int getFrameCount() {
+        return frameNames.size();
+    }
+
+    private int frame(String name) {
+        Integer id = frameIds.get(name);
+        if (id != null) {
+            return id;
+        }
+        if (!reserve(frameBytes(name))) {
+            return -1;
+        }
+        int fresh = nextFrameId++;
+        frameNames.put(fresh, name);
+        frameIds.put(name, fresh);
+        return fresh;
+    }
+
+    private static long frameBytes(String name) {
+        return FRAME_OVERHEAD + name.length();
+    }
+
+    private static final class Stack {
+        private final int id;
+        private final int[] frames;
+        private volatile long lastMinute;
+
+        Stack(int id, int[] frames) {
+            this.id = id;
+            this.frames = frames;
+        }
+    }
+
+    private static final class Key {
+        private final int[] frames;
+        private final int hash;
+
+        Key(int[] frames) {
+            this.frames = frames;
+            this.hash = Arrays.hashCode(frames);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && Arrays.equals(frames, key.frames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
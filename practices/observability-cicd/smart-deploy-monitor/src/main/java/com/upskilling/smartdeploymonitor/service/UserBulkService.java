@@ -0,0 +1,587 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserOutboxEntry;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.repository.UserPageQuery;
+import com.upskilling.smartdeploymonitor.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Bulk user import and export
+ *
+ * Import reads NDJSON or CSV line by line, so the request body is never held in memory.
+ * Rows are handled in chunks: each chunk is validated, deduplicated against itself and
+ * against the database with one IN query, its passwords are hashed on a bounded pool
+ * (BCrypt dominates the cost of an import) and it is inserted in one transaction. With
+ * hibernate.jdbc.batch_size and order_inserts the inserts go out as JDBC batches; the
+ * persistence context is cleared after each chunk so memory stays flat. A bad row never
+ * fails the import: it is reported with its line number and the rest carries on.
+ *
+ * Export streams users ordered by (createdAt, id) through keyset pages, each page read
+ * in its own short read-only transaction. Password hashes are never exported.
+ */
+@Service
+public class UserBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserBulkService.class);
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+\\.[^@\\s]+$");
+    private static final int MIN_PASSWORD_LENGTH = 6;
+    private static final List<String> CSV_COLUMNS = List.of("email", "password", "firstName", "lastName", "role");
+    private static final String CSV_EXPORT_HEADER = "id,email,firstName,lastName,role,isActive,createdAt,updatedAt";
+
+    public enum Format {
+        NDJSON,
+        CSV;
+
+        /**
+         * Resolve a format from an explicit parameter or, failing that, a content type
+         */
+        public static Format resolve(String format, String contentType) {
+            String value = format != null && !format.isBlank() ? format : contentType;
+            if (value != null && value.toLowerCase(Locale.ROOT).contains("csv")) {
+                return CSV;
+            }
+            return NDJSON;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final UserIndexSyncService userIndexSyncService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ExecutorService hashPool;
+
+    private final int chunkSize;
+    private final int exportPageSize;
+    private final int maxReportedErrors;
+
+    private final Counter importedRows;
+    private final Counter duplicateRows;
+    private final Counter failedRows;
+    private final Counter exportedRows;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserBulkService(UserRepository userRepository,
+                           PasswordEncoder passwordEncoder,
+                           UserIndexSyncService userIndexSyncService,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.users.import.chunk-size:500}") int chunkSize,
+                           @Value("${app.users.import.hash-threads:0}") int hashThreads,
+                           @Value("${app.users.import.max-reported-errors:1000}") int maxReportedErrors,
+                           @Value("${app.users.export.page-size:1000}") int exportPageSize) {
+        this.userRepository = userRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.userIndexSyncService = userIndexSyncService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.chunkSize = Math.max(1, chunkSize);
+        this.exportPageSize = Math.max(1, exportPageSize);
+        this.maxReportedErrors = Math.max(0, maxReportedErrors);
+
+        // Hashing is CPU bound: default to one thread per core, leaving one for request handling
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.importedRows = Counter.builder("users.import.rows")
+                .tag("result", "imported")
+                .description("Rows processed by bulk user imports")
+                .register(meterRegistry);
+        this.duplicateRows = Counter.builder("users.import.rows")
+                .tag("result", "duplicate")
+                .description("Rows processed by bulk user imports")
+                .register(meterRegistry);
+        this.failedRows = Counter.builder("users.import.rows")
+                .tag("result", "failed")
+                .description("Rows processed by bulk user imports")
+                .register(meterRegistry);
+        this.exportedRows = Counter.builder("users.export.rows")
+                .description("Users written by streaming exports")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashPool.shutdownNow();
+    }
+
+    /**
+     * Import users from an NDJSON or CSV stream
+     *
+     * CSV input needs a header row naming the columns (email, password, firstName,
+     * lastName and optionally role, in any order). NDJSON rows are objects with the
+     * same fields. Blank lines are skipped.
+     */
+    public ImportResult importUsers(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportResult result = new ImportResult(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        Map<String, Integer> csvColumns = null;
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                continue;
+            }
+
+            result.rows++;
+            try {
+                chunk.add(format == Format.CSV ? parseCsvRow(line, lineNumber, csvColumns) : parseJsonRow(line, lineNumber));
+            } catch (IllegalArgumentException e) {
+                result.fail(lineNumber, null, e.getMessage());
+                failedRows.increment();
+            }
+            if (chunk.size() >= chunkSize) {
+                processChunk(chunk, result);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, result);
+        }
+
+        result.durationMs = (System.nanoTime() - start) / 1_000_000;
+        logger.info("User import finished: {} rows, {} imported, {} duplicates, {} failed in {} ms",
+                result.rows, result.imported, result.duplicates, result.failed, result.durationMs);
+        return result;
+    }
+
+    /**
+     * Stream every user to the output, one keyset page at a time
+     * @return Number of users written
+     */
+    public long exportUsers(OutputStream output, Format format) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writer.write(CSV_EXPORT_HEADER);
+            writer.write('\n');
+        }
+
+        UserPageQuery query = new UserPageQuery();
+        query.setSortField(UserPageQuery.SortField.CREATED_AT);
+        query.setSortDirection(UserPageQuery.SortDirection.ASC);
+        long written = 0;
+        while (true) {
+            List<User> page = readOnlyTransactionTemplate.execute(status -> userRepository.findKeysetPage(query, exportPageSize));
+            if (page == null || page.isEmpty()) {
+                break;
+            }
+            for (User user : page) {
+                writer.write(format == Format.CSV ? toCsv(user) : objectMapper.writeValueAsString(toExportMap(user)));
+                writer.write('\n');
+            }
+            // Hand each page to the client before reading the next one
+            writer.flush();
+            written += page.size();
+            exportedRows.increment(page.size());
+            if (page.size() < exportPageSize) {
+                break;
+            }
+            query.after(query.encodeCursor(page.get(page.size() - 1)));
+        }
+        writer.flush();
+        logger.info("User export finished: {} users", written);
+        return written;
+    }
+
+    private void processChunk(List<ImportRow> chunk, ImportResult result) {
+        // Duplicates inside the chunk (earlier chunks are already in the database)
+        Set<String> seen = new HashSet<>();
+        List<ImportRow> candidates = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            if (seen.add(row.email)) {
+                candidates.add(row);
+            } else {
+                duplicate(row, result);
+            }
+        }
+
+        candidates = withoutExisting(candidates, result);
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<User> users = hashPasswords(candidates, result);
+        if (users.isEmpty()) {
+            return;
+        }
+
+        try {
+            insert(users);
+            result.imported += users.size();
+            importedRows.increment(users.size());
+        } catch (DataIntegrityViolationException e) {
+            // Another writer inserted one of these emails since the IN query: recheck and retry once
+            logger.debug("Import chunk hit a constraint violation, retrying without existing emails: {}", e.getMessage());
+            retryChunk(candidates, users, result);
+        }
+    }
+
+    private void retryChunk(List<ImportRow> candidates, List<User> users, ImportResult result) {
+        Set<String> remaining = new HashSet<>();
+        for (ImportRow row : withoutExisting(candidates, result)) {
+            remaining.add(row.email);
+        }
+        List<User> retry = new ArrayList<>(remaining.size());
+        for (User user : users) {
+            if (remaining.contains(user.getEmail())) {
+                user.setId(null);
+                retry.add(user);
+            }
+        }
+        if (retry.isEmpty()) {
+            return;
+        }
+        try {
+            insert(retry);
+            result.imported += retry.size();
+            importedRows.increment(retry.size());
+        } catch (RuntimeException e) {
+            for (ImportRow row : candidates) {
+                if (remaining.contains(row.email)) {
+                    result.fail(row.lineNumber, row.email, "Insert failed: " + rootMessage(e));
+                    failedRows.increment();
+                }
+            }
+        }
+    }
+
+    private List<ImportRow> withoutExisting(List<ImportRow> rows, ImportResult result) {
+        List<String> emails = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            emails.add(row.email);
+        }
+        Set<String> existing = readOnlyTransactionTemplate.execute(status -> new HashSet<>(userRepository.findExistingEmails(emails)));
+        if (existing == null || existing.isEmpty()) {
+            return rows;
+        }
+        List<ImportRow> fresh = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            if (existing.contains(row.email)) {
+                duplicate(row, result);
+            } else {
+                fresh.add(row);
+            }
+        }
+        return fresh;
+    }
+
+    private List<User> hashPasswords(List<ImportRow> rows, ImportResult result) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>(rows.size());
+        for (ImportRow row : rows) {
+            hashes.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.password), hashPool));
+        }
+
+        List<User> users = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            ImportRow row = rows.get(i);
+            try {
+                User user = new User(row.email, hashes.get(i).join(), row.firstName, row.lastName);
+                user.setRole(row.role);
+                users.add(user);
+            } catch (RuntimeException e) {
+                result.fail(row.lineNumber, row.email, "Password hashing failed: " + rootMessage(e));
+                failedRows.increment();
+            }
+        }
+        return users;
+    }
+
+    private void insert(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            userRepository.saveAll(users);
+            for (User user : users) {
+                userIndexSyncService.record(user.getId(), UserOutboxEntry.Operation.UPSERT);
+            }
+            // Send the batched inserts now (through the repository, so violations are translated)
+            // and drop the managed entities before the next chunk
+            userRepository.flush();
+            entityManager.clear();
+        });
+    }
+
+    private void duplicate(ImportRow row, ImportResult result) {
+        result.duplicates++;
+        duplicateRows.increment();
+        result.report(row.lineNumber, row.email, "Duplicate email");
+    }
+
+    private ImportRow parseJsonRow(String line, int lineNumber) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed JSON");
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Expected a JSON object");
+        }
+        return validate(lineNumber, text(node, "email"), text(node, "password"),
+                text(node, "firstName"), text(node, "lastName"), text(node, "role"));
+    }
+
+    private ImportRow parseCsvRow(String line, int lineNumber, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        return validate(lineNumber, column(fields, columns, "email"), column(fields, columns, "password"),
+                column(fields, columns, "firstName"), column(fields, columns, "lastName"), column(fields, columns, "role"));
+    }
+
+    private Map<String, Integer> parseCsvHeader(String line) {
+        Map<String, Integer> columns = new LinkedHashMap<>();
+        List<String> names = splitCsv(line);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim();
+            for (String known : CSV_COLUMNS) {
+                if (known.equalsIgnoreCase(name) || known.equalsIgnoreCase(name.replace("_", ""))) {
+                    columns.put(known, i);
+                }
+            }
+        }
+        if (!columns.containsKey("email") || !columns.containsKey("password")) {
+            throw new IllegalArgumentException("CSV header must contain email and password columns");
+        }
+        return columns;
+    }
+
+    private ImportRow validate(int lineNumber, String email, String password, String firstName, String lastName, String role) {
+        if (email == null || email.isBlank()) {
+            throw new IllegalArgumentException("Email is required");
+        }
+        email = email.trim();
+        if (email.length() > 255 || !EMAIL.matcher(email).matches()) {
+            throw new IllegalArgumentException("Email must be valid");
+        }
+        if (password == null || password.length() < MIN_PASSWORD_LENGTH) {
+            throw new IllegalArgumentException("Password must be at least " + MIN_PASSWORD_LENGTH + " characters");
+        }
+        if ((firstName != null && firstName.length() > 100) || (lastName != null && lastName.length() > 100)) {
+            throw new IllegalArgumentException("Names must be at most 100 characters");
+        }
+        UserRole userRole = UserRole.USER;
+        if (role != null && !role.isBlank()) {
+            try {
+                userRole = UserRole.valueOf(role.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown role: " + role);
+            }
+        }
+        return new ImportRow(lineNumber, email, password, firstName, lastName, userRole);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static String column(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= fields.size() ? null : fields.get(index);
+    }
+
+    /**
+     * Split one CSV record (RFC 4180 quoting, no embedded line breaks)
+     */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static String toCsv(User user) {
+        return String.join(",",
+                String.valueOf(user.getId()),
+                csvField(user.getEmail()),
+                csvField(user.getFirstName()),
+                csvField(user.getLastName()),
+                // name(), not toString() (the display name), so the importer can read it back
+                user.getRole() != null ? user.getRole().name() : "",
+                String.valueOf(user.getIsActive()),
+                user.getCreatedAt() != null ? user.getCreatedAt().toString() : "",
+                user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : "");
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static Map<String, Object> toExportMap(User user) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", user.getId());
+        row.put("email", user.getEmail());
+        row.put("firstName", user.getFirstName());
+        row.put("lastName", user.getLastName());
+        row.put("role", user.getRole());
+        row.put("isActive", user.getIsActive());
+        row.put("createdAt", user.getCreatedAt() != null ? user.getCreatedAt().toString() : null);
+        row.put("updatedAt", user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : null);
+        return row;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+
+    private static final class ImportRow {
+        final int lineNumber;
+        final String email;
+        final String password;
+        final String firstName;
+        final String lastName;
+        final UserRole role;
+
+        ImportRow(int lineNumber, String email, String password, String firstName, String lastName, UserRole role) {
+            this.lineNumber = lineNumber;
+            this.email = email;
+            this.password = password;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.role = role;
+        }
+    }
+
+    /**
+     * Outcome of an import; errors are capped so a bad file can't blow up the response
+     */
+    public static class ImportResult {
+        private long rows;
+        private long imported;
+        private long duplicates;
+        private long failed;
+        private long durationMs;
+        private final List<RowError> errors = new ArrayList<>();
+        private final int maxErrors;
+
+        ImportResult(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        void fail(int lineNumber, String email, String message) {
+            failed++;
+            report(lineNumber, email, message);
+        }
+
+        void report(int lineNumber, String email, String message) {
+            if (errors.size() < maxErrors) {
+                errors.add(new RowError(lineNumber, email, message));
+            }
+        }
+
+        public long getRows() { return rows; }
+        public long getImported() { return imported; }
+        public long getDuplicates() { return duplicates; }
+        public long getFailed() { return failed; }
+        public long getDurationMs() { return durationMs; }
+        public List<RowError> getErrors() { return errors; }
+        public boolean isErrorsTruncated() { return duplicates + failed > errors.size(); }
+    }
+
+    public static class RowError {
+        private final int line;
+        private final String email;
+        private final String message;
+
+        public RowError(int line, String email, String message) {
+            this.line = line;
+            this.email = email;
+            this.message = message;
+        }
+
+        public int getLine() { return line; }
+        public String getEmail() { return email; }
+        public String getMessage() { return message; }
+    }
+}
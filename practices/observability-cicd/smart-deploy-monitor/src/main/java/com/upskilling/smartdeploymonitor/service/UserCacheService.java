@@ -0,0 +1,216 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.upskilling.smartdeploymonitor.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Two-tier principal cache used by {@link UserService#loadUserByUsername(String)}
+ *
+ * L1 is a bounded in-process Caffeine cache (size + TTL eviction), L2 is Redis
+ * through the template from RedisConfig. A miss on both tiers falls through to
+ * the database loader and populates both tiers. L1 TTL is kept short because
+ * other instances only see an invalidation through L2.
+ */
+@Service
+public class UserCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserCacheService.class);
+
+    private static final String L2_KEY_PREFIX = "user:principal:v2:";
+
+    private final Cache<String, CachedUser> localCache;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration l2Ttl;
+    private final boolean l2Enabled;
+
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter l2Errors;
+    private final Counter invalidations;
+
+    @Autowired
+    public UserCacheService(MeterRegistry meterRegistry,
+                            ObjectProvider<RedisTemplate<String, Object>> redisTemplateProvider,
+                            @Value("${app.cache.user.l1.max-size:10000}") long l1MaxSize,
+                            @Value("${app.cache.user.l1.ttl-seconds:30}") long l1TtlSeconds,
+                            @Value("${app.cache.user.l2.ttl-seconds:300}") long l2TtlSeconds,
+                            @Value("${app.features.caching:true}") boolean cachingEnabled) {
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(l1MaxSize)
+                .expireAfterWrite(Duration.ofSeconds(l1TtlSeconds))
+                .recordStats()
+                .build();
+        this.redisTemplate = redisTemplateProvider.getIfAvailable();
+        this.l2Ttl = Duration.ofSeconds(l2TtlSeconds);
+        this.l2Enabled = cachingEnabled && this.redisTemplate != null;
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size for the L1 tier
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "users.principal.l1");
+
+        this.l2Hits = Counter.builder("users.principal.l2.requests")
+                .tag("result", "hit")
+                .description("Principal lookups served from Redis")
+                .register(meterRegistry);
+        this.l2Misses = Counter.builder("users.principal.l2.requests")
+                .tag("result", "miss")
+                .description("Principal lookups that fell through to the database")
+                .register(meterRegistry);
+        this.l2Errors = Counter.builder("users.principal.l2.errors")
+                .description("Redis failures while reading or writing cached principals")
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("users.principal.invalidations")
+                .description("Principal cache invalidations triggered by user changes")
+                .register(meterRegistry);
+
+        logger.info("User principal cache initialized - L1 max size: {}, L1 TTL: {}s, L2 enabled: {}",
+                l1MaxSize, l1TtlSeconds, l2Enabled);
+    }
+
+    /**
+     * Get a cached principal, loading it through L2 and then the database on a miss
+     * @param email User email (principal name)
+     * @param loader Database loader used when both tiers miss
+     * @return Cached principal or empty if the user does not exist
+     */
+    public Optional<CachedUser> get(String email, Function<String, Optional<User>> loader) {
+        CachedUser cached = localCache.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        cached = readFromRedis(email);
+        if (cached == null) {
+            Optional<User> user = loader.apply(email);
+            if (user.isEmpty()) {
+                return Optional.empty();
+            }
+            cached = CachedUser.from(user.get());
+            writeToRedis(email, cached);
+        }
+
+        localCache.put(email, cached);
+        return Optional.of(cached);
+    }
+
+    /**
+     * Invalidate a principal in both tiers
+     * Runs immediately and again after the surrounding transaction commits, so a
+     * concurrent lookup cannot repopulate the cache with the pre-commit row.
+     * @param email User email (principal name)
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+
+        evictNow(email);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(email);
+                }
+            });
+        }
+    }
+
+    private void evictNow(String email) {
+        localCache.invalidate(email);
+        invalidations.increment();
+
+        if (l2Enabled) {
+            try {
+                redisTemplate.delete(L2_KEY_PREFIX + email);
+            } catch (Exception e) {
+                l2Errors.increment();
+                logger.warn("Failed to evict cached principal from Redis: {}", e.getMessage());
+            }
+        }
+    }
+
+    private CachedUser readFromRedis(String email) {
+        if (!l2Enabled) {
+            return null;
+        }
+
+        try {
+            Object value = redisTemplate.opsForValue().get(L2_KEY_PREFIX + email);
+            if (value instanceof CachedUser cachedUser) {
+                l2Hits.increment();
+                return cachedUser;
+            }
+        } catch (Exception e) {
+            l2Errors.increment();
+            logger.warn("Failed to read cached principal from Redis: {}", e.getMessage());
+        }
+
+        l2Misses.increment();
+        return null;
+    }
+
+    private void writeToRedis(String email, CachedUser cachedUser) {
+        if (!l2Enabled) {
+            return;
+        }
+
+        try {
+            redisTemplate.opsForValue().set(L2_KEY_PREFIX + email, cachedUser, l2Ttl);
+        } catch (Exception e) {
+            l2Errors.increment();
+            logger.warn("Failed to write cached principal to Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Minimal principal snapshot stored in both cache tiers
+     * Holds only what is needed to rebuild UserDetails. Credentials are deliberately
+     * left out: passwords are verified against the entity at login (AuthService), never
+     * through this cache, so no hash is kept in memory or sent to the shared Redis.
+     */
+    public static class CachedUser {
+        private String email;
+        private String role;
+        private boolean active;
+
+        public CachedUser() {}
+
+        public CachedUser(String email, String role, boolean active) {
+            this.email = email;
+            this.role = role;
+            this.active = active;
+        }
+
+        public static CachedUser from(User user) {
+            return new CachedUser(
+                    user.getEmail(),
+                    user.getRole().name(),
+                    Boolean.TRUE.equals(user.getIsActive()));
+        }
+
+        // Getters and setters
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+        public String getRole() { return role; }
+        public void setRole(String role) { this.role = role; }
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+    }
+}
@@ -0,0 +1,229 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.config.BinaryRedisSerializer;
+import com.upskilling.smartdeploymonitor.dto.UserSummary;
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.event.UserChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-process fan-out of committed user lifecycle events (GraphQL subscriptions)
+ *
+ * Every committed {@link UserChangedEvent} (from UserService, the GraphQL mutations or
+ * any other JPA write) is handed to each subscriber's own bounded buffer, so the
+ * committing thread never waits on a client. Delivery runs on a separate scheduler.
+ * When a subscriber falls more than buffer-size events behind, the overflow policy
+ * either drops its oldest undelivered events or ends its subscription with an error.
+ *
+ * With app.graphql.subscriptions.redis-bridge on, events are also published to a Redis
+ * channel and events from other instances are delivered to local subscribers, so a
+ * subscription sees changes made anywhere in the cluster. Only a {@link UserSummary}
+ * goes on the channel, never the entity and its password hash.
+ */
+@Service
+public class UserEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserEventBus.class);
+
+    // Events requested ahead by the delivery scheduler; the rest wait in the subscriber's buffer
+    private static final int DELIVERY_PREFETCH = 16;
+
+    public enum OverflowPolicy {
+        DROP_OLDEST,
+        DISCONNECT
+    }
+
+    private final Set<Consumer<UserChangedEvent>> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+
+    private final boolean redisBridgeEnabled;
+    private final String redisChannel;
+    private final ObjectProvider<RedisConnectionFactory> connectionFactoryProvider;
+    private final ObjectProvider<RedisTemplate<String, Object>> redisTemplateProvider;
+    private final ObjectProvider<BinaryRedisSerializer> serializerProvider;
+    private final String instanceId = UUID.randomUUID().toString();
+    private volatile RedisMessageListenerContainer listenerContainer;
+
+    private final Counter published;
+    private final Counter received;
+    private final Counter dropped;
+    private final Counter bridgeErrors;
+
+    public UserEventBus(MeterRegistry meterRegistry,
+                        ObjectProvider<RedisConnectionFactory> connectionFactoryProvider,
+                        ObjectProvider<RedisTemplate<String, Object>> redisTemplateProvider,
+                        ObjectProvider<BinaryRedisSerializer> serializerProvider,
+                        @Value("${app.graphql.subscriptions.buffer-size:256}") int bufferSize,
+                        @Value("${app.graphql.subscriptions.overflow:drop-oldest}") String overflowPolicy,
+                        @Value("${app.graphql.subscriptions.redis-bridge:false}") boolean redisBridgeEnabled,
+                        @Value("${app.graphql.subscriptions.redis-channel:events:users}") String redisChannel) {
+        this.connectionFactoryProvider = connectionFactoryProvider;
+        this.redisTemplateProvider = redisTemplateProvider;
+        this.serializerProvider = serializerProvider;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().replace('-', '_').toUpperCase());
+        this.redisBridgeEnabled = redisBridgeEnabled;
+        this.redisChannel = redisChannel;
+
+        Gauge.builder("users.events.subscribers", subscribers, Set::size)
+                .description("Active user event subscriptions on this instance")
+                .register(meterRegistry);
+        this.published = Counter.builder("users.events")
+                .tag("source", "local")
+                .description("User events fanned out to subscribers")
+                .register(meterRegistry);
+        this.received = Counter.builder("users.events")
+                .tag("source", "redis")
+                .description("User events fanned out to subscribers")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("users.events.overflow")
+                .tag("policy", this.overflowPolicy.name().toLowerCase())
+                .description("Events dropped (or subscriptions ended) because a subscriber fell behind")
+                .register(meterRegistry);
+        this.bridgeErrors = Counter.builder("users.events.bridge.errors")
+                .description("Failures publishing or decoding user events on Redis")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBridge() {
+        if (!redisBridgeEnabled) {
+            return;
+        }
+        RedisConnectionFactory connectionFactory = connectionFactoryProvider.getIfAvailable();
+        if (connectionFactory == null) {
+            logger.warn("User event Redis bridge is enabled but no Redis connection is configured");
+            return;
+        }
+        try {
+            RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(connectionFactory);
+            container.addMessageListener((message, pattern) -> onRedisMessage(message.getBody()),
+                    new ChannelTopic(redisChannel));
+            container.afterPropertiesSet();
+            container.start();
+            listenerContainer = container;
+            logger.info("User event Redis bridge listening on channel {}", redisChannel);
+        } catch (Exception e) {
+            logger.warn("Failed to start the user event Redis bridge: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stopBridge() {
+        RedisMessageListenerContainer container = listenerContainer;
+        if (container != null) {
+            try {
+                container.destroy();
+            } catch (Exception e) {
+                logger.debug("Error stopping the user event Redis bridge: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Events of one type, as a stream with a bounded per-subscriber buffer
+     */
+    public Flux<UserChangedEvent> subscribe(UserChangedEvent.Type type) {
+        Flux<UserChangedEvent> source = Flux.create(sink -> {
+            Consumer<UserChangedEvent> subscriber = event -> {
+                if (event.getType() == type) {
+                    sink.next(event);
+                }
+            };
+            subscribers.add(subscriber);
+            sink.onDispose(() -> subscribers.remove(subscriber));
+        }, FluxSink.OverflowStrategy.IGNORE);
+
+        Flux<UserChangedEvent> bounded = overflowPolicy == OverflowPolicy.DROP_OLDEST
+                ? source.onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.DROP_OLDEST)
+                : source.onBackpressureBuffer(bufferSize, event -> dropped.increment(), BufferOverflowStrategy.ERROR);
+        return bounded.publishOn(Schedulers.boundedElastic(), DELIVERY_PREFETCH);
+    }
+
+    /**
+     * Fan out a committed change locally and, with the bridge on, to other instances
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        deliver(event);
+        published.increment();
+
+        if (listenerContainer != null) {
+            try {
+                redisTemplateProvider.getObject().convertAndSend(redisChannel,
+                        List.of(instanceId, event.getType().name(), UserSummary.from(event.getUser())));
+            } catch (Exception e) {
+                bridgeErrors.increment();
+                logger.warn("Failed to publish user event to Redis: {}", e.getMessage());
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    private void onRedisMessage(byte[] body) {
+        try {
+            if (!(serializerProvider.getObject().deserialize(body) instanceof List<?> message)
+                    || message.size() != 3 || instanceId.equals(message.get(0))) {
+                return;
+            }
+            UserChangedEvent.Type type = UserChangedEvent.Type.valueOf((String) message.get(1));
+            deliver(new UserChangedEvent(type, toUser((UserSummary) message.get(2))));
+            received.increment();
+        } catch (Exception e) {
+            bridgeErrors.increment();
+            logger.warn("Failed to decode user event from Redis: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Detached, credential-free entity for local subscribers (they resolve the GraphQL User type)
+     */
+    private static User toUser(UserSummary summary) {
+        User user = new User();
+        user.setId(summary.getId());
+        user.setEmail(summary.getEmail());
+        user.setFirstName(summary.getFirstName());
+        user.setLastName(summary.getLastName());
+        user.setRole(summary.getRole());
+        user.setIsActive(summary.getIsActive());
+        user.setCreatedAt(summary.getCreatedAt());
+        user.setUpdatedAt(summary.getUpdatedAt());
+        return user;
+    }
+
+    private void deliver(UserChangedEvent event) {
+        for (Consumer<UserChangedEvent> subscriber : subscribers) {
+            subscriber.accept(event);
+        }
+    }
+}
@@ -0,0 +1,432 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserOutboxEntry;
+import com.upskilling.smartdeploymonitor.repository.UserOutboxRepository;
+import com.upskilling.smartdeploymonitor.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the Elasticsearch users index in sync through a transactional outbox
+ *
+ * User mutations call {@link #record} inside their own transaction, so an outbox row
+ * exists exactly when the change committed. A scheduled relay claims due rows
+ * (FOR UPDATE SKIP LOCKED, safe with several instances), collapses them per user and
+ * ships them in one _bulk request. Documents use the user id as _id and the outbox id
+ * as an external version, so retries and replays are idempotent and an older change
+ * can never overwrite a newer one. Failed rows are retried with exponential backoff
+ * and parked as FAILED after max-attempts.
+ *
+ * A full reindex streams the users table through a server-side cursor instead of
+ * loading it with findAll().
+ */
+@Service
+public class UserIndexSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserIndexSyncService.class);
+
+    private static final Duration BASE_BACKOFF = Duration.ofSeconds(1);
+    private static final Duration MAX_BACKOFF = Duration.ofMinutes(5);
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final UserOutboxRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final ObjectProvider<ElasticsearchService> elasticsearchServiceProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final boolean enabled;
+    private final String indexName;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    private final AtomicBoolean reindexing = new AtomicBoolean();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Counter indexed;
+    private final Counter deleted;
+    private final Counter failed;
+    private final Counter dead;
+    private final Counter reindexed;
+    private final Timer bulkLatency;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public UserIndexSyncService(UserOutboxRepository outboxRepository,
+                                UserRepository userRepository,
+                                ObjectProvider<ElasticsearchService> elasticsearchServiceProvider,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${app.search.elasticsearch.enabled:${app.features.search:false}}") boolean enabled,
+                                @Value("${app.search.elasticsearch.index:users}") String indexName,
+                                @Value("${app.search.elasticsearch.batch-size:500}") int batchSize,
+                                @Value("${app.search.elasticsearch.max-attempts:10}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.elasticsearchServiceProvider = elasticsearchServiceProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.enabled = enabled;
+        this.indexName = indexName;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+
+        // Throughput (docs/s) is the rate of these counters
+        this.indexed = Counter.builder("users.index.documents")
+                .description("User documents written to Elasticsearch")
+                .tag("result", "indexed")
+                .register(meterRegistry);
+        this.deleted = Counter.builder("users.index.documents")
+                .description("User documents written to Elasticsearch")
+                .tag("result", "deleted")
+                .register(meterRegistry);
+        this.failed = Counter.builder("users.index.documents")
+                .description("User documents written to Elasticsearch")
+                .tag("result", "failed")
+                .register(meterRegistry);
+        this.dead = Counter.builder("users.index.dead")
+                .description("Outbox entries given up on after max attempts")
+                .register(meterRegistry);
+        this.reindexed = Counter.builder("users.reindex.documents")
+                .description("User documents written by full reindexes")
+                .register(meterRegistry);
+        this.bulkLatency = Timer.builder("users.index.bulk")
+                .description("Elasticsearch _bulk request latency")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("users.outbox.pending", pending, AtomicLong::get)
+                .description("Outbox entries waiting to be relayed")
+                .register(meterRegistry);
+        Gauge.builder("users.outbox.lag.seconds", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending outbox entry")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            elasticsearchServiceProvider.getObject().ensureIndex(indexName, indexMappings());
+            logger.info("Elasticsearch user index '{}' ready", indexName);
+        } catch (Exception e) {
+            logger.warn("Could not prepare Elasticsearch user index '{}': {}", indexName, e.getMessage());
+        }
+    }
+
+    /**
+     * Record a user change in the caller's transaction (no-op when sync is disabled)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(UUID userId, UserOutboxEntry.Operation operation) {
+        if (enabled) {
+            outboxRepository.save(new UserOutboxEntry(userId, operation));
+        }
+    }
+
+    /**
+     * Drain due outbox entries, one claimed batch per transaction
+     */
+    @Scheduled(fixedDelayString = "${app.search.elasticsearch.relay-interval-ms:1000}")
+    public void relay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int claimed;
+            do {
+                claimed = transactionTemplate.execute(status -> relayBatch());
+            } while (claimed == batchSize);
+        } catch (Exception e) {
+            logger.warn("User index relay failed: {}", e.getMessage());
+        } finally {
+            refreshBacklog();
+        }
+    }
+
+    private int relayBatch() {
+        List<UserOutboxEntry> batch = outboxRepository.claimBatch(LocalDateTime.now(), batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        // Only the newest entry per user needs sending; older ones are settled with it
+        Map<UUID, List<UserOutboxEntry>> entriesByUser = new LinkedHashMap<>();
+        for (UserOutboxEntry entry : batch) {
+            entriesByUser.computeIfAbsent(entry.getUserId(), id -> new ArrayList<>()).add(entry);
+        }
+
+        Map<UUID, User> users = new HashMap<>();
+        for (User user : userRepository.findAllById(entriesByUser.keySet())) {
+            users.put(user.getId(), user);
+        }
+
+        List<ElasticsearchService.BulkOperation> operations = new ArrayList<>(entriesByUser.size());
+        List<List<UserOutboxEntry>> settles = new ArrayList<>(entriesByUser.size());
+        for (Map.Entry<UUID, List<UserOutboxEntry>> group : entriesByUser.entrySet()) {
+            UserOutboxEntry latest = group.getValue().get(group.getValue().size() - 1);
+            User user = users.get(group.getKey());
+            String id = group.getKey().toString();
+            // A user that no longer exists is deleted regardless of the recorded operation
+            operations.add(latest.getOperation() == UserOutboxEntry.Operation.UPSERT && user != null
+                    ? ElasticsearchService.BulkOperation.index(indexName, id, latest.getId(), toDocument(user))
+                    : ElasticsearchService.BulkOperation.delete(indexName, id, latest.getId()));
+            settles.add(group.getValue());
+        }
+
+        List<ElasticsearchService.BulkItemResult> results;
+        long start = System.nanoTime();
+        try {
+            results = elasticsearchServiceProvider.getObject().bulk(operations);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Elasticsearch bulk request for {} users failed: {}", operations.size(), e.getMessage());
+            for (List<UserOutboxEntry> entries : settles) {
+                retryLater(entries, e.getMessage());
+            }
+            return batch.size();
+        } finally {
+            bulkLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        List<UserOutboxEntry> done = new ArrayList<>(batch.size());
+        for (int i = 0; i < results.size(); i++) {
+            ElasticsearchService.BulkItemResult result = results.get(i);
+            if (result.isSuccessful()) {
+                if ("delete".equals(operations.get(i).getAction())) {
+                    deleted.increment();
+                } else {
+                    indexed.increment();
+                }
+                done.addAll(settles.get(i));
+            } else {
+                retryLater(settles.get(i), result.getStatus() + " " + result.getError());
+            }
+        }
+        outboxRepository.deleteAllInBatch(done);
+        return batch.size();
+    }
+
+    private void retryLater(List<UserOutboxEntry> entries, String error) {
+        failed.increment();
+        LocalDateTime now = LocalDateTime.now();
+        for (UserOutboxEntry entry : entries) {
+            int attempts = entry.getAttempts() + 1;
+            entry.setAttempts(attempts);
+            entry.setLastError(error != null && error.length() > MAX_ERROR_LENGTH
+                    ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            if (attempts >= maxAttempts) {
+                entry.setStatus(UserOutboxEntry.Status.FAILED);
+                dead.increment();
+            } else {
+                long backoffMillis = Math.min(BASE_BACKOFF.toMillis() << Math.min(attempts - 1, 20), MAX_BACKOFF.toMillis());
+                entry.setNextAttemptAt(now.plus(Duration.ofMillis(backoffMillis)));
+            }
+        }
+    }
+
+    private void refreshBacklog() {
+        try {
+            pending.set(outboxRepository.countByStatus(UserOutboxEntry.Status.PENDING));
+            UserOutboxEntry oldest = outboxRepository.findFirstByStatusOrderByIdAsc(UserOutboxEntry.Status.PENDING);
+            lagSeconds.set(oldest == null ? 0
+                    : Math.max(0, Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).getSeconds()));
+        } catch (Exception e) {
+            logger.debug("Could not refresh outbox backlog: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the whole index from the users table
+     *
+     * Documents are versioned with the last outbox id issued before the scan, so changes
+     * relayed during the reindex (higher ids) win over the snapshot. Entries pending at
+     * the start may describe changes the snapshot didn't see yet; they are re-issued
+     * with fresh ids afterwards so the relay still applies them.
+     */
+    public ReindexResult reindex() {
+        if (!enabled) {
+            throw new IllegalStateException("Elasticsearch user sync is disabled");
+        }
+        if (!reindexing.compareAndSet(false, true)) {
+            throw new IllegalStateException("A reindex is already running");
+        }
+        try {
+            ElasticsearchService elasticsearchService = elasticsearchServiceProvider.getObject();
+            elasticsearchService.ensureIndex(indexName, indexMappings());
+            long version = outboxRepository.findLastIssuedId();
+            long start = System.nanoTime();
+
+            long[] counts = readOnlyTransactionTemplate.execute(status -> streamIntoIndex(elasticsearchService, version));
+
+            transactionTemplate.executeWithoutResult(status -> reissuePendingUpTo(version));
+
+            double seconds = Math.max(1e-9, (System.nanoTime() - start) / 1e9);
+            ReindexResult result = new ReindexResult(counts[0], counts[1], counts[0] / seconds, version);
+            logger.info("Reindexed {} users into '{}' ({} failed, {} docs/s)",
+                    counts[0], indexName, counts[1], Math.round(result.getDocumentsPerSecond()));
+            return result;
+        } catch (IOException e) {
+            throw new IllegalStateException("Reindex failed: " + e.getMessage(), e);
+        } finally {
+            reindexing.set(false);
+        }
+    }
+
+    private long[] streamIntoIndex(ElasticsearchService elasticsearchService, long version) {
+        long documents = 0;
+        long failures = 0;
+        List<ElasticsearchService.BulkOperation> chunk = new ArrayList<>(batchSize);
+        try (Stream<User> users = userRepository.streamAll()) {
+            var iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                chunk.add(ElasticsearchService.BulkOperation.index(
+                        indexName, user.getId().toString(), version, toDocument(user)));
+                if (chunk.size() == batchSize || !iterator.hasNext()) {
+                    long chunkFailures = sendReindexChunk(elasticsearchService, chunk);
+                    documents += chunk.size() - chunkFailures;
+                    failures += chunkFailures;
+                    chunk.clear();
+                    // Detach what we've sent so the persistence context stays small
+                    entityManager.clear();
+                }
+            }
+        }
+        return new long[] {documents, failures};
+    }
+
+    private long sendReindexChunk(ElasticsearchService elasticsearchService,
+                                  List<ElasticsearchService.BulkOperation> chunk) {
+        long start = System.nanoTime();
+        try {
+            long chunkFailures = 0;
+            for (ElasticsearchService.BulkItemResult result : elasticsearchService.bulk(chunk)) {
+                if (!result.isSuccessful()) {
+                    chunkFailures++;
+                }
+            }
+            reindexed.increment(chunk.size() - chunkFailures);
+            return chunkFailures;
+        } catch (IOException e) {
+            logger.warn("Reindex chunk of {} users failed: {}", chunk.size(), e.getMessage());
+            return chunk.size();
+        } finally {
+            bulkLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void reissuePendingUpTo(long version) {
+        Map<UUID, UserOutboxEntry.Operation> latest = new LinkedHashMap<>();
+        List<UserOutboxEntry> stale = outboxRepository.findByStatusAndIdLessThanEqual(
+                UserOutboxEntry.Status.PENDING, version);
+        for (UserOutboxEntry entry : stale) {
+            latest.put(entry.getUserId(), entry.getOperation());
+        }
+        outboxRepository.deleteAllInBatch(stale);
+        for (Map.Entry<UUID, UserOutboxEntry.Operation> entry : latest.entrySet()) {
+            outboxRepository.save(new UserOutboxEntry(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * Outbox and relay status
+     */
+    public Map<String, Object> getStatus() {
+        refreshBacklog();
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("index", indexName);
+        status.put("pending", pending.get());
+        status.put("failed", outboxRepository.countByStatus(UserOutboxEntry.Status.FAILED));
+        status.put("lagSeconds", lagSeconds.get());
+        status.put("reindexing", reindexing.get());
+        status.put("documentsIndexed", (long) indexed.count());
+        status.put("documentsDeleted", (long) deleted.count());
+        status.put("bulkFailures", (long) failed.count());
+        return status;
+    }
+
+    private static Map<String, Object> toDocument(User user) {
+        Map<String, Object> document = new HashMap<>();
+        document.put("id", user.getId().toString());
+        document.put("email", user.getEmail());
+        document.put("firstName", user.getFirstName());
+        document.put("lastName", user.getLastName());
+        document.put("role", user.getRole() != null ? user.getRole().name() : null);
+        document.put("isActive", user.getIsActive());
+        document.put("createdAt", user.getCreatedAt() != null ? user.getCreatedAt().toString() : null);
+        document.put("updatedAt", user.getUpdatedAt() != null ? user.getUpdatedAt().toString() : null);
+        return document;
+    }
+
+    private static Map<String, Object> indexMappings() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("id", Map.of("type", "keyword"));
+        properties.put("email", Map.of("type", "keyword"));
+        properties.put("firstName", Map.of("type", "text"));
+        properties.put("lastName", Map.of("type", "text"));
+        properties.put("role", Map.of("type", "keyword"));
+        properties.put("isActive", Map.of("type", "boolean"));
+        properties.put("createdAt", Map.of("type", "date"));
+        properties.put("updatedAt", Map.of("type", "date"));
+        return Map.of("properties", properties);
+    }
+
+    /**
+     * Outcome of a full reindex
+     */
+    public static class ReindexResult {
+        private final long documents;
+        private final long failures;
+        private final double documentsPerSecond;
+        private final long version;
+
+        public ReindexResult(long documents, long failures, double documentsPerSecond, long version) {
+            this.documents = documents;
+            this.failures = failures;
+            this.documentsPerSecond = documentsPerSecond;
+            this.version = version;
+        }
+
+        // Getters
+        public long getDocuments() { return documents; }
+        public long getFailures() { return failures; }
+        public double getDocumentsPerSecond() { return documentsPerSecond; }
+        public long getVersion() { return version; }
+    }
+}
@@ -0,0 +1,31 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.config.CacheConfig;
+import com.upskilling.smartdeploymonitor.event.UserChangedEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the cached user lists of {@link UserService} when a user changes
+ *
+ * Runs after commit for every write path (REST, GraphQL, domain services), so a
+ * concurrent read can't put the pre-commit rows back. Only the affected entries are
+ * evicted: the lists for the user's old and new role, and the active-users list.
+ */
+@Component
+public class UserQueryCacheInvalidator {
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ROLE, key = "#event.user.role",
+                    condition = "#event.user.role != null"),
+            @CacheEvict(cacheNames = CacheConfig.USERS_BY_ROLE, key = "#event.previousRole",
+                    condition = "#event.previousRole != null"),
+            @CacheEvict(cacheNames = CacheConfig.ACTIVE_USERS, key = "'" + UserService.ALL_ACTIVE_KEY + "'")
+    })
+    public void onUserChanged(UserChangedEvent event) {
+        // Evictions are declared above
+    }
+}
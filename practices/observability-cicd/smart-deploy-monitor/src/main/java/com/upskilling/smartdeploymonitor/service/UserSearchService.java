@@ -0,0 +1,165 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.event.UserChangedEvent;
+import com.upskilling.smartdeploymonitor.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * User search
+ *
+ * Two engines behind one API:
+ * - POSTGRES: tsvector prefix matching + pg_trgm fuzzy matching, ranked in SQL and served
+ *   by GIN indexes (created here at startup, idempotently, because the schema is managed
+ *   by Hibernate and would drop migration-created indexes on create-drop)
+ * - MEMORY: {@link InMemoryUserSearchIndex}, loaded from the repository when one is
+ *   available and kept in sync from committed {@link UserChangedEvent}s
+ *
+ * app.search.engine=auto picks POSTGRES when the database is PostgreSQL and pg_trgm
+ * can be installed, MEMORY otherwise (e.g. the minimal profile).
+ */
+@Service
+public class UserSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSearchService.class);
+
+    // Relevance-ranked results are paged by offset; cap the depth like a search engine would
+    private static final int MAX_RESULT_WINDOW = 10000;
+
+    private static final List<String> POSTGRES_DDL = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            "CREATE INDEX IF NOT EXISTS idx_users_search_document ON users USING gin ("
+                    + "(to_tsvector('simple', coalesce(first_name, '') || ' ' || coalesce(last_name, '') || ' ' || email)))",
+            "CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (lower(first_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (lower(last_name) gin_trgm_ops)",
+            "CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops)"
+    );
+
+    public enum Engine {
+        POSTGRES,
+        MEMORY
+    }
+
+    private final ObjectProvider<UserRepository> userRepositoryProvider;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+    private final String configuredEngine;
+    private final InMemoryUserSearchIndex memoryIndex = new InMemoryUserSearchIndex();
+
+    // MEMORY until startup has verified that PostgreSQL search is usable
+    private volatile Engine engine = Engine.MEMORY;
+
+    public UserSearchService(ObjectProvider<UserRepository> userRepositoryProvider,
+                             ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
+                             @Value("${app.search.engine:auto}") String configuredEngine) {
+        this.userRepositoryProvider = userRepositoryProvider;
+        this.jdbcTemplateProvider = jdbcTemplateProvider;
+        this.configuredEngine = configuredEngine;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (!"memory".equalsIgnoreCase(configuredEngine) && preparePostgres()) {
+            engine = Engine.POSTGRES;
+        } else {
+            engine = Engine.MEMORY;
+            rebuildMemoryIndex();
+        }
+        logger.info("User search engine: {} (configured: {})", engine, configuredEngine);
+    }
+
+    /**
+     * Relevance-ranked user search with optional filters
+     */
+    @Transactional(readOnly = true)
+    public Page<User> search(String text, UserRole role, Boolean isActive, int page, int size) {
+        PageRequest pageRequest = PageRequest.of(page, size);
+        if (text == null || text.isBlank() || pageRequest.getOffset() >= MAX_RESULT_WINDOW) {
+            return new PageImpl<>(List.of(), pageRequest, 0);
+        }
+
+        if (engine == Engine.MEMORY) {
+            return memoryIndex.search(text, role, isActive, page, size);
+        }
+
+        UserRepository userRepository = userRepositoryProvider.getObject();
+        List<User> users = userRepository.searchRanked(text, role, isActive, (int) pageRequest.getOffset(), size);
+        long total = userRepository.countSearchMatches(text, role, isActive);
+        return new PageImpl<>(users, pageRequest, Math.min(total, MAX_RESULT_WINDOW));
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Keep the in-process index in sync with committed writes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (engine != Engine.MEMORY) {
+            return;
+        }
+        if (event.getType() == UserChangedEvent.Type.DELETED) {
+            memoryIndex.remove(event.getUserId());
+        } else {
+            memoryIndex.put(event.getUser());
+        }
+    }
+
+    private boolean preparePostgres() {
+        JdbcTemplate jdbcTemplate = jdbcTemplateProvider.getIfAvailable();
+        if (jdbcTemplate == null) {
+            return false;
+        }
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                return false;
+            }
+            for (String ddl : POSTGRES_DDL) {
+                jdbcTemplate.execute(ddl);
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("PostgreSQL user search unavailable, falling back to in-memory index: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void rebuildMemoryIndex() {
+        UserRepository userRepository = userRepositoryProvider.getIfAvailable();
+        if (userRepository == null) {
+            return;
+        }
+        try {
+            memoryIndex.clear();
+            Page<User> batch;
+            int page = 0;
+            do {
+                batch = userRepository.findAll(PageRequest.of(page++, 1000, Sort.by("id")));
+                batch.forEach(memoryIndex::put);
+            } while (batch.hasNext());
+            logger.info("In-memory user search index loaded with {} users", memoryIndex.size());
+        } catch (Exception e) {
+            logger.warn("Failed to load in-memory user search index: {}", e.getMessage());
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package com.upskilling.smartdeploymonitor.service;
 
+import com.upskilling.smartdeploymonitor.config.CacheConfig;
+import com.upskilling.smartdeploymonitor.dto.UserPage;
+import com.upskilling.smartdeploymonitor.dto.UserSummary;
 import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserOutboxEntry;
 import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.repository.UserPageQuery;
 import com.upskilling.smartdeploymonitor.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +20,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
@@ -33,28 +41,54 @@ public class UserService implements UserDetailsService {
     
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
     
+    // Cache key of the single activeUsers entry
+    static final String ALL_ACTIVE_KEY = "all";
+    
+    // Credential of cached principals: not a valid hash, so it never matches a password
+    static final String NO_CREDENTIAL = "[PROTECTED]";
+    
+    // Unfiltered totals below this are counted exactly: cheap, and small tables' estimates are often stale
+    private static final long MIN_ESTIMATED_TOTAL = 100_000;
+    
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserCacheService userCacheService;
+    private final UserSearchService userSearchService;
+    private final UserIndexSyncService userIndexSyncService;
+    private final UserStatisticsService userStatisticsService;
     
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       UserCacheService userCacheService, UserSearchService userSearchService,
+                       UserIndexSyncService userIndexSyncService, UserStatisticsService userStatisticsService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.userCacheService = userCacheService;
+        this.userSearchService = userSearchService;
+        this.userIndexSyncService = userIndexSyncService;
+        this.userStatisticsService = userStatisticsService;
     }
 
+    /**
+     * Load principal for authentication
+     * Served from the two-tier principal cache, falling back to the database on a miss.
+     * The principal carries no password hash: requests are authenticated by JWT, and
+     * login checks the password against the entity in AuthService.
+     */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        UserCacheService.CachedUser user = userCacheService.get(email, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getEmail())
-                .password(user.getPasswordHash())
-                .authorities(getAuthorities(user.getRole()))
+                .password(NO_CREDENTIAL)
+                .authorities(getAuthorities(UserRole.valueOf(user.getRole())))
                 .accountExpired(false)
                 .accountLocked(false)
                 .credentialsExpired(false)
-                .disabled(!user.getIsActive())
+                .disabled(!user.isActive())
                 .build();
     }
 
@@ -80,6 +114,7 @@ public class UserService implements UserDetailsService {
         User user = new User(email, hashedPassword, firstName, lastName);
         
         User savedUser = userRepository.save(user);
+        userIndexSyncService.record(savedUser.getId(), UserOutboxEntry.Operation.UPSERT);
         logger.info("User created successfully with ID: {}", savedUser.getId());
         
         return savedUser;
@@ -95,6 +130,7 @@ public class UserService implements UserDetailsService {
         user.setRole(UserRole.ADMIN);
         
         User savedUser = userRepository.save(user);
+        userCacheService.evict(savedUser.getEmail());
         logger.info("Admin user created successfully with ID: {}", savedUser.getId());
         
         return savedUser;
@@ -126,18 +162,22 @@ public class UserService implements UserDetailsService {
     
     /**
      * Get all active users
+     * Cached in the activeUsers region as read-only summaries, evicted by UserQueryCacheInvalidator
      */
+    @Cacheable(cacheNames = CacheConfig.ACTIVE_USERS, key = "'" + ALL_ACTIVE_KEY + "'", sync = true)
     @Transactional(readOnly = true)
-    public List<User> getActiveUsers() {
-        return userRepository.findByIsActiveTrue();
+    public List<UserSummary> getActiveUsers() {
+        return userRepository.findByIsActiveTrue().stream().map(UserSummary::from).toList();
     }
     
     /**
      * Get users by role
+     * Cached per role in the usersByRole region as read-only summaries, evicted by UserQueryCacheInvalidator
      */
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_ROLE, sync = true)
     @Transactional(readOnly = true)
-    public List<User> getUsersByRole(UserRole role) {
-        return userRepository.findByRole(role);
+    public List<UserSummary> getUsersByRole(UserRole role) {
+        return userRepository.findByRole(role).stream().map(UserSummary::from).toList();
     }
     
     /**
@@ -149,6 +189,7 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
         
+        String previousEmail = user.getEmail();
         if (email != null && !email.equals(user.getEmail())) {
             if (userRepository.existsByEmail(email)) {
                 throw new IllegalArgumentException("Email " + email + " is already in use");
@@ -165,6 +206,9 @@ public class UserService implements UserDetailsService {
         }
         
         User updatedUser = userRepository.save(user);
+        userCacheService.evict(previousEmail);
+        userCacheService.evict(updatedUser.getEmail());
+        userIndexSyncService.record(updatedUser.getId(), UserOutboxEntry.Operation.UPSERT);
         logger.info("User updated successfully with ID: {}", updatedUser.getId());
         
         return updatedUser;
@@ -183,6 +227,7 @@ public class UserService implements UserDetailsService {
         user.setPasswordHash(hashedPassword);
         
         userRepository.save(user);
+        userCacheService.evict(user.getEmail());
         logger.info("Password changed successfully for user with ID: {}", id);
     }
     
@@ -197,6 +242,8 @@ public class UserService implements UserDetailsService {
         
         user.setIsActive(true);
         userRepository.save(user);
+        userCacheService.evict(user.getEmail());
+        userIndexSyncService.record(user.getId(), UserOutboxEntry.Operation.UPSERT);
         logger.info("User activated successfully with ID: {}", id);
     }
     
@@ -211,6 +258,8 @@ public class UserService implements UserDetailsService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        userCacheService.evict(user.getEmail());
+        userIndexSyncService.record(user.getId(), UserOutboxEntry.Operation.UPSERT);
         logger.info("User deactivated successfully with ID: {}", id);
     }
     
@@ -220,11 +269,12 @@ public class UserService implements UserDetailsService {
     public void deleteUser(UUID id) {
         logger.info("Deleting user with ID: {}", id);
         
-        if (!userRepository.existsById(id)) {
-            throw new IllegalArgumentException("User not found with ID: " + id);
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
         
-        userRepository.deleteById(id);
+        userRepository.delete(user);
+        userCacheService.evict(user.getEmail());
+        userIndexSyncService.record(user.getId(), UserOutboxEntry.Operation.DELETE);
         logger.info("User deleted successfully with ID: {}", id);
     }
     
@@ -243,15 +293,12 @@ public class UserService implements UserDetailsService {
     
     /**
      * Get user statistics
+     * Served by UserStatisticsService from its configured source (counters, one GROUP BY
+     * query, or the user_counts table)
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public UserStatistics getUserStatistics() {
-        long totalUsers = userRepository.count();
-        long activeUsers = userRepository.countByIsActiveTrue();
-        long adminUsers = userRepository.countByRole(UserRole.ADMIN);
-        long regularUsers = userRepository.countByRole(UserRole.USER);
-        
-        return new UserStatistics(totalUsers, activeUsers, adminUsers, regularUsers);
+        return userStatisticsService.getStatistics();
     }
     
     /**
@@ -260,22 +307,21 @@ public class UserService implements UserDetailsService {
     public static class UserStatistics {
         private final long totalUsers;
         private final long activeUsers;
-        private final long adminUsers;
-        private final long regularUsers;
+        private final Map<UserRole, Long> usersByRole;
         
-        public UserStatistics(long totalUsers, long activeUsers, long adminUsers, long regularUsers) {
+        public UserStatistics(long totalUsers, long activeUsers, Map<UserRole, Long> usersByRole) {
             this.totalUsers = totalUsers;
             this.activeUsers = activeUsers;
-            this.adminUsers = adminUsers;
-            this.regularUsers = regularUsers;
+            this.usersByRole = usersByRole;
         }
         
         // Getters
         public long getTotalUsers() { return totalUsers; }
         public long getActiveUsers() { return activeUsers; }
-        public long getAdminUsers() { return adminUsers; }
-        public long getRegularUsers() { return regularUsers; }
+        public long getAdminUsers() { return usersByRole.getOrDefault(UserRole.ADMIN, 0L); }
+        public long getRegularUsers() { return usersByRole.getOrDefault(UserRole.USER, 0L); }
         public long getInactiveUsers() { return totalUsers - activeUsers; }
+        public Map<UserRole, Long> getUsersByRole() { return usersByRole; }
     }
     
     /**
@@ -291,9 +337,9 @@ public class UserService implements UserDetailsService {
         
         Page<User> userPage;
         
-        // Apply search filter if provided
+        // Search results come back ranked by relevance from the search index
         if (search != null && !search.trim().isEmpty()) {
-            userPage = userRepository.findBySearchTerm(search.trim(), pageable);
+            userPage = userSearchService.search(search.trim(), null, null, page, size);
         } else {
             userPage = userRepository.findAll(pageable);
         }
@@ -317,10 +363,50 @@ public class UserService implements UserDetailsService {
     }
 
     /**
-     * Get users by IDs for DataLoader (solves N+1 problem)
+     * Get one keyset page of users
+     * Fetches one extra row to detect a next page. The total is only computed when
+     * requested: without a filter on a large table it is the planner's row estimate
+     * (constant cost, see {@link UserPage#isTotalCountEstimated()}), otherwise an exact
+     * count, which scans every matching row.
      */
+    @Transactional(readOnly = true)
+    public UserPage getUsersPage(UserPageQuery query, boolean includeTotalCount) {
+        logger.info("Getting keyset page - limit: {}, sort: {} {}, filtered: {}, after cursor: {}",
+                   query.getLimit(), query.getSortField(), query.getSortDirection(), query.hasFilter(), query.hasCursor());
+        
+        List<User> rows = userRepository.findKeysetPage(query, query.getLimit() + 1);
+        boolean hasNextPage = rows.size() > query.getLimit();
+        List<User> users = hasNextPage ? rows.subList(0, query.getLimit()) : rows;
+        
+        List<String> cursors = users.stream()
+                .map(query::encodeCursor)
+                .collect(Collectors.toList());
+        
+        Long totalCount = null;
+        boolean estimated = false;
+        if (includeTotalCount) {
+            if (!query.hasFilter()) {
+                Long estimate = userRepository.estimateTotal();
+                if (estimate != null && estimate >= MIN_ESTIMATED_TOTAL) {
+                    totalCount = estimate;
+                    estimated = true;
+                }
+            }
+            if (totalCount == null) {
+                totalCount = userRepository.countMatching(query);
+            }
+        }
+        
+        return new UserPage(users, cursors, hasNextPage, query.hasCursor(), totalCount, estimated);
+    }
+
+    /**
+     * Get users by IDs in one query
+     * Batch function of the GraphQL user DataLoader (UserBatchLoader), solving N+1 lookups
+     */
+    @Transactional(readOnly = true)
     public List<User> getUsersByIds(List<UUID> userIds) {
-        logger.info("Getting users by IDs: {}", userIds);
+        logger.debug("Getting {} users by IDs", userIds.size());
         return userRepository.findAllById(userIds);
     }
 }
\ No newline at end of file
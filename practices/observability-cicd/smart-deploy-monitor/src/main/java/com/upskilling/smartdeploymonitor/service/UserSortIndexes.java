@@ -0,0 +1,60 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Indexes behind the keyset sorts on name columns
+ *
+ * The repository orders names as coalesce(name, '') so the keyset predicate stays total;
+ * only an index on that exact expression (plus id) lets the database seek to a page
+ * instead of sorting the whole table. JPA cannot declare expression indexes, so they are
+ * created here at startup, idempotently (PostgreSQL only, like the search indexes).
+ * The email, createdAt and updatedAt sorts use the plain indexes declared on the entity.
+ */
+@Component
+public class UserSortIndexes {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserSortIndexes.class);
+
+    // Must match UserRepositoryImpl#sortExpression
+    static final List<String> POSTGRES_DDL = List.of(
+            "CREATE INDEX IF NOT EXISTS idx_users_first_name_sort ON users ((coalesce(first_name, '')), id)",
+            "CREATE INDEX IF NOT EXISTS idx_users_last_name_sort ON users ((coalesce(last_name, '')), id)"
+    );
+
+    private final ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+
+    public UserSortIndexes(ObjectProvider<JdbcTemplate> jdbcTemplateProvider) {
+        this.jdbcTemplateProvider = jdbcTemplateProvider;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        JdbcTemplate jdbcTemplate = jdbcTemplateProvider.getIfAvailable();
+        if (jdbcTemplate == null) {
+            return;
+        }
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                return;
+            }
+            for (String ddl : POSTGRES_DDL) {
+                jdbcTemplate.execute(ddl);
+            }
+            logger.info("User name sort indexes ready");
+        } catch (Exception e) {
+            logger.warn("Failed to create user name sort indexes, name sorts will scan the table: {}", e.getMessage());
+        }
+    }
+}
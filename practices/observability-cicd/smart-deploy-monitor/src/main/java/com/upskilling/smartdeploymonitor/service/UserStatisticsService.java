@@ -0,0 +1,300 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.event.UserChangedEvent;
+import com.upskilling.smartdeploymonitor.repository.UserCountRow;
+import com.upskilling.smartdeploymonitor.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * User statistics
+ *
+ * Every source reduces to one count per (role, active) pair, from which total, active,
+ * inactive and per-role counts are summed:
+ * - COUNTERS: in-process counters seeded from the database at startup and moved by
+ *   committed {@link UserChangedEvent}s, so a read never touches the database. A
+ *   periodic reconcile recounts the table to correct writes that bypass JPA and writes
+ *   made by other instances, which this instance never sees as events.
+ * - QUERY: one GROUP BY role, is_active query per read (exact, one round trip)
+ * - TABLE: the user_counts table, maintained by a trigger on users inside the writing
+ *   transaction. Reads sum a handful of rows, so they cost the same on any table size
+ *   and are exact across instances. Each group is spread over several stripe rows so
+ *   concurrent writers don't queue on a single hot row. PostgreSQL only; the trigger is
+ *   installed at startup (Hibernate owns the schema), falling back to COUNTERS otherwise.
+ */
+@Service
+public class UserStatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserStatisticsService.class);
+
+    private static final UserRole[] ROLES = UserRole.values();
+
+    private static final String COUNTS_TABLE_DDL = "CREATE TABLE IF NOT EXISTS user_counts ("
+            + "role VARCHAR(50) NOT NULL, is_active BOOLEAN NOT NULL, stripe SMALLINT NOT NULL, "
+            + "count BIGINT NOT NULL, PRIMARY KEY (role, is_active, stripe))";
+
+    private static final String COUNTS_FUNCTION_DDL = """
+            CREATE OR REPLACE FUNCTION user_counts_apply() RETURNS TRIGGER AS $$
+            DECLARE
+                s SMALLINT := floor(random() * %d);
+            BEGIN
+                IF TG_OP = 'UPDATE' AND OLD.role IS NOT DISTINCT FROM NEW.role
+                        AND coalesce(OLD.is_active, false) = coalesce(NEW.is_active, false) THEN
+                    RETURN NULL;
+                END IF;
+                IF TG_OP IN ('UPDATE', 'DELETE') AND OLD.role IS NOT NULL THEN
+                    INSERT INTO user_counts (role, is_active, stripe, count)
+                    VALUES (OLD.role, coalesce(OLD.is_active, false), s, -1)
+                    ON CONFLICT (role, is_active, stripe) DO UPDATE SET count = user_counts.count - 1;
+                END IF;
+                IF TG_OP IN ('INSERT', 'UPDATE') AND NEW.role IS NOT NULL THEN
+                    INSERT INTO user_counts (role, is_active, stripe, count)
+                    VALUES (NEW.role, coalesce(NEW.is_active, false), s, 1)
+                    ON CONFLICT (role, is_active, stripe) DO UPDATE SET count = user_counts.count + 1;
+                END IF;
+                RETURN NULL;
+            END;
+            $$ LANGUAGE plpgsql""";
+
+    public enum Source {
+        COUNTERS,
+        QUERY,
+        TABLE
+    }
+
+    private final UserRepository userRepository;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+    private final TransactionTemplate readOnlyTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final Source configuredSource;
+    private final int tableStripes;
+
+    // Index: role.ordinal() * 2 + (active ? 1 : 0)
+    private final AtomicLongArray counts = new AtomicLongArray(ROLES.length * 2);
+    private volatile boolean seeded;
+
+    // COUNTERS until startup has installed the table (if configured)
+    private volatile Source source = Source.COUNTERS;
+
+    private final Counter reconcileDrift;
+
+    public UserStatisticsService(UserRepository userRepository, ObjectProvider<JdbcTemplate> jdbcTemplateProvider,
+                                 PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                 @Value("${app.users.statistics.source:counters}") String configuredSource,
+                                 @Value("${app.users.statistics.table-stripes:16}") int tableStripes) {
+        this.userRepository = userRepository;
+        this.jdbcTemplateProvider = jdbcTemplateProvider;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.configuredSource = Source.valueOf(configuredSource.trim().toUpperCase());
+        this.tableStripes = Math.max(1, tableStripes);
+        this.reconcileDrift = Counter.builder("users.statistics.reconcile.drift")
+                .description("Absolute difference between the counters and a recount, summed over reconciles")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (configuredSource == Source.TABLE && installCountsTable()) {
+            source = Source.TABLE;
+        } else if (configuredSource == Source.QUERY) {
+            source = Source.QUERY;
+        } else {
+            source = Source.COUNTERS;
+            reconcile();
+        }
+        logger.info("User statistics source: {} (configured: {})", source, configuredSource);
+    }
+
+    /**
+     * Current statistics from the active source
+     */
+    public UserService.UserStatistics getStatistics() {
+        return switch (source) {
+            case QUERY -> toStatistics(readOnlyTransaction.execute(status -> queryCounts()));
+            case TABLE -> toStatistics(readCountsTable());
+            case COUNTERS -> {
+                if (!seeded) {
+                    reconcile();
+                }
+                long[] snapshot = new long[counts.length()];
+                for (int i = 0; i < snapshot.length; i++) {
+                    snapshot[i] = Math.max(0, counts.get(i));
+                }
+                yield toStatistics(snapshot);
+            }
+        };
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Apply a committed change to the counters: remove the previous state, add the new one
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (source != Source.COUNTERS) {
+            return;
+        }
+        User user = event.getUser();
+        boolean knowsPrevious = event.getPreviousRole() != null || event.getPreviousActive() != null;
+        switch (event.getType()) {
+            case CREATED -> adjust(user.getRole(), user.getIsActive(), 1);
+            case UPDATED -> {
+                if (knowsPrevious) {
+                    adjust(event.getPreviousRole(), event.getPreviousActive(), -1);
+                    adjust(user.getRole(), user.getIsActive(), 1);
+                }
+            }
+            case DELETED -> adjust(knowsPrevious ? event.getPreviousRole() : user.getRole(),
+                    knowsPrevious ? event.getPreviousActive() : user.getIsActive(), -1);
+        }
+    }
+
+    /**
+     * Recount the table and replace the counters (COUNTERS source only)
+     * Changes committed while the recount runs may be counted twice or not at all until
+     * the next reconcile.
+     */
+    @Scheduled(fixedDelayString = "${app.users.statistics.reconcile-interval-ms:300000}",
+               initialDelayString = "${app.users.statistics.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (source != Source.COUNTERS) {
+            return;
+        }
+        long[] fresh;
+        try {
+            fresh = readOnlyTransaction.execute(status -> queryCounts());
+        } catch (Exception e) {
+            logger.warn("Failed to reconcile user statistics: {}", e.getMessage());
+            return;
+        }
+        if (fresh == null) {
+            return;
+        }
+
+        long drift = 0;
+        for (int i = 0; i < fresh.length; i++) {
+            drift += Math.abs(counts.getAndSet(i, fresh[i]) - fresh[i]);
+        }
+        if (seeded && drift > 0) {
+            reconcileDrift.increment(drift);
+            logger.info("Reconciled user statistics, counters were off by {}", drift);
+        }
+        seeded = true;
+    }
+
+    private long[] queryCounts() {
+        long[] cells = new long[ROLES.length * 2];
+        for (UserCountRow row : userRepository.countGroupedByRoleAndActive()) {
+            if (row.getRole() != null) {
+                cells[index(row.getRole(), Boolean.TRUE.equals(row.getActive()))] += row.getCount();
+            }
+        }
+        return cells;
+    }
+
+    private long[] readCountsTable() {
+        long[] cells = new long[ROLES.length * 2];
+        List<Map<String, Object>> rows = jdbcTemplateProvider.getObject().queryForList(
+                "SELECT role, is_active, sum(count) AS count FROM user_counts GROUP BY role, is_active");
+        for (Map<String, Object> row : rows) {
+            UserRole role = parseRole((String) row.get("role"));
+            if (role != null) {
+                cells[index(role, Boolean.TRUE.equals(row.get("is_active")))] += ((Number) row.get("count")).longValue();
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Create user_counts and its trigger, and backfill it from the users table
+     * Runs in one transaction holding a lock that blocks writers to users, so no change
+     * slips between the backfill and the trigger; concurrent installers take turns.
+     */
+    private boolean installCountsTable() {
+        JdbcTemplate jdbcTemplate = jdbcTemplateProvider.getIfAvailable();
+        if (jdbcTemplate == null) {
+            return false;
+        }
+        try {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+            if (!"PostgreSQL".equalsIgnoreCase(product)) {
+                logger.warn("The user_counts table needs PostgreSQL (found {}), using in-process counters", product);
+                return false;
+            }
+            writeTransaction.executeWithoutResult(status -> {
+                jdbcTemplate.execute("LOCK TABLE users IN SHARE ROW EXCLUSIVE MODE");
+                jdbcTemplate.execute(COUNTS_TABLE_DDL);
+                jdbcTemplate.execute(String.format(COUNTS_FUNCTION_DDL, tableStripes));
+                jdbcTemplate.execute("DROP TRIGGER IF EXISTS users_count_trigger ON users");
+                jdbcTemplate.execute("CREATE TRIGGER users_count_trigger AFTER INSERT OR DELETE OR UPDATE OF role, is_active "
+                        + "ON users FOR EACH ROW EXECUTE FUNCTION user_counts_apply()");
+                jdbcTemplate.execute("DELETE FROM user_counts");
+                jdbcTemplate.execute("INSERT INTO user_counts (role, is_active, stripe, count) "
+                        + "SELECT role, coalesce(is_active, false), 0, count(*) FROM users "
+                        + "WHERE role IS NOT NULL GROUP BY role, coalesce(is_active, false)");
+            });
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to install the user_counts table, using in-process counters: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static UserService.UserStatistics toStatistics(long[] cells) {
+        long total = 0;
+        long active = 0;
+        Map<UserRole, Long> usersByRole = new EnumMap<>(UserRole.class);
+        for (UserRole role : ROLES) {
+            long activeWithRole = cells[index(role, true)];
+            long withRole = activeWithRole + cells[index(role, false)];
+            usersByRole.put(role, withRole);
+            total += withRole;
+            active += activeWithRole;
+        }
+        return new UserService.UserStatistics(total, active, usersByRole);
+    }
+
+    private void adjust(UserRole role, Boolean active, int delta) {
+        if (role != null) {
+            counts.addAndGet(index(role, Boolean.TRUE.equals(active)), delta);
+        }
+    }
+
+    private static UserRole parseRole(String name) {
+        try {
+            return name != null ? UserRole.valueOf(name) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int index(UserRole role, boolean active) {
+        return role.ordinal() * 2 + (active ? 1 : 0);
+    }
+}
@@ -0,0 +1,190 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.entity.UuidV7Generator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput of random (v4) versus time-ordered (v7) UUID primary keys
+ *
+ * Two scratch tables shaped like users (uuid primary key, email, timestamp) are filled
+ * with the same number of rows in JDBC batches. Batches alternate between the tables so
+ * both see the same buffer cache, checkpoint and autovacuum conditions. Throughput is
+ * reported overall and for the last tenth of the run, where the v4 index no longer
+ * fits in cache and every insert touches a random leaf page. Index sizes show the cost
+ * of the page splits. The tables are dropped afterwards.
+ *
+ * The run writes millions of rows into the application database, so the bean only exists
+ * with app.benchmarks.uuid-inserts.enabled; point that at a scratch database, not production.
+ */
+@Service
+@ConditionalOnProperty(name = "app.benchmarks.uuid-inserts.enabled", havingValue = "true")
+public class UuidBenchmarkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UuidBenchmarkService.class);
+
+    private static final int MAX_ROWS = 10_000_000;
+    private static final int GENERATION_SAMPLES = 1_000_000;
+
+    private final ObjectProvider<JdbcTemplate> jdbcTemplateProvider;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public UuidBenchmarkService(ObjectProvider<JdbcTemplate> jdbcTemplateProvider) {
+        this.jdbcTemplateProvider = jdbcTemplateProvider;
+    }
+
+    /**
+     * @param rowCount Rows inserted into each table (capped at 10M)
+     * @param batchSize Rows per JDBC batch
+     * @throws IllegalStateException if no database is configured or a run is already in progress
+     */
+    public Map<String, Object> insertBenchmark(int rowCount, int batchSize) {
+        JdbcTemplate jdbcTemplate = jdbcTemplateProvider.getIfAvailable();
+        if (jdbcTemplate == null) {
+            throw new IllegalStateException("No database configured");
+        }
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A UUID benchmark is already running");
+        }
+
+        int rows = Math.max(1_000, Math.min(rowCount, MAX_ROWS));
+        int batch = Math.max(1, Math.min(batchSize, rows));
+        String run = Long.toString(System.nanoTime(), 36);
+        Table v4 = new Table("bench_uuid_v4_" + run, UUID::randomUUID);
+        Table v7 = new Table("bench_uuid_v7_" + run, UuidV7Generator::next);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        try {
+            v4.create(jdbcTemplate);
+            v7.create(jdbcTemplate);
+
+            long lastTenthStart = rows - rows / 10;
+            for (int inserted = 0; inserted < rows; inserted += batch) {
+                int size = Math.min(batch, rows - inserted);
+                boolean lastTenth = inserted >= lastTenthStart;
+                // Alternate which table goes first so neither always follows the other's writes
+                if ((inserted / batch) % 2 == 0) {
+                    v4.insert(jdbcTemplate, size, lastTenth);
+                    v7.insert(jdbcTemplate, size, lastTenth);
+                } else {
+                    v7.insert(jdbcTemplate, size, lastTenth);
+                    v4.insert(jdbcTemplate, size, lastTenth);
+                }
+            }
+
+            results.put("rows", rows);
+            results.put("batchSize", batch);
+            results.put("v4", v4.report(jdbcTemplate, rows));
+            results.put("v7", v7.report(jdbcTemplate, rows));
+            results.put("speedup", Math.round((double) v4.totalNanos / v7.totalNanos * 100) / 100.0);
+            results.put("lastTenthSpeedup", Math.round((double) v4.lastTenthNanos / Math.max(1, v7.lastTenthNanos) * 100) / 100.0);
+            results.put("generationNanosPerId", Map.of(
+                    "v4", generationNanos(UUID::randomUUID),
+                    "v7", generationNanos(UuidV7Generator::next)));
+            logger.info("UUID insert benchmark: {} rows, v4 {} ms, v7 {} ms",
+                    rows, v4.totalNanos / 1_000_000, v7.totalNanos / 1_000_000);
+            return results;
+        } finally {
+            v4.drop(jdbcTemplate);
+            v7.drop(jdbcTemplate);
+            running.set(false);
+        }
+    }
+
+    private static double generationNanos(Supplier<UUID> generator) {
+        long sink = 0;
+        for (int i = 0; i < GENERATION_SAMPLES; i++) {
+            sink ^= generator.get().getLeastSignificantBits();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < GENERATION_SAMPLES; i++) {
+            sink ^= generator.get().getLeastSignificantBits();
+        }
+        long nanos = System.nanoTime() - start;
+        // Keep the loop from being optimized away
+        if (sink == 42) {
+            logger.trace("sink {}", sink);
+        }
+        return Math.round(nanos * 100.0 / GENERATION_SAMPLES) / 100.0;
+    }
+
+    private static final class Table {
+        private final String name;
+        private final Supplier<UUID> ids;
+        private long totalNanos;
+        private long lastTenthNanos;
+        private long lastTenthRows;
+        private long sequence;
+
+        Table(String name, Supplier<UUID> ids) {
+            this.name = name;
+            this.ids = ids;
+        }
+
+        void create(JdbcTemplate jdbcTemplate) {
+            jdbcTemplate.execute("CREATE TABLE " + name + " (id UUID PRIMARY KEY, email VARCHAR(255) NOT NULL, "
+                    + "created_at TIMESTAMP NOT NULL)");
+        }
+
+        void insert(JdbcTemplate jdbcTemplate, int size, boolean lastTenth) {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            long first = sequence;
+            sequence += size;
+            long start = System.nanoTime();
+            jdbcTemplate.batchUpdate("INSERT INTO " + name + " (id, email, created_at) VALUES (?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            ps.setObject(1, ids.get());
+                            ps.setString(2, "user" + (first + i) + "@bench.example.com");
+                            ps.setTimestamp(3, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+            long nanos = System.nanoTime() - start;
+            totalNanos += nanos;
+            if (lastTenth) {
+                lastTenthNanos += nanos;
+                lastTenthRows += size;
+            }
+        }
+
+        Map<String, Object> report(JdbcTemplate jdbcTemplate, int rows) {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("totalMs", totalNanos / 1_000_000);
+            report.put("rowsPerSecond", Math.round(rows * 1e9 / totalNanos));
+            report.put("lastTenthRowsPerSecond", lastTenthNanos > 0 ? Math.round(lastTenthRows * 1e9 / lastTenthNanos) : null);
+            report.put("indexBytes", jdbcTemplate.queryForObject(
+                    "SELECT pg_relation_size(?::regclass)", Long.class, name + "_pkey"));
+            report.put("tableBytes", jdbcTemplate.queryForObject(
+                    "SELECT pg_relation_size(?::regclass)", Long.class, name));
+            return report;
+        }
+
+        void drop(JdbcTemplate jdbcTemplate) {
+            try {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + name);
+            } catch (Exception e) {
+                logger.warn("Failed to drop benchmark table {}: {}", name, e.getMessage());
+            }
+        }
+    }
+}
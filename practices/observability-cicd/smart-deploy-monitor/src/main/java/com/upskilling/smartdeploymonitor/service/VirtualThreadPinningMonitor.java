@@ -0,0 +1,191 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.config.ThreadingConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Detects virtual threads pinned to their carrier (virtual mode only)
+ *
+ * A virtual thread that blocks inside a synchronized block or a native frame keeps its
+ * carrier thread, so enough of them at once starve every other virtual thread. The JVM
+ * reports these as jdk.VirtualThreadPinned JFR events; this monitor streams them in
+ * process, groups them by the first application frame on the stack (falling back to
+ * the top frame) and keeps count, total and max pinned time per site. Sites are capped
+ * so a pathological workload cannot grow the map without limit.
+ */
+@Service
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.upskilling.";
+    private static final String OTHER_SITE = "(other)";
+    private static final int SAMPLE_FRAMES = 12;
+
+    private final ThreadingConfig threadingConfig;
+    private final boolean enabled;
+    private final Duration threshold;
+    private final int maxSites;
+
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final Counter pinnedEvents;
+    private final Timer pinnedTime;
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(ThreadingConfig threadingConfig,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.threads.pinning.enabled:true}") boolean enabled,
+                                       @Value("${app.threads.pinning.threshold-ms:20}") long thresholdMs,
+                                       @Value("${app.threads.pinning.max-sites:100}") int maxSites) {
+        this.threadingConfig = threadingConfig;
+        this.enabled = enabled;
+        this.threshold = Duration.ofMillis(Math.max(0, thresholdMs));
+        this.maxSites = Math.max(1, maxSites);
+
+        this.pinnedEvents = Counter.builder("jvm.threads.virtual.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier")
+                .register(meterRegistry);
+        this.pinnedTime = Timer.builder("jvm.threads.virtual.pinned.duration")
+                .description("Time virtual threads spent blocked while pinned")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !threadingConfig.isVirtualMode()) {
+            return;
+        }
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+            recording.onEvent(PINNED_EVENT, this::onPinned);
+            recording.startAsync();
+            stream = recording;
+            logger.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+        } catch (Exception e) {
+            logger.warn("Failed to start the virtual thread pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        RecordingStream recording = stream;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    /**
+     * Current mode and pinning sites, worst (by total pinned time) first
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("javaVersion", Runtime.version().toString());
+        report.put("virtualThreadsSupported", ThreadingConfig.virtualThreadsSupported());
+        report.put("mode", threadingConfig.isVirtualMode() ? "virtual" : "platform");
+        report.put("pinningMonitor", stream != null);
+        report.put("thresholdMs", threshold.toMillis());
+        report.put("pinnedEvents", (long) pinnedEvents.count());
+
+        List<Site> worst = new ArrayList<>(sites.values());
+        worst.sort(Comparator.comparingLong((Site site) -> site.totalNanos.get()).reversed());
+        List<Map<String, Object>> hotspots = new ArrayList<>(worst.size());
+        for (Site site : worst) {
+            hotspots.add(site.toMap());
+        }
+        report.put("hotspots", hotspots);
+        return report;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinnedEvents.increment();
+        pinnedTime.record(duration);
+
+        List<String> frames = frames(event.getStackTrace());
+        String location = location(frames);
+        Site site = sites.get(location);
+        if (site == null) {
+            site = sites.size() < maxSites
+                    ? sites.computeIfAbsent(location, key -> new Site(key, frames))
+                    : sites.computeIfAbsent(OTHER_SITE, key -> new Site(key, List.of()));
+        }
+        site.record(duration.toNanos());
+    }
+
+    private static List<String> frames(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return List.of();
+        }
+        List<String> frames = new ArrayList<>(SAMPLE_FRAMES);
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frames.size() == SAMPLE_FRAMES) {
+                break;
+            }
+            frames.add(frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                    + ":" + frame.getLineNumber());
+        }
+        return frames;
+    }
+
+    private static String location(List<String> frames) {
+        for (String frame : frames) {
+            if (frame.startsWith(APPLICATION_PACKAGE)) {
+                return frame;
+            }
+        }
+        return frames.isEmpty() ? "(unknown)" : frames.get(0);
+    }
+
+    private static final class Site {
+        private final String location;
+        private final List<String> sampleStack;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        Site(String location, List<String> sampleStack) {
+            this.location = location;
+            this.sampleStack = sampleStack;
+        }
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("location", location);
+            map.put("count", count.get());
+            map.put("totalMs", totalNanos.get() / 1_000_000);
+            map.put("maxMs", maxNanos.get() / 1_000_000);
+            map.put("stack", sampleStack);
+            return map;
+        }
+    }
+}
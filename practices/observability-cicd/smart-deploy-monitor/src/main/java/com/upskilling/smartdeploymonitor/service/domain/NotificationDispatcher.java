@@ -0,0 +1,342 @@
+package com.upskilling.smartdeploymonitor.service.domain;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous notification dispatch pipeline
+ *
+ * Each channel (EMAIL/SMS/PUSH) has its own bounded queue and worker pool. Submitting
+ * only enqueues and returns an id; workers drain the queue in micro-batches (up to
+ * batch-size notifications, waiting at most linger-ms for a batch to fill) and send a
+ * whole batch per flush. A full queue applies backpressure: producers wait up to
+ * enqueue-timeout-ms and are then rejected.
+ *
+ * Workers run on virtual threads when the JVM supports them (Java 21+) and on
+ * platform daemon threads otherwise.
+ */
+@Component
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    public enum Channel {
+        EMAIL,
+        SMS,
+        PUSH
+    }
+
+    public enum Status {
+        QUEUED,
+        SENDING,
+        SENT,
+        FAILED
+    }
+
+    private final int batchSize;
+    private final long lingerMillis;
+    private final long enqueueTimeoutMillis;
+    private final long simulatedLatencyMillis;
+
+    private final Map<Channel, BlockingQueue<Notification>> queues = new EnumMap<>(Channel.class);
+    private final Map<Channel, ChannelMetrics> metrics = new EnumMap<>(Channel.class);
+    private final List<Thread> workers = new ArrayList<>();
+    private final Cache<String, Notification> notifications;
+
+    private volatile boolean running = true;
+
+    public NotificationDispatcher(MeterRegistry meterRegistry,
+                                  @Value("${app.notifications.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${app.notifications.workers-per-channel:2}") int workersPerChannel,
+                                  @Value("${app.notifications.batch-size:50}") int batchSize,
+                                  @Value("${app.notifications.linger-ms:20}") long lingerMillis,
+                                  @Value("${app.notifications.enqueue-timeout-ms:50}") long enqueueTimeoutMillis,
+                                  @Value("${app.notifications.simulated-latency-ms:100}") long simulatedLatencyMillis,
+                                  @Value("${app.notifications.status-retention-minutes:60}") long statusRetentionMinutes) {
+        this.batchSize = Math.max(1, batchSize);
+        this.lingerMillis = Math.max(0, lingerMillis);
+        this.enqueueTimeoutMillis = Math.max(0, enqueueTimeoutMillis);
+        this.simulatedLatencyMillis = Math.max(0, simulatedLatencyMillis);
+
+        this.notifications = Caffeine.newBuilder()
+                .maximumSize(Math.max(queueCapacity, 1) * (long) Channel.values().length * 10)
+                .expireAfterWrite(statusRetentionMinutes, TimeUnit.MINUTES)
+                .build();
+
+        for (Channel channel : Channel.values()) {
+            BlockingQueue<Notification> queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+            queues.put(channel, queue);
+            metrics.put(channel, new ChannelMetrics(meterRegistry, channel, queue));
+        }
+
+        ThreadFactory threadFactory = workerThreadFactory();
+        for (Channel channel : Channel.values()) {
+            for (int i = 0; i < Math.max(1, workersPerChannel); i++) {
+                Thread worker = threadFactory.newThread(() -> runWorker(channel));
+                worker.setName("notify-" + channel.name().toLowerCase() + "-" + i);
+                workers.add(worker);
+                worker.start();
+            }
+        }
+
+        logger.info("Notification dispatcher started - workers: {}, batch size: {}, queue capacity: {}, virtual threads: {}",
+                workers.size(), this.batchSize, queueCapacity, !workers.isEmpty() && isVirtual(workers.get(0)));
+    }
+
+    /**
+     * Enqueue a notification for asynchronous delivery
+     * @return Notification id to poll with {@link #getNotification(String)}
+     * @throws RejectedExecutionException if the channel queue stays full for enqueue-timeout-ms
+     */
+    public String submit(Channel channel, Map<String, Object> payload) {
+        if (!running) {
+            throw new RejectedExecutionException("Notification dispatcher is shutting down");
+        }
+
+        Notification notification = new Notification(UUID.randomUUID().toString(), channel, payload);
+        notifications.put(notification.getId(), notification);
+
+        boolean accepted;
+        try {
+            accepted = queues.get(channel).offer(notification, enqueueTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+
+        if (!accepted) {
+            notifications.invalidate(notification.getId());
+            metrics.get(channel).rejected.increment();
+            throw new RejectedExecutionException(channel + " notification queue is full");
+        }
+        return notification.getId();
+    }
+
+    public Notification getNotification(String id) {
+        return notifications.getIfPresent(id);
+    }
+
+    public int getQueueDepth(Channel channel) {
+        return queues.get(channel).size();
+    }
+
+    private void runWorker(Channel channel) {
+        BlockingQueue<Notification> queue = queues.get(channel);
+        List<Notification> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Notification first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fillBatch(queue, batch);
+                flush(channel, batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                logger.error("Notification worker for {} failed: {}", channel, e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void fillBatch(BlockingQueue<Notification> queue, List<Notification> batch) throws InterruptedException {
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (batch.size() < batchSize) {
+            long waitNanos = deadline - System.nanoTime();
+            if (waitNanos <= 0) {
+                break;
+            }
+            Notification next = queue.poll(waitNanos, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    private void flush(Channel channel, List<Notification> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        ChannelMetrics channelMetrics = metrics.get(channel);
+        channelMetrics.batchSize.record(batch.size());
+        for (Notification notification : batch) {
+            notification.setStatus(Status.SENDING);
+        }
+
+        Status outcome;
+        try {
+            sendBatch(channel, batch);
+            outcome = Status.SENT;
+        } catch (Exception e) {
+            logger.warn("Failed to send {} {} notifications: {}", batch.size(), channel, e.getMessage());
+            outcome = Status.FAILED;
+        }
+
+        long now = System.nanoTime();
+        for (Notification notification : batch) {
+            notification.complete(outcome);
+            channelMetrics.latency.record(now - notification.getEnqueuedAtNanos(), TimeUnit.NANOSECONDS);
+        }
+        (outcome == Status.SENT ? channelMetrics.sent : channelMetrics.failed).increment(batch.size());
+    }
+
+    /**
+     * Deliver one batch (simulates a single call to the notification provider)
+     * In a microservices architecture this would be one request per batch, e.g.
+     * restTemplate.postForObject("http://notification-service/api/notifications/batch", payloads, String.class);
+     */
+    private void sendBatch(Channel channel, List<Notification> batch) throws InterruptedException {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Sending {} {} notifications: {}", batch.size(), channel,
+                    batch.stream().map(Notification::getId).toList());
+        }
+        if (simulatedLatencyMillis > 0) {
+            Thread.sleep(simulatedLatencyMillis);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Workers notice the flag within one poll interval and drain what is still queued
+        running = false;
+        for (Thread worker : workers) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        logger.info("Notification dispatcher stopped");
+    }
+
+    /**
+     * Virtual-thread factory on Java 21+, daemon platform threads otherwise
+     * Looked up reflectively so the application still compiles and runs on Java 17.
+     */
+    private static ThreadFactory workerThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            return runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
+    }
+
+    /**
+     * A queued notification and its delivery state
+     */
+    public static class Notification {
+        private final String id;
+        private final Channel channel;
+        private final Map<String, Object> payload;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final long enqueuedAtNanos = System.nanoTime();
+        private volatile Status status = Status.QUEUED;
+        private volatile LocalDateTime completedAt;
+
+        Notification(String id, Channel channel, Map<String, Object> payload) {
+            this.id = id;
+            this.channel = channel;
+            this.payload = Collections.unmodifiableMap(payload);
+        }
+
+        void setStatus(Status status) {
+            this.status = status;
+        }
+
+        void complete(Status status) {
+            this.completedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        // Getters
+        public String getId() { return id; }
+        public Channel getChannel() { return channel; }
+        public Map<String, Object> getPayload() { return payload; }
+        public LocalDateTime getCreatedAt() { return createdAt; }
+        public long getEnqueuedAtNanos() { return enqueuedAtNanos; }
+        public Status getStatus() { return status; }
+        public LocalDateTime getCompletedAt() { return completedAt; }
+    }
+
+    private static class ChannelMetrics {
+        private final DistributionSummary batchSize;
+        private final Timer latency;
+        private final Counter sent;
+        private final Counter failed;
+        private final Counter rejected;
+
+        ChannelMetrics(MeterRegistry meterRegistry, Channel channel, BlockingQueue<Notification> queue) {
+            String tag = channel.name().toLowerCase();
+            Gauge.builder("notifications.queue.depth", queue, BlockingQueue::size)
+                    .tag("channel", tag)
+                    .description("Notifications waiting to be dispatched")
+                    .register(meterRegistry);
+            this.batchSize = DistributionSummary.builder("notifications.batch.size")
+                    .tag("channel", tag)
+                    .description("Notifications sent per flush")
+                    .register(meterRegistry);
+            this.latency = Timer.builder("notifications.latency")
+                    .tag("channel", tag)
+                    .description("End-to-end latency from enqueue to delivery")
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+            this.sent = Counter.builder("notifications.dispatched")
+                    .tag("channel", tag).tag("outcome", "sent")
+                    .register(meterRegistry);
+            this.failed = Counter.builder("notifications.dispatched")
+                    .tag("channel", tag).tag("outcome", "failed")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("notifications.rejected")
+                    .tag("channel", tag)
+                    .description("Notifications rejected because the queue was full")
+                    .register(meterRegistry);
+        }
+    }
+}
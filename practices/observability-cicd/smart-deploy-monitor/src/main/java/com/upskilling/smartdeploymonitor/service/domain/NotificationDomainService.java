@@ -2,12 +2,10 @@ package com.upskilling.smartdeploymonitor.service.domain;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.UUID;
 
 /**
  * Notification Domain Service - Demonstrates Monolith vs Microservices Patterns
@@ -16,96 +14,80 @@ import java.util.UUID;
  * a domain boundary that could be extracted into a microservice.
  * 
  * In a microservices architecture, this would become the Notification Service.
+ * Delivery is asynchronous: send methods validate, enqueue on the NotificationDispatcher
+ * and return the notification id without waiting for the provider.
  */
 @Service
 public class NotificationDomainService {
 
     @Autowired
-    private RestTemplate restTemplate;
+    private NotificationDispatcher notificationDispatcher;
 
     /**
      * Send email notification
      * Demonstrates domain logic for email notifications
      */
-    public void sendEmailNotification(String to, String subject, String body) {
+    public String sendEmailNotification(String to, String subject, String body) {
         // Business validation
         validateEmailNotification(to, subject, body);
         
         // Create notification payload
         Map<String, Object> notification = new HashMap<>();
-        notification.put("id", UUID.randomUUID().toString());
-        notification.put("type", "EMAIL");
+        notification.put("type", NotificationDispatcher.Channel.EMAIL.name());
         notification.put("to", to);
         notification.put("subject", subject);
         notification.put("body", body);
         notification.put("timestamp", LocalDateTime.now());
-        notification.put("status", "PENDING");
         
         // In a microservices architecture, this would call the Notification Service
-        // For now, we'll simulate the call
-        processNotification(notification);
+        return notificationDispatcher.submit(NotificationDispatcher.Channel.EMAIL, notification);
     }
 
     /**
      * Send SMS notification
      * Demonstrates domain logic for SMS notifications
      */
-    public void sendSmsNotification(String phoneNumber, String message) {
+    public String sendSmsNotification(String phoneNumber, String message) {
         // Business validation
         validateSmsNotification(phoneNumber, message);
         
         // Create notification payload
         Map<String, Object> notification = new HashMap<>();
-        notification.put("id", UUID.randomUUID().toString());
-        notification.put("type", "SMS");
+        notification.put("type", NotificationDispatcher.Channel.SMS.name());
         notification.put("phoneNumber", phoneNumber);
         notification.put("message", message);
         notification.put("timestamp", LocalDateTime.now());
-        notification.put("status", "PENDING");
         
         // In a microservices architecture, this would call the Notification Service
-        processNotification(notification);
+        return notificationDispatcher.submit(NotificationDispatcher.Channel.SMS, notification);
     }
 
     /**
      * Send push notification
      * Demonstrates domain logic for push notifications
      */
-    public void sendPushNotification(String userId, String title, String body) {
+    public String sendPushNotification(String userId, String title, String body) {
         // Business validation
         validatePushNotification(userId, title, body);
         
         // Create notification payload
         Map<String, Object> notification = new HashMap<>();
-        notification.put("id", UUID.randomUUID().toString());
-        notification.put("type", "PUSH");
+        notification.put("type", NotificationDispatcher.Channel.PUSH.name());
         notification.put("userId", userId);
         notification.put("title", title);
         notification.put("body", body);
         notification.put("timestamp", LocalDateTime.now());
-        notification.put("status", "PENDING");
         
         // In a microservices architecture, this would call the Notification Service
-        processNotification(notification);
+        return notificationDispatcher.submit(NotificationDispatcher.Channel.PUSH, notification);
     }
 
     /**
-     * Process notification (simulates microservice call)
-     * Demonstrates inter-service communication patterns
+     * Look up a notification's delivery status
+     * @return The notification, or null if the id is unknown or its status has expired
      */
-    private void processNotification(Map<String, Object> notification) {
-        // In a real microservices architecture, this would be:
-        // restTemplate.postForObject("http://notification-service/api/notifications", notification, String.class);
-        
-        // For now, we'll just log the notification
-        System.out.println("Processing notification: " + notification);
-        
-        // Simulate processing delay
-        try {
-            Thread.sleep(100);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+    public NotificationDispatcher.Notification getNotification(String id) {
+        return notificationDispatcher.getNotification(id);
     }
 
     /**
@@ -1,8 +1,11 @@
 package com.upskilling.smartdeploymonitor.service.domain;
 
 import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserOutboxEntry;
 import com.upskilling.smartdeploymonitor.entity.UserRole;
 import com.upskilling.smartdeploymonitor.repository.UserRepository;
+import com.upskilling.smartdeploymonitor.service.UserCacheService;
+import com.upskilling.smartdeploymonitor.service.UserIndexSyncService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,6 +29,12 @@ public class UserDomainService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Autowired
+    private UserIndexSyncService userIndexSyncService;
+
     /**
      * Create a new user with business validation
      * Demonstrates domain logic encapsulation
@@ -48,7 +57,9 @@ public class UserDomainService {
         user.setRole(role);
         user.setIsActive(true);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userIndexSyncService.record(savedUser.getId(), UserOutboxEntry.Operation.UPSERT);
+        return savedUser;
     }
 
     /**
@@ -67,7 +78,10 @@ public class UserDomainService {
         user.setLastName(lastName);
         user.setRole(role);
         
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        userCacheService.evict(savedUser.getEmail());
+        userIndexSyncService.record(savedUser.getId(), UserOutboxEntry.Operation.UPSERT);
+        return savedUser;
     }
 
     /**
@@ -80,6 +94,8 @@ public class UserDomainService {
         
         user.setIsActive(false);
         userRepository.save(user);
+        userCacheService.evict(user.getEmail());
+        userIndexSyncService.record(user.getId(), UserOutboxEntry.Operation.UPSERT);
     }
 
     /**
@@ -0,0 +1,322 @@
+package com.upskilling.smartdeploymonitor.validation;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-pass attack signature matcher
+ *
+ * All SQL injection, XSS and path traversal signatures are compiled into one Aho-Corasick
+ * automaton flattened into a DFA table, so an input is classified in one left-to-right pass
+ * with a single table lookup per character and no backtracking. Input is lower-cased and
+ * whitespace runs are collapsed on the fly. A few signatures need a short, bounded
+ * look-ahead (e.g. "or 1=1"), which keeps the cost per character constant.
+ *
+ * Scanning stops at the first hit. Otherwise the whole value is inspected: the cost is
+ * linear in its length, and the container's request size limits already bound it, so
+ * there is no cut-off behind which an attack could be hidden.
+ */
+@Component
+public class AttackPatternMatcher {
+
+    public enum AttackType {
+        SQL_INJECTION,
+        XSS,
+        PATH_TRAVERSAL;
+
+        public int mask() {
+            return 1 << ordinal();
+        }
+    }
+
+    public static final int ALL = (1 << AttackType.values().length) - 1;
+
+    // Post-match checks on the raw input following a signature
+    private static final int VERIFY_NONE = 0;
+    private static final int VERIFY_TAUTOLOGY = 1;      // e.g. "or 1=1", "or 'a'='a"
+    private static final int VERIFY_ASSIGNMENT = 2;     // e.g. "onerror ="
+    private static final int VERIFY_COMMENT_CLOSE = 3;  // "/* ... */"
+
+    private static final int MAX_LOOKAHEAD = 64;
+    private static final char SPACE = ' ';
+
+    private static final String[] SQL_KEYWORDS = {
+        "union", "select", "insert", "delete", "update", "drop", "create", "alter",
+        "exec", "execute", "truncate", "declare", "cast", "convert"
+    };
+
+    private static final String[] SQL_KEYWORD_PREFIXES = {" ", ";", "'", "\"", "("};
+
+    private static final String[] EVENT_HANDLERS = {
+        "onload", "onerror", "onclick", "ondblclick", "onmouseover", "onmouseout", "onmousedown",
+        "onmouseup", "onmousemove", "onfocus", "onblur", "onchange", "onsubmit", "onreset",
+        "onselect", "onkeydown", "onkeyup", "onkeypress", "oninput", "ontoggle", "onbegin",
+        "onanimationstart", "onpointerover", "onpageshow", "onhashchange"
+    };
+
+    // Compiled automaton
+    private final int[] charClass = new int[128];
+    private final int spaceClass;
+    private final int alphabetSize;
+    private final int[] transitions;
+    private final int[][] outputs;
+    private final AttackType[] patternTypes;
+    private final int[] patternVerifiers;
+
+    public AttackPatternMatcher() {
+        List<String> tokens = new ArrayList<>();
+        List<AttackType> types = new ArrayList<>();
+        List<Integer> verifiers = new ArrayList<>();
+
+        // SQL injection
+        for (String prefix : SQL_KEYWORD_PREFIXES) {
+            for (String keyword : SQL_KEYWORDS) {
+                add(tokens, types, verifiers, AttackType.SQL_INJECTION, VERIFY_NONE, prefix + keyword + " ");
+            }
+        }
+        add(tokens, types, verifiers, AttackType.SQL_INJECTION, VERIFY_TAUTOLOGY,
+                " or", "'or", "\"or", ")or", " and", "'and", "\"and", ")and");
+        add(tokens, types, verifiers, AttackType.SQL_INJECTION, VERIFY_NONE,
+                "'--", "' --", "\"--", "'#", "';", "' ;", "\";",
+                "exec(", "sleep(", "pg_sleep(", "benchmark(", "waitfor delay",
+                "information_schema", "xp_cmdshell");
+        add(tokens, types, verifiers, AttackType.SQL_INJECTION, VERIFY_COMMENT_CLOSE, "/*");
+
+        // Cross-site scripting
+        add(tokens, types, verifiers, AttackType.XSS, VERIFY_NONE,
+                "<script", "</script", "javascript:", "vbscript:", "<iframe", "<object", "<embed",
+                "data:text/html");
+        // URL-encoded tags reaching the application still encoded (double-encoded requests)
+        add(tokens, types, verifiers, AttackType.XSS, VERIFY_NONE,
+                "%3cscript", "%3c/script", "%3c%2fscript", "%3ciframe", "%3cobject", "%3cembed");
+        add(tokens, types, verifiers, AttackType.XSS, VERIFY_ASSIGNMENT, EVENT_HANDLERS);
+
+        // Path traversal (plain, URL-encoded and double-encoded)
+        add(tokens, types, verifiers, AttackType.PATH_TRAVERSAL, VERIFY_NONE,
+                "../", "..\\", "..%2f", "..%5c", "%2e%2e/", "%2e%2e\\", "%2e%2e%2f", "%2e%2e%5c",
+                "%252e%252e%252f", "%252e%252e%255c");
+
+        this.patternTypes = types.toArray(new AttackType[0]);
+        this.patternVerifiers = verifiers.stream().mapToInt(Integer::intValue).toArray();
+
+        // Alphabet: every character used by a signature gets its own class, everything else is 0
+        int nextClass = 1;
+        for (String token : tokens) {
+            for (char c : token.toCharArray()) {
+                if (charClass[c] == 0) {
+                    charClass[c] = nextClass++;
+                }
+            }
+        }
+        if (charClass[SPACE] == 0) {
+            charClass[SPACE] = nextClass++;
+        }
+        this.spaceClass = charClass[SPACE];
+        this.alphabetSize = nextClass;
+
+        // Trie
+        List<int[]> children = new ArrayList<>();
+        List<List<Integer>> stateOutputs = new ArrayList<>();
+        children.add(newRow());
+        stateOutputs.add(new ArrayList<>());
+        for (int p = 0; p < tokens.size(); p++) {
+            int state = 0;
+            for (char c : tokens.get(p).toCharArray()) {
+                int cls = charClass[c];
+                if (children.get(state)[cls] < 0) {
+                    children.get(state)[cls] = children.size();
+                    children.add(newRow());
+                    stateOutputs.add(new ArrayList<>());
+                }
+                state = children.get(state)[cls];
+            }
+            stateOutputs.get(state).add(p);
+        }
+
+        // Failure links, folded into a complete transition table (BFS order)
+        int stateCount = children.size();
+        int[] failure = new int[stateCount];
+        this.transitions = new int[stateCount * alphabetSize];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int cls = 0; cls < alphabetSize; cls++) {
+            int child = children.get(0)[cls];
+            if (child < 0) {
+                transitions[cls] = 0;
+            } else {
+                transitions[cls] = child;
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            stateOutputs.get(state).addAll(stateOutputs.get(failure[state]));
+            for (int cls = 0; cls < alphabetSize; cls++) {
+                int child = children.get(state)[cls];
+                if (child < 0) {
+                    transitions[state * alphabetSize + cls] = transitions[failure[state] * alphabetSize + cls];
+                } else {
+                    transitions[state * alphabetSize + cls] = child;
+                    failure[child] = transitions[failure[state] * alphabetSize + cls];
+                    queue.add(child);
+                }
+            }
+        }
+
+        this.outputs = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            List<Integer> out = stateOutputs.get(state);
+            outputs[state] = out.isEmpty() ? null : out.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * Classify input against all signature families
+     * @return First detected attack type, or null if the input looks clean
+     */
+    public AttackType detect(String input) {
+        return detect(input, ALL);
+    }
+
+    /**
+     * Classify input against the families selected by the mask
+     * @param categoryMask Bitwise OR of {@link AttackType#mask()} values
+     * @return First detected attack type, or null if none matched
+     */
+    public AttackType detect(String input, int categoryMask) {
+        if (input == null || input.isEmpty()) {
+            return null;
+        }
+
+        int limit = input.length();
+        // Virtual leading space so signatures anchored on whitespace also match at the start
+        int state = transitions[spaceClass];
+        boolean lastWasSpace = true;
+
+        for (int i = 0; i < limit; i++) {
+            char c = input.charAt(i);
+            int cls;
+            if (Character.isWhitespace(c)) {
+                if (lastWasSpace) {
+                    continue;
+                }
+                lastWasSpace = true;
+                cls = spaceClass;
+            } else {
+                lastWasSpace = false;
+                cls = classOf(c);
+            }
+
+            state = transitions[state * alphabetSize + cls];
+            int[] matched = outputs[state];
+            if (matched != null) {
+                for (int pattern : matched) {
+                    if ((patternTypes[pattern].mask() & categoryMask) != 0
+                            && verify(patternVerifiers[pattern], input, i + 1, limit)) {
+                        return patternTypes[pattern];
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    private int classOf(char c) {
+        if (c >= 'A' && c <= 'Z') {
+            c = (char) (c + ('a' - 'A'));
+        }
+        return c < 128 ? charClass[c] : 0;
+    }
+
+    private boolean verify(int verifier, String input, int from, int limit) {
+        int end = Math.min(limit, from + MAX_LOOKAHEAD);
+        switch (verifier) {
+            case VERIFY_TAUTOLOGY:
+                return isTautology(input, from, end);
+            case VERIFY_ASSIGNMENT:
+                return nextNonSpace(input, from, end) == '=';
+            case VERIFY_COMMENT_CLOSE:
+                for (int i = from; i + 1 < end; i++) {
+                    if (input.charAt(i) == '*' && input.charAt(i + 1) == '/') {
+                        return true;
+                    }
+                }
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    /**
+     * Matches {@code <sep> operand \s* = \s* operand} right after "or"/"and",
+     * where sep is whitespace, a quote or a parenthesis and operands are optionally quoted words
+     */
+    private static boolean isTautology(String input, int pos, int end) {
+        if (pos >= end) {
+            return false;
+        }
+        char sep = input.charAt(pos);
+        if (!Character.isWhitespace(sep) && sep != '\'' && sep != '"' && sep != '(') {
+            return false;
+        }
+        pos = skipSpaces(input, pos, end);
+        pos = skipOperand(input, pos, end);
+        if (pos < 0) {
+            return false;
+        }
+        pos = skipSpaces(input, pos, end);
+        if (pos >= end || input.charAt(pos) != '=') {
+            return false;
+        }
+        pos = skipSpaces(input, pos + 1, end);
+        return skipOperand(input, pos, end) >= 0;
+    }
+
+    private static int skipOperand(String input, int pos, int end) {
+        while (pos < end && (input.charAt(pos) == '\'' || input.charAt(pos) == '"' || input.charAt(pos) == '(')) {
+            pos++;
+        }
+        int start = pos;
+        while (pos < end && (Character.isLetterOrDigit(input.charAt(pos)) || input.charAt(pos) == '_')) {
+            pos++;
+        }
+        if (pos == start) {
+            return -1;
+        }
+        while (pos < end && (input.charAt(pos) == '\'' || input.charAt(pos) == '"')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int skipSpaces(String input, int pos, int end) {
+        while (pos < end && Character.isWhitespace(input.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static char nextNonSpace(String input, int pos, int end) {
+        pos = skipSpaces(input, pos, end);
+        return pos < end ? input.charAt(pos) : 0;
+    }
+
+    private int[] newRow() {
+        int[] row = new int[alphabetSize];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static void add(List<String> tokens, List<AttackType> types, List<Integer> verifiers,
+                            AttackType type, int verifier, String... values) {
+        for (String value : values) {
+            tokens.add(value);
+            types.add(type);
+            verifiers.add(verifier);
+        }
+    }
+}
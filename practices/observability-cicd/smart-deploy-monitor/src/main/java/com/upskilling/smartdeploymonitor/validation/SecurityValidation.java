@@ -12,19 +12,9 @@ import java.util.regex.Pattern;
 @Component
 public class SecurityValidation {
 
-    // Common attack patterns
-    private static final Pattern SQL_INJECTION_PATTERN = Pattern.compile(
-        "(?i)(union|select|insert|update|delete|drop|create|alter|exec|execute|script|javascript|vbscript|onload|onerror|onclick)"
-    );
-    
-    private static final Pattern XSS_PATTERN = Pattern.compile(
-        "(?i)(<script|</script|javascript:|vbscript:|onload|onerror|onclick|onmouseover|onfocus|onblur|onchange|onsubmit|onreset|onselect|onkeydown|onkeyup|onkeypress)"
-    );
-    
-    private static final Pattern PATH_TRAVERSAL_PATTERN = Pattern.compile(
-        "(\\.\\./|\\.\\.\\\\|%2e%2e%2f|%2e%2e%5c|%252e%252e%252f|%252e%252e%255c)"
-    );
-    
+    // SQL injection, XSS and path traversal share the request filter's single-pass matcher
+    private final AttackPatternMatcher attackPatternMatcher;
+
     private static final Pattern LDAP_INJECTION_PATTERN = Pattern.compile(
         "(?i)(\\*|\\(|\\)|\\\\|/|;|,|&|\\||!|=|<|>|~)"
     );
@@ -39,6 +29,10 @@ public class SecurityValidation {
         "^(?=.*[a-z])(?=.*[A-Z])(?=.*\\d)(?=.*[@$!%*?&])[A-Za-z\\d@$!%*?&]{8,}$"
     );
 
+    public SecurityValidation(AttackPatternMatcher attackPatternMatcher) {
+        this.attackPatternMatcher = attackPatternMatcher;
+    }
+
     /**
      * Validate and sanitize input string
      */
@@ -67,7 +61,7 @@ public class SecurityValidation {
             return true;
         }
         
-        return !SQL_INJECTION_PATTERN.matcher(input).find();
+        return attackPatternMatcher.detect(input, AttackPatternMatcher.AttackType.SQL_INJECTION.mask()) == null;
     }
 
     /**
@@ -78,7 +72,7 @@ public class SecurityValidation {
             return true;
         }
         
-        return !XSS_PATTERN.matcher(input).find();
+        return attackPatternMatcher.detect(input, AttackPatternMatcher.AttackType.XSS.mask()) == null;
     }
 
     /**
@@ -89,7 +83,7 @@ public class SecurityValidation {
             return true;
         }
         
-        return !PATH_TRAVERSAL_PATTERN.matcher(input).find();
+        return attackPatternMatcher.detect(input, AttackPatternMatcher.AttackType.PATH_TRAVERSAL.mask()) == null;
     }
 
     /**
@@ -0,0 +1,228 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import com.upskilling.smartdeploymonitor.dto.UserSummary;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.service.CachedUserCodec;
+import com.upskilling.smartdeploymonitor.service.UserCacheService;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BinaryRedisSerializerTest {
+
+    private final BinaryRedisSerializer serializer = serializer(BinaryRedisSerializer.Format.BINARY, 512);
+
+    @Test
+    void roundTripsBuiltInTypes() {
+        for (Object value : List.of("", "héllo wörld ✓", Long.MIN_VALUE, 42L, Integer.MAX_VALUE, -1.5d, true, false)) {
+            byte[] bytes = serializer.serialize(value);
+            assertThat(bytes[0]).isEqualTo(BinaryRedisSerializer.MAGIC);
+            assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+        }
+        assertThat(serializer.serialize(null)).isEmpty();
+        assertThat(serializer.deserialize(new byte[0])).isNull();
+        assertThat(serializer.deserialize(null)).isNull();
+    }
+
+    @Test
+    void roundTripsApplicationCodecs() {
+        UserSummary user = user(1);
+        UserCacheService.CachedUser principal = new UserCacheService.CachedUser("jane@example.com", "ADMIN", true);
+
+        UserSummary userCopy = (UserSummary) serializer.deserialize(serializer.serialize(user));
+        UserCacheService.CachedUser principalCopy =
+                (UserCacheService.CachedUser) serializer.deserialize(serializer.serialize(principal));
+
+        assertSameUser(userCopy, user);
+        assertThat(principalCopy).usingRecursiveComparison().isEqualTo(principal);
+    }
+
+    @Test
+    void keepsNullFields() {
+        UserSummary user = new UserSummary(null, null, null, null, null, null, null, null);
+
+        UserSummary copy = (UserSummary) serializer.deserialize(serializer.serialize(user));
+
+        assertThat(copy.getId()).isNull();
+        assertThat(copy.getEmail()).isNull();
+        assertThat(copy.getRole()).isNull();
+        assertThat(copy.getIsActive()).isNull();
+        assertThat(copy.getCreatedAt()).isNull();
+    }
+
+    @Test
+    void roundTripsListsElementByElement() {
+        Map<String, Object> unregistered = new LinkedHashMap<>();
+        unregistered.put("unregistered", "type");
+        List<Object> values = new ArrayList<>(Arrays.asList(user(1), null, "text", 7L, user(2), unregistered));
+
+        @SuppressWarnings("unchecked")
+        List<Object> copy = (List<Object>) serializer.deserialize(serializer.serialize(values));
+
+        assertThat(copy).hasSize(6);
+        assertSameUser((UserSummary) copy.get(0), (UserSummary) values.get(0));
+        assertThat(copy.get(1)).isNull();
+        assertThat(copy.subList(2, 4)).containsExactly("text", 7L);
+        assertSameUser((UserSummary) copy.get(4), (UserSummary) values.get(4));
+        assertThat(copy.get(5)).isEqualTo(unregistered);
+    }
+
+    @Test
+    void writesUnregisteredTypesAsJsonInsideTheEnvelope() {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("event", "login");
+        value.put("count", 3);
+
+        byte[] bytes = serializer.serialize(value);
+
+        assertThat(bytes[0]).isEqualTo(BinaryRedisSerializer.MAGIC);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(value);
+    }
+
+    @Test
+    void compressesLargeBodiesOnlyWhenItPays() {
+        String repetitive = "{\"event\":\"login\",\"source\":\"web\"}".repeat(64);
+        byte[] random = new byte[2048];
+        new Random(1).nextBytes(random);
+        // Printable but poorly compressible
+        String noisy = Base64.getEncoder().encodeToString(random);
+
+        byte[] compressed = serializer.serialize(repetitive);
+        byte[] uncompressed = serializer(BinaryRedisSerializer.Format.BINARY, 0).serialize(repetitive);
+
+        assertThat(compressed.length).isLessThan(uncompressed.length / 4);
+        assertThat(serializer.deserialize(compressed)).isEqualTo(repetitive);
+        assertThat(serializer.deserialize(serializer.serialize(noisy))).isEqualTo(noisy);
+    }
+
+    @Test
+    void readsLegacyAndJsonFormatValues() {
+        BinaryRedisSerializer jsonWriter = serializer(BinaryRedisSerializer.Format.JSON, 512);
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("legacy", true);
+        byte[] legacy = new GenericJackson2JsonRedisSerializer().serialize(value);
+
+        assertThat(serializer.deserialize(legacy)).isEqualTo(value);
+        assertThat(serializer.deserialize(jsonWriter.serialize("plain"))).isEqualTo("plain");
+        assertThat(jsonWriter.deserialize(serializer.serialize("binary"))).isEqualTo("binary");
+    }
+
+    @Test
+    void rejectsUnknownVersionsAndTypeIds() {
+        byte[] futureVersion = serializer.serialize("x");
+        futureVersion[1] = 99;
+        byte[] unknownType = {BinaryRedisSerializer.MAGIC, BinaryRedisSerializer.VERSION, 0, 120};
+
+        assertThatThrownBy(() -> serializer.deserialize(futureVersion)).isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> serializer.deserialize(unknownType))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("120");
+    }
+
+    @Test
+    void rejectsConflictingRegistrations() {
+        assertThatThrownBy(() -> new BinaryRedisSerializer(List.of(new CachedUserCodec(), new FixedIdCodec(CachedUserCodec.TYPE_ID)),
+                BinaryRedisSerializer.Format.BINARY, 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("registered for both");
+        assertThatThrownBy(() -> new BinaryRedisSerializer(List.of(new FixedIdCodec(6)),
+                BinaryRedisSerializer.Format.BINARY, 0))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("reserved");
+    }
+
+    @Test
+    void encodesVarIntsAndStrings() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buffer);
+        int[] numbers = {0, 1, 127, 128, 16_383, 16_384, Integer.MAX_VALUE, -1};
+        for (int number : numbers) {
+            RedisValueCodec.writeVarInt(out, number);
+        }
+        RedisValueCodec.writeString(out, null);
+        RedisValueCodec.writeString(out, "");
+        RedisValueCodec.writeString(out, "ünïcødé");
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buffer.toByteArray()));
+        for (int number : numbers) {
+            assertThat(RedisValueCodec.readVarInt(in)).isEqualTo(number);
+        }
+        assertThat(RedisValueCodec.readString(in)).isNull();
+        assertThat(RedisValueCodec.readString(in)).isEmpty();
+        assertThat(RedisValueCodec.readString(in)).isEqualTo("ünïcødé");
+        assertThat(in.available()).isZero();
+    }
+
+    @Test
+    void binaryIsSmallerThanJsonForUsers() {
+        List<UserSummary> users = List.of(user(1), user(2), user(3));
+        BinaryRedisSerializer json = serializer(BinaryRedisSerializer.Format.JSON, 0);
+
+        assertThat(serializer.serialize(users).length).isLessThan(json.serialize(users).length / 2);
+    }
+
+    private static BinaryRedisSerializer serializer(BinaryRedisSerializer.Format format, int compressionThreshold) {
+        return new BinaryRedisSerializer(List.of(new CachedUserCodec(), new CacheConfig.UserSummaryCodec()),
+                format, compressionThreshold);
+    }
+
+    private static UserSummary user(int n) {
+        return new UserSummary(UUID.nameUUIDFromBytes(("user" + n).getBytes()), "user" + n + "@example.com",
+                "First" + n, "Last" + n, n % 2 == 0 ? UserRole.ADMIN : UserRole.USER, n % 3 != 0,
+                LocalDateTime.of(2024, 1, n, 9, 30, 12, 345_678_000), LocalDateTime.of(2024, 2, n, 10, 0));
+    }
+
+    private static void assertSameUser(UserSummary actual, UserSummary expected) {
+        assertThat(actual).usingRecursiveComparison().isEqualTo(expected);
+    }
+
+    private static final class Marker {
+    }
+
+    private static final class FixedIdCodec implements RedisValueCodec<Marker> {
+        private final int typeId;
+
+        FixedIdCodec(int typeId) {
+            this.typeId = typeId;
+        }
+
+        @Override
+        public int typeId() {
+            return typeId;
+        }
+
+        @Override
+        public Class<Marker> type() {
+            return Marker.class;
+        }
+
+        @Override
+        public void write(Marker value, DataOutput out) {
+        }
+
+        @Override
+        public Marker read(DataInput in) {
+            return new Marker();
+        }
+    }
+}
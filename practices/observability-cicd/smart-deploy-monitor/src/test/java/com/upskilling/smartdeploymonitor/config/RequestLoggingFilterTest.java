@@ -0,0 +1,42 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLoggingFilterTest {
+
+    private static final String JSON = "application/json";
+    private static final String FORM = "application/x-www-form-urlencoded; charset=UTF-8";
+
+    @Test
+    void masksJsonSecrets() {
+        String body = "{\"email\":\"jane@example.com\",\"password\" : \"hunter2\",\"refreshToken\":\"abc.def\"}";
+
+        assertThat(RequestLoggingFilter.mask(body, JSON))
+                .isEqualTo("{\"email\":\"jane@example.com\",\"password\" : \"***\",\"refreshToken\":\"***\"}");
+    }
+
+    @Test
+    void masksFormSecrets() {
+        String body = "username=jane&password=hunter2&grant_type=password&client_secret=s3cr%3Dt&remember=on";
+
+        assertThat(RequestLoggingFilter.mask(body, FORM))
+                .isEqualTo("username=jane&password=***&grant_type=password&client_secret=***&remember=on");
+    }
+
+    @Test
+    void masksFormSecretsRegardlessOfCaseAndPosition() {
+        assertThat(RequestLoggingFilter.mask("PASSWORD=x", FORM)).isEqualTo("PASSWORD=***");
+        assertThat(RequestLoggingFilter.mask("a=1&access_token=", FORM)).isEqualTo("a=1&access_token=***");
+    }
+
+    @Test
+    void leavesSimilarlyNamedFieldsAlone() {
+        String form = "passwordHint=blue&mytoken=1";
+        String json = "{\"passwordHint\":\"blue\"}";
+
+        assertThat(RequestLoggingFilter.mask(form, FORM)).isEqualTo(form);
+        assertThat(RequestLoggingFilter.mask(json, JSON)).isEqualTo(json);
+    }
+}
@@ -0,0 +1,126 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.ReadableSpan;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TailSamplingSpanProcessorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CapturingExporter exporter = new CapturingExporter();
+    private TailSamplingSpanProcessor processor;
+    private SdkTracerProvider tracerProvider;
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void dropsSpansEndingAfterTheirTraceWasDecided() throws InterruptedException {
+        Tracer tracer = tracer(new TracingProperties.Tail());
+        Span root = tracer.spanBuilder("root").startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan();
+
+        root.end();
+        child.end();
+
+        assertThat(awaitExport(1)).extracting(SpanData::getName).containsExactly("root");
+        assertThat(dropped("late")).isEqualTo(1);
+        assertThat(meterRegistry.get("tracing.traces.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void capsSpansBufferedAcrossTraces() throws InterruptedException {
+        TracingProperties.Tail properties = new TracingProperties.Tail();
+        properties.setMaxBufferedSpans(2);
+        Tracer tracer = tracer(properties);
+        Span root = tracer.spanBuilder("root").startSpan();
+        for (int i = 0; i < 3; i++) {
+            tracer.spanBuilder("child" + i).setParent(Context.current().with(root)).startSpan().end();
+        }
+
+        assertThat(meterRegistry.get("tracing.spans.pending").gauge().value()).isEqualTo(2);
+        root.end();
+
+        assertThat(awaitExport(2)).extracting(SpanData::getName).containsExactly("child0", "child1");
+        assertThat(dropped("buffer_full")).isEqualTo(2);
+        assertThat(meterRegistry.get("tracing.spans.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void spansReachingADrainedTraceTakeNoBufferRoom() {
+        Tracer tracer = tracer(new TracingProperties.Tail());
+        Span root = tracer.spanBuilder("root").startSpan();
+        Span child = tracer.spanBuilder("child").setParent(Context.current().with(root)).startSpan();
+        // The child's onEnd looked the trace up just before the root's onEnd removed and drained it
+        TailSamplingSpanProcessor.PendingTrace trace = processor.new PendingTrace();
+        trace.add(((ReadableSpan) root).toSpanData());
+        assertThat(meterRegistry.get("tracing.spans.pending").gauge().value()).isEqualTo(1);
+
+        trace.drain();
+        boolean added = trace.add(((ReadableSpan) child).toSpanData());
+
+        assertThat(added).isFalse();
+        assertThat(meterRegistry.get("tracing.spans.pending").gauge().value()).isZero();
+        assertThat(dropped("late")).isEqualTo(1);
+    }
+
+    private Tracer tracer(TracingProperties.Tail properties) {
+        // Keep every decided trace
+        properties.setLatencyThreshold(Duration.ZERO);
+        processor = new TailSamplingSpanProcessor(exporter, properties, meterRegistry);
+        tracerProvider = SdkTracerProvider.builder()
+                .addSpanProcessor(processor)
+                .build();
+        return tracerProvider.get("test");
+    }
+
+    private List<SpanData> awaitExport(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (exporter.spans.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        return new ArrayList<>(exporter.spans);
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("tracing.spans.dropped").tag("reason", reason).counter().count();
+    }
+
+    private static final class CapturingExporter implements SpanExporter {
+        private final List<SpanData> spans = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableResultCode export(Collection<SpanData> batch) {
+            spans.addAll(batch);
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode flush() {
+            return CompletableResultCode.ofSuccess();
+        }
+
+        @Override
+        public CompletableResultCode shutdown() {
+            return CompletableResultCode.ofSuccess();
+        }
+    }
+}
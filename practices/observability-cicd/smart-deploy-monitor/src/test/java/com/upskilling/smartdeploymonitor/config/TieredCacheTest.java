@@ -0,0 +1,180 @@
+package com.upskilling.smartdeploymonitor.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TieredCacheTest {
+
+    private TieredCache cache;
+
+    @BeforeEach
+    void setUp() {
+        CacheRegionProperties.Region region = new CacheRegionProperties.Region();
+        region.setMaxSize(100);
+        region.setTtlSeconds(60);
+        cache = new TieredCache("users", region, new SimpleMeterRegistry(), null, namespace -> 0);
+    }
+
+    @Test
+    void loadedListsAreSharedReadOnly() {
+        List<String> loaded = new ArrayList<>(List.of("a", "b"));
+
+        List<String> first = cache.get("key", () -> loaded);
+        List<String> second = cache.get("key", () -> List.of("other"));
+
+        assertThat(second).isSameAs(first).containsExactly("a", "b");
+        assertThatThrownBy(() -> first.add("c")).isInstanceOf(UnsupportedOperationException.class);
+        loaded.clear();
+        assertThat(second).containsExactly("a", "b");
+    }
+
+    @Test
+    void putStoresACopy() {
+        List<String> value = new ArrayList<>(Arrays.asList("a", null));
+        cache.put("key", value);
+        value.add("b");
+
+        @SuppressWarnings("unchecked")
+        List<String> cached = (List<String>) cache.get("key").get();
+
+        assertThat(cached).containsExactly("a", null);
+        assertThatThrownBy(cached::clear).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void loadsAreRecordedInCacheStats() {
+        cache.get("key", () -> "value");
+        cache.get("key", () -> "other");
+        cache.get("key", () -> "other");
+
+        CacheStats stats = nativeCache().stats();
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.loadSuccessCount()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> cache.get("key", () -> {
+                    loads.incrementAndGet();
+                    release.await();
+                    return "value";
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedAndNullLoadsAreNotCached() {
+        assertThatThrownBy(() -> cache.get("key", () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(Cache.ValueRetrievalException.class);
+        String missing = cache.get("key", () -> null);
+        String loaded = cache.get("key", () -> "value");
+
+        assertThat(missing).isNull();
+        assertThat(loaded).isEqualTo("value");
+    }
+
+    @Test
+    void leavesOtherValuesAlone() {
+        Object value = new Object();
+
+        assertThat(TieredCache.readOnly(value)).isSameAs(value);
+        assertThat(TieredCache.readOnly(Map.of("k", 1))).isEqualTo(Map.of("k", 1));
+    }
+
+    @Test
+    void loadFinishingAfterAnEvictIsNotPublished() {
+        RedisTemplate<String, Object> redisTemplate = redisTemplate();
+        TieredCache shared = sharedCache(redisTemplate, 0);
+
+        String value = shared.get("ADMIN", () -> {
+            // A write commits and evicts while the load still holds the old rows
+            shared.evict("ADMIN");
+            return "stale";
+        });
+        shared.get("USER", () -> "fresh");
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(nativeCache(shared).getIfPresent("ADMIN")).isNull();
+        verify(redisTemplate.opsForValue(), never()).set(eq("region:users:ADMIN"), any(), any(Duration.class));
+        verify(redisTemplate.opsForValue()).set(eq("region:users:USER"), eq("fresh"), any(Duration.class));
+    }
+
+    @Test
+    void evictionsAreRepeatedAfterTheRedelay() {
+        RedisTemplate<String, Object> redisTemplate = redisTemplate();
+        TieredCache shared = sharedCache(redisTemplate, 50);
+
+        shared.evict("ADMIN");
+
+        verify(redisTemplate).delete("region:users:ADMIN");
+        verify(redisTemplate, timeout(2000).times(2)).delete("region:users:ADMIN");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static RedisTemplate<String, Object> redisTemplate() {
+        RedisTemplate<String, Object> redisTemplate = mock(RedisTemplate.class);
+        ValueOperations<String, Object> operations = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(operations);
+        return redisTemplate;
+    }
+
+    private static TieredCache sharedCache(RedisTemplate<String, Object> redisTemplate, long evictRedelayMillis) {
+        CacheRegionProperties.Region region = new CacheRegionProperties.Region();
+        region.setEvictRedelayMillis(evictRedelayMillis);
+        return new TieredCache("users", region, new SimpleMeterRegistry(), redisTemplate, namespace -> 0);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache() {
+        return nativeCache(cache);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache(TieredCache tieredCache) {
+        return (com.github.benmanes.caffeine.cache.Cache<Object, Object>) tieredCache.getNativeCache();
+    }
+}
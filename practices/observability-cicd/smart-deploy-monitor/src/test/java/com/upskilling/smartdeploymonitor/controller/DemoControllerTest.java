@@ -1 +1,75 @@
- 
\ No newline at end of file
+package com.upskilling.smartdeploymonitor.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DemoControllerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private DemoController controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        controller = new DemoController(meterRegistry);
+    }
+
+    @Test
+    void healthReportsUp() {
+        Map<String, Object> response = controller.health();
+
+        assertThat(response).containsEntry("status", "UP").containsKeys("timestamp", "uptime");
+        assertThat(requests()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("demo.response.time").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void infoDescribesTheApplication() {
+        Map<String, Object> response = controller.info();
+
+        assertThat(response)
+                .containsEntry("application", "Smart Deploy Monitor")
+                .containsEntry("java.version", System.getProperty("java.version"));
+    }
+
+    @Test
+    void logsReportTheLevelOfTheRandomValue() {
+        for (int i = 0; i < 50; i++) {
+            Map<String, Object> response = controller.generateLogs();
+            int value = (Integer) response.get("random_value");
+            String expected = value < 10 ? "ERROR" : value < 25 ? "WARN" : "INFO";
+            assertThat(response.get("log_level")).isEqualTo(expected);
+        }
+        assertThat(requests()).isEqualTo(50.0);
+    }
+
+    @Test
+    void errorIsCounted() {
+        Map<String, Object> response = controller.simulateError();
+
+        assertThat(response).containsEntry("error_code", "DEMO_ERROR_001");
+        assertThat(meterRegistry.get("demo.errors.total").counter().count()).isEqualTo(1.0);
+        assertThat(requests()).isEqualTo(1.0);
+    }
+
+    @Test
+    void dataIsEchoed() {
+        Map<String, Object> data = Map.of("name", "deploy");
+
+        Map<String, Object> response = controller.processData(data);
+
+        assertThat(response)
+                .containsEntry("status", "processed")
+                .containsEntry("received_data", data)
+                .containsEntry("data_size", data.toString().length());
+    }
+
+    private double requests() {
+        return meterRegistry.get("demo.requests.total").counter().count();
+    }
+}
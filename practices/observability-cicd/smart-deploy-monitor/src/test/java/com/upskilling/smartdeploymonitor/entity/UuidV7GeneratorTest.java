@@ -0,0 +1,92 @@
+package com.upskilling.smartdeploymonitor.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void setsVersionAndVariant() {
+        UUID uuid = UuidV7Generator.next();
+
+        assertThat(uuid.version()).isEqualTo(7);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void embedsTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        // A full sequence carries into the timestamp, so after a burst it may run ahead of the clock
+        assertThat(UuidV7Generator.timestamp(uuid)).isBetween(before, after + 1_000);
+    }
+
+    @Test
+    void keysAreStrictlyIncreasingInOneThread() {
+        UUID previous = UuidV7Generator.next();
+        for (int i = 0; i < 200_000; i++) {
+            UUID next = UuidV7Generator.next();
+            // Unsigned order of the high bits is the B-tree order PostgreSQL uses for uuid
+            assertThat(Long.compareUnsigned(next.getMostSignificantBits(), previous.getMostSignificantBits()))
+                    .isPositive();
+            previous = next;
+        }
+    }
+
+    @Test
+    void keysAreUniqueAcrossThreads() throws Exception {
+        int threads = 8;
+        int perThread = 50_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<List<UUID>>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    List<UUID> keys = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        keys.add(UuidV7Generator.next());
+                    }
+                    return keys;
+                });
+            }
+
+            Set<UUID> all = new HashSet<>();
+            Set<Long> highBits = new HashSet<>();
+            for (Future<List<UUID>> future : executor.invokeAll(tasks)) {
+                for (UUID uuid : future.get()) {
+                    all.add(uuid);
+                    highBits.add(uuid.getMostSignificantBits());
+                }
+            }
+
+            // Timestamp and sequence advance together under a CAS, so even the high bits never repeat
+            assertThat(all).hasSize(threads * perThread);
+            assertThat(highBits).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void generatorReturnsFreshKeys() {
+        UuidV7Generator generator = new UuidV7Generator();
+
+        Object first = generator.generate(null, null);
+        Object second = generator.generate(null, null);
+
+        assertThat(first).isInstanceOf(UUID.class).isNotEqualTo(second);
+    }
+}
@@ -0,0 +1,142 @@
+package com.upskilling.smartdeploymonitor.repository;
+
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserPageQueryTest {
+
+    private static final UUID ID = UUID.fromString("0190f1a2-3b4c-7d5e-8f60-718293a4b5c6");
+
+    @Test
+    void roundTripsTimestampCursors() {
+        User user = user("jane@example.com", "Jane", "Doe");
+        user.setCreatedAt(LocalDateTime.of(2024, 3, 1, 12, 30, 45, 123_456_000));
+
+        UserPageQuery query = query(UserPageQuery.SortField.CREATED_AT, UserPageQuery.SortDirection.DESC);
+        String cursor = query.encodeCursor(user);
+        UserPageQuery next = query(UserPageQuery.SortField.CREATED_AT, UserPageQuery.SortDirection.DESC).after(cursor);
+
+        assertThat(next.hasCursor()).isTrue();
+        assertThat(next.getAfterId()).isEqualTo(ID);
+        assertThat(next.getAfterValue()).isEqualTo(user.getCreatedAt());
+        assertThat(next.isDescending()).isTrue();
+    }
+
+    @Test
+    void roundTripsTextCursorsContainingTheSeparator() {
+        User user = user("a|b@example.com", "Jean|Luc", "Picard");
+
+        String byEmail = query(UserPageQuery.SortField.EMAIL, UserPageQuery.SortDirection.ASC).encodeCursor(user);
+        String byName = query(UserPageQuery.SortField.FIRST_NAME, UserPageQuery.SortDirection.ASC).encodeCursor(user);
+
+        assertThat(query(UserPageQuery.SortField.EMAIL, UserPageQuery.SortDirection.ASC).after(byEmail).getAfterValue())
+                .isEqualTo("a|b@example.com");
+        assertThat(query(UserPageQuery.SortField.FIRST_NAME, UserPageQuery.SortDirection.ASC).after(byName).getAfterValue())
+                .isEqualTo("Jean|Luc");
+    }
+
+    @Test
+    void encodesMissingNamesAsEmptyStrings() {
+        User user = user("x@example.com", null, null);
+
+        String cursor = query(UserPageQuery.SortField.LAST_NAME, UserPageQuery.SortDirection.ASC).encodeCursor(user);
+
+        assertThat(query(UserPageQuery.SortField.LAST_NAME, UserPageQuery.SortDirection.ASC).after(cursor).getAfterValue())
+                .isEqualTo("");
+    }
+
+    @Test
+    void producesUrlSafeCursors() {
+        User user = user("??>>~~@example.com", "Ünïcødé", "Name");
+
+        String cursor = query(UserPageQuery.SortField.FIRST_NAME, UserPageQuery.SortDirection.ASC).encodeCursor(user);
+
+        assertThat(cursor).matches("[A-Za-z0-9_-]+");
+        assertThat(query(UserPageQuery.SortField.FIRST_NAME, UserPageQuery.SortDirection.ASC).after(cursor).getAfterValue())
+                .isEqualTo("Ünïcødé");
+    }
+
+    @Test
+    void rejectsCursorsIssuedForAnotherSort() {
+        String cursor = query(UserPageQuery.SortField.EMAIL, UserPageQuery.SortDirection.ASC)
+                .encodeCursor(user("jane@example.com", "Jane", "Doe"));
+
+        assertThatThrownBy(() -> query(UserPageQuery.SortField.FIRST_NAME, UserPageQuery.SortDirection.ASC).after(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort");
+        assertThatThrownBy(() -> query(UserPageQuery.SortField.EMAIL, UserPageQuery.SortDirection.DESC).after(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("sort");
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        UserPageQuery query = query(UserPageQuery.SortField.CREATED_AT, UserPageQuery.SortDirection.ASC);
+
+        assertThatThrownBy(() -> query.after("not base64!")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query.after(encode("v1|CREATED_AT|ASC"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query.after(encode("v0|CREATED_AT|ASC|" + ID + "|2024-03-01T12:00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query.after(encode("v1|CREATED_AT|ASC|not-a-uuid|2024-03-01T12:00")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query.after(encode("v1|CREATED_AT|ASC|" + ID + "|yesterday")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void emptyCursorStartsFromTheBeginning() {
+        UserPageQuery query = query(UserPageQuery.SortField.EMAIL, UserPageQuery.SortDirection.ASC);
+        query.after(query.encodeCursor(user("jane@example.com", "Jane", "Doe")));
+
+        query.after("");
+
+        assertThat(query.hasCursor()).isFalse();
+        assertThat(query.getAfterValue()).isNull();
+    }
+
+    @Test
+    void reportsFilters() {
+        UserPageQuery query = new UserPageQuery();
+        assertThat(query.hasFilter()).isFalse();
+
+        query.setSearch("   ");
+        assertThat(query.hasFilter()).isFalse();
+
+        query.setRole(UserRole.ADMIN);
+        assertThat(query.hasFilter()).isTrue();
+    }
+
+    @Test
+    void resolvesSortFieldsFromRestParameters() {
+        assertThat(UserPageQuery.SortField.fromProperty("firstName")).isEqualTo(UserPageQuery.SortField.FIRST_NAME);
+        assertThat(UserPageQuery.SortField.fromProperty("CREATED_AT")).isEqualTo(UserPageQuery.SortField.CREATED_AT);
+        assertThatThrownBy(() -> UserPageQuery.SortField.fromProperty("passwordHash"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static UserPageQuery query(UserPageQuery.SortField field, UserPageQuery.SortDirection direction) {
+        UserPageQuery query = new UserPageQuery();
+        query.setSortField(field);
+        query.setSortDirection(direction);
+        return query;
+    }
+
+    private static User user(String email, String firstName, String lastName) {
+        User user = new User(email, "hash", firstName, lastName);
+        user.setId(ID);
+        return user;
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,230 @@
+package com.upskilling.smartdeploymonitor.security;
+
+import com.upskilling.smartdeploymonitor.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RateLimiter against an in-memory stand-in for the GCRA Lua script
+ *
+ * {@link GcraRedis} follows GCRA_SCRIPT line by line (theoretical arrival time per key,
+ * lease granted only while at least two leases are available), so these tests cover the
+ * cell arithmetic together with the local lease tier and the decision encoding.
+ */
+class RateLimiterTest {
+
+    private static final int LIMIT = 10;
+    private static final int WINDOW_SECONDS = 60;
+    private static final long EMISSION_MILLIS = WINDOW_SECONDS * 1000L / LIMIT;
+
+    private RedisTemplate<String, String> redisTemplate;
+    private GcraRedis redis;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(RedisTemplate.class);
+        redis = new GcraRedis();
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenAnswer(invocation -> {
+                    List<String> keys = invocation.getArgument(1);
+                    Object[] args = new Object[invocation.getArguments().length - 2];
+                    System.arraycopy(invocation.getArguments(), 2, args, 0, args.length);
+                    return redis.eval(keys.get(0), args);
+                });
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void allowsTheLimitThenRejects() {
+        RateLimiter limiter = limiter(properties(), redisTemplate);
+        int policy = limiter.resolvePolicy("/demo/hello");
+
+        List<Long> remaining = new ArrayList<>();
+        for (int i = 0; i < LIMIT; i++) {
+            long decision = limiter.tryAcquire(policy, "10.0.0.1");
+            assertThat(RateLimiter.isAllowed(decision)).isTrue();
+            remaining.add(decision);
+        }
+        long rejected = limiter.tryAcquire(policy, "10.0.0.1");
+
+        assertThat(remaining).containsExactly(9L, 8L, 7L, 6L, 5L, 4L, 3L, 2L, 1L, 0L);
+        assertThat(RateLimiter.isAllowed(rejected)).isFalse();
+        assertThat(RateLimiter.retryAfterMillis(rejected)).isBetween(1L, EMISSION_MILLIS);
+        assertThat(meterRegistry.get("rate_limit.decisions").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void spendsLeasedTokensWithoutCallingRedis() {
+        RateLimiter limiter = limiter(properties(), redisTemplate);
+        int policy = limiter.resolvePolicy("/demo/hello");
+
+        for (int i = 0; i < LIMIT; i++) {
+            limiter.tryAcquire(policy, "10.0.0.1");
+        }
+
+        // Leases of 2 while at least 4 tokens are left, then single tokens
+        verify(redisTemplate, times(6)).execute(any(RedisScript.class), anyList(), any(Object[].class));
+        assertThat(meterRegistry.get("rate_limit.decisions").tag("source", "local").counter().count())
+                .isEqualTo(4.0);
+    }
+
+    @Test
+    void refillsOneTokenPerEmissionInterval() {
+        RateLimiter limiter = limiter(properties(), redisTemplate);
+        int policy = limiter.resolvePolicy("/demo/hello");
+        for (int i = 0; i < LIMIT; i++) {
+            limiter.tryAcquire(policy, "10.0.0.1");
+        }
+        assertThat(RateLimiter.isAllowed(limiter.tryAcquire(policy, "10.0.0.1"))).isFalse();
+
+        redis.elapse(EMISSION_MILLIS);
+
+        assertThat(limiter.tryAcquire(policy, "10.0.0.1")).isEqualTo(0L);
+        assertThat(RateLimiter.isAllowed(limiter.tryAcquire(policy, "10.0.0.1"))).isFalse();
+    }
+
+    @Test
+    void keepsClientsAndPoliciesApart() {
+        RateLimitProperties properties = properties();
+        properties.getPolicies().add(new RateLimitProperties.Policy("auth", "/api/auth/", 2, WINDOW_SECONDS,
+                RateLimitProperties.KeyType.IP));
+        RateLimiter limiter = limiter(properties, redisTemplate);
+        int demo = limiter.resolvePolicy("/demo/hello");
+        int auth = limiter.resolvePolicy("/api/auth/login");
+
+        for (int i = 0; i < LIMIT; i++) {
+            limiter.tryAcquire(demo, "10.0.0.1");
+        }
+
+        assertThat(RateLimiter.isAllowed(limiter.tryAcquire(demo, "10.0.0.1"))).isFalse();
+        assertThat(RateLimiter.isAllowed(limiter.tryAcquire(demo, "10.0.0.2"))).isTrue();
+        assertThat(limiter.tryAcquire(auth, "10.0.0.1")).isEqualTo(1L);
+        assertThat(limiter.tryAcquire(auth, "10.0.0.1")).isEqualTo(0L);
+        assertThat(RateLimiter.isAllowed(limiter.tryAcquire(auth, "10.0.0.1"))).isFalse();
+    }
+
+    @Test
+    void resolvesPoliciesByPathPrefix() {
+        RateLimitProperties properties = properties();
+        properties.getPolicies().add(new RateLimitProperties.Policy("users", "/api/v1/users", 100, WINDOW_SECONDS,
+                RateLimitProperties.KeyType.PRINCIPAL));
+        RateLimiter limiter = limiter(properties, redisTemplate);
+
+        int users = limiter.resolvePolicy("/api/v1/users/42");
+        int fallback = limiter.resolvePolicy("/demo/hello");
+
+        assertThat(limiter.resolvePolicy("/actuator/prometheus")).isEqualTo(-1);
+        assertThat(limiter.resolvePolicy(null)).isEqualTo(-1);
+        assertThat(users).isNotEqualTo(fallback);
+        assertThat(limiter.isPrincipalKeyed(users)).isTrue();
+        assertThat(limiter.getLimit(users)).isEqualTo(100);
+        assertThat(limiter.isPrincipalKeyed(fallback)).isFalse();
+        assertThat(limiter.getLimit(fallback)).isEqualTo(LIMIT);
+    }
+
+    @Test
+    void disabledLimiterResolvesNoPolicy() {
+        RateLimitProperties properties = properties();
+        properties.setEnabled(false);
+
+        assertThat(limiter(properties, redisTemplate).resolvePolicy("/demo/hello")).isEqualTo(-1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failsOpenWhenRedisIsDown() {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("connection refused"));
+        RateLimiter limiter = limiter(properties(), redisTemplate);
+        int policy = limiter.resolvePolicy("/demo/hello");
+
+        for (int i = 0; i < LIMIT * 2; i++) {
+            assertThat(limiter.tryAcquire(policy, "10.0.0.1")).isEqualTo(LIMIT - 1L);
+        }
+        assertThat(meterRegistry.get("rate_limit.redis.errors").counter().count()).isEqualTo(LIMIT * 2.0);
+    }
+
+    @Test
+    void allowsEverythingWithoutRedis() {
+        RateLimiter limiter = limiter(properties(), null);
+        int policy = limiter.resolvePolicy("/demo/hello");
+
+        for (int i = 0; i < LIMIT * 2; i++) {
+            assertThat(RateLimiter.isAllowed(limiter.tryAcquire(policy, "10.0.0.1"))).isTrue();
+        }
+    }
+
+    @Test
+    void encodesDecisionsInOneLong() {
+        assertThat(RateLimiter.isAllowed(0L)).isTrue();
+        assertThat(RateLimiter.retryAfterMillis(5L)).isZero();
+        assertThat(RateLimiter.isAllowed(-2L)).isFalse();
+        assertThat(RateLimiter.retryAfterMillis(-2L)).isEqualTo(1L);
+        assertThat(RateLimiter.retryAfterMillis(-6001L)).isEqualTo(6000L);
+    }
+
+    private static RateLimitProperties properties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setDefaultPolicy(new RateLimitProperties.Policy("default", "/", LIMIT, WINDOW_SECONDS,
+                RateLimitProperties.KeyType.IP));
+        properties.setLeaseDivisor(5);
+        return properties;
+    }
+
+    @SuppressWarnings("unchecked")
+    private RateLimiter limiter(RateLimitProperties properties, RedisTemplate<String, String> template) {
+        ObjectProvider<RedisTemplate<String, String>> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(template);
+        return new RateLimiter(properties, provider, meterRegistry);
+    }
+
+    /**
+     * GCRA_SCRIPT evaluated in Java; elapse() moves every stored arrival time into the past
+     */
+    private static final class GcraRedis {
+
+        private final Map<String, Double> tats = new HashMap<>();
+
+        List<Long> eval(String key, Object[] args) {
+            double now = Double.parseDouble((String) args[0]);
+            double emission = Double.parseDouble((String) args[1]);
+            double limit = Double.parseDouble((String) args[2]);
+            double lease = Double.parseDouble((String) args[3]);
+            double window = emission * limit;
+            Double stored = tats.get(key);
+            double tat = stored == null || stored < now ? now : stored;
+            double available = Math.floor((window - (tat - now)) / emission);
+            if (available < 1) {
+                return List.of(0L, 0L, (long) Math.ceil(tat + emission - window - now));
+            }
+            double granted = available >= lease * 2 ? lease : 1;
+            tats.put(key, tat + granted * emission);
+            return List.of((long) granted, (long) (available - granted), 0L);
+        }
+
+        void elapse(long millis) {
+            tats.replaceAll((key, tat) -> tat - millis);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class HnswVectorIndexTest {
+
+    private static final int DIMENSION = 24;
+
+    @Test
+    void approximatesExactNearestNeighbours() {
+        Random random = new Random(7);
+        List<float[]> points = randomVectors(random, 2000);
+        HnswVectorIndex index = new HnswVectorIndex(DIMENSION, HnswVectorIndex.Distance.EUCLID, 16, 100, 64);
+        for (int i = 0; i < points.size(); i++) {
+            index.upsert("p" + i, points.get(i), Map.of());
+        }
+
+        int k = 10;
+        int hits = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector(random);
+            Set<String> exact = bruteForce(points, query, k);
+            for (QdrantService.ScoredPoint point : index.search(query, k, null)) {
+                if (exact.contains(point.getId())) {
+                    hits++;
+                }
+            }
+        }
+
+        assertThat(hits / (double) (queries * k)).isGreaterThanOrEqualTo(0.95);
+    }
+
+    @Test
+    void findsIndexedPointsFirstWithQdrantScores() {
+        Random random = new Random(11);
+        List<float[]> points = randomVectors(random, 300);
+        for (HnswVectorIndex.Distance distance : HnswVectorIndex.Distance.values()) {
+            HnswVectorIndex index = new HnswVectorIndex(DIMENSION, distance, 8, 64, 32);
+            for (int i = 0; i < points.size(); i++) {
+                index.upsert("p" + i, points.get(i), Map.of("n", i));
+            }
+
+            float[] target = points.get(123);
+            List<QdrantService.ScoredPoint> results = index.search(target, 5, null);
+
+            if (distance != HnswVectorIndex.Distance.DOT) {
+                // Dot product is not a metric: a longer vector can outscore the point itself
+                assertThat(results.get(0).getId()).as(distance.name()).isEqualTo("p123");
+                assertThat(results.get(0).getPayload()).containsEntry("n", 123);
+            }
+            assertThat(results).extracting(QdrantService.ScoredPoint::getScore).as(distance.name())
+                    .isSortedAccordingTo(distance == HnswVectorIndex.Distance.EUCLID
+                            ? Comparator.<Float>naturalOrder() : Comparator.<Float>reverseOrder());
+        }
+    }
+
+    @Test
+    void scoresLikeQdrant() {
+        float[] a = vector(1, 0);
+        float[] b = vector(3, 4);
+
+        assertThat(singleScore(HnswVectorIndex.Distance.COSINE, a, b)).isCloseTo(0.6f, within(1e-5f));
+        assertThat(singleScore(HnswVectorIndex.Distance.DOT, a, b)).isCloseTo(3f, within(1e-5f));
+        assertThat(singleScore(HnswVectorIndex.Distance.EUCLID, a, b)).isCloseTo((float) Math.sqrt(20), within(1e-5f));
+    }
+
+    @Test
+    void selectiveFiltersStillReturnKMatches() {
+        Random random = new Random(3);
+        HnswVectorIndex index = new HnswVectorIndex(DIMENSION, HnswVectorIndex.Distance.COSINE, 8, 64, 16);
+        for (int i = 0; i < 1000; i++) {
+            index.upsert("p" + i, randomVector(random), Map.of("tenant", i % 100 == 0 ? "rare" : "common", "shard", i % 4));
+        }
+
+        List<QdrantService.ScoredPoint> rare = index.search(randomVector(random), 10, Map.of("tenant", "rare"));
+        List<QdrantService.ScoredPoint> shard = index.search(randomVector(random), 5, Map.of("shard", "2"));
+
+        assertThat(rare).hasSize(10).allSatisfy(point -> assertThat(point.getPayload()).containsEntry("tenant", "rare"));
+        assertThat(shard).hasSize(5).allSatisfy(point -> assertThat(point.getPayload()).containsEntry("shard", 2));
+        assertThat(index.search(randomVector(random), 5, Map.of("tenant", "missing"))).isEmpty();
+    }
+
+    @Test
+    void upsertReplacesThePoint() {
+        HnswVectorIndex index = new HnswVectorIndex(2, HnswVectorIndex.Distance.EUCLID, 4, 16, 8);
+        index.upsert("a", vector(0, 0), Map.of("version", 1));
+        index.upsert("b", vector(10, 10), Map.of());
+        index.upsert("a", vector(20, 20), Map.of("version", 2));
+
+        List<QdrantService.ScoredPoint> results = index.search(vector(0, 0), 5, null);
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(results).extracting(QdrantService.ScoredPoint::getId).containsExactly("b", "a");
+        assertThat(results.get(1).getPayload()).containsEntry("version", 2);
+    }
+
+    @Test
+    void deletedPointsAreNeverReturned() {
+        Random random = new Random(5);
+        HnswVectorIndex index = new HnswVectorIndex(DIMENSION, HnswVectorIndex.Distance.COSINE, 8, 64, 32);
+        List<float[]> points = randomVectors(random, 200);
+        for (int i = 0; i < points.size(); i++) {
+            index.upsert("p" + i, points.get(i), Map.of());
+        }
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(index.delete("p" + i)).isTrue();
+        }
+
+        assertThat(index.delete("p0")).isFalse();
+        assertThat(index.delete("unknown")).isFalse();
+        assertThat(index.size()).isEqualTo(100);
+        List<QdrantService.ScoredPoint> results = index.search(points.get(0), 20, null);
+        assertThat(results).hasSize(20)
+                .allSatisfy(point -> assertThat(Integer.parseInt(point.getId().substring(1))).isGreaterThanOrEqualTo(100));
+    }
+
+    @Test
+    void handlesEmptyIndexesAndBadInput() {
+        HnswVectorIndex index = new HnswVectorIndex(3, HnswVectorIndex.Distance.COSINE, 4, 16, 8);
+
+        assertThat(index.search(new float[3], 5, null)).isEmpty();
+        index.upsert("a", new float[] {1, 2, 3}, null);
+        assertThat(index.search(new float[] {1, 2, 3}, 0, null)).isEmpty();
+        assertThat(index.search(new float[] {1, 2, 3}, 5, null)).hasSize(1);
+        assertThatThrownBy(() -> index.upsert("b", new float[2], Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> index.search(null, 1, null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HnswVectorIndex(0, HnswVectorIndex.Distance.DOT, 4, 16, 8))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void vectorsAreCopiedOnInsert() {
+        HnswVectorIndex index = new HnswVectorIndex(2, HnswVectorIndex.Distance.EUCLID, 4, 16, 8);
+        float[] vector = vector(1, 1);
+        index.upsert("a", vector, Map.of());
+
+        vector[0] = 100;
+
+        assertThat(index.search(vector(1, 1), 1, null).get(0).getScore()).isZero();
+    }
+
+    @Test
+    void parsesQdrantDistanceNames() {
+        assertThat(HnswVectorIndex.Distance.fromName(" Cosine ")).isEqualTo(HnswVectorIndex.Distance.COSINE);
+        assertThat(HnswVectorIndex.Distance.fromName("Euclid")).isEqualTo(HnswVectorIndex.Distance.EUCLID);
+        assertThat(HnswVectorIndex.Distance.DOT.getQdrantName()).isEqualTo("Dot");
+    }
+
+    private static float singleScore(HnswVectorIndex.Distance distance, float[] stored, float[] query) {
+        HnswVectorIndex index = new HnswVectorIndex(stored.length, distance, 4, 16, 8);
+        index.upsert("x", stored, Map.of());
+        return index.search(query, 1, null).get(0).getScore();
+    }
+
+    private static Set<String> bruteForce(List<float[]> points, float[] query, int k) {
+        return IntStream.range(0, points.size()).boxed()
+                .sorted(Comparator.comparingDouble(i -> squaredDistance(points.get(i), query)))
+                .limit(k)
+                .map(i -> "p" + i)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private static double squaredDistance(float[] a, float[] b) {
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            double d = a[i] - b[i];
+            sum += d * d;
+        }
+        return sum;
+    }
+
+    private static List<float[]> randomVectors(Random random, int count) {
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vectors.add(randomVector(random));
+        }
+        return vectors;
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+
+    private static float[] vector(float... values) {
+        return values;
+    }
+}
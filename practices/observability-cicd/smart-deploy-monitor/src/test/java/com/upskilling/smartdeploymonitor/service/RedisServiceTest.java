@@ -0,0 +1,32 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.config.BinaryRedisSerializer;
+import com.upskilling.smartdeploymonitor.config.CacheConfig;
+import com.upskilling.smartdeploymonitor.dto.UserSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RedisServiceTest {
+
+    @Test
+    void codecSamplesAreCacheSizedAndSerializable() {
+        Map<String, Object> samples = RedisService.codecSamples();
+        RedisSerializer<Object> binary = new BinaryRedisSerializer(
+                List.of(new CachedUserCodec(), new CacheConfig.UserSummaryCodec()), BinaryRedisSerializer.Format.BINARY, 512);
+        RedisSerializer<Object> json = BinaryRedisSerializer.jsonSerializer();
+
+        assertThat(samples.get("user")).isInstanceOf(UserSummary.class);
+        assertThat((List<?>) samples.get("userList")).hasSize(20);
+        for (Map.Entry<String, Object> sample : samples.entrySet()) {
+            Object value = sample.getValue();
+            assertThat(binary.deserialize(binary.serialize(value))).as(sample.getKey())
+                    .usingRecursiveComparison().isEqualTo(value);
+            assertThat(json.deserialize(json.serialize(value))).as(sample.getKey()).isNotNull();
+        }
+    }
+}
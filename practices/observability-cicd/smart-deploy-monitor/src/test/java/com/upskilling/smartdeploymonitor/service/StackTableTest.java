@@ -0,0 +1,64 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StackTableTest {
+
+    private final StackTable table = new StackTable(1024 * 1024);
+
+    @Test
+    void internsFramesAndStacksOnce() {
+        int first = table.intern(new String[] {"Main.run", "Service.handle", "Repo.find"}, 10);
+        int same = table.intern(new String[] {"Main.run", "Service.handle", "Repo.find"}, 11);
+        int sibling = table.intern(new String[] {"Main.run", "Service.handle", "Cache.get"}, 11);
+
+        assertThat(same).isEqualTo(first);
+        assertThat(sibling).isNotEqualTo(first);
+        assertThat(table.getStackCount()).isEqualTo(2);
+        assertThat(table.getFrameCount()).isEqualTo(4);
+        assertThat(table.render(first)).isEqualTo("Main.run;Service.handle;Repo.find");
+    }
+
+    @Test
+    void refusesStacksPastTheBudget() {
+        StackTable small = new StackTable(StackTable.STACK_OVERHEAD + StackTable.FRAME_OVERHEAD * 3L);
+
+        int kept = small.intern(new String[] {"A.a"}, 1);
+        int refused = small.intern(new String[] {"A.a", "B.b"}, 1);
+
+        assertThat(kept).isNotNegative();
+        assertThat(refused).isEqualTo(-1);
+        assertThat(small.getUsedBytes()).isLessThanOrEqualTo(StackTable.STACK_OVERHEAD + StackTable.FRAME_OVERHEAD * 3L);
+        assertThat(small.reserve(Long.MAX_VALUE / 2)).isFalse();
+    }
+
+    @Test
+    void sweepFreesStacksOutsideTheWindow() {
+        int old = table.intern(new String[] {"Main.run", "Old.path"}, 1);
+        int live = table.intern(new String[] {"Main.run", "New.path"}, 20);
+        long used = table.getUsedBytes();
+
+        long released = table.sweep(10);
+
+        assertThat(released).isPositive();
+        assertThat(table.getUsedBytes()).isEqualTo(used - released);
+        assertThat(table.render(old)).isNull();
+        assertThat(table.frames(old)).isNull();
+        assertThat(table.render(live)).isEqualTo("Main.run;New.path");
+        // The shared root frame stays, the old leaf goes
+        assertThat(table.getFrameCount()).isEqualTo(2);
+    }
+
+    @Test
+    void countedStacksSurviveTheSweep() {
+        int stack = table.intern(new String[] {"Main.run"}, 1);
+        table.intern(new String[] {"Main.run"}, 15);
+
+        table.sweep(10);
+
+        assertThat(table.render(stack)).isEqualTo("Main.run");
+        assertThat(table.getStackCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,216 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UserBulkServiceTest {
+
+    private UserRepository userRepository;
+    private UserBulkService bulkService;
+    private final List<User> saved = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        bulkService = service(1000);
+        when(userRepository.saveAll(any())).thenAnswer(invocation -> {
+            Iterable<User> users = invocation.getArgument(0);
+            users.forEach(saved::add);
+            return new ArrayList<>(saved);
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkService.shutdown();
+    }
+
+    @Test
+    void splitsQuotedCsvFields() {
+        assertThat(UserBulkService.splitCsv("a,\"b,c\",\"say \"\"hi\"\"\",,"))
+                .containsExactly("a", "b,c", "say \"hi\"", "", "");
+        assertThat(UserBulkService.splitCsv("")).containsExactly("");
+        assertThatThrownBy(() -> UserBulkService.splitCsv("a,\"open"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void csvExportImportsBack() throws IOException {
+        User admin = user("admin@example.com", "Ada", "Lovelace, Countess", UserRole.ADMIN);
+        User moderator = user("mod@example.com", "Mo \"The Mod\"", "Smith", UserRole.MODERATOR);
+        when(userRepository.findKeysetPage(any(), anyInt())).thenReturn(List.of(admin, moderator));
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        bulkService.exportUsers(exported, UserBulkService.Format.CSV);
+
+        // Exports carry no password hashes: an operator adds a password column before importing
+        List<String> lines = exported.toString(StandardCharsets.UTF_8).lines().toList();
+        StringBuilder withPasswords = new StringBuilder(lines.get(0)).append(",password\n");
+        for (String line : lines.subList(1, lines.size())) {
+            withPasswords.append(line).append(",secret1\n");
+        }
+        UserBulkService.ImportResult result = importCsv(withPasswords.toString());
+
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(saved).extracting(User::getEmail, User::getFirstName, User::getLastName, User::getRole)
+                .containsExactly(
+                        tuple("admin@example.com", "Ada", "Lovelace, Countess", UserRole.ADMIN),
+                        tuple("mod@example.com", "Mo \"The Mod\"", "Smith", UserRole.MODERATOR));
+        assertThat(saved).extracting(User::getPasswordHash).containsOnly("hashed:secret1");
+    }
+
+    @Test
+    void matchesHeaderAliasesInAnyOrder() throws IOException {
+        UserBulkService.ImportResult result = importCsv("""
+                Role,PASSWORD,first_name,Email
+                admin,secret1,Ada,ada@example.com
+                """);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(saved.get(0).getFirstName()).isEqualTo("Ada");
+        assertThat(saved.get(0).getRole()).isEqualTo(UserRole.ADMIN);
+    }
+
+    @Test
+    void reportsInvalidAndDuplicateRowsByLine() throws IOException {
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("taken@example.com"));
+
+        UserBulkService.ImportResult result = importCsv("""
+                email,password,role
+                ok@example.com,secret1,user
+
+                not-an-email,secret1,user
+                short@example.com,123,user
+                ok@example.com,secret1,user
+                taken@example.com,secret1,user
+                role@example.com,secret1,Administrator
+                """);
+
+        assertThat(result.getRows()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getDuplicates()).isEqualTo(2);
+        assertThat(result.isErrorsTruncated()).isFalse();
+        assertThat(result.getErrors())
+                .extracting(UserBulkService.RowError::getLine, UserBulkService.RowError::getMessage)
+                .containsExactlyInAnyOrder(
+                        tuple(4, "Email must be valid"),
+                        tuple(5, "Password must be at least 6 characters"),
+                        tuple(8, "Unknown role: Administrator"),
+                        tuple(6, "Duplicate email"),
+                        tuple(7, "Duplicate email"));
+    }
+
+    @Test
+    void capsReportedErrors() throws IOException {
+        bulkService.shutdown();
+        bulkService = service(1);
+
+        UserBulkService.ImportResult result = importNdjson("""
+                {"email":"a","password":"secret1"}
+                not json
+                {"email":"c@example.com"}
+                """);
+
+        assertThat(result.getFailed()).isEqualTo(3);
+        assertThat(result.getErrors()).hasSize(1);
+        assertThat(result.getErrors().get(0).getLine()).isEqualTo(1);
+        assertThat(result.isErrorsTruncated()).isTrue();
+    }
+
+    @Test
+    void retriesAChunkWithoutEmailsInsertedConcurrently() throws IOException {
+        when(userRepository.findExistingEmails(anyCollection()))
+                .thenReturn(List.of())
+                .thenReturn(List.of("b@example.com"));
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .doAnswer(invocation -> {
+                    Iterable<User> users = invocation.getArgument(0);
+                    users.forEach(saved::add);
+                    return new ArrayList<>(saved);
+                })
+                .when(userRepository).saveAll(any());
+
+        UserBulkService.ImportResult result = importNdjson("""
+                {"email":"a@example.com","password":"secret1"}
+                {"email":"b@example.com","password":"secret1"}
+                """);
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getDuplicates()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(UserBulkService.RowError::getLine).containsExactly(2);
+        assertThat(saved).extracting(User::getEmail).containsExactly("a@example.com");
+    }
+
+    @Test
+    void ndjsonExportWritesRoleNamesAndNoHashes() throws IOException {
+        User admin = user("admin@example.com", "Ada", null, UserRole.ADMIN);
+        when(userRepository.findKeysetPage(any(), anyInt())).thenReturn(List.of(admin));
+        ByteArrayOutputStream exported = new ByteArrayOutputStream();
+
+        long written = bulkService.exportUsers(exported, UserBulkService.Format.NDJSON);
+
+        String line = exported.toString(StandardCharsets.UTF_8);
+        assertThat(written).isEqualTo(1);
+        assertThat(line).contains("\"role\":\"ADMIN\"").doesNotContain("hash");
+    }
+
+    private UserBulkService service(int maxReportedErrors) {
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> "hashed:" + invocation.getArgument(0));
+        UserBulkService service = new UserBulkService(userRepository, passwordEncoder, mock(UserIndexSyncService.class),
+                new ObjectMapper(), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+                500, 2, maxReportedErrors, 1000);
+        ReflectionTestUtils.setField(service, "entityManager", mock(EntityManager.class));
+        return service;
+    }
+
+    private UserBulkService.ImportResult importCsv(String body) throws IOException {
+        return bulkService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                UserBulkService.Format.CSV);
+    }
+
+    private UserBulkService.ImportResult importNdjson(String body) throws IOException {
+        return bulkService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                UserBulkService.Format.NDJSON);
+    }
+
+    private static User user(String email, String firstName, String lastName, UserRole role) {
+        User user = new User(email, "secret-hash", firstName, lastName);
+        user.setId(UUID.randomUUID());
+        user.setRole(role);
+        user.setIsActive(true);
+        user.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+        return user;
+    }
+}
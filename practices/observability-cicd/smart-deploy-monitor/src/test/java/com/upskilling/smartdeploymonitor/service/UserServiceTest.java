@@ -0,0 +1,120 @@
+package com.upskilling.smartdeploymonitor.service;
+
+import com.upskilling.smartdeploymonitor.dto.UserPage;
+import com.upskilling.smartdeploymonitor.entity.User;
+import com.upskilling.smartdeploymonitor.entity.UserRole;
+import com.upskilling.smartdeploymonitor.repository.UserPageQuery;
+import com.upskilling.smartdeploymonitor.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceTest {
+
+    private UserRepository userRepository;
+    private UserCacheService userCacheService;
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userCacheService = mock(UserCacheService.class);
+        userService = new UserService(userRepository, mock(PasswordEncoder.class), userCacheService,
+                mock(UserSearchService.class), mock(UserIndexSyncService.class), mock(UserStatisticsService.class));
+    }
+
+    @Test
+    void pageFetchesOneExtraRowToDetectTheNextPage() {
+        UserPageQuery query = new UserPageQuery();
+        query.setLimit(2);
+        when(userRepository.findKeysetPage(query, 3)).thenReturn(users(3));
+
+        UserPage page = userService.getUsersPage(query, false);
+
+        assertThat(page.getUsers()).hasSize(2);
+        assertThat(page.getCursors()).hasSize(2);
+        assertThat(page.isHasNextPage()).isTrue();
+        assertThat(page.getTotalCount()).isNull();
+        verify(userRepository, never()).countMatching(any());
+        verify(userRepository, never()).estimateTotal();
+    }
+
+    @Test
+    void unfilteredTotalOfALargeTableIsEstimated() {
+        UserPageQuery query = new UserPageQuery();
+        when(userRepository.findKeysetPage(eq(query), anyInt())).thenReturn(users(1));
+        when(userRepository.estimateTotal()).thenReturn(2_500_000L);
+
+        UserPage page = userService.getUsersPage(query, true);
+
+        assertThat(page.getTotalCount()).isEqualTo(2_500_000L);
+        assertThat(page.isTotalCountEstimated()).isTrue();
+        verify(userRepository, never()).countMatching(any());
+    }
+
+    @Test
+    void smallOrUnanalyzedTablesAreCountedExactly() {
+        UserPageQuery query = new UserPageQuery();
+        when(userRepository.findKeysetPage(eq(query), anyInt())).thenReturn(users(1));
+        when(userRepository.countMatching(query)).thenReturn(42L);
+
+        when(userRepository.estimateTotal()).thenReturn(40L);
+        UserPage small = userService.getUsersPage(query, true);
+        when(userRepository.estimateTotal()).thenReturn(null);
+        UserPage unanalyzed = userService.getUsersPage(query, true);
+
+        assertThat(small.getTotalCount()).isEqualTo(42L);
+        assertThat(small.isTotalCountEstimated()).isFalse();
+        assertThat(unanalyzed.getTotalCount()).isEqualTo(42L);
+        assertThat(unanalyzed.isTotalCountEstimated()).isFalse();
+    }
+
+    @Test
+    void filteredTotalIsCountedExactlyEveryTime() {
+        UserPageQuery query = new UserPageQuery();
+        query.setRole(UserRole.ADMIN);
+        when(userRepository.findKeysetPage(eq(query), anyInt())).thenReturn(users(1));
+        when(userRepository.countMatching(query)).thenReturn(7L, 8L);
+
+        assertThat(userService.getUsersPage(query, true).getTotalCount()).isEqualTo(7L);
+        assertThat(userService.getUsersPage(query, true).getTotalCount()).isEqualTo(8L);
+        verify(userRepository, never()).estimateTotal();
+    }
+
+    @Test
+    void principalCarriesNoPasswordHash() {
+        when(userCacheService.get(eq("jane@example.com"), any()))
+                .thenReturn(Optional.of(new UserCacheService.CachedUser("jane@example.com", "ADMIN", true)));
+
+        UserDetails details = userService.loadUserByUsername("jane@example.com");
+
+        assertThat(details.getPassword()).isEqualTo(UserService.NO_CREDENTIAL);
+        assertThat(details.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        assertThat(details.isEnabled()).isTrue();
+    }
+
+    private static List<User> users(int count) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User("user" + i + "@example.com", "hash", "First" + i, "Last" + i);
+            user.setId(UUID.randomUUID());
+            users.add(user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,145 @@
+package com.upskilling.smartdeploymonitor.validation;
+
+import com.upskilling.smartdeploymonitor.validation.AttackPatternMatcher.AttackType;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttackPatternMatcherTest {
+
+    private final AttackPatternMatcher matcher = new AttackPatternMatcher();
+
+    @Test
+    void detectsSqlInjection() {
+        assertDetected(AttackType.SQL_INJECTION,
+                "1' or '1'='1",
+                "1 or 1=1",
+                "1) and (2=2",
+                "admin'--",
+                "admin'#",
+                "1; drop table users",
+                "x' union select password from users",
+                "'; exec xp_cmdshell 'dir'",
+                "1 and sleep(5)",
+                "1; waitfor delay '0:0:5'",
+                "select * from information_schema.tables",
+                "1 /* comment */");
+    }
+
+    @Test
+    void detectsCrossSiteScripting() {
+        assertDetected(AttackType.XSS,
+                "<script>alert(1)</script>",
+                "<img src=x onerror=alert(1)>",
+                "<svg onload =alert(1)>",
+                "javascript:alert(document.cookie)",
+                "<iframe src=//evil.example>",
+                "<object data=x>",
+                "data:text/html;base64,PHNjcmlwdD4=");
+    }
+
+    @Test
+    void detectsPathTraversal() {
+        assertDetected(AttackType.PATH_TRAVERSAL,
+                "../../etc/passwd",
+                "..\\..\\windows\\win.ini",
+                "..%2f..%2fetc%2fpasswd",
+                "%2e%2e/etc/passwd",
+                "%2e%2e%5cboot.ini",
+                "%252e%252e%252fetc%252fpasswd");
+    }
+
+    @Test
+    void ignoresCase() {
+        assertDetected(AttackType.XSS, "<ScRiPt>alert(1)</sCrIpT>", "JAVASCRIPT:alert(1)", "<IMG SRC=x OnErRoR=alert(1)>");
+        assertDetected(AttackType.SQL_INJECTION, "x' UNION SELECT 1", "1' OR 'A'='A");
+        assertDetected(AttackType.PATH_TRAVERSAL, "..%2F..%2Fetc", "%2E%2E%2Fetc");
+    }
+
+    @Test
+    void collapsesWhitespace() {
+        assertDetected(AttackType.SQL_INJECTION,
+                "x'   union\t\n  select 1",
+                "1'\tor\t'1'\t=\t'1",
+                "1\r\nor 1 = 1",
+                "  drop   table users");
+        assertDetected(AttackType.XSS, "<img src=x onerror   \t=alert(1)>");
+    }
+
+    @Test
+    void detectsCommentAndEncodingEvasions() {
+        assertDetected(AttackType.SQL_INJECTION, "x'/**/union/**/select/**/1");
+        assertDetected(AttackType.XSS, "%3Cscript%3Ealert(1)%3C%2Fscript%3E", "%3ciframe src=x%3e");
+        assertDetected(AttackType.PATH_TRAVERSAL, "%2E%2E%5C..%5Cwindows");
+    }
+
+    @Test
+    void scansValuesOfAnyLength() {
+        String padding = "a".repeat(8192);
+
+        assertThat(matcher.detect(padding + "<script>alert(1)</script>")).isEqualTo(AttackType.XSS);
+        assertThat(matcher.detect(padding + " or 1=1")).isEqualTo(AttackType.SQL_INJECTION);
+        assertThat(matcher.detect("b".repeat(1_000_000) + "/../etc/passwd")).isEqualTo(AttackType.PATH_TRAVERSAL);
+        assertThat(matcher.detect("c".repeat(1_000_000))).isNull();
+    }
+
+    @Test
+    void detectsSignaturesAtTheEdgesOfTheInput() {
+        assertThat(matcher.detect("union select 1")).isEqualTo(AttackType.SQL_INJECTION);
+        assertThat(matcher.detect("../")).isEqualTo(AttackType.PATH_TRAVERSAL);
+        assertThat(matcher.detect("x<script")).isEqualTo(AttackType.XSS);
+        // Verifiers need the rest of the signature
+        assertThat(matcher.detect("x' or")).isNull();
+        assertThat(matcher.detect("/* unterminated")).isNull();
+        assertThat(matcher.detect("onerror")).isNull();
+    }
+
+    @Test
+    void acceptsBenignLookalikes() {
+        assertClean(
+                "O'Brien",
+                "rock'n'roll",
+                "john.doe@example.com",
+                "Ordering and selection",
+                "salt and pepper",
+                "Portland or Seattle",
+                "android developer",
+                "onerror handler docs",
+                "select",
+                "Fish & Chips; Q&A",
+                "it's fine; thanks",
+                "release 1.2.3...",
+                "a/b/c.txt",
+                "C:\\Users\\jane",
+                "5 * 3 / 2",
+                "50% off",
+                "1=1");
+    }
+
+    @Test
+    void restrictsDetectionToTheSelectedFamilies() {
+        assertThat(matcher.detect("<script>", AttackType.SQL_INJECTION.mask())).isNull();
+        assertThat(matcher.detect("<script>", AttackType.XSS.mask())).isEqualTo(AttackType.XSS);
+        assertThat(matcher.detect("../x' or 1=1", AttackType.SQL_INJECTION.mask())).isEqualTo(AttackType.SQL_INJECTION);
+        assertThat(matcher.detect("../x' or 1=1", AttackType.PATH_TRAVERSAL.mask())).isEqualTo(AttackType.PATH_TRAVERSAL);
+    }
+
+    @Test
+    void acceptsMissingInput() {
+        assertThat(matcher.detect(null)).isNull();
+        assertThat(matcher.detect("")).isNull();
+        assertThat(matcher.detect("   ")).isNull();
+    }
+
+    private void assertDetected(AttackType expected, String... inputs) {
+        for (String input : inputs) {
+            assertThat(matcher.detect(input)).as(input).isEqualTo(expected);
+        }
+    }
+
+    private void assertClean(String... inputs) {
+        for (String input : inputs) {
+            assertThat(matcher.detect(input)).as(input).isNull();
+        }
+    }
+}